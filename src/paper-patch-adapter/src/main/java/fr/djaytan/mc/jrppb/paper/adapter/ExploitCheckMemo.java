@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.paper.adapter;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockActionType;
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the results of the place-and-break exploit checks performed at once for many blocks
+ * during the current server tick.
+ *
+ * <p>A single action involving many blocks (e.g. an explosion) makes JobsReborn dispatch one event
+ * per block within the same tick. Memoizing the results of a check performed beforehand for all
+ * these blocks lets the events share a single lookup. The results are memoized per action type,
+ * since a check only answers for the action it has been performed for. They are discarded as soon
+ * as the server moves on to the next tick, so that they don't become stale.
+ */
+final class ExploitCheckMemo {
+
+  private final IntSupplier currentTickSupplier;
+  private final Map<BlockActionType, Map<BlockLocation, Boolean>> results =
+      new EnumMap<>(BlockActionType.class);
+  private int memoizedAtTick;
+
+  /**
+   * Constructor.
+   *
+   * @param currentTickSupplier The supplier of the current server tick (e.g. {@code
+   *     Bukkit::getCurrentTick}).
+   */
+  ExploitCheckMemo(@NotNull IntSupplier currentTickSupplier) {
+    this.currentTickSupplier = currentTickSupplier;
+  }
+
+  synchronized void memoize(
+      @NotNull BlockActionType blockActionType, @NotNull Map<BlockLocation, Boolean> checkResults) {
+    int currentTick = currentTickSupplier.getAsInt();
+
+    if (results.isEmpty() || currentTick != memoizedAtTick) {
+      results.clear();
+      memoizedAtTick = currentTick;
+    }
+
+    results.computeIfAbsent(blockActionType, unused -> new HashMap<>()).putAll(checkResults);
+  }
+
+  /**
+   * Recalls the memoized result of the check for the given action type and location.
+   *
+   * @return The memoized result, or {@code null} if none has been memoized during the current tick.
+   */
+  synchronized @Nullable Boolean recall(
+      @NotNull BlockActionType blockActionType, @NotNull BlockLocation blockLocation) {
+    // Avoids reading the current tick in the nominal case
+    if (results.isEmpty()) {
+      return null;
+    }
+
+    if (currentTickSupplier.getAsInt() != memoizedAtTick) {
+      results.clear();
+      return null;
+    }
+
+    Map<BlockLocation, Boolean> actionResults = results.get(blockActionType);
+    return actionResults != null ? actionResults.get(blockLocation) : null;
+  }
+}
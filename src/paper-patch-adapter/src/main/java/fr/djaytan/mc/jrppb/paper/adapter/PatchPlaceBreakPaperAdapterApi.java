@@ -30,17 +30,25 @@ import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
 import fr.djaytan.mc.jrppb.api.entities.Block;
 import fr.djaytan.mc.jrppb.api.entities.BlockActionType;
 import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Vector;
 import fr.djaytan.mc.jrppb.paper.adapter.converter.ActionTypeConverter;
 import fr.djaytan.mc.jrppb.paper.adapter.converter.BlockFaceConverter;
+import fr.djaytan.mc.jrppb.paper.adapter.converter.ChunkLocationConverter;
 import fr.djaytan.mc.jrppb.paper.adapter.converter.LocationConverter;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Material;
 import org.bukkit.block.BlockFace;
 import org.jetbrains.annotations.NotNull;
@@ -65,19 +73,40 @@ public class PatchPlaceBreakPaperAdapterApi {
 
   private final ActionTypeConverter actionTypeConverter;
   private final BlockFaceConverter blockFaceConverter;
+  private final ChunkLocationConverter chunkLocationConverter;
   private final LocationConverter locationConverter;
   private final PatchPlaceBreakApi patchPlaceBreakApi;
+  private final ExploitCheckMemo exploitCheckMemo;
 
   @Inject
   public PatchPlaceBreakPaperAdapterApi(
       @NotNull ActionTypeConverter actionTypeConverter,
       @NotNull BlockFaceConverter blockFaceConverter,
+      @NotNull ChunkLocationConverter chunkLocationConverter,
       @NotNull LocationConverter locationConverter,
       @NotNull PatchPlaceBreakApi patchPlaceBreakApi) {
+    this(
+        actionTypeConverter,
+        blockFaceConverter,
+        chunkLocationConverter,
+        locationConverter,
+        patchPlaceBreakApi,
+        Bukkit::getCurrentTick);
+  }
+
+  PatchPlaceBreakPaperAdapterApi(
+      @NotNull ActionTypeConverter actionTypeConverter,
+      @NotNull BlockFaceConverter blockFaceConverter,
+      @NotNull ChunkLocationConverter chunkLocationConverter,
+      @NotNull LocationConverter locationConverter,
+      @NotNull PatchPlaceBreakApi patchPlaceBreakApi,
+      @NotNull IntSupplier currentTickSupplier) {
     this.actionTypeConverter = actionTypeConverter;
     this.blockFaceConverter = blockFaceConverter;
+    this.chunkLocationConverter = chunkLocationConverter;
     this.locationConverter = locationConverter;
     this.patchPlaceBreakApi = patchPlaceBreakApi;
+    this.exploitCheckMemo = new ExploitCheckMemo(currentTickSupplier);
   }
 
   /**
@@ -91,23 +120,138 @@ public class PatchPlaceBreakPaperAdapterApi {
    */
   public boolean isPlaceAndBreakExploit(
       @Nullable ActionInfo actionInfo, @Nullable org.bukkit.block.Block bukkitBlock) {
-    if (actionInfo == null || bukkitBlock == null) {
+    if (isIgnoredAction(actionInfo, bukkitBlock)) {
       return false;
     }
 
-    ActionType actionType = actionInfo.getType();
+    BlockActionType blockActionType = actionTypeConverter.convert(actionInfo.getType());
+    Block block = toBlock(bukkitBlock);
+    Boolean memoizedResult = exploitCheckMemo.recall(blockActionType, block.blockLocation());
 
-    if (isUnsupportedJobActionType(actionInfo.getType())) {
-      return false;
+    if (memoizedResult != null) {
+      return memoizedResult;
     }
 
-    if (isBlacklistedAction(actionType, bukkitBlock)) {
-      return false;
+    return patchPlaceBreakApi.isPlaceAndBreakExploit(blockActionType, block);
+  }
+
+  /**
+   * Checks if the specified job action type for each of the specified blocks is a patch-and-break
+   * exploit or not.
+   *
+   * <p>The results are memoized until the end of the current server tick, so that the checks
+   * performed meanwhile for these blocks with {@link #isPlaceAndBreakExploit(ActionInfo,
+   * org.bukkit.block.Block)} don't need any lookup. This is typically relevant for explosions, for
+   * which JobsReborn dispatches one event per destroyed block within the same tick.
+   *
+   * <p>The blocks whose answer is already known from memory are checked with {@link
+   * PatchPlaceBreakApi#tryIsPlaceAndBreakExploitFast(BlockActionType, Block)}, so that only the
+   * other ones are looked up in the data source.
+   *
+   * @param actionType The type of the job action involving the blocks.
+   * @param bukkitBlocks The targeted blocks by the job action.
+   * @return For each given block, whether the job action for it is a patch-and-break exploit.
+   * @see PatchPlaceBreakApi#isPlaceAndBreakExploit(BlockActionType, Collection)
+   */
+  public @NotNull Map<org.bukkit.block.Block, Boolean> isPlaceAndBreakExploit(
+      @NotNull ActionType actionType, @NotNull Collection<org.bukkit.block.Block> bukkitBlocks) {
+    Map<org.bukkit.block.Block, Boolean> exploitChecks = new HashMap<>();
+
+    if (isUnsupportedJobActionType(actionType)) {
+      bukkitBlocks.forEach(bukkitBlock -> exploitChecks.put(bukkitBlock, false));
+      return exploitChecks;
+    }
+
+    BlockActionType blockActionType = actionTypeConverter.convert(actionType);
+    Map<Block, org.bukkit.block.Block> missedBlocks = new HashMap<>();
+    Map<BlockLocation, Boolean> memoizedResults = new HashMap<>();
+
+    for (org.bukkit.block.Block bukkitBlock : bukkitBlocks) {
+      if (isBlacklistedAction(actionType, bukkitBlock)) {
+        exploitChecks.put(bukkitBlock, false);
+        continue;
+      }
+
+      Block block = toBlock(bukkitBlock);
+      Optional<Boolean> fastResult =
+          patchPlaceBreakApi.tryIsPlaceAndBreakExploitFast(blockActionType, block);
+
+      if (fastResult.isEmpty()) {
+        missedBlocks.put(block, bukkitBlock);
+        continue;
+      }
+
+      exploitChecks.put(bukkitBlock, fastResult.get());
+      memoizedResults.put(block.blockLocation(), fastResult.get());
+    }
+
+    if (!missedBlocks.isEmpty()) {
+      patchPlaceBreakApi
+          .isPlaceAndBreakExploit(blockActionType, missedBlocks.keySet())
+          .forEach(
+              (block, isExploit) -> {
+                exploitChecks.put(missedBlocks.get(block), isExploit);
+                memoizedResults.put(block.blockLocation(), isExploit);
+              });
     }
 
-    BlockActionType patchActionType = actionTypeConverter.convert(actionType);
-    Block block = new Block(locationConverter.convert(bukkitBlock), bukkitBlock.getType().name());
-    return patchPlaceBreakApi.isPlaceAndBreakExploit(patchActionType, block);
+    exploitCheckMemo.memoize(blockActionType, memoizedResults);
+    return exploitChecks;
+  }
+
+  /**
+   * Checks asynchronously if the specified job action for the specified block is a
+   * patch-and-break exploit or not.
+   *
+   * @param actionInfo The job action recorded.
+   * @param bukkitBlock The targeted block by job action which has been recorded.
+   * @return The completable future object, completed with <code>true</code> if the specified job
+   *     action for the specified block is a patch-and-break exploit, <code>false</code> otherwise.
+   * @see PatchPlaceBreakApi#isPlaceAndBreakExploitAsync(BlockActionType, Block)
+   */
+  public @NotNull CompletableFuture<Boolean> isPlaceAndBreakExploitAsync(
+      @Nullable ActionInfo actionInfo, @Nullable org.bukkit.block.Block bukkitBlock) {
+    if (isIgnoredAction(actionInfo, bukkitBlock)) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    return patchPlaceBreakApi.isPlaceAndBreakExploitAsync(
+        actionTypeConverter.convert(actionInfo.getType()), toBlock(bukkitBlock));
+  }
+
+  /**
+   * Checks if the specified job action for the specified block is a patch-and-break exploit or not,
+   * only when the answer is already known from memory.
+   *
+   * @param actionInfo The job action recorded.
+   * @param bukkitBlock The targeted block by job action which has been recorded.
+   * @return <code>true</code> if the specified job action for the specified block is a
+   *     patch-and-break exploit, <code>false</code> otherwise, or an empty optional if the answer
+   *     isn't known from memory.
+   * @see PatchPlaceBreakApi#tryIsPlaceAndBreakExploitFast(BlockActionType, Block)
+   */
+  public @NotNull Optional<Boolean> tryIsPlaceAndBreakExploitFast(
+      @Nullable ActionInfo actionInfo, @Nullable org.bukkit.block.Block bukkitBlock) {
+    if (isIgnoredAction(actionInfo, bukkitBlock)) {
+      return Optional.of(false);
+    }
+
+    return patchPlaceBreakApi.tryIsPlaceAndBreakExploitFast(
+        actionTypeConverter.convert(actionInfo.getType()), toBlock(bukkitBlock));
+  }
+
+  private static boolean isIgnoredAction(
+      @Nullable ActionInfo actionInfo, @Nullable org.bukkit.block.Block bukkitBlock) {
+    if (actionInfo == null || bukkitBlock == null) {
+      return true;
+    }
+
+    ActionType actionType = actionInfo.getType();
+    return isUnsupportedJobActionType(actionType) || isBlacklistedAction(actionType, bukkitBlock);
+  }
+
+  private @NotNull Block toBlock(@NotNull org.bukkit.block.Block bukkitBlock) {
+    return new Block(locationConverter.convert(bukkitBlock), bukkitBlock.getType().name());
   }
 
   private static boolean isBlacklistedAction(
@@ -133,6 +277,24 @@ public class PatchPlaceBreakPaperAdapterApi {
         new Block(blockLocation, bukkitBlock.getType().name()), isEphemeral);
   }
 
+  /**
+   * Publishes the put of a tag on the specified location, without allocating anything on the
+   * calling thread.
+   *
+   * @param bukkitBlock The block where to put tag.
+   * @param isEphemeral Whether the tag to put must be ephemeral or not.
+   * @see PatchPlaceBreakApi#publishTagPut(String, int, int, int, String, boolean)
+   */
+  public void publishTagPut(@NotNull org.bukkit.block.Block bukkitBlock, boolean isEphemeral) {
+    patchPlaceBreakApi.publishTagPut(
+        bukkitBlock.getWorld().getName(),
+        bukkitBlock.getX(),
+        bukkitBlock.getY(),
+        bukkitBlock.getZ(),
+        bukkitBlock.getType().name(),
+        isEphemeral);
+  }
+
   /**
    * Moves tags associated with given blocks (if they exist) to the direction of the specified block
    * face.
@@ -167,4 +329,70 @@ public class PatchPlaceBreakPaperAdapterApi {
     BlockLocation blockLocation = locationConverter.convert(bukkitBlock);
     return patchPlaceBreakApi.removeTag(new Block(blockLocation, bukkitBlock.getType().name()));
   }
+
+  /**
+   * Removes existing tags from the specified blocks at once.
+   *
+   * @param bukkitBlocks The blocks from which to remove the tags if they exist.
+   * @return The completable future object.
+   * @see PatchPlaceBreakApi#removeTags(Set)
+   */
+  public @NotNull CompletableFuture<Void> removeTags(
+      @NotNull Collection<org.bukkit.block.Block> bukkitBlocks) {
+    Set<Block> blocks =
+        bukkitBlocks.stream()
+            .map(
+                bukkitBlock ->
+                    new Block(locationConverter.convert(bukkitBlock), bukkitBlock.getType().name()))
+            .collect(Collectors.toSet());
+    return patchPlaceBreakApi.removeTags(blocks);
+  }
+
+  /**
+   * Publishes the removal of the existing tag from the specified location, without allocating
+   * anything on the calling thread.
+   *
+   * @param bukkitBlock The block from which to remove the tag if it exists.
+   * @see PatchPlaceBreakApi#publishTagRemoval(String, int, int, int, String)
+   */
+  public void publishTagRemoval(@NotNull org.bukkit.block.Block bukkitBlock) {
+    patchPlaceBreakApi.publishTagRemoval(
+        bukkitBlock.getWorld().getName(),
+        bukkitBlock.getX(),
+        bukkitBlock.getY(),
+        bukkitBlock.getZ(),
+        bukkitBlock.getType().name());
+  }
+
+  /**
+   * Prefetches in memory the tag of the specified location if any.
+   *
+   * @param bukkitBlock The block for which to prefetch the tag.
+   * @return The completable future object.
+   * @see PatchPlaceBreakApi#prefetchTag(Block)
+   */
+  public @NotNull CompletableFuture<Void> prefetchTag(@NotNull org.bukkit.block.Block bukkitBlock) {
+    return patchPlaceBreakApi.prefetchTag(toBlock(bukkitBlock));
+  }
+
+  /**
+   * Loads in memory the tags of the specified chunk.
+   *
+   * @param chunk The chunk for which to load the tags.
+   * @return The completable future object.
+   * @see PatchPlaceBreakApi#loadChunkTags(ChunkLocation)
+   */
+  public @NotNull CompletableFuture<Void> loadChunkTags(@NotNull Chunk chunk) {
+    return patchPlaceBreakApi.loadChunkTags(chunkLocationConverter.convert(chunk));
+  }
+
+  /**
+   * Releases from memory the tags of the specified chunk.
+   *
+   * @param chunk The chunk for which to release the tags.
+   * @see PatchPlaceBreakApi#unloadChunkTags(ChunkLocation)
+   */
+  public void unloadChunkTags(@NotNull Chunk chunk) {
+    patchPlaceBreakApi.unloadChunkTags(chunkLocationConverter.convert(chunk));
+  }
 }
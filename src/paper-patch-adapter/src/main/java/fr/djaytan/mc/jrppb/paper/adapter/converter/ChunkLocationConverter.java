@@ -0,0 +1,44 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.paper.adapter.converter;
+
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import jakarta.inject.Singleton;
+import org.bukkit.Chunk;
+import org.jetbrains.annotations.NotNull;
+
+/** Represents a converter between a {@link Chunk} and a {@link ChunkLocation}. */
+@Singleton
+public class ChunkLocationConverter implements UnidirectionalConverter<Chunk, ChunkLocation> {
+
+  /**
+   * Converts a {@link Chunk} to a {@link ChunkLocation}.
+   *
+   * @param chunk The chunk to convert into a chunk location.
+   * @return The converted chunk location.
+   */
+  @Override
+  public @NotNull ChunkLocation convert(@NotNull Chunk chunk) {
+    return new ChunkLocation(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+  }
+}
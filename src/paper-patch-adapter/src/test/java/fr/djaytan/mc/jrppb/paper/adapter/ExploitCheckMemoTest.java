@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.paper.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockActionType;
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+final class ExploitCheckMemoTest {
+
+  private static final BlockLocation BLOCK_LOCATION = new BlockLocation("world", 1, 2, 3);
+  private static final BlockLocation OTHER_BLOCK_LOCATION = new BlockLocation("world", 4, 5, 6);
+
+  private final AtomicInteger currentTick = new AtomicInteger();
+  private final ExploitCheckMemo exploitCheckMemo = new ExploitCheckMemo(currentTick::get);
+
+  @Test
+  void withinSameTick_shallRecallMemoizedResults() {
+    // Given
+    exploitCheckMemo.memoize(
+        BlockActionType.BREAK, Map.of(BLOCK_LOCATION, true, OTHER_BLOCK_LOCATION, false));
+
+    // When
+    Boolean result = exploitCheckMemo.recall(BlockActionType.BREAK, BLOCK_LOCATION);
+    Boolean otherResult = exploitCheckMemo.recall(BlockActionType.BREAK, OTHER_BLOCK_LOCATION);
+
+    // Then
+    assertThat(result).isTrue();
+    assertThat(otherResult).isFalse();
+  }
+
+  @Test
+  void withNotMemoizedLocation_shallRecallNothing() {
+    // Given
+    exploitCheckMemo.memoize(BlockActionType.BREAK, Map.of(BLOCK_LOCATION, true));
+
+    // When
+    Boolean result = exploitCheckMemo.recall(BlockActionType.BREAK, OTHER_BLOCK_LOCATION);
+
+    // Then
+    assertThat(result).isNull();
+  }
+
+  @Test
+  void withOtherActionType_shallRecallNothing() {
+    // Given
+    exploitCheckMemo.memoize(BlockActionType.BREAK, Map.of(BLOCK_LOCATION, true));
+
+    // When
+    Boolean result = exploitCheckMemo.recall(BlockActionType.PLACE, BLOCK_LOCATION);
+
+    // Then
+    assertThat(result).isNull();
+  }
+
+  @Test
+  void afterOneTick_shallRecallNothing() {
+    // Given
+    exploitCheckMemo.memoize(BlockActionType.BREAK, Map.of(BLOCK_LOCATION, true));
+    currentTick.incrementAndGet();
+
+    // When
+    Boolean result = exploitCheckMemo.recall(BlockActionType.BREAK, BLOCK_LOCATION);
+
+    // Then
+    assertThat(result).isNull();
+  }
+
+  @Test
+  void whenMemoizingAfterOneTick_shallDiscardPreviousResults() {
+    // Given
+    exploitCheckMemo.memoize(BlockActionType.BREAK, Map.of(BLOCK_LOCATION, true));
+    currentTick.incrementAndGet();
+
+    // When
+    exploitCheckMemo.memoize(BlockActionType.BREAK, Map.of(OTHER_BLOCK_LOCATION, true));
+
+    // Then
+    assertThat(exploitCheckMemo.recall(BlockActionType.BREAK, BLOCK_LOCATION)).isNull();
+    assertThat(exploitCheckMemo.recall(BlockActionType.BREAK, OTHER_BLOCK_LOCATION)).isTrue();
+  }
+}
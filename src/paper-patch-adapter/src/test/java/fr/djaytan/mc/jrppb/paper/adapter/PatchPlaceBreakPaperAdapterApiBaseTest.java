@@ -36,12 +36,15 @@ import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
 import fr.djaytan.mc.jrppb.core.PatchPlaceBreakCore;
 import fr.djaytan.mc.jrppb.paper.adapter.converter.ActionTypeConverter;
 import fr.djaytan.mc.jrppb.paper.adapter.converter.BlockFaceConverter;
+import fr.djaytan.mc.jrppb.paper.adapter.converter.ChunkLocationConverter;
 import fr.djaytan.mc.jrppb.paper.adapter.converter.LocationConverter;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.TemporalAmount;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -182,6 +185,108 @@ abstract class PatchPlaceBreakPaperAdapterApiBaseTest {
     }
   }
 
+  @Nested
+  @DisplayName("isPlaceAndBreakExploitAsync()")
+  class IsPlaceAndBreakExploitAsync {
+
+    @Test
+    void whenActionInfoIsNull_shallNotReportExploit() {
+      assertThat(
+              patchPlaceBreakPaperAdapterApi.isPlaceAndBreakExploitAsync(null, randomBlockMocked))
+          .succeedsWithin(Duration.ofSeconds(5))
+          .isEqualTo(false);
+    }
+
+    @Test
+    void whenTagHasBeenPut_shallReportExploit() {
+      // Given
+      ActionInfo actionInfo = new BlockActionInfo(randomBlockMocked, ActionType.BREAK);
+      given(randomBlockMocked.getType()).willReturn(Material.STONE);
+      patchPlaceBreakPaperAdapterApi.putTag(randomBlockMocked, false);
+
+      // When
+      var isExploit =
+          patchPlaceBreakPaperAdapterApi.isPlaceAndBreakExploitAsync(actionInfo, randomBlockMocked);
+
+      // Then
+      assertThat(isExploit).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+    }
+  }
+
+  @Nested
+  @DisplayName("tryIsPlaceAndBreakExploitFast()")
+  class TryIsPlaceAndBreakExploitFast {
+
+    @Test
+    void whenActionIsBlacklisted_shallNotReportExploit() {
+      // Given
+      ActionInfo actionInfo = new BlockActionInfo(randomBlockMocked, ActionType.BREAK);
+      given(randomBlockMocked.getType()).willReturn(Material.AIR);
+
+      // When
+      var isExploit =
+          patchPlaceBreakPaperAdapterApi.tryIsPlaceAndBreakExploitFast(
+              actionInfo, randomBlockMocked);
+
+      // Then
+      assertThat(isExploit).contains(false);
+    }
+
+    @Test
+    void whenTagHasBeenPut_shallReportExploitFromMemory() {
+      // Given
+      ActionInfo actionInfo = new BlockActionInfo(randomBlockMocked, ActionType.BREAK);
+      given(randomBlockMocked.getType()).willReturn(Material.STONE);
+      patchPlaceBreakPaperAdapterApi.putTag(randomBlockMocked, false).join();
+
+      // When
+      var isExploit =
+          patchPlaceBreakPaperAdapterApi.tryIsPlaceAndBreakExploitFast(
+              actionInfo, randomBlockMocked);
+
+      // Then
+      assertThat(isExploit).contains(true);
+    }
+  }
+
+  @Nested
+  @DisplayName("isPlaceAndBreakExploit() of several blocks")
+  class IsPlaceAndBreakExploitOfSeveralBlocks {
+
+    @Test
+    void whenActionTypeIsUnsupported_shallNotReportExploit() {
+      // When
+      var isExploit =
+          patchPlaceBreakPaperAdapterApi.isPlaceAndBreakExploit(
+              ActionType.KILL, List.of(randomBlockMocked));
+
+      // Then
+      assertThat(isExploit).containsExactly(Map.entry(randomBlockMocked, false));
+    }
+
+    @Test
+    void whenTagHasBeenPut_shallReportExploitAndMemoizeIt() {
+      // Given
+      ActionInfo actionInfo = new BlockActionInfo(randomBlockMocked, ActionType.TNTBREAK);
+      given(randomBlockMocked.getType()).willReturn(Material.STONE);
+      patchPlaceBreakPaperAdapterApi.putTag(randomBlockMocked, false).join();
+
+      // When
+      var isExploit =
+          patchPlaceBreakPaperAdapterApi.isPlaceAndBreakExploit(
+              ActionType.TNTBREAK, List.of(randomBlockMocked));
+
+      // Then
+      assertAll(
+          () -> assertThat(isExploit).containsExactly(Map.entry(randomBlockMocked, true)),
+          () ->
+              assertThat(
+                      patchPlaceBreakPaperAdapterApi.isPlaceAndBreakExploit(
+                          actionInfo, randomBlockMocked))
+                  .isTrue());
+    }
+  }
+
   @Nested
   @DisplayName("putTag()")
   class PutTag {
@@ -227,6 +332,31 @@ abstract class PatchPlaceBreakPaperAdapterApiBaseTest {
     }
   }
 
+  @Nested
+  @DisplayName("publishTagPut()")
+  class PublishTagPut {
+
+    @Test
+    void whenExplodingPlacedBlock_shallStillDetectExploitOnDelayedCheck() {
+      // Given
+      ActionInfo actionInfo = new BlockActionInfo(randomBlockMocked, ActionType.TNTBREAK);
+      given(randomBlockMocked.getType()).willReturn(Material.STONE);
+      patchPlaceBreakPaperAdapterApi.putTag(randomBlockMocked, false).join();
+
+      // When
+      patchPlaceBreakPaperAdapterApi.publishTagPut(randomBlockMocked, true);
+      mutableClock.add(Duration.ofSeconds(1));
+
+      // Then
+      boolean isExploit =
+          patchPlaceBreakPaperAdapterApi
+              .isPlaceAndBreakExploitAsync(actionInfo, randomBlockMocked)
+              .join();
+
+      assertThat(isExploit).isTrue();
+    }
+  }
+
   @Nested
   @DisplayName("moveTags()")
   class MoveTags {
@@ -291,6 +421,28 @@ abstract class PatchPlaceBreakPaperAdapterApiBaseTest {
     }
   }
 
+  @Nested
+  @DisplayName("removeTags()")
+  class RemoveTags {
+
+    @Test
+    void afterRemovingTags_shallNotDetectExploit() {
+      // Given
+      patchPlaceBreakPaperAdapterApi.putTag(randomBlockMocked, false).join();
+
+      // When
+      patchPlaceBreakPaperAdapterApi.removeTags(List.of(randomBlockMocked)).join();
+
+      // Then
+      ActionInfo actionInfo = new BlockActionInfo(randomBlockMocked, ActionType.PLACE);
+
+      boolean isExploit =
+          patchPlaceBreakPaperAdapterApi.isPlaceAndBreakExploit(actionInfo, randomBlockMocked);
+
+      assertThat(isExploit).isFalse();
+    }
+  }
+
   /* Helpers */
 
   private @NotNull PatchPlaceBreakPaperAdapterApi createPatchPlaceBreakPaperAdapterApi() {
@@ -300,10 +452,17 @@ abstract class PatchPlaceBreakPaperAdapterApiBaseTest {
 
     ActionTypeConverter actionTypeConverter = new ActionTypeConverter();
     BlockFaceConverter blockFaceConverter = new BlockFaceConverter();
+    ChunkLocationConverter chunkLocationConverter = new ChunkLocationConverter();
     LocationConverter locationConverter = new LocationConverter();
 
     return new PatchPlaceBreakPaperAdapterApi(
-        actionTypeConverter, blockFaceConverter, locationConverter, patchPlaceBreakApi);
+        actionTypeConverter,
+        blockFaceConverter,
+        chunkLocationConverter,
+        locationConverter,
+        patchPlaceBreakApi,
+        // The checks performed by a test all happen within the same tick
+        () -> 0);
   }
 
   /**
@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.paper.adapter.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkLocationConverterTest {
+
+  private ChunkLocationConverter chunkLocationConverter;
+
+  @BeforeEach
+  void setUp() {
+    chunkLocationConverter = new ChunkLocationConverter();
+  }
+
+  @Nested
+  class WhenConverting {
+
+    @Test
+    void fromNominalChunk_shouldReturnExpectedChunkLocation(
+        @Mock @NotNull Chunk chunk, @Mock @NotNull World world) {
+      // Given
+      String worldName = "world";
+      given(world.getName()).willReturn(worldName);
+
+      int x = -11;
+      int z = 19;
+      given(chunk.getX()).willReturn(x);
+      given(chunk.getZ()).willReturn(z);
+      given(chunk.getWorld()).willReturn(world);
+
+      // When
+      ChunkLocation chunkLocation = chunkLocationConverter.convert(chunk);
+
+      // Then
+      assertThat(chunkLocation).isEqualTo(new ChunkLocation(worldName, x, z));
+    }
+  }
+}
@@ -23,12 +23,16 @@
 package fr.djaytan.mc.jrppb.paper.listener;
 
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockBreakListener;
+import fr.djaytan.mc.jrppb.paper.listener.block.BlockDamageListener;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockGrowListener;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockPistonListener;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockPlaceListener;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockSpreadListener;
+import fr.djaytan.mc.jrppb.paper.listener.block.ExplosionListener;
 import fr.djaytan.mc.jrppb.paper.listener.jobs.JobsExpGainListener;
 import fr.djaytan.mc.jrppb.paper.listener.jobs.JobsPrePaymentListener;
+import fr.djaytan.mc.jrppb.paper.listener.world.ChunkLoadListener;
+import fr.djaytan.mc.jrppb.paper.listener.world.ChunkUnloadListener;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.bukkit.plugin.PluginManager;
@@ -47,10 +51,14 @@ public class ListenerRegister {
   private final PluginManager pluginManager;
 
   private final BlockBreakListener blockBreakListener;
+  private final BlockDamageListener blockDamageListener;
   private final BlockGrowListener blockGrowListener;
   private final BlockPistonListener blockPistonListener;
   private final BlockPlaceListener blockPlaceListener;
   private final BlockSpreadListener blockSpreadListener;
+  private final ChunkLoadListener chunkLoadListener;
+  private final ExplosionListener explosionListener;
+  private final ChunkUnloadListener chunkUnloadListener;
   private final JobsExpGainListener jobsExpGainListener;
   private final JobsPrePaymentListener jobsPrePaymentListener;
 
@@ -59,19 +67,27 @@ public class ListenerRegister {
       @NotNull JavaPlugin javaPlugin,
       @NotNull PluginManager pluginManager,
       @NotNull BlockBreakListener blockBreakListener,
+      @NotNull BlockDamageListener blockDamageListener,
       @NotNull BlockGrowListener blockGrowListener,
       @NotNull BlockPistonListener blockPistonListener,
       @NotNull BlockPlaceListener blockPlaceListener,
       @NotNull BlockSpreadListener blockSpreadListener,
+      @NotNull ChunkLoadListener chunkLoadListener,
+      @NotNull ExplosionListener explosionListener,
+      @NotNull ChunkUnloadListener chunkUnloadListener,
       @NotNull JobsExpGainListener jobsExpGainListener,
       @NotNull JobsPrePaymentListener jobsPrePaymentListener) {
     this.javaPlugin = javaPlugin;
     this.pluginManager = pluginManager;
     this.blockBreakListener = blockBreakListener;
+    this.blockDamageListener = blockDamageListener;
     this.blockGrowListener = blockGrowListener;
     this.blockPistonListener = blockPistonListener;
     this.blockPlaceListener = blockPlaceListener;
     this.blockSpreadListener = blockSpreadListener;
+    this.chunkLoadListener = chunkLoadListener;
+    this.explosionListener = explosionListener;
+    this.chunkUnloadListener = chunkUnloadListener;
     this.jobsExpGainListener = jobsExpGainListener;
     this.jobsPrePaymentListener = jobsPrePaymentListener;
   }
@@ -81,10 +97,14 @@ public class ListenerRegister {
    */
   public void registerListeners() {
     pluginManager.registerEvents(blockBreakListener, javaPlugin);
+    pluginManager.registerEvents(blockDamageListener, javaPlugin);
     pluginManager.registerEvents(blockGrowListener, javaPlugin);
     pluginManager.registerEvents(blockPistonListener, javaPlugin);
     pluginManager.registerEvents(blockPlaceListener, javaPlugin);
     pluginManager.registerEvents(blockSpreadListener, javaPlugin);
+    pluginManager.registerEvents(chunkLoadListener, javaPlugin);
+    pluginManager.registerEvents(explosionListener, javaPlugin);
+    pluginManager.registerEvents(chunkUnloadListener, javaPlugin);
     pluginManager.registerEvents(jobsExpGainListener, javaPlugin);
     pluginManager.registerEvents(jobsPrePaymentListener, javaPlugin);
     log.info("Event listeners registered.");
@@ -65,6 +65,6 @@ public class BlockBreakListener implements Listener {
   @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
   public void onBlockBreak(@NotNull BlockBreakEvent event) {
     Block block = event.getBlock();
-    patchPlaceBreakPaperAdapterApi.putTag(block, true);
+    patchPlaceBreakPaperAdapterApi.publishTagPut(block, true);
   }
 }
@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.paper.listener.block;
+
+import fr.djaytan.mc.jrppb.paper.adapter.PatchPlaceBreakPaperAdapterApi;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDamageEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class represents a {@link BlockDamageEvent} listener.
+ *
+ * <p>A player always starts damaging a block several ticks before breaking it. The purpose of this
+ * listener is to take advantage of this delay to fetch in memory the place-and-break patch tag of
+ * the damaged block. This way, the check performed when the player gets paid for breaking the block
+ * doesn't need to query the database.
+ */
+@Singleton
+public class BlockDamageListener implements Listener {
+
+  private final PatchPlaceBreakPaperAdapterApi patchPlaceBreakPaperAdapterApi;
+
+  @Inject
+  public BlockDamageListener(
+      @NotNull PatchPlaceBreakPaperAdapterApi patchPlaceBreakPaperAdapterApi) {
+    this.patchPlaceBreakPaperAdapterApi = patchPlaceBreakPaperAdapterApi;
+  }
+
+  /**
+   * This method is called when a {@link BlockDamageEvent} is dispatched to prefetch the
+   * place-and-break patch tag of the damaged block.
+   *
+   * <p>The EventPriority is set to {@link EventPriority#MONITOR} because we just want to react when
+   * we have the confirmation that the event will occur without modifying its result. The tag is
+   * fetched asynchronously to avoid blocking the main thread.
+   *
+   * @param event The block damage event.
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockDamage(@NotNull BlockDamageEvent event) {
+    patchPlaceBreakPaperAdapterApi.prefetchTag(event.getBlock());
+  }
+}
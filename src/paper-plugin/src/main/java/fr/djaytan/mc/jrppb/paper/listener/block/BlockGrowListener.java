@@ -61,6 +61,6 @@ public class BlockGrowListener implements Listener {
   @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
   public void onBlockGrow(@NotNull BlockGrowEvent event) {
     Block block = event.getBlock();
-    patchPlaceBreakPaperAdapterApi.removeTag(block);
+    patchPlaceBreakPaperAdapterApi.publishTagRemoval(block);
   }
 }
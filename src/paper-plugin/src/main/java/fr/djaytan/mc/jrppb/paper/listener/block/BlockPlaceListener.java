@@ -73,7 +73,7 @@ public class BlockPlaceListener implements Listener {
     Block placedBlock = event.getBlockPlaced();
 
     if (!isLogStrippingChange(event.getItemInHand(), placedBlock.getType())) {
-      patchPlaceBreakPaperAdapterApi.putTag(placedBlock, false);
+      patchPlaceBreakPaperAdapterApi.publishTagPut(placedBlock, false);
     }
   }
 }
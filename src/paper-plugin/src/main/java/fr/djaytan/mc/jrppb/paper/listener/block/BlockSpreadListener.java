@@ -62,6 +62,6 @@ public class BlockSpreadListener implements Listener {
   @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
   public void onBlockSpread(@NotNull BlockSpreadEvent event) {
     Block block = event.getBlock();
-    patchPlaceBreakPaperAdapterApi.removeTag(block);
+    patchPlaceBreakPaperAdapterApi.publishTagRemoval(block);
   }
 }
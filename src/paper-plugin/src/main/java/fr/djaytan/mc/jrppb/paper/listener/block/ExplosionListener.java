@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.paper.listener.block;
+
+import com.gamingmesh.jobs.container.ActionType;
+import fr.djaytan.mc.jrppb.paper.adapter.PatchPlaceBreakPaperAdapterApi;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.List;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class represents an explosion listener. More specifically, this is a listener of both
+ * {@link EntityExplodeEvent} and {@link BlockExplodeEvent}.
+ *
+ * <p>An explosion makes JobsReborn dispatch one event per destroyed block within the same tick,
+ * each of them being checked by the patch. The first purpose of this listener is to check all the
+ * destroyed blocks at once beforehand, so that these checks share a single lookup which only
+ * involves the blocks whose answer isn't already known from memory. The second one is to put an
+ * ephemeral tag on each destroyed block afterward, like when a block is broken. Unlike removing
+ * their tags, this keeps the checks performed later by JobsReborn for the same explosion (e.g. once
+ * the memoized results have been discarded) from rewarding an exploit.
+ */
+@Singleton
+public class ExplosionListener implements Listener {
+
+  private final PatchPlaceBreakPaperAdapterApi patchPlaceBreakPaperAdapterApi;
+
+  @Inject
+  public ExplosionListener(@NotNull PatchPlaceBreakPaperAdapterApi patchPlaceBreakPaperAdapterApi) {
+    this.patchPlaceBreakPaperAdapterApi = patchPlaceBreakPaperAdapterApi;
+  }
+
+  /**
+   * This method is called when an {@link EntityExplodeEvent} is dispatched to check at once the
+   * destroyed blocks.
+   *
+   * <p>The EventPriority is set to {@link EventPriority#LOWEST} because the check must be performed
+   * before JobsReborn reacts to the event.
+   *
+   * @param event The entity explode event.
+   */
+  @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+  public void onEntityExplode(@NotNull EntityExplodeEvent event) {
+    patchPlaceBreakPaperAdapterApi.isPlaceAndBreakExploit(ActionType.TNTBREAK, event.blockList());
+  }
+
+  /**
+   * This method is called when a {@link BlockExplodeEvent} is dispatched to check at once the
+   * destroyed blocks.
+   *
+   * <p>The EventPriority is set to {@link EventPriority#LOWEST} because the check must be performed
+   * before JobsReborn reacts to the event.
+   *
+   * @param event The block explode event.
+   */
+  @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+  public void onBlockExplode(@NotNull BlockExplodeEvent event) {
+    patchPlaceBreakPaperAdapterApi.isPlaceAndBreakExploit(ActionType.TNTBREAK, event.blockList());
+  }
+
+  /**
+   * This method is called when an {@link EntityExplodeEvent} is dispatched to put the ephemeral
+   * place-and-break patch tags of the destroyed blocks.
+   *
+   * <p>The EventPriority is set to {@link EventPriority#MONITOR} because we just want to react when
+   * we have the confirmation that the event will occur without modifying its result.
+   *
+   * @param event The entity explode event.
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onEntityExplodeMonitor(@NotNull EntityExplodeEvent event) {
+    publishEphemeralTagPuts(event.blockList());
+  }
+
+  /**
+   * This method is called when a {@link BlockExplodeEvent} is dispatched to put the ephemeral
+   * place-and-break patch tags of the destroyed blocks.
+   *
+   * <p>The EventPriority is set to {@link EventPriority#MONITOR} because we just want to react when
+   * we have the confirmation that the event will occur without modifying its result.
+   *
+   * @param event The block explode event.
+   */
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onBlockExplodeMonitor(@NotNull BlockExplodeEvent event) {
+    publishEphemeralTagPuts(event.blockList());
+  }
+
+  private void publishEphemeralTagPuts(@NotNull List<Block> blocks) {
+    for (Block block : blocks) {
+      patchPlaceBreakPaperAdapterApi.publishTagPut(block, true);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.paper.listener.world;
+
+import fr.djaytan.mc.jrppb.paper.adapter.PatchPlaceBreakPaperAdapterApi;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class represents a {@link ChunkLoadEvent} listener.
+ *
+ * <p>The purpose of this listener is to load in memory the place-and-break patch tags of a chunk as
+ * soon as it gets loaded. This way, the checks performed while players interact with the blocks of
+ * this chunk don't need to query the database.
+ */
+@Singleton
+public class ChunkLoadListener implements Listener {
+
+  private final PatchPlaceBreakPaperAdapterApi patchPlaceBreakPaperAdapterApi;
+
+  @Inject
+  public ChunkLoadListener(@NotNull PatchPlaceBreakPaperAdapterApi patchPlaceBreakPaperAdapterApi) {
+    this.patchPlaceBreakPaperAdapterApi = patchPlaceBreakPaperAdapterApi;
+  }
+
+  /**
+   * This method is called when a {@link ChunkLoadEvent} is dispatched to load the place-and-break
+   * patch tags of the chunk.
+   *
+   * <p>The EventPriority is set to {@link EventPriority#MONITOR} because we just want to react when
+   * we have the confirmation that the event will occur without modifying its result. The tags are
+   * loaded asynchronously to avoid blocking the main thread.
+   *
+   * @param event The chunk load event.
+   */
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onChunkLoad(@NotNull ChunkLoadEvent event) {
+    patchPlaceBreakPaperAdapterApi.loadChunkTags(event.getChunk());
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.paper.listener.world;
+
+import fr.djaytan.mc.jrppb.paper.adapter.PatchPlaceBreakPaperAdapterApi;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class represents a {@link ChunkUnloadEvent} listener.
+ *
+ * <p>The purpose of this listener is to release from memory the place-and-break patch tags of a
+ * chunk once it gets unloaded. Tags remain stored in the database and will be loaded again with the
+ * chunk.
+ */
+@Singleton
+public class ChunkUnloadListener implements Listener {
+
+  private final PatchPlaceBreakPaperAdapterApi patchPlaceBreakPaperAdapterApi;
+
+  @Inject
+  public ChunkUnloadListener(
+      @NotNull PatchPlaceBreakPaperAdapterApi patchPlaceBreakPaperAdapterApi) {
+    this.patchPlaceBreakPaperAdapterApi = patchPlaceBreakPaperAdapterApi;
+  }
+
+  /**
+   * This method is called when a {@link ChunkUnloadEvent} is dispatched to release the
+   * place-and-break patch tags of the chunk.
+   *
+   * <p>The EventPriority is set to {@link EventPriority#MONITOR} because we just want to react when
+   * we have the confirmation that the event will occur without modifying its result.
+   *
+   * @param event The chunk unload event.
+   */
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onChunkUnload(@NotNull ChunkUnloadEvent event) {
+    patchPlaceBreakPaperAdapterApi.unloadChunkTags(event.getChunk());
+  }
+}
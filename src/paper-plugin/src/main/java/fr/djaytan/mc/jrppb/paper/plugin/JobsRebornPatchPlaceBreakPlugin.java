@@ -28,6 +28,8 @@ import fr.djaytan.mc.jrppb.paper.adapter.PatchPlaceBreakPaperAdapterApi;
 import fr.djaytan.mc.jrppb.paper.listener.ListenerRegister;
 import fr.djaytan.mc.jrppb.paper.plugin.inject.JobsRebornPatchPlaceBreakInjector;
 import java.time.Clock;
+import org.bukkit.Chunk;
+import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.TestOnly;
@@ -62,10 +64,23 @@ public class JobsRebornPatchPlaceBreakPlugin extends JavaPlugin {
 
     listenerRegister.registerListeners();
     metricsFacade.activateMetricsCollection();
+    loadTagsOfAlreadyLoadedChunks();
 
     getLogger().info("JobsReborn-PatchPlaceBreak successfully enabled.");
   }
 
+  /**
+   * Chunks loaded before the enabling of this plugin (e.g. spawn chunks) don't trigger any chunk
+   * load event to listen for, hence the need to load their tags explicitly.
+   */
+  private void loadTagsOfAlreadyLoadedChunks() {
+    for (World world : getServer().getWorlds()) {
+      for (Chunk chunk : world.getLoadedChunks()) {
+        patchPlaceBreakPaperAdapterApi.loadChunkTags(chunk);
+      }
+    }
+  }
+
   @Override
   public void onDisable() {
     if (patchPlaceBreakCore != null) {
@@ -35,12 +35,16 @@ import com.gamingmesh.jobs.container.ActionInfo;
 import com.gamingmesh.jobs.container.ActionType;
 import fr.djaytan.mc.jrppb.paper.adapter.PatchPlaceBreakPaperAdapterApi;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockBreakListener;
+import fr.djaytan.mc.jrppb.paper.listener.block.BlockDamageListener;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockGrowListener;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockPistonListener;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockPlaceListener;
 import fr.djaytan.mc.jrppb.paper.listener.block.BlockSpreadListener;
+import fr.djaytan.mc.jrppb.paper.listener.block.ExplosionListener;
 import fr.djaytan.mc.jrppb.paper.listener.jobs.JobsExpGainListener;
 import fr.djaytan.mc.jrppb.paper.listener.jobs.JobsPrePaymentListener;
+import fr.djaytan.mc.jrppb.paper.listener.world.ChunkLoadListener;
+import fr.djaytan.mc.jrppb.paper.listener.world.ChunkUnloadListener;
 import fr.djaytan.mc.jrppb.paper.plugin.JobsRebornPatchPlaceBreakPlugin;
 import java.time.Clock;
 import java.time.Duration;
@@ -77,10 +81,14 @@ class ListenerRegisterTest {
   @BeforeEach
   void setUp() {
     BlockBreakListener blockBreakListener = new BlockBreakListener(patchApi);
+    BlockDamageListener blockDamageListener = new BlockDamageListener(patchApi);
     BlockGrowListener blockGrowListener = new BlockGrowListener(patchApi);
     BlockPistonListener blockPistonListener = new BlockPistonListener(patchApi);
     BlockPlaceListener blockPlaceListener = new BlockPlaceListener(patchApi);
     BlockSpreadListener blockSpreadListener = new BlockSpreadListener(patchApi);
+    ChunkLoadListener chunkLoadListener = new ChunkLoadListener(patchApi);
+    ExplosionListener explosionListener = new ExplosionListener(patchApi);
+    ChunkUnloadListener chunkUnloadListener = new ChunkUnloadListener(patchApi);
     JobsExpGainListener jobsExpGainListener = new JobsExpGainListener(patchApi);
     JobsPrePaymentListener jobsPrePaymentListener = new JobsPrePaymentListener(patchApi);
     listenerRegister =
@@ -88,10 +96,14 @@ class ListenerRegisterTest {
             plugin,
             plugin.getServer().getPluginManager(),
             blockBreakListener,
+            blockDamageListener,
             blockGrowListener,
             blockPistonListener,
             blockPlaceListener,
             blockSpreadListener,
+            chunkLoadListener,
+            explosionListener,
+            chunkUnloadListener,
             jobsExpGainListener,
             jobsPrePaymentListener);
   }
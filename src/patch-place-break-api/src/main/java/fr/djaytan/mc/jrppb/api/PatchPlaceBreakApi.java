@@ -24,9 +24,13 @@ package fr.djaytan.mc.jrppb.api;
 
 import fr.djaytan.mc.jrppb.api.entities.Block;
 import fr.djaytan.mc.jrppb.api.entities.BlockActionType;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Tag;
 import fr.djaytan.mc.jrppb.api.entities.Vector;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import org.jetbrains.annotations.NotNull;
@@ -47,15 +51,27 @@ import org.jetbrains.annotations.NotNull;
  *
  * <p>Nevertheless, an attached tag can be removed given specific conditions like when a block grows
  * event happens. This will permit farmers to achieve their job without seeing their action being
- * cancelled by this patch plugin. This is the purpose of the {@link #removeTag(Block)} method.
+ * cancelled by this patch plugin. This is the purpose of the {@link #removeTag(Block)} method,
+ * while {@link #removeTags(Set)} removes the tags of many blocks at once (e.g. after an explosion).
  *
  * <p>A tag can be placed with {@link #putTag(Block, boolean)} method. The {@link #moveTags(Set,
  * Vector)} has a special purpose: to permit putting back tags when blocks are moved (e.g. by block
  * piston extend and retract events).
  *
+ * <p>Block listeners, which are called on the server thread for each block event, may rather use
+ * {@link #publishTagPut(String, int, int, int, String, boolean)} and {@link
+ * #publishTagRemoval(String, int, int, int, String)}: these fire-and-forget variants take the raw
+ * block coordinates and don't allocate anything on the calling thread in the nominal case.
+ *
  * <p>Finally, this API gives the possibility to check if the job action type involving a given
  * block is a place-and-break exploit or no with the method {@link
- * #isPlaceAndBreakExploit(BlockActionType, Block)}.
+ * #isPlaceAndBreakExploit(BlockActionType, Block)}. To keep this check fast, the tags of loaded
+ * chunks can be kept in memory with {@link #loadChunkTags(ChunkLocation)} and {@link
+ * #unloadChunkTags(ChunkLocation)}. Callers which can't afford to block may rather use {@link
+ * #isPlaceAndBreakExploitAsync(BlockActionType, Block)} or {@link
+ * #tryIsPlaceAndBreakExploitFast(BlockActionType, Block)}, depending on their latency policy. The
+ * latter is more likely to know the answer when the tag has been prefetched beforehand with {@link
+ * #prefetchTag(Block)}.
  */
 public interface PatchPlaceBreakApi {
 
@@ -108,6 +124,101 @@ public interface PatchPlaceBreakApi {
   @NotNull
   CompletableFuture<Void> removeTag(@NotNull Block block);
 
+  /**
+   * Removes existing tags from the specified blocks at once. This can be useful when many blocks
+   * are destroyed by a single action (e.g. an explosion).
+   *
+   * <p>The removals are performed in a single batch for performance purposes, and the method is
+   * executed asynchronously.
+   *
+   * @param blocks The blocks where to remove tags if existing.
+   * @return The completable future object.
+   */
+  @NotNull
+  CompletableFuture<Void> removeTags(@NotNull Set<Block> blocks);
+
+  /**
+   * Publishes the put of a {@link Tag} to the given location, the same way as {@link #putTag(Block,
+   * boolean)} but without any mean to know when the tag has been put.
+   *
+   * <p>This variant is meant to be called by block listeners: the block is described by its raw
+   * coordinates, which are handed over to the background thread without allocating anything on the
+   * calling thread. The publication is ordered with the other operations involving the same chunk.
+   *
+   * @param worldName The name of the world of the block where the tag must be put.
+   * @param x The x-axis value of the block.
+   * @param y The y-axis value of the block.
+   * @param z The z-axis value of the block.
+   * @param material The material of the block.
+   * @param isEphemeral <code>true</code> if the tag must be ephemeral, <code>false</code>
+   *     otherwise.
+   */
+  void publishTagPut(
+      @NotNull String worldName,
+      int x,
+      int y,
+      int z,
+      @NotNull String material,
+      boolean isEphemeral);
+
+  /**
+   * Publishes the removal of the existing tag from the given block, the same way as {@link
+   * #removeTag(Block)} but without any mean to know when the tag has been removed.
+   *
+   * @param worldName The name of the world of the block where to remove the tag if existing.
+   * @param x The x-axis value of the block.
+   * @param y The y-axis value of the block.
+   * @param z The z-axis value of the block.
+   * @param material The material of the block.
+   * @see #publishTagPut(String, int, int, int, String, boolean)
+   */
+  void publishTagRemoval(@NotNull String worldName, int x, int y, int z, @NotNull String material);
+
+  /**
+   * Loads in memory all the tags of the specified chunk.
+   *
+   * <p>Once loaded, {@link #isPlaceAndBreakExploit(BlockActionType, Block)} is answered from memory
+   * for any block of the chunk instead of querying the data source. This is expected to be called
+   * when the chunk gets loaded and to be reverted with {@link #unloadChunkTags(ChunkLocation)} when
+   * the chunk gets unloaded, so the memory footprint scales with the number of loaded chunks.
+   *
+   * <p>The method is executed asynchronously for performance purposes. Loading is only an
+   * optimization: it's skipped when the chunk gets unloaded before its tags are loaded and when the
+   * background threads are saturated, lookups then keep querying the data source. It's never
+   * executed by the calling thread.
+   *
+   * @param chunkLocation The chunk for which to load the tags.
+   * @return The completable future object, completed exceptionally if the load has been skipped
+   *     because of saturation.
+   */
+  @NotNull
+  CompletableFuture<Void> loadChunkTags(@NotNull ChunkLocation chunkLocation);
+
+  /**
+   * Releases from memory the tags of the specified chunk previously loaded with {@link
+   * #loadChunkTags(ChunkLocation)}. The tags themselves are kept in the data source.
+   *
+   * @param chunkLocation The chunk for which to release the tags.
+   */
+  void unloadChunkTags(@NotNull ChunkLocation chunkLocation);
+
+  /**
+   * Prefetches in memory the tag of the given block if any, so that a later check on this block
+   * with {@link #isPlaceAndBreakExploit(BlockActionType, Block)} is answered without querying the
+   * data source. This is expected to be called a short time before the check, e.g. when a player
+   * starts damaging the block.
+   *
+   * <p>Prefetching is only a hint: it has no effect when the tag is already in memory or when the
+   * tags cache is disabled, and it's skipped when the background threads are saturated. It's never
+   * executed by the calling thread.
+   *
+   * @param block The block for which to prefetch the tag.
+   * @return The completable future object, completed exceptionally if the prefetch has been
+   *     skipped.
+   */
+  @NotNull
+  CompletableFuture<Void> prefetchTag(@NotNull Block block);
+
   /**
    * Checks if the specified block action type on the given block is a place-and-break exploit or
    * not.
@@ -127,4 +238,60 @@ public interface PatchPlaceBreakApi {
    * @return <code>true</code> if it's a place-and-break exploit, <code>false</code> otherwise.
    */
   boolean isPlaceAndBreakExploit(@NotNull BlockActionType blockActionType, @NotNull Block block);
+
+  /**
+   * Checks if the specified block action type on each of the given blocks is a place-and-break
+   * exploit or not, the same way as {@link #isPlaceAndBreakExploit(BlockActionType, Block)}.
+   *
+   * <p>This is meant for actions involving many blocks at once (e.g. explosions): the tags which
+   * aren't in memory are all retrieved from the data source at once rather than one by one.
+   *
+   * <p>The method is blocking since the value retrieving depends on data source response time.
+   *
+   * @param blockActionType The performed action type involving the blocks.
+   * @param blocks The blocks on which the action has been performed.
+   * @return For each given block, whether it's a place-and-break exploit.
+   */
+  @NotNull
+  Map<Block, Boolean> isPlaceAndBreakExploit(
+      @NotNull BlockActionType blockActionType, @NotNull Collection<Block> blocks);
+
+  /**
+   * Checks asynchronously if the specified block action type on the given block is a
+   * place-and-break exploit or not, the same way as {@link #isPlaceAndBreakExploit(BlockActionType,
+   * Block)}.
+   *
+   * <p>The check is ordered after the operations previously submitted for the same chunk (e.g.
+   * {@link #putTag(Block, boolean)}), so it reflects them. It's never run by the calling thread,
+   * even when the background threads are saturated: the check is rejected instead.
+   *
+   * @param blockActionType The performed action type involving a block.
+   * @param block The block on which the action has been performed.
+   * @return The completable future object, completed with <code>true</code> if it's a
+   *     place-and-break exploit, <code>false</code> otherwise, or completed exceptionally with a
+   *     {@link java.util.concurrent.RejectedExecutionException} if the check has been rejected.
+   */
+  @NotNull
+  CompletableFuture<Boolean> isPlaceAndBreakExploitAsync(
+      @NotNull BlockActionType blockActionType, @NotNull Block block);
+
+  /**
+   * Checks if the specified block action type on the given block is a place-and-break exploit or
+   * not, the same way as {@link #isPlaceAndBreakExploit(BlockActionType, Block)} but only when the
+   * answer is already known from memory (e.g. the tags of the chunk have been loaded with {@link
+   * #loadChunkTags(ChunkLocation)}).
+   *
+   * <p>The method never blocks on the data source: it's up to the caller to decide what to do when
+   * the answer isn't known, like falling back to {@link
+   * #isPlaceAndBreakExploitAsync(BlockActionType, Block)}. Operations submitted but not yet applied
+   * are not reflected.
+   *
+   * @param blockActionType The performed action type involving a block.
+   * @param block The block on which the action has been performed.
+   * @return <code>true</code> if it's a place-and-break exploit, <code>false</code> otherwise, or
+   *     an empty optional if the answer isn't known from memory.
+   */
+  @NotNull
+  Optional<Boolean> tryIsPlaceAndBreakExploitFast(
+      @NotNull BlockActionType blockActionType, @NotNull Block block);
 }
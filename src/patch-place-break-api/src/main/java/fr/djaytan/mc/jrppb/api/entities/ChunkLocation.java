@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.api.entities;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable and thread-safe chunk location.
+ *
+ * <p>A chunk is a column of 16x16 blocks on the x and z axes spanning the whole height of the
+ * world.
+ *
+ * @param worldName The world name in which the chunk is located.
+ * @param x The chunk location in the x-axis of the world (i.e. the block x-axis divided by 16).
+ * @param z The chunk location in the z-axis of the world (i.e. the block z-axis divided by 16).
+ */
+public record ChunkLocation(@NotNull String worldName, int x, int z) {
+
+  /** The number of blocks along the x-axis and the z-axis of a chunk. */
+  public static final int CHUNK_SIZE = 16;
+
+  private static final int CHUNK_SHIFT = 4;
+
+  /**
+   * Creates the location of the chunk containing the given block location.
+   *
+   * @param blockLocation The block location from which to infer the chunk one.
+   * @return The location of the chunk containing the given block location.
+   */
+  public static @NotNull ChunkLocation from(@NotNull BlockLocation blockLocation) {
+    return new ChunkLocation(
+        blockLocation.worldName(),
+        blockLocation.x() >> CHUNK_SHIFT,
+        blockLocation.z() >> CHUNK_SHIFT);
+  }
+
+  /**
+   * Gets the lowest block x-axis value included in this chunk.
+   *
+   * @return The lowest block x-axis value included in this chunk.
+   */
+  public int minBlockX() {
+    return x << CHUNK_SHIFT;
+  }
+
+  /**
+   * Gets the highest block x-axis value included in this chunk.
+   *
+   * @return The highest block x-axis value included in this chunk.
+   */
+  public int maxBlockX() {
+    return minBlockX() + CHUNK_SIZE - 1;
+  }
+
+  /**
+   * Gets the lowest block z-axis value included in this chunk.
+   *
+   * @return The lowest block z-axis value included in this chunk.
+   */
+  public int minBlockZ() {
+    return z << CHUNK_SHIFT;
+  }
+
+  /**
+   * Gets the highest block z-axis value included in this chunk.
+   *
+   * @return The highest block z-axis value included in this chunk.
+   */
+  public int maxBlockZ() {
+    return minBlockZ() + CHUNK_SIZE - 1;
+  }
+}
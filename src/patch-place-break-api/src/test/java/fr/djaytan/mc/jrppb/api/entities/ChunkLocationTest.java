@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.api.entities;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ChunkLocationTest {
+
+  private static final String WORLD_NAME = "world";
+
+  @Nested
+  class WhenInstantiating {
+
+    @Test
+    void fromBlockLocationWithPositiveCoordinates_shouldMatchContainingChunk() {
+      assertAll(
+          () -> assertContainingChunk(0, 0),
+          () -> assertContainingChunk(15, 0),
+          () -> assertContainingChunk(16, 1),
+          () -> assertContainingChunk(4872, 304));
+    }
+
+    @Test
+    void fromBlockLocationWithNegativeCoordinates_shouldMatchContainingChunk() {
+      assertAll(
+          () -> assertContainingChunk(-1, -1),
+          () -> assertContainingChunk(-16, -1),
+          () -> assertContainingChunk(-17, -2));
+    }
+
+    private void assertContainingChunk(int blockCoordinate, int chunkCoordinate) {
+      BlockLocation blockLocation =
+          new BlockLocation(WORLD_NAME, blockCoordinate, 67, blockCoordinate);
+
+      assertThat(ChunkLocation.from(blockLocation))
+          .isEqualTo(new ChunkLocation(WORLD_NAME, chunkCoordinate, chunkCoordinate));
+    }
+  }
+
+  @Nested
+  class WhenComputingBlockBounds {
+
+    @Test
+    void withPositiveCoordinates_shouldMatchExpectedBounds() {
+      ChunkLocation chunkLocation = new ChunkLocation(WORLD_NAME, 2, 3);
+
+      assertAll(
+          () -> assertThat(chunkLocation.minBlockX()).isEqualTo(32),
+          () -> assertThat(chunkLocation.maxBlockX()).isEqualTo(47),
+          () -> assertThat(chunkLocation.minBlockZ()).isEqualTo(48),
+          () -> assertThat(chunkLocation.maxBlockZ()).isEqualTo(63));
+    }
+
+    @Test
+    void withNegativeCoordinates_shouldMatchExpectedBounds() {
+      ChunkLocation chunkLocation = new ChunkLocation(WORLD_NAME, -1, -2);
+
+      assertAll(
+          () -> assertThat(chunkLocation.minBlockX()).isEqualTo(-16),
+          () -> assertThat(chunkLocation.maxBlockX()).isEqualTo(-1),
+          () -> assertThat(chunkLocation.minBlockZ()).isEqualTo(-32),
+          () -> assertThat(chunkLocation.maxBlockZ()).isEqualTo(-17));
+    }
+  }
+}
@@ -23,8 +23,11 @@
 package fr.djaytan.mc.jrppb.core;
 
 import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
+import fr.djaytan.mc.jrppb.core.executor.TagTaskExecutor;
 import fr.djaytan.mc.jrppb.core.inject.PatchPlaceBreakInjector;
 import fr.djaytan.mc.jrppb.core.storage.api.DataSourceManager;
+import fr.djaytan.mc.jrppb.core.storage.cache.WriteBehindTagRepository;
+import fr.djaytan.mc.jrppb.core.storage.sql.ExpiredTagsPurger;
 import jakarta.inject.Singleton;
 import java.nio.file.Path;
 import java.time.Clock;
@@ -48,16 +51,29 @@ import org.jetbrains.annotations.NotNull;
 public class PatchPlaceBreakCore {
 
   private DataSourceManager dataSourceManager;
+  private ExpiredTagsPurger expiredTagsPurger;
+  private TagTaskExecutor tagTaskExecutor;
+  private WriteBehindTagRepository writeBehindTagRepository;
 
   public @NotNull PatchPlaceBreakApi enable(
       @NotNull ClassLoader classLoader, @NotNull Clock clock, @NotNull Path dataFolder) {
     PatchPlaceBreakInjector injector = new PatchPlaceBreakInjector(classLoader, clock, dataFolder);
     dataSourceManager = injector.dataSourceManager();
     dataSourceManager.connect();
+    expiredTagsPurger = injector.expiredTagsPurger();
+    expiredTagsPurger.start();
+    writeBehindTagRepository = injector.writeBehindTagRepository();
+    writeBehindTagRepository.start();
+    tagTaskExecutor = injector.tagTaskExecutor();
+    tagTaskExecutor.start();
     return injector.patchPlaceBreakApi();
   }
 
   public void disable() {
+    expiredTagsPurger.stop();
+    // The remaining tag tasks may still queue mutations to be written
+    tagTaskExecutor.stop();
+    writeBehindTagRepository.stop();
     dataSourceManager.disconnect();
   }
 }
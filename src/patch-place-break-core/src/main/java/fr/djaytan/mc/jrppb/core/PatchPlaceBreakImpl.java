@@ -26,19 +26,31 @@ import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
 import fr.djaytan.mc.jrppb.api.entities.Block;
 import fr.djaytan.mc.jrppb.api.entities.BlockActionType;
 import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Tag;
 import fr.djaytan.mc.jrppb.api.entities.Vector;
+import fr.djaytan.mc.jrppb.core.executor.TagEventHandler;
+import fr.djaytan.mc.jrppb.core.executor.TagEventType;
+import fr.djaytan.mc.jrppb.core.executor.TagTaskExecutor;
+import fr.djaytan.mc.jrppb.core.storage.api.ChunkTagIndex;
 import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
 import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
 import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Clock;
-import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 
@@ -47,38 +59,75 @@ import org.jetbrains.annotations.NotNull;
 public class PatchPlaceBreakImpl implements PatchPlaceBreakApi {
 
   private final BlocksFilter blocksFilter;
+  private final ChunkTagIndex chunkTagIndex;
   private final Clock clock;
   private final RestrictedBlocksProperties restrictedBlocksProperties;
   private final TagRepository tagRepository;
+  private final TagTaskExecutor tagTaskExecutor;
+  // The chunks currently loaded by the server, so a queued load can't index an unloaded chunk
+  private final Set<ChunkLocation> loadedChunks = ConcurrentHashMap.newKeySet();
+  // Created once, so publishing events doesn't allocate anything
+  private final TagEventHandler tagEventHandler = this::handleTagEvent;
 
   @Inject
   PatchPlaceBreakImpl(
       @NotNull BlocksFilter blocksFilter,
+      @NotNull ChunkTagIndex chunkTagIndex,
       @NotNull Clock clock,
       @NotNull RestrictedBlocksProperties restrictedBlocksProperties,
-      @NotNull TagRepository tagRepository) {
+      @NotNull TagRepository tagRepository,
+      @NotNull TagTaskExecutor tagTaskExecutor) {
     this.blocksFilter = blocksFilter;
+    this.chunkTagIndex = chunkTagIndex;
     this.clock = clock;
     this.restrictedBlocksProperties = restrictedBlocksProperties;
     this.tagRepository = tagRepository;
+    this.tagTaskExecutor = tagTaskExecutor;
   }
 
   public @NotNull CompletableFuture<Void> putTag(@NotNull Block block, boolean isEphemeral) {
-    return CompletableFuture.runAsync(
-        () -> {
-          if (restrictedBlocksProperties.isRestricted(block.material())) {
-            return;
-          }
+    return tagTaskExecutor.submit(
+        ChunkLocation.from(block.blockLocation()), isEphemeral, () -> put(block, isEphemeral));
+  }
 
-          LocalDateTime localDateTime = LocalDateTime.now(clock);
-          Tag tag = new Tag(block.blockLocation(), isEphemeral, localDateTime);
-          tagRepository.put(tag);
-        });
+  public void publishTagPut(
+      @NotNull String worldName,
+      int x,
+      int y,
+      int z,
+      @NotNull String material,
+      boolean isEphemeral) {
+    tagTaskExecutor.publish(
+        tagEventHandler, TagEventType.PUT, worldName, x, y, z, material, isEphemeral);
+  }
+
+  private void put(@NotNull Block block, boolean isEphemeral) {
+    if (restrictedBlocksProperties.isRestricted(block.material())) {
+      return;
+    }
+
+    LocalDateTime localDateTime = LocalDateTime.now(clock);
+    Tag tag = new Tag(block.blockLocation(), isEphemeral, localDateTime);
+    tagRepository.put(tag);
   }
 
   public @NotNull CompletableFuture<Void> moveTags(
       @NotNull Set<Block> blocks, @NotNull Vector direction) {
-    return CompletableFuture.runAsync(
+    if (blocks.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Ordered after the pending tasks of both the old and the new locations
+    Set<ChunkLocation> chunkLocations = new HashSet<>();
+
+    for (Block block : blocks) {
+      chunkLocations.add(ChunkLocation.from(block.blockLocation()));
+      chunkLocations.add(ChunkLocation.from(BlockLocation.from(block.blockLocation(), direction)));
+    }
+
+    return tagTaskExecutor.submit(
+        chunkLocations,
+        false,
         () -> {
           Set<Block> filteredBlocks = blocksFilter.filter(blocks);
 
@@ -101,35 +150,171 @@ public class PatchPlaceBreakImpl implements PatchPlaceBreakApi {
   }
 
   public @NotNull CompletableFuture<Void> removeTag(@NotNull Block block) {
-    return CompletableFuture.runAsync(
+    return tagTaskExecutor.submit(
+        ChunkLocation.from(block.blockLocation()), false, () -> remove(block));
+  }
+
+  public @NotNull CompletableFuture<Void> removeTags(@NotNull Set<Block> blocks) {
+    if (blocks.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    Set<ChunkLocation> chunkLocations = new HashSet<>();
+
+    for (Block block : blocks) {
+      chunkLocations.add(ChunkLocation.from(block.blockLocation()));
+    }
+
+    return tagTaskExecutor.submit(
+        chunkLocations,
+        false,
         () -> {
-          if (restrictedBlocksProperties.isRestricted(block.material())) {
+          List<TagMutation> mutations = new ArrayList<>();
+
+          for (Block block : blocksFilter.filter(blocks)) {
+            mutations.add(new TagMutation.Delete(block.blockLocation()));
+          }
+
+          if (mutations.isEmpty()) {
             return;
           }
 
-          tagRepository.delete(block.blockLocation());
+          tagRepository.applyMutations(mutations);
         });
   }
 
+  public void publishTagRemoval(
+      @NotNull String worldName, int x, int y, int z, @NotNull String material) {
+    tagTaskExecutor.publish(
+        tagEventHandler, TagEventType.REMOVAL, worldName, x, y, z, material, false);
+  }
+
+  private void remove(@NotNull Block block) {
+    if (restrictedBlocksProperties.isRestricted(block.material())) {
+      return;
+    }
+
+    tagRepository.delete(block.blockLocation());
+  }
+
+  private void handleTagEvent(
+      @NotNull TagEventType tagEventType, @NotNull Block block, boolean isEphemeral) {
+    switch (tagEventType) {
+      case PUT -> put(block, isEphemeral);
+      case REMOVAL -> remove(block);
+    }
+  }
+
+  public @NotNull CompletableFuture<Void> loadChunkTags(@NotNull ChunkLocation chunkLocation) {
+    loadedChunks.add(chunkLocation);
+
+    // Only an optimization, so it's dropped rather than run by the server thread on saturation
+    return tagTaskExecutor.trySubmit(
+        chunkLocation, () -> loadChunkTagsIfStillLoaded(chunkLocation));
+  }
+
+  private void loadChunkTagsIfStillLoaded(@NotNull ChunkLocation chunkLocation) {
+    if (!loadedChunks.contains(chunkLocation)) {
+      return;
+    }
+
+    chunkTagIndex.load(chunkLocation);
+
+    // The chunk may have been unloaded while its tags were being loaded
+    if (!loadedChunks.contains(chunkLocation)) {
+      chunkTagIndex.unload(chunkLocation);
+    }
+  }
+
+  public void unloadChunkTags(@NotNull ChunkLocation chunkLocation) {
+    loadedChunks.remove(chunkLocation);
+    chunkTagIndex.unload(chunkLocation);
+  }
+
+  public @NotNull CompletableFuture<Void> prefetchTag(@NotNull Block block) {
+    BlockLocation blockLocation = block.blockLocation();
+
+    // Without any cache, the looked up tag would be forgotten right away
+    if (restrictedBlocksProperties.isRestricted(block.material())
+        || !tagRepository.isCachingLookups()
+        || tagRepository.findResidentByLocation(blockLocation).isPresent()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // The underlying layers keep in memory the looked up tag
+    return tagTaskExecutor.trySubmit(
+        ChunkLocation.from(blockLocation), () -> tagRepository.findByLocation(blockLocation));
+  }
+
   public boolean isPlaceAndBreakExploit(
       @NotNull BlockActionType blockActionType, @NotNull Block block) {
     if (restrictedBlocksProperties.isRestricted(block.material())) {
       return false;
     }
 
-    Optional<Tag> tag = tagRepository.findByLocation(block.blockLocation());
+    return isActive(tagRepository.findByLocation(block.blockLocation()));
+  }
+
+  public @NotNull Map<Block, Boolean> isPlaceAndBreakExploit(
+      @NotNull BlockActionType blockActionType, @NotNull Collection<Block> blocks) {
+    Set<BlockLocation> blockLocations = new HashSet<>();
+
+    for (Block block : blocks) {
+      if (!restrictedBlocksProperties.isRestricted(block.material())) {
+        blockLocations.add(block.blockLocation());
+      }
+    }
+
+    Map<BlockLocation, Tag> tags = new HashMap<>();
+
+    if (!blockLocations.isEmpty()) {
+      for (Tag tag : tagRepository.findByLocations(blockLocations)) {
+        tags.put(tag.blockLocation(), tag);
+      }
+    }
+
+    Map<Block, Boolean> exploitChecks = new HashMap<>();
+    // Computed once for the whole batch rather than once per ephemeral tag
+    LocalDateTime expirationThreshold = expirationThreshold();
+
+    for (Block block : blocks) {
+      Tag tag = tags.get(block.blockLocation());
+      exploitChecks.put(block, tag != null && isActive(tag, expirationThreshold));
+    }
+
+    return exploitChecks;
+  }
 
+  public @NotNull CompletableFuture<Boolean> isPlaceAndBreakExploitAsync(
+      @NotNull BlockActionType blockActionType, @NotNull Block block) {
+    return tagTaskExecutor.submit(
+        ChunkLocation.from(block.blockLocation()),
+        () -> isPlaceAndBreakExploit(blockActionType, block));
+  }
+
+  public @NotNull Optional<Boolean> tryIsPlaceAndBreakExploitFast(
+      @NotNull BlockActionType blockActionType, @NotNull Block block) {
+    if (restrictedBlocksProperties.isRestricted(block.material())) {
+      return Optional.of(false);
+    }
+
+    return tagRepository.findResidentByLocation(block.blockLocation()).map(this::isActive);
+  }
+
+  private boolean isActive(@NotNull Optional<Tag> tag) {
     if (tag.isEmpty()) {
       return false;
     }
 
-    if (!tag.get().isEphemeral()) {
-      return true;
-    }
+    // Only ephemeral tags require the threshold, so the clock isn't read for the other ones
+    return !tag.get().isEphemeral() || isActive(tag.get(), expirationThreshold());
+  }
 
-    LocalDateTime localDateTime = LocalDateTime.now(clock);
-    Duration timeElapsed = Duration.between(tag.get().createdAt(), localDateTime);
+  private static boolean isActive(@NotNull Tag tag, @NotNull LocalDateTime expirationThreshold) {
+    return !tag.isEphemeral() || tag.createdAt().isAfter(expirationThreshold);
+  }
 
-    return timeElapsed.minus(EPHEMERAL_TAG_DURATION).isNegative();
+  private @NotNull LocalDateTime expirationThreshold() {
+    return LocalDateTime.now(clock).minus(EPHEMERAL_TAG_DURATION);
   }
 }
@@ -23,7 +23,9 @@
 package fr.djaytan.mc.jrppb.core.config.properties;
 
 import fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolProperties;
+import java.util.Map;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 import org.spongepowered.configurate.objectmapping.meta.Comment;
 import org.spongepowered.configurate.objectmapping.meta.Required;
@@ -31,7 +33,8 @@ import org.spongepowered.configurate.objectmapping.meta.Required;
 @ConfigSerializable
 public record ConnectionPoolConfigProperties(
     @Required @Comment(CONNECTION_TIMEOUT_COMMENT) int connectionTimeout,
-    @Required @Comment(POOL_SIZE_COMMENT) int poolSize)
+    @Required @Comment(POOL_SIZE_COMMENT) int poolSize,
+    @Comment(DRIVER_PROPERTIES_COMMENT) @Nullable Map<String, String> driverProperties)
     implements ConfigProperties {
 
   private static final String CONNECTION_TIMEOUT_COMMENT =
@@ -48,13 +51,22 @@ public record ConnectionPoolConfigProperties(
       Could be best determined by the executing environment
       Accepted range values: [1-100]""";
 
+  private static final String DRIVER_PROPERTIES_COMMENT =
+      """
+      The properties passed as is to the JDBC driver when opening connections
+      They take precedence over the ones set by default (e.g. cachePrepStmts for MySQL)
+      Refer to the documentation of the driver for the available properties""";
+
   public static @NotNull ConnectionPoolConfigProperties fromModel(
       @NotNull ConnectionPoolProperties connectionPoolProperties) {
     return new ConnectionPoolConfigProperties(
-        connectionPoolProperties.connectionTimeout(), connectionPoolProperties.poolSize());
+        connectionPoolProperties.connectionTimeout(),
+        connectionPoolProperties.poolSize(),
+        connectionPoolProperties.driverProperties());
   }
 
   public @NotNull ConnectionPoolProperties toModel() {
-    return new ConnectionPoolProperties(connectionTimeout, poolSize);
+    return new ConnectionPoolProperties(
+        connectionTimeout, poolSize, driverProperties != null ? driverProperties : Map.of());
   }
 }
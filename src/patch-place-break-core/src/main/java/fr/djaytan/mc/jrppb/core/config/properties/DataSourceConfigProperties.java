@@ -24,7 +24,10 @@ package fr.djaytan.mc.jrppb.core.config.properties;
 
 import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
 import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceType;
+import fr.djaytan.mc.jrppb.core.storage.properties.SqliteProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.TagStorageProperties;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 import org.spongepowered.configurate.objectmapping.meta.Comment;
 import org.spongepowered.configurate.objectmapping.meta.Required;
@@ -35,7 +38,9 @@ public record DataSourceConfigProperties(
     @Required @Comment(TABLE_COMMENT) @NotNull String table,
     @Required @Comment(DBMS_SERVER_COMMENT) @NotNull DbmsServerConfigProperties dbmsServer,
     @Required @Comment(CONNECTION_POOL_COMMENT) @NotNull
-        ConnectionPoolConfigProperties connectionPool)
+        ConnectionPoolConfigProperties connectionPool,
+    @Comment(TAG_STORAGE_COMMENT) @Nullable TagStorageConfigProperties tagStorage,
+    @Comment(SQLITE_COMMENT) @Nullable SqliteConfigProperties sqlite)
     implements ConfigProperties {
 
   private static final String TYPE_COMMENT =
@@ -61,6 +66,18 @@ public record DataSourceConfigProperties(
       This is reserved for advanced usage only
       Change these settings only if you know what you are doing""";
 
+  private static final String TAG_STORAGE_COMMENT =
+      """
+      Tag storage properties
+      This is reserved for advanced usage only
+      Default values are applied when this section is missing""";
+
+  private static final String SQLITE_COMMENT =
+      """
+      SQLite tuning properties
+      Only applicable for SQLite
+      Default values are applied when this section is missing""";
+
   public static final DataSourceConfigProperties DEFAULT = fromModel(DataSourceProperties.DEFAULT);
 
   public static @NotNull DataSourceConfigProperties fromModel(@NotNull DataSourceProperties model) {
@@ -68,10 +85,18 @@ public record DataSourceConfigProperties(
         model.type(),
         model.tableName(),
         DbmsServerConfigProperties.fromModel(model.dbmsServer()),
-        ConnectionPoolConfigProperties.fromModel(model.connectionPool()));
+        ConnectionPoolConfigProperties.fromModel(model.connectionPool()),
+        TagStorageConfigProperties.fromModel(model.tagStorage()),
+        SqliteConfigProperties.fromModel(model.sqlite()));
   }
 
   public @NotNull DataSourceProperties toModel() {
-    return new DataSourceProperties(type, table, dbmsServer.toModel(), connectionPool.toModel());
+    return new DataSourceProperties(
+        type,
+        table,
+        dbmsServer.toModel(),
+        connectionPool.toModel(),
+        tagStorage != null ? tagStorage.toModel() : TagStorageProperties.DEFAULT,
+        sqlite != null ? sqlite.toModel() : SqliteProperties.DEFAULT);
   }
 }
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgeProperties;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Required;
+
+@ConfigSerializable
+public record EphemeralTagsConfigProperties(
+    @Required @Comment(IN_MEMORY_COMMENT) boolean inMemory,
+    @Comment(PURGE_COMMENT) @Nullable EphemeralTagsPurgeConfigProperties purge)
+    implements ConfigProperties {
+
+  private static final String IN_MEMORY_COMMENT =
+      """
+      Whether ephemeral tags (put when a block is broken) are kept in memory only
+      They expire after a few seconds, so storing them in the database is rarely worth it
+      Ephemeral tags are lost on restart when enabled""";
+
+  private static final String PURGE_COMMENT =
+      "Periodic deletion of the expired ephemeral tags stored in the database";
+
+  public static final EphemeralTagsConfigProperties DEFAULT =
+      fromModel(EphemeralTagsProperties.DEFAULT);
+
+  public static @NotNull EphemeralTagsConfigProperties fromModel(
+      @NotNull EphemeralTagsProperties model) {
+    return new EphemeralTagsConfigProperties(
+        model.inMemory(), EphemeralTagsPurgeConfigProperties.fromModel(model.purge()));
+  }
+
+  public @NotNull EphemeralTagsProperties toModel() {
+    return new EphemeralTagsProperties(
+        inMemory, purge != null ? purge.toModel() : EphemeralTagsPurgeProperties.DEFAULT);
+  }
+}
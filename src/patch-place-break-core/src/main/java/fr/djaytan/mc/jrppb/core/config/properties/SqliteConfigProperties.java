@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import fr.djaytan.mc.jrppb.core.storage.properties.SqliteJournalMode;
+import fr.djaytan.mc.jrppb.core.storage.properties.SqliteProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.SqliteSynchronousMode;
+import org.jetbrains.annotations.NotNull;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Required;
+
+@ConfigSerializable
+public record SqliteConfigProperties(
+    @Required @Comment(JOURNAL_MODE_COMMENT) @NotNull SqliteJournalMode journalMode,
+    @Required @Comment(SYNCHRONOUS_MODE_COMMENT) @NotNull SqliteSynchronousMode synchronousMode,
+    @Required @Comment(MMAP_SIZE_COMMENT) int mmapSize,
+    @Required @Comment(CACHE_SIZE_COMMENT) int cacheSize,
+    @Required @Comment(BUSY_TIMEOUT_COMMENT) int busyTimeout)
+    implements ConfigProperties {
+
+  private static final String JOURNAL_MODE_COMMENT =
+      """
+      The journal mode of the database
+      Available modes: DELETE, TRUNCATE, PERSIST, WAL
+      WAL lets reads proceed while writing and requires fewer disk syncs""";
+
+  private static final String SYNCHRONOUS_MODE_COMMENT =
+      """
+      How often the database syncs its content to the disk
+      Available modes: OFF, NORMAL, FULL, EXTRA
+      With WAL, NORMAL can't corrupt the database but may lose the last tags on power loss""";
+
+  private static final String MMAP_SIZE_COMMENT =
+      """
+      The maximum size of the database file mapped into memory (in MiB)
+      The value 0 disables memory-mapped I/O
+      Accepted range values: [0-4096]""";
+
+  private static final String CACHE_SIZE_COMMENT =
+      """
+      The maximum size of the page cache of each pooled connection (in MiB)
+      Accepted range values: [1-1024]""";
+
+  private static final String BUSY_TIMEOUT_COMMENT =
+      """
+      The maximum time to wait for a lock held by another connection (in milliseconds)
+      Accepted range values: [0-600000]""";
+
+  public static final SqliteConfigProperties DEFAULT = fromModel(SqliteProperties.DEFAULT);
+
+  public static @NotNull SqliteConfigProperties fromModel(@NotNull SqliteProperties model) {
+    return new SqliteConfigProperties(
+        model.journalMode(),
+        model.synchronousMode(),
+        model.mmapSize(),
+        model.cacheSize(),
+        model.busyTimeout());
+  }
+
+  public @NotNull SqliteProperties toModel() {
+    return new SqliteProperties(journalMode, synchronousMode, mmapSize, cacheSize, busyTimeout);
+  }
+}
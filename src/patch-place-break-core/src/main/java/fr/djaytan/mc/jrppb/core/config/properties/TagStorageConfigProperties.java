@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.TagCacheProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.TagStorageProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindProperties;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+/**
+ * Represents the tag storage properties.
+ *
+ * <p>All the sections are optional: when one of them is missing (e.g. with a config file generated
+ * by an older version), the default values are applied.
+ */
+@ConfigSerializable
+public record TagStorageConfigProperties(
+    @Comment(CACHE_COMMENT) @Nullable TagCacheConfigProperties cache,
+    @Comment(EPHEMERAL_TAGS_COMMENT) @Nullable EphemeralTagsConfigProperties ephemeralTags,
+    @Comment(WRITE_BEHIND_COMMENT) @Nullable WriteBehindConfigProperties writeBehind,
+    @Comment(TASK_EXECUTOR_COMMENT) @Nullable TaskExecutorConfigProperties taskExecutor)
+    implements ConfigProperties {
+
+  private static final String CACHE_COMMENT = "In-memory cache of tags in front of the database";
+
+  private static final String EPHEMERAL_TAGS_COMMENT = "Handling of ephemeral tags";
+
+  private static final String WRITE_BEHIND_COMMENT =
+      """
+      Batching of tag mutations before writing them to the database
+      Pending mutations are lost if the server crashes before they are written""";
+
+  private static final String TASK_EXECUTOR_COMMENT =
+      """
+      Background execution of the tag operations triggered by the server (e.g. block placements)
+      Metrics are exposed through JMX (fr.djaytan.mc.jrppb:type=TagTaskExecutor)""";
+
+  public static final TagStorageConfigProperties DEFAULT = fromModel(TagStorageProperties.DEFAULT);
+
+  public static @NotNull TagStorageConfigProperties fromModel(@NotNull TagStorageProperties model) {
+    return new TagStorageConfigProperties(
+        TagCacheConfigProperties.fromModel(model.cache()),
+        EphemeralTagsConfigProperties.fromModel(model.ephemeralTags()),
+        WriteBehindConfigProperties.fromModel(model.writeBehind()),
+        TaskExecutorConfigProperties.fromModel(model.taskExecutor()));
+  }
+
+  public @NotNull TagStorageProperties toModel() {
+    return new TagStorageProperties(
+        cache != null ? cache.toModel() : TagCacheProperties.DEFAULT,
+        ephemeralTags != null ? ephemeralTags.toModel() : EphemeralTagsProperties.DEFAULT,
+        writeBehind != null ? writeBehind.toModel() : WriteBehindProperties.DEFAULT,
+        taskExecutor != null ? taskExecutor.toModel() : TaskExecutorProperties.DEFAULT);
+  }
+}
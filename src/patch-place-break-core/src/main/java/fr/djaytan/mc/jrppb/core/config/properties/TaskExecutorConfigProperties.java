@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import fr.djaytan.mc.jrppb.core.storage.properties.SaturationPolicy;
+import fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorProperties;
+import org.jetbrains.annotations.NotNull;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Required;
+
+@ConfigSerializable
+public record TaskExecutorConfigProperties(
+    @Required @Comment(THREADS_COMMENT) int threads,
+    @Required @Comment(QUEUE_CAPACITY_COMMENT) int queueCapacity,
+    @Required @Comment(SATURATION_POLICY_COMMENT) @NotNull SaturationPolicy saturationPolicy,
+    @Required @Comment(VIRTUAL_THREADS_COMMENT) boolean virtualThreads)
+    implements ConfigProperties {
+
+  private static final String THREADS_COMMENT =
+      """
+      The number of threads running the tag operations
+      Accepted range values: [1-64]""";
+
+  private static final String QUEUE_CAPACITY_COMMENT =
+      """
+      The maximum number of tag operations waiting to be run
+      Accepted range values: [1-1000000]""";
+
+  private static final String SATURATION_POLICY_COMMENT =
+      """
+      The behavior to adopt when a tag operation is submitted while the queue is full
+      Available policies:
+      * CALLER_RUNS: the operation is run by the server thread submitting it
+      * DROP_OLDEST_EPHEMERAL: the oldest queued ephemeral tag is dropped (caller runs otherwise)
+      * BLOCK: the server thread waits until room is made in the queue (not recommended)""";
+
+  private static final String VIRTUAL_THREADS_COMMENT =
+      """
+      Whether the threads running the tag operations are virtual ones (Java 21+ only)
+      This only switches the kind of the threads: there are still as many of them as configured
+      and each one still runs its queued operations one after the other
+      Not recommended with SQLite, whose driver pins the virtual threads while querying
+      Platform threads are used on older Java versions whatever this value""";
+
+  public static final TaskExecutorConfigProperties DEFAULT =
+      fromModel(TaskExecutorProperties.DEFAULT);
+
+  public static @NotNull TaskExecutorConfigProperties fromModel(
+      @NotNull TaskExecutorProperties model) {
+    return new TaskExecutorConfigProperties(
+        model.threads(), model.queueCapacity(), model.saturationPolicy(), model.virtualThreads());
+  }
+
+  public @NotNull TaskExecutorProperties toModel() {
+    return new TaskExecutorProperties(threads, queueCapacity, saturationPolicy, virtualThreads);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindProperties;
+import org.jetbrains.annotations.NotNull;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Required;
+
+@ConfigSerializable
+public record WriteBehindConfigProperties(
+    @Required @Comment(FLUSH_INTERVAL_COMMENT) int flushInterval,
+    @Required @Comment(MAXIMUM_BATCH_SIZE_COMMENT) int maximumBatchSize)
+    implements ConfigProperties {
+
+  private static final String FLUSH_INTERVAL_COMMENT =
+      """
+      The maximum time a tag mutation is kept pending before being written (in milliseconds)
+      Accepted range values: [1-60000]""";
+
+  private static final String MAXIMUM_BATCH_SIZE_COMMENT =
+      """
+      The number of pending tag mutations triggering a write
+      All the pending mutations are written within a single transaction
+      The value 1 writes each mutation immediately
+      Accepted range values: [1-100000]""";
+
+  public static final WriteBehindConfigProperties DEFAULT =
+      fromModel(WriteBehindProperties.DEFAULT);
+
+  public static @NotNull WriteBehindConfigProperties fromModel(
+      @NotNull WriteBehindProperties model) {
+    return new WriteBehindConfigProperties(model.flushInterval(), model.maximumBatchSize());
+  }
+
+  public @NotNull WriteBehindProperties toModel() {
+    return new WriteBehindProperties(flushInterval, maximumBatchSize);
+  }
+}
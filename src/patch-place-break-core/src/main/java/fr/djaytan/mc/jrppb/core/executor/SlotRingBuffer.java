@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a bounded multi-producer single-consumer ring buffer of preallocated mutable slots.
+ *
+ * <p>Producers claim a slot, fill it in place and then publish it, so handing over data to the
+ * consumer doesn't allocate anything. Each slot is paired with a sequence number telling whether it
+ * is free for the producers of the current lap or published for the consumer, which lets producers
+ * claim slots concurrently with a single compare-and-set and lets the consumer read them without
+ * any lock. Slots are consumed in claim order.
+ *
+ * @param <S> The type of the slots.
+ */
+final class SlotRingBuffer<S> {
+
+  private final List<S> slots;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private long head;
+
+  SlotRingBuffer(int minimumCapacity, @NotNull Supplier<S> slotFactory) {
+    Validate.inclusiveBetween(
+        1, 1 << 30, minimumCapacity, "The capacity of the ring buffer must be between 1 and 2^30");
+
+    // A power of two capacity turns the modulo into a mask
+    int capacity = Integer.highestOneBit(minimumCapacity);
+    capacity = capacity < minimumCapacity ? capacity << 1 : capacity;
+
+    this.slots = new ArrayList<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+
+    for (int i = 0; i < capacity; i++) {
+      slots.add(slotFactory.get());
+      sequences.set(i, i);
+    }
+  }
+
+  int capacity() {
+    return slots.size();
+  }
+
+  /**
+   * Claims the next slot for the calling producer.
+   *
+   * @return The position of the claimed slot, or {@code -1} if the ring buffer is full.
+   */
+  long tryClaim() {
+    while (true) {
+      long position = tail.get();
+      long sequence = sequences.get(indexOf(position));
+
+      if (sequence < position) {
+        return -1;
+      }
+
+      // Otherwise, another producer has claimed the slot meanwhile
+      if (sequence == position && tail.compareAndSet(position, position + 1)) {
+        return position;
+      }
+    }
+  }
+
+  @NotNull
+  S slotAt(long position) {
+    return slots.get(indexOf(position));
+  }
+
+  /** Hands over the slot claimed at the given position, once filled, to the consumer. */
+  void publish(long position) {
+    sequences.set(indexOf(position), position + 1);
+  }
+
+  /**
+   * Gets the oldest published slot without consuming it. Must only be called by the consumer.
+   *
+   * @return The oldest published slot, or {@code null} if there isn't any.
+   */
+  @Nullable
+  S peek() {
+    return sequences.get(indexOf(head)) == head + 1 ? slotAt(head) : null;
+  }
+
+  /**
+   * Consumes the slot previously returned by {@link #peek()} and makes it available to the
+   * producers again. Must only be called by the consumer, once done with the slot content.
+   */
+  void release() {
+    sequences.set(indexOf(head), head + slots.size());
+    head++;
+  }
+
+  private int indexOf(long position) {
+    return (int) position & mask;
+  }
+}
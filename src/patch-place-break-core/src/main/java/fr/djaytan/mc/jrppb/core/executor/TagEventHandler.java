@@ -0,0 +1,41 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.executor;
+
+import fr.djaytan.mc.jrppb.api.entities.Block;
+import org.jetbrains.annotations.NotNull;
+
+/** Represents the handler of the tag events published to the {@link TagTaskExecutor}. */
+@FunctionalInterface
+public interface TagEventHandler {
+
+  /**
+   * Handles a tag event. Called in the background, once the previously submitted tasks involving
+   * the same chunk have been run.
+   *
+   * @param tagEventType The type of the event.
+   * @param block The block targeted by the event.
+   * @param isEphemeral Whether the tag to put is ephemeral. Always {@code false} for removals.
+   */
+  void handle(@NotNull TagEventType tagEventType, @NotNull Block block, boolean isEphemeral);
+}
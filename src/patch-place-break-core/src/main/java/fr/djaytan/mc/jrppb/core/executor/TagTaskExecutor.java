@@ -0,0 +1,774 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.executor;
+
+import fr.djaytan.mc.jrppb.api.entities.Block;
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.SaturationPolicy;
+import fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorProperties;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents the executor running the tag tasks (puts, moves, removals, chunk loads) in the
+ * background.
+ *
+ * <p>These tasks may block while accessing the database, so they must neither run on the server
+ * thread nor on the common fork-join pool which is shared with the whole JVM. The submitted tasks
+ * wait in a bounded queue: when it is full, the configured {@link SaturationPolicy} decides what to
+ * do with the submitted task instead of letting the backlog grow without bound.
+ *
+ * <p>Each task is keyed by the chunks it involves and is run by the lanes these chunks are hashed
+ * to. A lane is a thread running its tasks one after the other in submission order, so the tasks
+ * involving the same chunk never overtake each other (e.g. a put followed by a piston move), while
+ * the tasks involving different chunks still run in parallel. A task spanning several lanes (e.g. a
+ * move across a chunk border) is run once all of them have reached it, the other lanes waiting for
+ * its completion meanwhile.
+ *
+ * <p>The submitting threads don't append tasks to the lanes themselves: they publish them into a
+ * {@link SlotRingBuffer} which is drained by a single ingestion thread dispatching them to their
+ * lanes. Tasks spanning several lanes are thus reached in the same order by all the lanes, which
+ * prevents lanes from waiting on each other. Block listeners rather publish tag events with {@link
+ * #publish}: the event is copied into a preallocated slot of the ring buffer, and the task running
+ * it is only created by the ingestion thread, so nothing is allocated on the server thread for the
+ * most frequent events.
+ *
+ * <p>On Java 21+ runtimes, the lanes may run on virtual threads. They are as many as with platform
+ * threads, since a lane is long-lived and keeps its thread for the whole executor lifetime.
+ *
+ * <p>A task run by the submitting thread because of saturation may overtake the queued tasks
+ * involving the same chunks: the ordering is only guaranteed while the executor isn't saturated or
+ * when the {@link SaturationPolicy#BLOCK} policy is used.
+ *
+ * <p>The queue depth and the task latencies are exposed through JMX, which makes saturation
+ * observable with the usual monitoring tools.
+ */
+@Singleton
+public final class TagTaskExecutor implements TagTaskExecutorMXBean {
+
+  static final String OBJECT_NAME = "fr.djaytan.mc.jrppb:type=TagTaskExecutor";
+
+  private static final Logger log = LoggerFactory.getLogger(TagTaskExecutor.class);
+  private static final String SHUTDOWN_MESSAGE = "The tag task executor has been shut down";
+
+  private final SaturationPolicy saturationPolicy;
+  private final int queueCapacity;
+  private final Semaphore queuePermits;
+  private final SlotRingBuffer<Slot> ringBuffer;
+  private final TagThreadFactory threadFactory;
+  private final Thread ingestionThread;
+  private final List<Lane> lanes;
+  private final AtomicInteger publishingThreadsCount = new AtomicInteger();
+  private final AtomicInteger activeLanesCount = new AtomicInteger();
+  private final LongAdder completedTasksCount = new LongAdder();
+  private final LongAdder callerRunTasksCount = new LongAdder();
+  private final LongAdder droppedTasksCount = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final LongAccumulator maximumLatencyNanos = new LongAccumulator(Long::max, 0);
+  private final TagTask stopTask = new TagTask(() -> {}, false, List.of(), 0, null);
+  // Only written by the ingestion thread
+  private volatile long ingestedTasksCount;
+  private volatile boolean isIngestionParked;
+  private volatile boolean isShutdown;
+
+  @Inject
+  public TagTaskExecutor(@NotNull DataSourceProperties dataSourceProperties) {
+    this(dataSourceProperties.tagStorage().taskExecutor());
+  }
+
+  TagTaskExecutor(@NotNull TaskExecutorProperties taskExecutorProperties) {
+    this.saturationPolicy = taskExecutorProperties.saturationPolicy();
+    this.queueCapacity = taskExecutorProperties.queueCapacity();
+    this.queuePermits = new Semaphore(queueCapacity);
+    // One extra slot for the stop task
+    this.ringBuffer = new SlotRingBuffer<>(queueCapacity + 1, Slot::new);
+    this.threadFactory = new TagThreadFactory(taskExecutorProperties.virtualThreads());
+
+    int lanesCount = taskExecutorProperties.threads();
+    this.lanes = new ArrayList<>(lanesCount);
+
+    for (int i = 1; i <= lanesCount; i++) {
+      Lane lane = new Lane("jrppb-tag-lane-" + i);
+      lanes.add(lane);
+      lane.thread.start();
+    }
+
+    this.ingestionThread = threadFactory.newThread("jrppb-tag-ingestion", this::ingest);
+    this.ingestionThread.start();
+
+    log.debug(
+        "Tag tasks are run by {} lanes on {} threads.",
+        lanesCount,
+        threadFactory.isVirtual() ? "virtual" : "platform");
+  }
+
+  /**
+   * Exposes the metrics through JMX. A failure is logged but doesn't prevent tasks from running.
+   */
+  public void start() {
+    try {
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(OBJECT_NAME);
+
+      // A previous instance may not have been unregistered (e.g. after a failed reload)
+      if (mBeanServer.isRegistered(objectName)) {
+        mBeanServer.unregisterMBean(objectName);
+      }
+
+      mBeanServer.registerMBean(this, objectName);
+    } catch (JMException e) {
+      log.warn("Failed to expose the tag task executor metrics through JMX.", e);
+    }
+  }
+
+  /** Runs the already submitted tasks and waits for them to terminate. */
+  public void stop() {
+    isShutdown = true;
+
+    // The ongoing publications must be ingested before the stop task for their tasks to be run
+    while (publishingThreadsCount.get() > 0) {
+      Thread.yield();
+    }
+
+    publish(stopTask);
+
+    List<Thread> threads = new ArrayList<>(lanes.size() + 1);
+    threads.add(ingestionThread);
+    lanes.forEach(lane -> threads.add(lane.thread));
+    long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+    try {
+      for (Thread thread : threads) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        thread.join(Math.max(remainingMillis, 1));
+
+        if (thread.isAlive()) {
+          log.warn("The tag tasks didn't terminate in time.");
+          threads.forEach(Thread::interrupt);
+          break;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      log.debug("The tag task executor metrics weren't exposed through JMX.", e);
+    }
+  }
+
+  /**
+   * Submits a task involving a single chunk to be run in the background.
+   *
+   * @see #submit(Set, boolean, Runnable)
+   */
+  public @NotNull CompletableFuture<Void> submit(
+      @NotNull ChunkLocation chunkLocation, boolean isDroppable, @NotNull Runnable runnable) {
+    return submit(Set.of(chunkLocation), isDroppable, runnable);
+  }
+
+  /**
+   * Submits a task involving a single chunk and computing a result to be run in the background.
+   *
+   * <p>Such a task is never dropped once queued, since its caller expects a result. However, its
+   * caller waits for it asynchronously, so it's rejected whatever the saturation policy when the
+   * executor is saturated instead of being run by (or blocking) the submitting thread.
+   *
+   * @return A future completed with the result once the task has been run, or completed
+   *     exceptionally with a {@link RejectedExecutionException} if the task has been rejected.
+   * @see #submit(Set, boolean, Runnable)
+   */
+  public <T> @NotNull CompletableFuture<T> submit(
+      @NotNull ChunkLocation chunkLocation, @NotNull Supplier<T> supplier) {
+    AtomicReference<T> result = new AtomicReference<>();
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    submit(
+        new TagTask(
+            () -> result.set(supplier.get()),
+            false,
+            lanesOf(Set.of(chunkLocation)),
+            System.nanoTime(),
+            future),
+        true);
+    return future.thenApply(unused -> result.get());
+  }
+
+  /**
+   * Submits a task to be run in the background, after the previously submitted tasks involving the
+   * same chunks.
+   *
+   * @param chunkLocations The locations of the chunks involved by the task.
+   * @param isDroppable Whether the task may be dropped when the executor is saturated. Only tasks
+   *     putting ephemeral tags are expected to be droppable, since losing them only lets a
+   *     place-and-break exploit go undetected for a few seconds. See also {@link #trySubmit}.
+   * @param runnable The task to run.
+   * @return A future completed once the task has been run, or completed exceptionally with a {@link
+   *     RejectedExecutionException} if the task has been dropped.
+   */
+  public @NotNull CompletableFuture<Void> submit(
+      @NotNull Set<ChunkLocation> chunkLocations, boolean isDroppable, @NotNull Runnable runnable) {
+    Validate.notEmpty(chunkLocations, "A tag task must involve at least one chunk");
+
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    submit(
+        new TagTask(runnable, isDroppable, lanesOf(chunkLocations), System.nanoTime(), future),
+        false);
+    return future;
+  }
+
+  /**
+   * Submits a best-effort task involving a single chunk to be run in the background, after the
+   * previously submitted tasks involving the same chunk.
+   *
+   * <p>Unlike {@link #submit}, the task is dropped whatever the saturation policy when the executor
+   * is saturated, so it's never run by the submitting thread. It may also be dropped once queued in
+   * favor of another task, as any droppable one. This suits tasks which are only optimizations,
+   * like prefetching tags.
+   *
+   * @param chunkLocation The location of the chunk involved by the task.
+   * @param runnable The task to run.
+   * @return A future completed once the task has been run, or completed exceptionally with a {@link
+   *     RejectedExecutionException} if the task has been dropped.
+   */
+  public @NotNull CompletableFuture<Void> trySubmit(
+      @NotNull ChunkLocation chunkLocation, @NotNull Runnable runnable) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    submit(
+        new TagTask(runnable, true, lanesOf(Set.of(chunkLocation)), System.nanoTime(), future),
+        true);
+    return future;
+  }
+
+  private void submit(@NotNull TagTask tagTask, boolean isBestEffort) {
+    publishingThreadsCount.incrementAndGet();
+
+    try {
+      if (isShutdown) {
+        tagTask.reject(SHUTDOWN_MESSAGE);
+        return;
+      }
+
+      if (queuePermits.tryAcquire()) {
+        publish(tagTask);
+        return;
+      }
+
+      if (isBestEffort) {
+        drop(tagTask);
+        return;
+      }
+
+      if (onSaturation(tagTask)) {
+        publish(tagTask);
+      }
+    } finally {
+      publishingThreadsCount.decrementAndGet();
+    }
+  }
+
+  /**
+   * Publishes a tag event to be handled in the background, after the previously submitted tasks
+   * involving the same chunk.
+   *
+   * <p>Unlike {@link #submit}, this doesn't allocate anything unless the executor is saturated, but
+   * doesn't give any mean to know when the event has been handled either. Events published once the
+   * executor has been shut down are ignored. Failures are logged.
+   *
+   * @param tagEventHandler The handler of the event.
+   * @param tagEventType The type of the event. Ephemeral tag puts may be dropped when the executor
+   *     is saturated.
+   * @param worldName The name of the world of the targeted block.
+   * @param x The x-axis value of the targeted block.
+   * @param y The y-axis value of the targeted block.
+   * @param z The z-axis value of the targeted block.
+   * @param material The material of the targeted block.
+   * @param isEphemeral Whether the tag to put is ephemeral.
+   */
+  public void publish(
+      @NotNull TagEventHandler tagEventHandler,
+      @NotNull TagEventType tagEventType,
+      @NotNull String worldName,
+      int x,
+      int y,
+      int z,
+      @NotNull String material,
+      boolean isEphemeral) {
+    publishingThreadsCount.incrementAndGet();
+
+    try {
+      if (isShutdown) {
+        return;
+      }
+
+      if (queuePermits.tryAcquire()) {
+        long position = claim();
+        Slot slot = ringBuffer.slotAt(position);
+        slot.tagEventHandler = tagEventHandler;
+        slot.tagEventType = tagEventType;
+        slot.worldName = worldName;
+        slot.x = x;
+        slot.y = y;
+        slot.z = z;
+        slot.material = material;
+        slot.isEphemeral = isEphemeral;
+        slot.publishedAtNanos = System.nanoTime();
+        ringBuffer.publish(position);
+        wakeUpIngestion();
+        return;
+      }
+
+      // Saturation is the only case requiring the task to be created by the publishing thread
+      TagTask tagTask =
+          newEventTask(
+              tagEventHandler,
+              tagEventType,
+              new Block(new BlockLocation(worldName, x, y, z), material),
+              isEphemeral,
+              System.nanoTime());
+
+      if (onSaturation(tagTask)) {
+        publish(tagTask);
+      }
+    } finally {
+      publishingThreadsCount.decrementAndGet();
+    }
+  }
+
+  private @NotNull TagTask newEventTask(
+      @NotNull TagEventHandler tagEventHandler,
+      @NotNull TagEventType tagEventType,
+      @NotNull Block block,
+      boolean isEphemeral,
+      long publishedAtNanos) {
+    boolean isDroppable = tagEventType == TagEventType.PUT && isEphemeral;
+    return new TagTask(
+        () -> tagEventHandler.handle(tagEventType, block, isEphemeral),
+        isDroppable,
+        List.of(laneOf(ChunkLocation.from(block.blockLocation()))),
+        publishedAtNanos,
+        null);
+  }
+
+  private @NotNull List<Lane> lanesOf(@NotNull Set<ChunkLocation> chunkLocations) {
+    if (chunkLocations.size() == 1) {
+      return List.of(laneOf(chunkLocations.iterator().next()));
+    }
+
+    SortedSet<Integer> laneIndexes = new TreeSet<>();
+
+    for (ChunkLocation chunkLocation : chunkLocations) {
+      laneIndexes.add(laneIndexOf(chunkLocation));
+    }
+
+    List<Lane> taskLanes = new ArrayList<>(laneIndexes.size());
+
+    for (int laneIndex : laneIndexes) {
+      taskLanes.add(lanes.get(laneIndex));
+    }
+
+    return taskLanes;
+  }
+
+  private @NotNull Lane laneOf(@NotNull ChunkLocation chunkLocation) {
+    return lanes.get(laneIndexOf(chunkLocation));
+  }
+
+  private int laneIndexOf(@NotNull ChunkLocation chunkLocation) {
+    int hash = chunkLocation.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), lanes.size());
+  }
+
+  private void publish(@NotNull TagTask tagTask) {
+    long position = claim();
+    ringBuffer.slotAt(position).tagTask = tagTask;
+    ringBuffer.publish(position);
+    wakeUpIngestion();
+  }
+
+  private long claim() {
+    long position = ringBuffer.tryClaim();
+
+    // Each published task holds a queue permit at least until its slot has been released
+    Validate.validState(position >= 0, "The tag task ring buffer is unexpectedly full");
+    return position;
+  }
+
+  private void wakeUpIngestion() {
+    if (isIngestionParked) {
+      LockSupport.unpark(ingestionThread);
+    }
+  }
+
+  /** Dispatches the published tasks to their lanes, in publication order. */
+  private void ingest() {
+    while (!Thread.currentThread().isInterrupted()) {
+      Slot slot = ringBuffer.peek();
+
+      if (slot == null) {
+        parkIngestion();
+        continue;
+      }
+
+      TagTask tagTask = slot.tagTask;
+
+      if (tagTask == null) {
+        tagTask =
+            newEventTask(
+                slot.tagEventHandler,
+                slot.tagEventType,
+                new Block(new BlockLocation(slot.worldName, slot.x, slot.y, slot.z), slot.material),
+                slot.isEphemeral,
+                slot.publishedAtNanos);
+      }
+
+      slot.clear();
+      ringBuffer.release();
+
+      if (tagTask == stopTask) {
+        // Appended last, so the lanes run all the tasks submitted so far before terminating
+        for (Lane lane : lanes) {
+          lane.queue.add(stopTask);
+        }
+        return;
+      }
+
+      tagTask.submissionIndex = ingestedTasksCount++;
+
+      for (Lane lane : tagTask.lanes) {
+        lane.queue.add(tagTask);
+      }
+    }
+  }
+
+  private void parkIngestion() {
+    isIngestionParked = true;
+
+    // Checked again since a task may have been published before the parking became visible
+    if (ringBuffer.peek() == null) {
+      LockSupport.park(this);
+    }
+
+    isIngestionParked = false;
+  }
+
+  /**
+   * Applies the saturation policy to the given task.
+   *
+   * @return Whether a queue permit has been acquired for the task, which must be published then.
+   */
+  private boolean onSaturation(@NotNull TagTask tagTask) {
+    return switch (saturationPolicy) {
+      case CALLER_RUNS -> runInCaller(tagTask);
+      case DROP_OLDEST_EPHEMERAL -> dropOldestEphemeral(tagTask);
+      case BLOCK -> block(tagTask);
+    };
+  }
+
+  private boolean runInCaller(@NotNull TagTask tagTask) {
+    callerRunTasksCount.increment();
+    tagTask.run();
+    return false;
+  }
+
+  private boolean dropOldestEphemeral(@NotNull TagTask tagTask) {
+    TagTask droppableTask;
+
+    while ((droppableTask = findOldestDroppableTask()) != null) {
+      // The permit of the dropped task is handed over to the submitted one
+      if (droppableTask.lanes.get(0).queue.remove(droppableTask)) {
+        drop(droppableTask);
+        return true;
+      }
+
+      // The task has been taken by its lane meanwhile, which releases its permit
+      if (queuePermits.tryAcquire()) {
+        return true;
+      }
+    }
+
+    if (tagTask.isDroppable) {
+      drop(tagTask);
+      return false;
+    }
+
+    return runInCaller(tagTask);
+  }
+
+  private @Nullable TagTask findOldestDroppableTask() {
+    TagTask oldestDroppableTask = null;
+
+    for (Lane lane : lanes) {
+      // Each lane queue is iterated from the oldest to the newest task
+      for (TagTask queuedTask : lane.queue) {
+        if (queuedTask.isDroppable && queuedTask.lanes.size() == 1) {
+          if (oldestDroppableTask == null
+              || queuedTask.submissionIndex < oldestDroppableTask.submissionIndex) {
+            oldestDroppableTask = queuedTask;
+          }
+          break;
+        }
+      }
+    }
+
+    return oldestDroppableTask;
+  }
+
+  private void drop(@NotNull TagTask tagTask) {
+    droppedTasksCount.increment();
+    tagTask.reject("The tag task has been dropped since the executor is saturated");
+  }
+
+  private boolean block(@NotNull TagTask tagTask) {
+    try {
+      queuePermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      tagTask.reject("Interrupted while waiting for room in the tag task queue");
+      return false;
+    }
+
+    return true;
+  }
+
+  long getIngestedTasksCount() {
+    return ingestedTasksCount;
+  }
+
+  @Override
+  public boolean isRunningOnVirtualThreads() {
+    return threadFactory.isVirtual();
+  }
+
+  @Override
+  public int getQueueDepth() {
+    return queueCapacity - queuePermits.availablePermits();
+  }
+
+  @Override
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  @Override
+  public int getActiveThreadsCount() {
+    return activeLanesCount.get();
+  }
+
+  @Override
+  public long getCompletedTasksCount() {
+    return completedTasksCount.sum();
+  }
+
+  @Override
+  public long getCallerRunTasksCount() {
+    return callerRunTasksCount.sum();
+  }
+
+  @Override
+  public long getDroppedTasksCount() {
+    return droppedTasksCount.sum();
+  }
+
+  @Override
+  public double getAverageTaskLatency() {
+    long completedTasks = completedTasksCount.sum();
+    return completedTasks > 0 ? toMillis(totalLatencyNanos.sum()) / completedTasks : 0;
+  }
+
+  @Override
+  public double getMaximumTaskLatency() {
+    return toMillis(maximumLatencyNanos.get());
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  private final class Lane {
+
+    private final BlockingQueue<TagTask> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+
+    private Lane(@NotNull String name) {
+      this.thread = threadFactory.newThread(name, this::run);
+    }
+
+    private void run() {
+      try {
+        while (true) {
+          TagTask tagTask = queue.take();
+
+          if (tagTask == stopTask) {
+            return;
+          }
+
+          tagTask.reach();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static final class Slot {
+
+    private @Nullable TagTask tagTask;
+    private TagEventHandler tagEventHandler;
+    private TagEventType tagEventType;
+    private String worldName;
+    private int x;
+    private int y;
+    private int z;
+    private String material;
+    private boolean isEphemeral;
+    private long publishedAtNanos;
+
+    /** Drops the references held by the slot, so they can be garbage collected. */
+    private void clear() {
+      tagTask = null;
+      tagEventHandler = null;
+      tagEventType = null;
+      worldName = null;
+      material = null;
+    }
+  }
+
+  private final class TagTask implements Runnable {
+
+    private final Runnable runnable;
+    private final boolean isDroppable;
+    private final List<Lane> lanes;
+    private final long submittedAtNanos;
+    private final AtomicInteger remainingLanesCount;
+    private final @Nullable CountDownLatch completionLatch;
+    private final @Nullable CompletableFuture<Void> future;
+    private long submissionIndex;
+
+    private TagTask(
+        @NotNull Runnable runnable,
+        boolean isDroppable,
+        @NotNull List<Lane> lanes,
+        long submittedAtNanos,
+        @Nullable CompletableFuture<Void> future) {
+      this.runnable = runnable;
+      this.isDroppable = isDroppable;
+      this.lanes = lanes;
+      this.submittedAtNanos = submittedAtNanos;
+      this.remainingLanesCount = new AtomicInteger(lanes.size());
+      this.completionLatch = lanes.size() > 1 ? new CountDownLatch(1) : null;
+      this.future = future;
+    }
+
+    /**
+     * Called by each lane reaching this task: the last one runs it while the other ones wait for
+     * its completion.
+     */
+    private void reach() throws InterruptedException {
+      if (remainingLanesCount.decrementAndGet() > 0) {
+        completionLatch.await();
+        return;
+      }
+
+      queuePermits.release();
+      activeLanesCount.incrementAndGet();
+
+      try {
+        run();
+      } finally {
+        activeLanesCount.decrementAndGet();
+
+        if (completionLatch != null) {
+          completionLatch.countDown();
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      Throwable failure = null;
+
+      try {
+        runnable.run();
+      } catch (Throwable e) {
+        failure = e;
+      }
+
+      // Recorded before completing the future, so the metrics are up-to-date for the caller
+      long latencyNanos = System.nanoTime() - submittedAtNanos;
+      totalLatencyNanos.add(latencyNanos);
+      maximumLatencyNanos.accumulate(latencyNanos);
+      completedTasksCount.increment();
+
+      if (future == null) {
+        if (failure != null) {
+          log.warn("Failed to handle a tag event.", failure);
+        }
+        return;
+      }
+
+      if (failure != null) {
+        future.completeExceptionally(failure);
+        return;
+      }
+
+      future.complete(null);
+    }
+
+    private void reject(@NotNull String message) {
+      if (future != null) {
+        future.completeExceptionally(new RejectedExecutionException(message));
+      }
+    }
+  }
+}
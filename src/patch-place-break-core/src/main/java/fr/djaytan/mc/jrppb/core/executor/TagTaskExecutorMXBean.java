@@ -0,0 +1,54 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.executor;
+
+/** Represents the metrics of the {@link TagTaskExecutor} exposed through JMX. */
+public interface TagTaskExecutorMXBean {
+
+  /** Whether the tasks are run on virtual threads rather than platform ones. */
+  boolean isRunningOnVirtualThreads();
+
+  /** The number of tasks currently waiting to be run. */
+  int getQueueDepth();
+
+  /** The maximum number of tasks which can wait to be run. */
+  int getQueueCapacity();
+
+  /** The number of threads currently running a task. */
+  int getActiveThreadsCount();
+
+  /** The number of tasks run so far, whether successfully or not. */
+  long getCompletedTasksCount();
+
+  /** The number of tasks run by the submitting thread because the queue was full. */
+  long getCallerRunTasksCount();
+
+  /** The number of droppable tasks (e.g. ephemeral tags) dropped because the queue was full. */
+  long getDroppedTasksCount();
+
+  /** The average time elapsed between the submission and the completion of a task (in ms). */
+  double getAverageTaskLatency();
+
+  /** The maximum time elapsed between the submission and the completion of a task (in ms). */
+  double getMaximumTaskLatency();
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.executor;
+
+import java.lang.reflect.Method;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents the factory of the threads running the tag tasks.
+ *
+ * <p>These threads spend most of their time waiting for the database, which is where virtual
+ * threads shine: a blocked virtual thread releases its carrier thread instead of holding an OS
+ * thread. The project targets Java 17 while most servers run on Java 21+, so virtual threads are
+ * detected and created reflectively at runtime, platform threads being used otherwise.
+ *
+ * <p>They are opt-in though: a virtual thread blocked within a {@code synchronized} block pins its
+ * carrier thread, which is what the SQLite driver does for each query. Besides, only the kind of
+ * the lane threads is switched: there are still as many of them, each running its queued tasks one
+ * after the other, so no thread is created per task.
+ */
+final class TagThreadFactory {
+
+  private static final Logger log = LoggerFactory.getLogger(TagThreadFactory.class);
+  private static final int VIRTUAL_THREADS_MINIMUM_JAVA_VERSION = 21;
+
+  private static final @Nullable VirtualThreadBuilder VIRTUAL_THREAD_BUILDER =
+      findVirtualThreadBuilder();
+
+  private final boolean isVirtual;
+
+  TagThreadFactory(boolean prefersVirtualThreads) {
+    this.isVirtual = prefersVirtualThreads && VIRTUAL_THREAD_BUILDER != null;
+
+    if (prefersVirtualThreads && !isVirtual) {
+      log.warn(
+          "Virtual threads require Java {}+ while the server runs on Java {}. Falling back to"
+              + " platform threads.",
+          VIRTUAL_THREADS_MINIMUM_JAVA_VERSION,
+          Runtime.version().feature());
+    }
+  }
+
+  /** Tells whether the created threads are virtual ones. */
+  boolean isVirtual() {
+    return isVirtual;
+  }
+
+  /**
+   * Creates an unstarted daemon thread.
+   *
+   * @param name The name of the thread.
+   * @param runnable The task run by the thread.
+   * @return The created thread.
+   */
+  @NotNull
+  Thread newThread(@NotNull String name, @NotNull Runnable runnable) {
+    if (isVirtual) {
+      return VIRTUAL_THREAD_BUILDER.newThread(name, runnable);
+    }
+
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static @Nullable VirtualThreadBuilder findVirtualThreadBuilder() {
+    // Java 19 and 20 expose them as a preview feature, which fails unless explicitly enabled
+    if (Runtime.version().feature() < VIRTUAL_THREADS_MINIMUM_JAVA_VERSION) {
+      return null;
+    }
+
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      return new VirtualThreadBuilder(
+          Thread.class.getMethod("ofVirtual"),
+          builderClass.getMethod("name", String.class),
+          builderClass.getMethod("unstarted", Runnable.class));
+    } catch (ReflectiveOperationException e) {
+      // Virtual threads aren't supported before Java 21
+      return null;
+    }
+  }
+
+  /** Binding of the {@code Thread.ofVirtual().name(name).unstarted(runnable)} calls. */
+  private record VirtualThreadBuilder(
+      @NotNull Method ofVirtualMethod,
+      @NotNull Method nameMethod,
+      @NotNull Method unstartedMethod) {
+
+    private @NotNull Thread newThread(@NotNull String name, @NotNull Runnable runnable) {
+      try {
+        Object builder = nameMethod.invoke(ofVirtualMethod.invoke(null), name);
+        return (Thread) unstartedMethod.invoke(builder, runnable);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Failed to create a virtual thread", e);
+      }
+    }
+  }
+}
@@ -25,7 +25,10 @@ package fr.djaytan.mc.jrppb.core.inject;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
+import fr.djaytan.mc.jrppb.core.executor.TagTaskExecutor;
 import fr.djaytan.mc.jrppb.core.storage.api.DataSourceManager;
+import fr.djaytan.mc.jrppb.core.storage.cache.WriteBehindTagRepository;
+import fr.djaytan.mc.jrppb.core.storage.sql.ExpiredTagsPurger;
 import java.nio.file.Path;
 import java.time.Clock;
 import org.jetbrains.annotations.NotNull;
@@ -54,4 +57,16 @@ public final class PatchPlaceBreakInjector {
   public @NotNull DataSourceManager dataSourceManager() {
     return injector.getInstance(DataSourceManager.class);
   }
+
+  public @NotNull ExpiredTagsPurger expiredTagsPurger() {
+    return injector.getInstance(ExpiredTagsPurger.class);
+  }
+
+  public @NotNull WriteBehindTagRepository writeBehindTagRepository() {
+    return injector.getInstance(WriteBehindTagRepository.class);
+  }
+
+  public @NotNull TagTaskExecutor tagTaskExecutor() {
+    return injector.getInstance(TagTaskExecutor.class);
+  }
 }
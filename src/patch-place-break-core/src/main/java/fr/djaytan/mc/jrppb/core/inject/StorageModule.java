@@ -25,8 +25,15 @@ package fr.djaytan.mc.jrppb.core.inject;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.zaxxer.hikari.HikariDataSource;
+import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
+import fr.djaytan.mc.jrppb.core.storage.api.ChunkTagIndex;
 import fr.djaytan.mc.jrppb.core.storage.api.DataSourceManager;
 import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import fr.djaytan.mc.jrppb.core.storage.cache.CachedTagRepository;
+import fr.djaytan.mc.jrppb.core.storage.cache.ChunkIndexedTagRepository;
+import fr.djaytan.mc.jrppb.core.storage.cache.EphemeralTagRepository;
+import fr.djaytan.mc.jrppb.core.storage.cache.WriteBehindTagRepository;
+import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
 import fr.djaytan.mc.jrppb.core.storage.sql.SqlDataSourceManager;
 import fr.djaytan.mc.jrppb.core.storage.sql.access.SqlTagRepository;
 import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.JdbcUrl;
@@ -36,6 +43,8 @@ import fr.djaytan.mc.jrppb.core.storage.sql.provider.JdbcUrlProvider;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Optional;
 import javax.sql.DataSource;
 import org.flywaydb.core.Flyway;
 import org.jetbrains.annotations.NotNull;
@@ -46,8 +55,46 @@ final class StorageModule extends AbstractModule {
 
   @Override
   protected void configure() {
+    bind(ChunkTagIndex.class).to(ChunkIndexedTagRepository.class);
     bind(DataSourceManager.class).to(SqlDataSourceManager.class).in(Singleton.class);
-    bind(TagRepository.class).to(SqlTagRepository.class).in(Singleton.class);
+  }
+
+  @Provides
+  @Singleton
+  static @NotNull TagRepository tagRepository(
+      @NotNull Clock clock,
+      @NotNull DataSourceProperties dataSourceProperties,
+      @NotNull WriteBehindTagRepository writeBehindTagRepository) {
+    if (!dataSourceProperties.tagStorage().ephemeralTags().inMemory()) {
+      return writeBehindTagRepository;
+    }
+
+    return new EphemeralTagRepository(
+        writeBehindTagRepository, clock, PatchPlaceBreakApi.EPHEMERAL_TAG_DURATION);
+  }
+
+  @Provides
+  @Singleton
+  static @NotNull WriteBehindTagRepository writeBehindTagRepository(
+      @NotNull DataSourceProperties dataSourceProperties,
+      @NotNull ChunkIndexedTagRepository chunkIndexedTagRepository) {
+    return new WriteBehindTagRepository(
+        chunkIndexedTagRepository, dataSourceProperties.tagStorage().writeBehind());
+  }
+
+  @Provides
+  @Singleton
+  static @NotNull ChunkIndexedTagRepository chunkIndexedTagRepository(
+      @NotNull DataSourceProperties dataSourceProperties,
+      @NotNull SqlTagRepository sqlTagRepository) {
+    int cacheMaximumSize = dataSourceProperties.tagStorage().cache().maximumSize();
+
+    if (cacheMaximumSize == 0) {
+      return new ChunkIndexedTagRepository(sqlTagRepository);
+    }
+
+    return new ChunkIndexedTagRepository(
+        new CachedTagRepository(sqlTagRepository, cacheMaximumSize));
   }
 
   @Provides
@@ -63,6 +110,16 @@ final class StorageModule extends AbstractModule {
     return hikariDataSourceProvider.get();
   }
 
+  @Provides
+  @Named("readOnly")
+  @Singleton
+  static @NotNull Optional<HikariDataSource> readOnlyHikariDataSource(
+      @NotNull HikariDataSourceProvider hikariDataSourceProvider,
+      @NotNull HikariDataSource hikariDataSource) {
+    // The main pool must be opened first since it is the one creating the database if needed
+    return hikariDataSourceProvider.getReadOnly();
+  }
+
   @Provides
   @Singleton
   static @NotNull JdbcUrl jdbcUrl(@NotNull JdbcUrlProvider jdbcUrlProvider) {
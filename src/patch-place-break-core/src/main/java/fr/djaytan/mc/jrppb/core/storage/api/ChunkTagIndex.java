@@ -0,0 +1,56 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.api;
+
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents an in-memory index of tags scoped by chunk.
+ *
+ * <p>Since blocks can only be broken in loaded chunks, keeping in memory the tags of loaded chunks
+ * only is enough to answer almost all lookups without querying the data source. The memory
+ * footprint then scales with the number of loaded chunks instead of with the total number of stored
+ * tags.
+ */
+public interface ChunkTagIndex {
+
+  /**
+   * Loads in the index all the tags of the given chunk.
+   *
+   * <p>This method is blocking since it depends on the data source response time. Nothing is done
+   * if the chunk is already indexed.
+   *
+   * @param chunkLocation The chunk for which to index the tags.
+   */
+  void load(@NotNull ChunkLocation chunkLocation);
+
+  /**
+   * Removes from the index all the tags of the given chunk.
+   *
+   * <p>The tags are kept in the data source: only the in-memory copy is released.
+   *
+   * @param chunkLocation The chunk for which to release the indexed tags.
+   */
+  void unload(@NotNull ChunkLocation chunkLocation);
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.api;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+
+/** Represents a mutation of the tag located at a {@link BlockLocation}. */
+public sealed interface TagMutation {
+
+  /**
+   * Gets the location targeted by the mutation.
+   *
+   * @return The location targeted by the mutation.
+   */
+  @NotNull
+  BlockLocation blockLocation();
+
+  /**
+   * Gets the tag expected at the targeted location once the mutation has been applied.
+   *
+   * @return The tag expected at the targeted location if any.
+   */
+  @NotNull
+  Optional<Tag> resultingTag();
+
+  /**
+   * Represents the put of a tag.
+   *
+   * @param tag The tag to put.
+   * @see TagRepository#put(Tag)
+   */
+  record Put(@NotNull Tag tag) implements TagMutation {
+
+    @Override
+    public @NotNull BlockLocation blockLocation() {
+      return tag.blockLocation();
+    }
+
+    @Override
+    public @NotNull Optional<Tag> resultingTag() {
+      return Optional.of(tag);
+    }
+  }
+
+  /**
+   * Represents the deletion of a tag.
+   *
+   * @param blockLocation The location of the tag to delete.
+   * @see TagRepository#delete(BlockLocation)
+   */
+  record Delete(@NotNull BlockLocation blockLocation) implements TagMutation {
+
+    @Override
+    public @NotNull Optional<Tag> resultingTag() {
+      return Optional.empty();
+    }
+  }
+}
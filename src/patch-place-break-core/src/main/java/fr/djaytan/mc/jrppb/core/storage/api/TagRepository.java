@@ -23,8 +23,15 @@
 package fr.djaytan.mc.jrppb.core.storage.api;
 
 import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Tag;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -57,9 +64,60 @@ public interface TagRepository {
    * <p>More concretely, a tag from an old location must overwrite the existing one at the new
    * location. Then, no tag must exist anymore at the old location.
    *
+   * <p>By default, the old tags are looked up at once, then the moves are applied as a single batch
+   * of mutations.
+   *
    * @param oldNewLocationPairs The set of old-new location pairs
    */
-  void updateLocations(@NotNull OldNewBlockLocationPairSet oldNewLocationPairs);
+  default void updateLocations(@NotNull OldNewBlockLocationPairSet oldNewLocationPairs) {
+    Set<BlockLocation> oldBlockLocations = new HashSet<>();
+
+    for (OldNewBlockLocationPair oldNewLocationPair :
+        oldNewLocationPairs.oldNewBlockLocationPairs()) {
+      oldBlockLocations.add(oldNewLocationPair.oldBlockLocation());
+    }
+
+    Map<BlockLocation, Tag> oldTags = new HashMap<>();
+
+    for (Tag oldTag : findByLocations(oldBlockLocations)) {
+      oldTags.put(oldTag.blockLocation(), oldTag);
+    }
+
+    Map<BlockLocation, Tag> movedTags = new HashMap<>();
+
+    for (OldNewBlockLocationPair oldNewLocationPair :
+        oldNewLocationPairs.oldNewBlockLocationPairs()) {
+      Tag oldTag = oldTags.get(oldNewLocationPair.oldBlockLocation());
+      BlockLocation newBlockLocation = oldNewLocationPair.newBlockLocation();
+
+      if (oldTag != null) {
+        movedTags.put(
+            newBlockLocation, new Tag(newBlockLocation, oldTag.isEphemeral(), oldTag.createdAt()));
+      }
+    }
+
+    List<TagMutation> mutations = new ArrayList<>();
+
+    // Looking up the other locations would cost more than deleting them within the batch
+    for (BlockLocation blockLocation : oldNewLocationPairs.flattenBlockLocations()) {
+      Tag movedTag = movedTags.get(blockLocation);
+      mutations.add(
+          movedTag != null ? new TagMutation.Put(movedTag) : new TagMutation.Delete(blockLocation));
+    }
+
+    applyMutations(mutations);
+  }
+
+  /**
+   * Applies the given mutations in order.
+   *
+   * <p>The outcome must be the same as applying them one by one through {@link #put(Tag)} and
+   * {@link #delete(BlockLocation)}, but implementations are free to apply them all at once (e.g.
+   * within a single transaction).
+   *
+   * @param mutations The mutations to apply.
+   */
+  void applyMutations(@NotNull List<TagMutation> mutations);
 
   /**
    * Finds a tag from a {@link BlockLocation}.
@@ -70,6 +128,57 @@ public interface TagRepository {
   @NotNull
   Optional<Tag> findByLocation(@NotNull BlockLocation blockLocation);
 
+  /**
+   * Finds the tags located at the given {@link BlockLocation}s.
+   *
+   * <p>The outcome must be the same as looking them up one by one through {@link
+   * #findByLocation(BlockLocation)}, but implementations are free to look them all up at once (e.g.
+   * within a single query).
+   *
+   * @param blockLocations The locations where the sought tags may be.
+   * @return The tags located at the given locations.
+   */
+  @NotNull
+  Set<Tag> findByLocations(@NotNull Set<BlockLocation> blockLocations);
+
+  /**
+   * Finds a tag from a {@link BlockLocation} without querying the underlying data source, i.e. only
+   * when the answer is already known from memory. Unlike {@link #findByLocation(BlockLocation)},
+   * this method never blocks on I/O.
+   *
+   * <p>By default, nothing is known from memory.
+   *
+   * @param blockLocation The location where the sought tag may be.
+   * @return The outcome of {@link #findByLocation(BlockLocation)} if known from memory, or an empty
+   *     optional if it can't be known without querying the data source.
+   */
+  default @NotNull Optional<Optional<Tag>> findResidentByLocation(
+      @NotNull BlockLocation blockLocation) {
+    return Optional.empty();
+  }
+
+  /**
+   * Tells whether the tags looked up through {@link #findByLocation(BlockLocation)} are kept in
+   * memory, so that {@link #findResidentByLocation(BlockLocation)} knows them afterward.
+   *
+   * <p>By default, nothing is kept in memory.
+   *
+   * @return <code>true</code> if the looked up tags are kept in memory, <code>false</code>
+   *     otherwise.
+   */
+  default boolean isCachingLookups() {
+    return false;
+  }
+
+  /**
+   * Finds all the tags located in a {@link ChunkLocation}.
+   *
+   * @param chunkLocation The chunk where the sought tags may be.
+   * @return The tags located in the given chunk.
+   */
+  @NotNull
+  Set<Tag> findByChunk(@NotNull ChunkLocation chunkLocation);
+
   /**
    * Deletes a tag from its {@link BlockLocation}.
    *
@@ -0,0 +1,303 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
+import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a write-through cache in front of another {@link TagRepository}.
+ *
+ * <p>Lookups are first resolved against a bounded in-memory cache holding both found tags and
+ * locations known to be untagged (negative entries). Only cache misses reach the underlying
+ * repository, which saves a database round-trip for most of the checks performed while players
+ * break blocks. When the maximum size is reached, the least recently used entries are evicted.
+ *
+ * <p>Mutations are forwarded to the underlying repository first and then reflected in the cache, so
+ * the cache never exposes a state which has not been stored yet. Operations targeting the same
+ * locations are serialized through lock striping: this prevents a lookup which missed the cache
+ * from storing a stale value fetched concurrently with a mutation.
+ */
+public final class CachedTagRepository implements TagRepository {
+
+  private static final int LOCK_STRIPES_COUNT = 64;
+
+  private final TagRepository delegate;
+  private final Map<BlockLocation, Optional<Tag>> entries;
+  private final ReentrantLock[] locks;
+
+  public CachedTagRepository(@NotNull TagRepository delegate, int maximumSize) {
+    Validate.isTrue(maximumSize > 0, "The maximum size of the cache must be strictly positive");
+
+    this.delegate = delegate;
+    this.entries = new BoundedAccessOrderedMap<>(maximumSize);
+    this.locks = new ReentrantLock[LOCK_STRIPES_COUNT];
+
+    for (int i = 0; i < LOCK_STRIPES_COUNT; i++) {
+      locks[i] = new ReentrantLock();
+    }
+  }
+
+  @Override
+  public void put(@NotNull Tag tag) {
+    BlockLocation blockLocation = tag.blockLocation();
+    ReentrantLock lock = lockOf(blockLocation);
+    lock.lock();
+
+    try {
+      delegate.put(tag);
+      cache(blockLocation, Optional.of(tag));
+    } catch (RuntimeException e) {
+      invalidate(blockLocation);
+      throw e;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void applyMutations(@NotNull List<TagMutation> mutations) {
+    Map<BlockLocation, Optional<Tag>> resultingEntries = new HashMap<>();
+
+    for (TagMutation mutation : mutations) {
+      resultingEntries.put(mutation.blockLocation(), mutation.resultingTag());
+    }
+
+    SortedSet<Integer> lockIndexes = lockAll(resultingEntries.keySet());
+
+    try {
+      try {
+        delegate.applyMutations(mutations);
+      } catch (RuntimeException e) {
+        resultingEntries.keySet().forEach(this::invalidate);
+        throw e;
+      }
+
+      resultingEntries.forEach(this::cache);
+    } finally {
+      unlockAll(lockIndexes);
+    }
+  }
+
+  @Override
+  public @NotNull Optional<Tag> findByLocation(@NotNull BlockLocation blockLocation) {
+    Optional<Tag> cachedTag = lookup(blockLocation);
+
+    if (cachedTag != null) {
+      return cachedTag;
+    }
+
+    ReentrantLock lock = lockOf(blockLocation);
+    lock.lock();
+
+    try {
+      // The entry may have been loaded while waiting for the lock
+      cachedTag = lookup(blockLocation);
+
+      if (cachedTag != null) {
+        return cachedTag;
+      }
+
+      Optional<Tag> tag = delegate.findByLocation(blockLocation);
+      cache(blockLocation, tag);
+      return tag;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByLocations(@NotNull Set<BlockLocation> blockLocations) {
+    Set<Tag> tags = new HashSet<>();
+    Set<BlockLocation> missedBlockLocations = collectCachedTags(blockLocations, tags);
+
+    if (missedBlockLocations.isEmpty()) {
+      return tags;
+    }
+
+    SortedSet<Integer> lockIndexes = lockAll(missedBlockLocations);
+
+    try {
+      // Some entries may have been loaded while waiting for the locks
+      missedBlockLocations = collectCachedTags(missedBlockLocations, tags);
+
+      if (missedBlockLocations.isEmpty()) {
+        return tags;
+      }
+
+      Map<BlockLocation, Tag> foundTags = new HashMap<>();
+
+      for (Tag tag : delegate.findByLocations(missedBlockLocations)) {
+        foundTags.put(tag.blockLocation(), tag);
+      }
+
+      for (BlockLocation blockLocation : missedBlockLocations) {
+        cache(blockLocation, Optional.ofNullable(foundTags.get(blockLocation)));
+      }
+
+      tags.addAll(foundTags.values());
+      return tags;
+    } finally {
+      unlockAll(lockIndexes);
+    }
+  }
+
+  /**
+   * Adds the cached tags of the given locations to the specified set.
+   *
+   * @return The locations missing from the cache.
+   */
+  private @NotNull Set<BlockLocation> collectCachedTags(
+      @NotNull Set<BlockLocation> blockLocations, @NotNull Set<Tag> tags) {
+    Set<BlockLocation> missedBlockLocations = new HashSet<>();
+
+    for (BlockLocation blockLocation : blockLocations) {
+      Optional<Tag> cachedTag = lookup(blockLocation);
+
+      if (cachedTag != null) {
+        cachedTag.ifPresent(tags::add);
+        continue;
+      }
+
+      missedBlockLocations.add(blockLocation);
+    }
+
+    return missedBlockLocations;
+  }
+
+  @Override
+  public @NotNull Optional<Optional<Tag>> findResidentByLocation(
+      @NotNull BlockLocation blockLocation) {
+    Optional<Tag> cachedTag = lookup(blockLocation);
+
+    if (cachedTag != null) {
+      return Optional.of(cachedTag);
+    }
+
+    return delegate.findResidentByLocation(blockLocation);
+  }
+
+  @Override
+  public boolean isCachingLookups() {
+    return true;
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByChunk(@NotNull ChunkLocation chunkLocation) {
+    return delegate.findByChunk(chunkLocation);
+  }
+
+  @Override
+  public void delete(@NotNull BlockLocation blockLocation) {
+    ReentrantLock lock = lockOf(blockLocation);
+    lock.lock();
+
+    try {
+      delegate.delete(blockLocation);
+      cache(blockLocation, Optional.empty());
+    } catch (RuntimeException e) {
+      invalidate(blockLocation);
+      throw e;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private @Nullable Optional<Tag> lookup(@NotNull BlockLocation blockLocation) {
+    synchronized (entries) {
+      return entries.get(blockLocation);
+    }
+  }
+
+  private void cache(@NotNull BlockLocation blockLocation, @NotNull Optional<Tag> tag) {
+    synchronized (entries) {
+      entries.put(blockLocation, tag);
+    }
+  }
+
+  private void invalidate(@NotNull BlockLocation blockLocation) {
+    synchronized (entries) {
+      entries.remove(blockLocation);
+    }
+  }
+
+  private @NotNull SortedSet<Integer> lockAll(@NotNull Set<BlockLocation> blockLocations) {
+    SortedSet<Integer> lockIndexes = new TreeSet<>();
+
+    for (BlockLocation blockLocation : blockLocations) {
+      lockIndexes.add(lockIndexOf(blockLocation));
+    }
+
+    // Locks are always acquired in the same order to prevent deadlocks
+    for (int lockIndex : lockIndexes) {
+      locks[lockIndex].lock();
+    }
+
+    return lockIndexes;
+  }
+
+  private void unlockAll(@NotNull SortedSet<Integer> lockIndexes) {
+    for (int lockIndex : lockIndexes) {
+      locks[lockIndex].unlock();
+    }
+  }
+
+  private @NotNull ReentrantLock lockOf(@NotNull BlockLocation blockLocation) {
+    return locks[lockIndexOf(blockLocation)];
+  }
+
+  private static int lockIndexOf(@NotNull BlockLocation blockLocation) {
+    return Math.floorMod(blockLocation.hashCode(), LOCK_STRIPES_COUNT);
+  }
+
+  private static final class BoundedAccessOrderedMap<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maximumSize;
+
+    private BoundedAccessOrderedMap(int maximumSize) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      return size() > maximumSize;
+    }
+  }
+}
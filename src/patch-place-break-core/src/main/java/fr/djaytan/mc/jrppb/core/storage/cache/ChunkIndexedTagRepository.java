@@ -0,0 +1,232 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.ChunkTagIndex;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
+import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a {@link ChunkTagIndex} answering lookups in front of another {@link TagRepository}.
+ *
+ * <p>Lookups targeting an indexed chunk are answered from memory, including when no tag exists at
+ * the given location. Lookups targeting any other chunk are forwarded to the underlying repository.
+ *
+ * <p>Mutations are forwarded to the underlying repository first and then reflected in the index.
+ * Mutations happening while a chunk is being loaded are recorded and applied on top of the loaded
+ * tags, so a load racing with a mutation can't resurrect a stale state.
+ */
+public final class ChunkIndexedTagRepository implements TagRepository, ChunkTagIndex {
+
+  private final TagRepository delegate;
+  private final Map<ChunkLocation, IndexedChunk> indexedChunks = new ConcurrentHashMap<>();
+
+  public ChunkIndexedTagRepository(@NotNull TagRepository delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void load(@NotNull ChunkLocation chunkLocation) {
+    IndexedChunk indexedChunk = new IndexedChunk();
+
+    if (indexedChunks.putIfAbsent(chunkLocation, indexedChunk) != null) {
+      return;
+    }
+
+    try {
+      indexedChunk.complete(delegate.findByChunk(chunkLocation));
+    } catch (RuntimeException e) {
+      indexedChunks.remove(chunkLocation, indexedChunk);
+      throw e;
+    }
+  }
+
+  @Override
+  public void unload(@NotNull ChunkLocation chunkLocation) {
+    indexedChunks.remove(chunkLocation);
+  }
+
+  @Override
+  public void put(@NotNull Tag tag) {
+    delegate.put(tag);
+    apply(tag.blockLocation(), Optional.of(tag));
+  }
+
+  @Override
+  public void applyMutations(@NotNull List<TagMutation> mutations) {
+    delegate.applyMutations(mutations);
+
+    for (TagMutation mutation : mutations) {
+      apply(mutation.blockLocation(), mutation.resultingTag());
+    }
+  }
+
+  @Override
+  public @NotNull Optional<Tag> findByLocation(@NotNull BlockLocation blockLocation) {
+    Optional<Tag> indexedTag = lookup(blockLocation);
+
+    if (indexedTag != null) {
+      return indexedTag;
+    }
+
+    return delegate.findByLocation(blockLocation);
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByLocations(@NotNull Set<BlockLocation> blockLocations) {
+    Set<Tag> tags = new HashSet<>();
+    Set<BlockLocation> remainingBlockLocations = new HashSet<>();
+
+    for (BlockLocation blockLocation : blockLocations) {
+      Optional<Tag> indexedTag = lookup(blockLocation);
+
+      if (indexedTag != null) {
+        indexedTag.ifPresent(tags::add);
+        continue;
+      }
+
+      remainingBlockLocations.add(blockLocation);
+    }
+
+    if (!remainingBlockLocations.isEmpty()) {
+      tags.addAll(delegate.findByLocations(remainingBlockLocations));
+    }
+
+    return tags;
+  }
+
+  @Override
+  public @NotNull Optional<Optional<Tag>> findResidentByLocation(
+      @NotNull BlockLocation blockLocation) {
+    Optional<Tag> indexedTag = lookup(blockLocation);
+
+    if (indexedTag != null) {
+      return Optional.of(indexedTag);
+    }
+
+    return delegate.findResidentByLocation(blockLocation);
+  }
+
+  @Override
+  public boolean isCachingLookups() {
+    return delegate.isCachingLookups();
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByChunk(@NotNull ChunkLocation chunkLocation) {
+    IndexedChunk indexedChunk = indexedChunks.get(chunkLocation);
+
+    if (indexedChunk != null) {
+      Set<Tag> indexedTags = indexedChunk.tags();
+
+      if (indexedTags != null) {
+        return indexedTags;
+      }
+    }
+
+    return delegate.findByChunk(chunkLocation);
+  }
+
+  @Override
+  public void delete(@NotNull BlockLocation blockLocation) {
+    delegate.delete(blockLocation);
+    apply(blockLocation, Optional.empty());
+  }
+
+  private @Nullable Optional<Tag> lookup(@NotNull BlockLocation blockLocation) {
+    IndexedChunk indexedChunk = indexedChunks.get(ChunkLocation.from(blockLocation));
+    return indexedChunk != null ? indexedChunk.find(blockLocation) : null;
+  }
+
+  private void apply(@NotNull BlockLocation blockLocation, @NotNull Optional<Tag> tag) {
+    IndexedChunk indexedChunk = indexedChunks.get(ChunkLocation.from(blockLocation));
+
+    if (indexedChunk != null) {
+      indexedChunk.apply(blockLocation, tag);
+    }
+  }
+
+  /** Represents the tags of a chunk, which may still be loading. */
+  private static final class IndexedChunk {
+
+    private final Map<BlockLocation, Tag> tags = new HashMap<>();
+
+    /** The changes applied while loading, {@code null} once the chunk is loaded. */
+    private @Nullable Map<BlockLocation, Optional<Tag>> pendingChanges = new HashMap<>();
+
+    private synchronized void complete(@NotNull Set<Tag> loadedTags) {
+      for (Tag tag : loadedTags) {
+        tags.put(tag.blockLocation(), tag);
+      }
+
+      if (pendingChanges != null) {
+        pendingChanges.forEach(this::set);
+      }
+
+      pendingChanges = null;
+    }
+
+    private synchronized @Nullable Optional<Tag> find(@NotNull BlockLocation blockLocation) {
+      if (pendingChanges != null) {
+        return null;
+      }
+      return Optional.ofNullable(tags.get(blockLocation));
+    }
+
+    private synchronized @Nullable Set<Tag> tags() {
+      if (pendingChanges != null) {
+        return null;
+      }
+      return new HashSet<>(tags.values());
+    }
+
+    private synchronized void apply(
+        @NotNull BlockLocation blockLocation, @NotNull Optional<Tag> tag) {
+      if (pendingChanges != null) {
+        pendingChanges.put(blockLocation, tag);
+        return;
+      }
+      set(blockLocation, tag);
+    }
+
+    private void set(@NotNull BlockLocation blockLocation, @NotNull Optional<Tag> tag) {
+      if (tag.isPresent()) {
+        tags.put(blockLocation, tag.get());
+        return;
+      }
+      tags.remove(blockLocation);
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
+import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a {@link TagRepository} keeping ephemeral tags in memory only, in front of another
+ * {@link TagRepository} storing the persistent ones.
+ *
+ * <p>Ephemeral tags are only relevant for a few seconds, so they are held by a {@link
+ * TagTimingWheel} which drops them once their lifetime has elapsed, and never reach the underlying
+ * repository. Since putting a tag overrides the existing one, putting an ephemeral tag still
+ * deletes the persistent tag stored at the same location, if any.
+ *
+ * <p>A location never holds both an in-memory tag and a stored one, so lookups are first resolved
+ * against the in-memory tags and then forwarded to the underlying repository.
+ */
+public final class EphemeralTagRepository implements TagRepository {
+
+  private static final Duration TICK_DURATION = Duration.ofMillis(100);
+  private static final int BUCKETS_COUNT = 128;
+
+  private final TagRepository delegate;
+  private final TagTimingWheel ephemeralTags;
+
+  public EphemeralTagRepository(
+      @NotNull TagRepository delegate, @NotNull Clock clock, @NotNull Duration lifetime) {
+    this.delegate = delegate;
+    this.ephemeralTags = new TagTimingWheel(clock, lifetime, TICK_DURATION, BUCKETS_COUNT);
+  }
+
+  @Override
+  public void put(@NotNull Tag tag) {
+    BlockLocation blockLocation = tag.blockLocation();
+
+    if (!tag.isEphemeral()) {
+      ephemeralTags.remove(blockLocation);
+      delegate.put(tag);
+      return;
+    }
+
+    ephemeralTags.put(tag);
+
+    // Lookups are usually answered from memory by the underlying layers
+    if (delegate.findByLocation(blockLocation).isPresent()) {
+      delegate.delete(blockLocation);
+    }
+  }
+
+  @Override
+  public void applyMutations(@NotNull List<TagMutation> mutations) {
+    List<TagMutation> delegatedMutations = new ArrayList<>(mutations.size());
+
+    for (TagMutation mutation : mutations) {
+      if (!(mutation instanceof TagMutation.Put put) || !put.tag().isEphemeral()) {
+        ephemeralTags.remove(mutation.blockLocation());
+        delegatedMutations.add(mutation);
+        continue;
+      }
+
+      ephemeralTags.put(put.tag());
+      delegatedMutations.add(new TagMutation.Delete(put.blockLocation()));
+    }
+
+    delegate.applyMutations(delegatedMutations);
+  }
+
+  @Override
+  public void updateLocations(@NotNull OldNewBlockLocationPairSet oldNewLocationPairs) {
+    ephemeralTags.updateLocations(oldNewLocationPairs);
+    delegate.updateLocations(oldNewLocationPairs);
+  }
+
+  @Override
+  public @NotNull Optional<Tag> findByLocation(@NotNull BlockLocation blockLocation) {
+    Optional<Tag> ephemeralTag = ephemeralTags.find(blockLocation);
+
+    if (ephemeralTag.isPresent()) {
+      return ephemeralTag;
+    }
+
+    return delegate.findByLocation(blockLocation);
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByLocations(@NotNull Set<BlockLocation> blockLocations) {
+    Set<Tag> tags = new HashSet<>();
+    Set<BlockLocation> remainingBlockLocations = new HashSet<>();
+
+    for (BlockLocation blockLocation : blockLocations) {
+      ephemeralTags
+          .find(blockLocation)
+          .ifPresentOrElse(tags::add, () -> remainingBlockLocations.add(blockLocation));
+    }
+
+    if (!remainingBlockLocations.isEmpty()) {
+      tags.addAll(delegate.findByLocations(remainingBlockLocations));
+    }
+
+    return tags;
+  }
+
+  @Override
+  public @NotNull Optional<Optional<Tag>> findResidentByLocation(
+      @NotNull BlockLocation blockLocation) {
+    Optional<Tag> ephemeralTag = ephemeralTags.find(blockLocation);
+
+    if (ephemeralTag.isPresent()) {
+      return Optional.of(ephemeralTag);
+    }
+
+    return delegate.findResidentByLocation(blockLocation);
+  }
+
+  @Override
+  public boolean isCachingLookups() {
+    return delegate.isCachingLookups();
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByChunk(@NotNull ChunkLocation chunkLocation) {
+    Map<BlockLocation, Tag> tags = new HashMap<>();
+
+    for (Tag tag : delegate.findByChunk(chunkLocation)) {
+      tags.put(tag.blockLocation(), tag);
+    }
+
+    for (Tag tag : ephemeralTags.findByChunk(chunkLocation)) {
+      tags.put(tag.blockLocation(), tag);
+    }
+
+    return new HashSet<>(tags.values());
+  }
+
+  @Override
+  public void delete(@NotNull BlockLocation blockLocation) {
+    ephemeralTags.remove(blockLocation);
+    delegate.delete(blockLocation);
+  }
+}
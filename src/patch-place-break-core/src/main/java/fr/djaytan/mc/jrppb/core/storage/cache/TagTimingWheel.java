@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a hashed timing wheel holding tags until their lifetime has elapsed.
+ *
+ * <p>Time is divided into ticks, each tick being mapped to a bucket of the wheel. A tag is stored
+ * in the bucket of the tick at which it expires, so expiring tags only requires to sweep the
+ * buckets of the elapsed ticks instead of scanning all the held tags. The wheel is advanced lazily
+ * on each access, which avoids the need for a dedicated thread.
+ *
+ * <p>Buckets are not updated when a tag is overridden or removed: the stale references are simply
+ * discarded when their bucket is swept.
+ */
+final class TagTimingWheel {
+
+  private final Clock clock;
+  private final long tickDurationMillis;
+  private final long lifetimeTicks;
+  private final List<Set<BlockLocation>> buckets;
+  private final Map<BlockLocation, Entry> entries = new HashMap<>();
+  private long currentTick;
+
+  TagTimingWheel(
+      @NotNull Clock clock,
+      @NotNull Duration lifetime,
+      @NotNull Duration tickDuration,
+      int bucketsCount) {
+    this.clock = clock;
+    this.tickDurationMillis = tickDuration.toMillis();
+    Validate.isTrue(tickDurationMillis > 0, "The tick duration must be at least one millisecond");
+    // One extra tick makes up for the time already elapsed in the current tick
+    this.lifetimeTicks = (lifetime.toMillis() + tickDurationMillis - 1) / tickDurationMillis + 1;
+    Validate.isTrue(
+        lifetimeTicks < bucketsCount, "The wheel must span more ticks than the tag lifetime");
+
+    this.buckets = new ArrayList<>(bucketsCount);
+
+    for (int i = 0; i < bucketsCount; i++) {
+      buckets.add(new HashSet<>());
+    }
+
+    this.currentTick = tickOf(clock.millis());
+  }
+
+  synchronized void put(@NotNull Tag tag) {
+    advance();
+    put(tag, currentTick + lifetimeTicks);
+  }
+
+  synchronized @NotNull Optional<Tag> find(@NotNull BlockLocation blockLocation) {
+    advance();
+    Entry entry = entries.get(blockLocation);
+    return entry != null ? Optional.of(entry.tag()) : Optional.empty();
+  }
+
+  synchronized @NotNull Set<Tag> findByChunk(@NotNull ChunkLocation chunkLocation) {
+    advance();
+    Set<Tag> tags = new HashSet<>();
+
+    for (Entry entry : entries.values()) {
+      if (chunkLocation.equals(ChunkLocation.from(entry.tag().blockLocation()))) {
+        tags.add(entry.tag());
+      }
+    }
+
+    return tags;
+  }
+
+  /**
+   * Moves the held tags from old to new locations while keeping their expiration unchanged. As for
+   * {@link fr.djaytan.mc.jrppb.core.storage.api.TagRepository#updateLocations}, no tag remains at
+   * the involved locations except the moved ones.
+   */
+  synchronized void updateLocations(@NotNull OldNewBlockLocationPairSet oldNewLocationPairs) {
+    advance();
+    Map<BlockLocation, Entry> movedEntries = new HashMap<>();
+
+    for (OldNewBlockLocationPair oldNewLocationPair :
+        oldNewLocationPairs.oldNewBlockLocationPairs()) {
+      Entry oldEntry = entries.get(oldNewLocationPair.oldBlockLocation());
+
+      if (oldEntry == null) {
+        continue;
+      }
+
+      BlockLocation newBlockLocation = oldNewLocationPair.newBlockLocation();
+      Tag newTag =
+          new Tag(newBlockLocation, oldEntry.tag().isEphemeral(), oldEntry.tag().createdAt());
+      movedEntries.put(newBlockLocation, new Entry(newTag, oldEntry.expirationTick()));
+    }
+
+    for (BlockLocation blockLocation : oldNewLocationPairs.flattenBlockLocations()) {
+      entries.remove(blockLocation);
+    }
+
+    for (Entry movedEntry : movedEntries.values()) {
+      put(movedEntry.tag(), movedEntry.expirationTick());
+    }
+  }
+
+  synchronized void remove(@NotNull BlockLocation blockLocation) {
+    entries.remove(blockLocation);
+  }
+
+  synchronized int size() {
+    advance();
+    return entries.size();
+  }
+
+  private void put(@NotNull Tag tag, long expirationTick) {
+    entries.put(tag.blockLocation(), new Entry(tag, expirationTick));
+    buckets.get(bucketIndexOf(expirationTick)).add(tag.blockLocation());
+  }
+
+  private void advance() {
+    long tick = tickOf(clock.millis());
+
+    if (tick <= currentTick) {
+      return;
+    }
+
+    // Sweeping each bucket once is enough whatever the elapsed time
+    long ticksToSweep = Math.min(tick - currentTick, buckets.size());
+
+    for (long i = 1; i <= ticksToSweep; i++) {
+      sweep(bucketIndexOf(currentTick + i), tick);
+    }
+
+    currentTick = tick;
+  }
+
+  private void sweep(int bucketIndex, long tick) {
+    Iterator<BlockLocation> iterator = buckets.get(bucketIndex).iterator();
+
+    while (iterator.hasNext()) {
+      BlockLocation blockLocation = iterator.next();
+      Entry entry = entries.get(blockLocation);
+
+      if (entry == null || bucketIndexOf(entry.expirationTick()) != bucketIndex) {
+        iterator.remove();
+        continue;
+      }
+
+      if (entry.expirationTick() <= tick) {
+        entries.remove(blockLocation);
+        iterator.remove();
+      }
+    }
+  }
+
+  private int bucketIndexOf(long tick) {
+    return Math.floorMod(tick, buckets.size());
+  }
+
+  private long tickOf(long millis) {
+    return Math.floorDiv(millis, tickDurationMillis);
+  }
+
+  private record Entry(@NotNull Tag tag, long expirationTick) {}
+}
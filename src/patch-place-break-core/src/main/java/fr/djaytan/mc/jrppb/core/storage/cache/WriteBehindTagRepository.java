@@ -0,0 +1,494 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
+import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindProperties;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents a write-behind stage in front of another {@link TagRepository}.
+ *
+ * <p>Puts and deletions are queued instead of being forwarded one by one: the pending mutations are
+ * flushed to the underlying repository all at once, either periodically or as soon as the maximum
+ * batch size is reached. This turns the many tiny transactions issued while players break and place
+ * blocks into a few large ones.
+ *
+ * <p>Pending mutations are compacted per location, so only the final state of each location is
+ * written: a mutation overrides the pending one at the same location, and deleting a tag which has
+ * only been put in the queue so far cancels both. Location updates (e.g. pistons) are turned into
+ * the equivalent puts and deletions, so they get compacted as well.
+ *
+ * <p>Lookups are first resolved against the pending mutations, including the ones being flushed, so
+ * a mutation is visible as soon as it has been queued.
+ *
+ * <p>Once started, the flushes are only performed by a background thread: reaching the maximum
+ * batch size wakes it up instead of making the caller write the batch. A failed flush is retried
+ * with an exponential backoff, and the batch is dropped after {@value #MAXIMUM_FLUSH_ATTEMPTS}
+ * failed attempts in a row, so that a mutation which can't be written doesn't wedge the queue
+ * forever. The pending mutations are bounded meanwhile: once {@value #PENDING_BATCHES_CAPACITY}
+ * batches are pending, the mutations targeting new locations are dropped.
+ */
+public final class WriteBehindTagRepository implements TagRepository {
+
+  private static final Logger log = LoggerFactory.getLogger(WriteBehindTagRepository.class);
+
+  static final int MAXIMUM_FLUSH_ATTEMPTS = 8;
+  static final int PENDING_BATCHES_CAPACITY = 10;
+  private static final long MINIMUM_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long MAXIMUM_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+  private static final long LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final TagRepository delegate;
+  private final int flushInterval;
+  private final int maximumBatchSize;
+  private final int pendingCapacity;
+  private final LongSupplier nanoTimeSupplier;
+  private final AtomicBoolean isFlushRequested = new AtomicBoolean();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final Object pendingLock = new Object();
+  private Map<BlockLocation, TagMutation> pendingMutations = new LinkedHashMap<>();
+  private Map<BlockLocation, TagMutation> flushingMutations = Map.of();
+  private long flushesCount;
+  private long droppedMutationsCount;
+  private long lastDropLoggedAtNanos = Long.MIN_VALUE;
+  // Guarded by the flush lock
+  private int failedFlushAttempts;
+  private long nextFlushAttemptAtNanos;
+  private long lastFailureLoggedAtNanos;
+  private volatile ScheduledExecutorService scheduledExecutorService;
+
+  public WriteBehindTagRepository(
+      @NotNull TagRepository delegate, @NotNull WriteBehindProperties writeBehindProperties) {
+    this(delegate, writeBehindProperties, System::nanoTime);
+  }
+
+  WriteBehindTagRepository(
+      @NotNull TagRepository delegate,
+      @NotNull WriteBehindProperties writeBehindProperties,
+      @NotNull LongSupplier nanoTimeSupplier) {
+    this.delegate = delegate;
+    this.flushInterval = writeBehindProperties.flushInterval();
+    this.maximumBatchSize = writeBehindProperties.maximumBatchSize();
+    this.pendingCapacity = maximumBatchSize * PENDING_BATCHES_CAPACITY;
+    this.nanoTimeSupplier = nanoTimeSupplier;
+  }
+
+  /** Schedules the periodic flush, unless each mutation is written immediately. */
+  public void start() {
+    if (maximumBatchSize == 1) {
+      return;
+    }
+
+    scheduledExecutorService =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "jrppb-tag-write-behind");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduledExecutorService.scheduleWithFixedDelay(
+        this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /** Cancels the periodic flush and then flushes the remaining pending mutations. */
+  public void stop() {
+    if (scheduledExecutorService != null) {
+      scheduledExecutorService.shutdown();
+
+      try {
+        if (!scheduledExecutorService.awaitTermination(5, TimeUnit.SECONDS)) {
+          log.warn("The periodic flush of tag mutations didn't terminate in time.");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      // Already logged
+    }
+  }
+
+  @Override
+  public void put(@NotNull Tag tag) {
+    enqueue(List.of(new TagMutation.Put(tag)));
+  }
+
+  @Override
+  public void applyMutations(@NotNull List<TagMutation> mutations) {
+    enqueue(mutations);
+  }
+
+  @Override
+  public void updateLocations(@NotNull OldNewBlockLocationPairSet oldNewLocationPairs) {
+    // Prevents the underlying state from changing while the mutations are being computed
+    flushLock.lock();
+
+    try {
+      TagRepository.super.updateLocations(oldNewLocationPairs);
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  @Override
+  public @NotNull Optional<Tag> findByLocation(@NotNull BlockLocation blockLocation) {
+    TagMutation pendingMutation = findPendingMutation(blockLocation);
+
+    if (pendingMutation != null) {
+      return pendingMutation.resultingTag();
+    }
+
+    return delegate.findByLocation(blockLocation);
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByLocations(@NotNull Set<BlockLocation> blockLocations) {
+    Set<Tag> tags = new HashSet<>();
+    Set<BlockLocation> remainingBlockLocations = new HashSet<>();
+
+    for (BlockLocation blockLocation : blockLocations) {
+      TagMutation pendingMutation = findPendingMutation(blockLocation);
+
+      if (pendingMutation != null) {
+        pendingMutation.resultingTag().ifPresent(tags::add);
+        continue;
+      }
+
+      remainingBlockLocations.add(blockLocation);
+    }
+
+    if (!remainingBlockLocations.isEmpty()) {
+      tags.addAll(delegate.findByLocations(remainingBlockLocations));
+    }
+
+    return tags;
+  }
+
+  @Override
+  public @NotNull Optional<Optional<Tag>> findResidentByLocation(
+      @NotNull BlockLocation blockLocation) {
+    TagMutation pendingMutation = findPendingMutation(blockLocation);
+
+    if (pendingMutation != null) {
+      return Optional.of(pendingMutation.resultingTag());
+    }
+
+    return delegate.findResidentByLocation(blockLocation);
+  }
+
+  @Override
+  public boolean isCachingLookups() {
+    return delegate.isCachingLookups();
+  }
+
+  private @Nullable TagMutation findPendingMutation(@NotNull BlockLocation blockLocation) {
+    synchronized (pendingLock) {
+      TagMutation pendingMutation = pendingMutations.get(blockLocation);
+      return pendingMutation != null ? pendingMutation : flushingMutations.get(blockLocation);
+    }
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByChunk(@NotNull ChunkLocation chunkLocation) {
+    // Captured beforehand so that mutations flushed meanwhile are reflected by the delegate
+    Map<BlockLocation, Optional<Tag>> pendingTags = new HashMap<>();
+
+    synchronized (pendingLock) {
+      collect(pendingTags, flushingMutations, chunkLocation);
+      collect(pendingTags, pendingMutations, chunkLocation);
+    }
+
+    Map<BlockLocation, Optional<Tag>> tags = new HashMap<>();
+
+    for (Tag tag : delegate.findByChunk(chunkLocation)) {
+      tags.put(tag.blockLocation(), Optional.of(tag));
+    }
+
+    tags.putAll(pendingTags);
+
+    Set<Tag> resultingTags = new HashSet<>();
+    tags.values().forEach(tag -> tag.ifPresent(resultingTags::add));
+    return resultingTags;
+  }
+
+  @Override
+  public void delete(@NotNull BlockLocation blockLocation) {
+    boolean isPendingPut;
+    long observedFlushesCount;
+
+    synchronized (pendingLock) {
+      isPendingPut =
+          pendingMutations.get(blockLocation) instanceof TagMutation.Put
+              && !flushingMutations.containsKey(blockLocation);
+      observedFlushesCount = flushesCount;
+    }
+
+    // The put cancels out with the deletion if nothing was stored at that location beforehand
+    if (isPendingPut && delegate.findByLocation(blockLocation).isEmpty()) {
+      synchronized (pendingLock) {
+        // Otherwise the put may have been flushed meanwhile, making the lookup outdated
+        if (flushesCount == observedFlushesCount
+            && pendingMutations.get(blockLocation) instanceof TagMutation.Put) {
+          pendingMutations.remove(blockLocation);
+          return;
+        }
+      }
+    }
+
+    enqueue(List.of(new TagMutation.Delete(blockLocation)));
+  }
+
+  /**
+   * Writes the pending mutations to the underlying repository within a single call, whatever the
+   * ongoing backoff.
+   *
+   * @throws RuntimeException If the mutations failed to be written. They are then put back in the
+   *     queue to be retried by the next flush, except the ones superseded meanwhile by a newer
+   *     mutation at the same location, unless they have failed to be written {@value
+   *     #MAXIMUM_FLUSH_ATTEMPTS} times in a row.
+   */
+  public void flush() {
+    flushLock.lock();
+
+    try {
+      List<TagMutation> mutations;
+
+      synchronized (pendingLock) {
+        if (pendingMutations.isEmpty()) {
+          return;
+        }
+
+        flushingMutations = pendingMutations;
+        pendingMutations = new LinkedHashMap<>();
+        flushesCount++;
+        mutations = new ArrayList<>(flushingMutations.values());
+      }
+
+      try {
+        delegate.applyMutations(mutations);
+        onFlushSuccess();
+      } catch (RuntimeException e) {
+        onFlushFailure(mutations.size(), e);
+        throw e;
+      } finally {
+        synchronized (pendingLock) {
+          flushingMutations = Map.of();
+        }
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private void onFlushSuccess() {
+    if (failedFlushAttempts > 0) {
+      log.info(
+          "Succeeded to write the pending tag mutations after {} failed attempts.",
+          failedFlushAttempts);
+    }
+
+    failedFlushAttempts = 0;
+    nextFlushAttemptAtNanos = 0;
+  }
+
+  private void onFlushFailure(int mutationsCount, @NotNull RuntimeException e) {
+    failedFlushAttempts++;
+    long nanoTime = nanoTimeSupplier.getAsLong();
+    int backoffShift = Math.min(failedFlushAttempts - 1, 5);
+    nextFlushAttemptAtNanos =
+        nanoTime + Math.min(MINIMUM_BACKOFF_NANOS << backoffShift, MAXIMUM_BACKOFF_NANOS);
+
+    if (failedFlushAttempts == 1) {
+      lastFailureLoggedAtNanos = nanoTime;
+      log.error("Failed to write the pending tag mutations. They will be retried.", e);
+    } else if (nanoTime - lastFailureLoggedAtNanos >= LOG_INTERVAL_NANOS) {
+      lastFailureLoggedAtNanos = nanoTime;
+      log.warn(
+          "Still failing to write the pending tag mutations after {} attempts: {}",
+          failedFlushAttempts,
+          e.toString());
+    }
+
+    if (failedFlushAttempts < MAXIMUM_FLUSH_ATTEMPTS) {
+      requeueFlushingMutations();
+      return;
+    }
+
+    // Dropping the batch lets the next mutations be written if only some of them are faulty
+    failedFlushAttempts = 0;
+    log.error(
+        "Dropped {} tag mutations after {} failed write attempts in a row.",
+        mutationsCount,
+        MAXIMUM_FLUSH_ATTEMPTS);
+  }
+
+  private void requeueFlushingMutations() {
+    synchronized (pendingLock) {
+      // The mutations queued since the flush started are newer, so they take precedence
+      Map<BlockLocation, TagMutation> requeuedMutations = new LinkedHashMap<>(flushingMutations);
+      requeuedMutations.putAll(pendingMutations);
+      pendingMutations = requeuedMutations;
+    }
+  }
+
+  int pendingMutationsCount() {
+    synchronized (pendingLock) {
+      return pendingMutations.size();
+    }
+  }
+
+  long droppedMutationsCount() {
+    synchronized (pendingLock) {
+      return droppedMutationsCount;
+    }
+  }
+
+  private void enqueue(@NotNull List<TagMutation> mutations) {
+    boolean isBatchFull;
+    long droppedCount = 0;
+    boolean isDropToLog = false;
+
+    synchronized (pendingLock) {
+      for (TagMutation mutation : mutations) {
+        BlockLocation blockLocation = mutation.blockLocation();
+
+        // Overriding a pending mutation doesn't make the queue grow
+        if (pendingMutations.size() >= pendingCapacity
+            && !pendingMutations.containsKey(blockLocation)) {
+          droppedCount++;
+          continue;
+        }
+
+        pendingMutations.put(blockLocation, mutation);
+      }
+
+      isBatchFull = pendingMutations.size() >= maximumBatchSize;
+
+      if (droppedCount > 0) {
+        droppedMutationsCount += droppedCount;
+        long nanoTime = nanoTimeSupplier.getAsLong();
+
+        if (lastDropLoggedAtNanos == Long.MIN_VALUE
+            || nanoTime - lastDropLoggedAtNanos >= LOG_INTERVAL_NANOS) {
+          lastDropLoggedAtNanos = nanoTime;
+          isDropToLog = true;
+        }
+      }
+    }
+
+    if (isDropToLog) {
+      log.warn(
+          "Dropping tag mutations since {} of them are pending ({} dropped so far).",
+          pendingCapacity,
+          droppedMutationsCount());
+    }
+
+    if (isBatchFull) {
+      requestFlush();
+    }
+  }
+
+  private void requestFlush() {
+    ScheduledExecutorService executorService = scheduledExecutorService;
+
+    // The caller writes the batch itself when no background thread has been started
+    if (executorService == null) {
+      if (!isBackingOff()) {
+        flush();
+      }
+      return;
+    }
+
+    if (isFlushRequested.compareAndSet(false, true)) {
+      try {
+        executorService.execute(this::flushQuietly);
+      } catch (RejectedExecutionException e) {
+        // Stopping, so the remaining mutations are about to be flushed anyway
+        isFlushRequested.set(false);
+      }
+    }
+  }
+
+  /** Flushes the pending mutations unless a backoff is ongoing, without propagating failures. */
+  void flushQuietly() {
+    isFlushRequested.set(false);
+
+    if (isBackingOff()) {
+      return;
+    }
+
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      // Already logged. Must not propagate, otherwise the next periodic flushes would be cancelled
+    }
+  }
+
+  private boolean isBackingOff() {
+    flushLock.lock();
+
+    try {
+      return failedFlushAttempts > 0 && nanoTimeSupplier.getAsLong() < nextFlushAttemptAtNanos;
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private static void collect(
+      @NotNull Map<BlockLocation, Optional<Tag>> tags,
+      @NotNull Map<BlockLocation, TagMutation> mutationsByLocation,
+      @NotNull ChunkLocation chunkLocation) {
+    for (TagMutation mutation : mutationsByLocation.values()) {
+      if (chunkLocation.equals(ChunkLocation.from(mutation.blockLocation()))) {
+        tags.put(mutation.blockLocation(), mutation.resultingTag());
+      }
+    }
+  }
+}
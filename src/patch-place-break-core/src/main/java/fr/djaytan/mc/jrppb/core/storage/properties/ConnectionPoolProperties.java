@@ -22,7 +22,9 @@
  */
 package fr.djaytan.mc.jrppb.core.storage.properties;
 
+import java.util.Map;
 import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents the properties related to the connection pool.
@@ -30,14 +32,21 @@ import org.apache.commons.lang3.Validate;
  * @param connectionTimeout The timeout when attempting to establish a new connection to the DBMS
  *     server.
  * @param poolSize The connection pool size.
+ * @param driverProperties The properties passed as is to the JDBC driver when opening connections.
  */
-public record ConnectionPoolProperties(int connectionTimeout, int poolSize) {
+public record ConnectionPoolProperties(
+    int connectionTimeout, int poolSize, @NotNull Map<String, String> driverProperties) {
 
-  public static final ConnectionPoolProperties DEFAULT = new ConnectionPoolProperties(30000, 10);
+  public static final ConnectionPoolProperties DEFAULT =
+      new ConnectionPoolProperties(30000, 10, Map.of());
 
   public ConnectionPoolProperties {
     Validate.inclusiveBetween(
         1, 600000, connectionTimeout, "The connection timeout must be between 1 and 600000");
     Validate.inclusiveBetween(1, 100, poolSize, "The pool size must be between 1 and 100");
+    Validate.isTrue(
+        driverProperties.keySet().stream().noneMatch(String::isBlank),
+        "The driver property names must not be blank");
+    driverProperties = Map.copyOf(driverProperties);
   }
 }
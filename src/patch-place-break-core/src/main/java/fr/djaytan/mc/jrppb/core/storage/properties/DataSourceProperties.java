@@ -33,19 +33,26 @@ import org.jetbrains.annotations.NotNull;
  * @param dbmsServer The properties related to the DBMS server (not applicable for all data source
  *     types like {@link DataSourceType#SQLITE}).
  * @param connectionPool The properties related to the connection pool.
+ * @param tagStorage The properties related to the way tags are handled in front of the data source.
+ * @param sqlite The properties related to the tuning of SQLite (only applicable for {@link
+ *     DataSourceType#SQLITE}).
  */
 public record DataSourceProperties(
     @NotNull DataSourceType type,
     @NotNull String tableName,
     @NotNull DbmsServerProperties dbmsServer,
-    @NotNull ConnectionPoolProperties connectionPool) {
+    @NotNull ConnectionPoolProperties connectionPool,
+    @NotNull TagStorageProperties tagStorage,
+    @NotNull SqliteProperties sqlite) {
 
   public static final DataSourceProperties DEFAULT =
       new DataSourceProperties(
           DataSourceType.SQLITE,
           "patch_place_break_tag",
           DbmsServerProperties.DEFAULT,
-          ConnectionPoolProperties.DEFAULT);
+          ConnectionPoolProperties.DEFAULT,
+          TagStorageProperties.DEFAULT,
+          SqliteProperties.DEFAULT);
 
   public DataSourceProperties {
     Validate.notBlank(tableName, "The data source table name must not be blank");
@@ -0,0 +1,39 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the properties related to the handling of ephemeral tags.
+ *
+ * @param inMemory Whether ephemeral tags are kept in memory only until their expiration instead of
+ *     being stored in the data source.
+ * @param purge The properties related to the purge of expired ephemeral tags from the data source.
+ */
+public record EphemeralTagsProperties(
+    boolean inMemory, @NotNull EphemeralTagsPurgeProperties purge) {
+
+  public static final EphemeralTagsProperties DEFAULT =
+      new EphemeralTagsProperties(false, EphemeralTagsPurgeProperties.DEFAULT);
+}
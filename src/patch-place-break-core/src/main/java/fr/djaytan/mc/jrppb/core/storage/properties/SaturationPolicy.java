@@ -0,0 +1,42 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+/**
+ * Represents the behavior to adopt when a tag task is submitted while the executor is saturated.
+ */
+public enum SaturationPolicy {
+  /**
+   * The task is run by the submitting thread, which slows down the producer. The task may overtake
+   * the queued tasks involving the same locations.
+   */
+  CALLER_RUNS,
+  /**
+   * The oldest queued task putting an ephemeral tag is dropped to make room for the submitted one.
+   * Falls back to {@link #CALLER_RUNS} when no such task is queued, unless the submitted task puts
+   * an ephemeral tag itself, in which case it is dropped instead.
+   */
+  DROP_OLDEST_EPHEMERAL,
+  /** The submitting thread waits until room is made in the queue. */
+  BLOCK
+}
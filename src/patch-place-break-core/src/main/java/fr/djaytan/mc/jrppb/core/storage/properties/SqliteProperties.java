@@ -0,0 +1,56 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the properties related to the tuning of a SQLite database, applied on each pooled
+ * connection.
+ *
+ * @param journalMode The journal mode of the database.
+ * @param synchronousMode How often the database syncs its content to the disk.
+ * @param mmapSize The maximum size of the database file mapped into memory (in MiB). A value of
+ *     zero disables memory-mapped I/O.
+ * @param cacheSize The maximum size of the page cache of each connection (in MiB).
+ * @param busyTimeout The maximum time to wait for a lock held by another connection (in
+ *     milliseconds).
+ */
+public record SqliteProperties(
+    @NotNull SqliteJournalMode journalMode,
+    @NotNull SqliteSynchronousMode synchronousMode,
+    int mmapSize,
+    int cacheSize,
+    int busyTimeout) {
+
+  public static final SqliteProperties DEFAULT =
+      new SqliteProperties(SqliteJournalMode.WAL, SqliteSynchronousMode.NORMAL, 64, 8, 5000);
+
+  public SqliteProperties {
+    Validate.inclusiveBetween(0, 4096, mmapSize, "The mmap size must be between 0 and 4096");
+    Validate.inclusiveBetween(1, 1024, cacheSize, "The cache size must be between 1 and 1024");
+    Validate.inclusiveBetween(
+        0, 600000, busyTimeout, "The busy timeout must be between 0 and 600000");
+  }
+}
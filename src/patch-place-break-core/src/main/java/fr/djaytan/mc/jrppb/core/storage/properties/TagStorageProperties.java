@@ -0,0 +1,47 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the properties related to the way tags are handled in front of the data source.
+ *
+ * @param cache The properties related to the in-memory cache of tags.
+ * @param ephemeralTags The properties related to the handling of ephemeral tags.
+ * @param writeBehind The properties related to the batching of tag mutations.
+ * @param taskExecutor The properties related to the executor running the tag tasks.
+ */
+public record TagStorageProperties(
+    @NotNull TagCacheProperties cache,
+    @NotNull EphemeralTagsProperties ephemeralTags,
+    @NotNull WriteBehindProperties writeBehind,
+    @NotNull TaskExecutorProperties taskExecutor) {
+
+  public static final TagStorageProperties DEFAULT =
+      new TagStorageProperties(
+          TagCacheProperties.DEFAULT,
+          EphemeralTagsProperties.DEFAULT,
+          WriteBehindProperties.DEFAULT,
+          TaskExecutorProperties.DEFAULT);
+}
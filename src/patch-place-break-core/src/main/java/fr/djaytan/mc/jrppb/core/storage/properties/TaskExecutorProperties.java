@@ -0,0 +1,52 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the properties related to the executor running the tag tasks in the background.
+ *
+ * @param threads The number of threads running the tag tasks.
+ * @param queueCapacity The maximum number of tag tasks waiting to be run.
+ * @param saturationPolicy The behavior to adopt when a tag task is submitted while the queue is
+ *     full.
+ * @param virtualThreads Whether the tag tasks are run on virtual threads when the Java runtime
+ *     supports them.
+ */
+public record TaskExecutorProperties(
+    int threads,
+    int queueCapacity,
+    @NotNull SaturationPolicy saturationPolicy,
+    boolean virtualThreads) {
+
+  public static final TaskExecutorProperties DEFAULT =
+      new TaskExecutorProperties(2, 10000, SaturationPolicy.CALLER_RUNS, false);
+
+  public TaskExecutorProperties {
+    Validate.inclusiveBetween(1, 64, threads, "The number of threads must be between 1 and 64");
+    Validate.inclusiveBetween(
+        1, 1000000, queueCapacity, "The queue capacity must be between 1 and 1000000");
+  }
+}
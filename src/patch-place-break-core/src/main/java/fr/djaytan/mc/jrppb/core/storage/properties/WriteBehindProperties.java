@@ -0,0 +1,46 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Represents the properties related to the batching of tag mutations before writing them to the
+ * data source.
+ *
+ * @param flushInterval The maximum time a mutation is kept pending before being written (in
+ *     milliseconds).
+ * @param maximumBatchSize The number of pending mutations triggering a write. A value of one writes
+ *     each mutation immediately.
+ */
+public record WriteBehindProperties(int flushInterval, int maximumBatchSize) {
+
+  public static final WriteBehindProperties DEFAULT = new WriteBehindProperties(100, 1000);
+
+  public WriteBehindProperties {
+    Validate.inclusiveBetween(
+        1, 60000, flushInterval, "The flush interval must be between 1 and 60000");
+    Validate.inclusiveBetween(
+        1, 100000, maximumBatchSize, "The maximum batch size must be between 1 and 100000");
+  }
+}
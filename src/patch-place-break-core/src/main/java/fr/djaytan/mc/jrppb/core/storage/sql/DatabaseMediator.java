@@ -24,6 +24,7 @@ package fr.djaytan.mc.jrppb.core.storage.sql;
 
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -38,7 +39,9 @@ import org.slf4j.LoggerFactory;
  * Represents the connection pool used by the program to manage all connections with DBMS server.
  *
  * <p>To use it, {@link #dispatchRequest(Consumer)} and {@link #dispatchQuery(Function)} methods can
- * be used to execute requests and queries.
+ * be used to execute requests and queries. Lookups which don't write anything can be executed with
+ * {@link #dispatchReadOnlyQuery(Function)} instead, which relies on the read-only connection pool
+ * when there is one.
  *
  * <p>When stopping the program, the method {@link #close()} must be called to cleanly stop the
  * connection pool by releasing all remaining opened connections and related resources.
@@ -49,10 +52,18 @@ public class DatabaseMediator implements AutoCloseable {
   private static final Logger log = LoggerFactory.getLogger(DatabaseMediator.class);
 
   private final HikariDataSource hikariDataSource;
+  private final HikariDataSource readOnlyHikariDataSource;
 
-  @Inject
   public DatabaseMediator(@NotNull HikariDataSource hikariDataSource) {
+    this(hikariDataSource, Optional.empty());
+  }
+
+  @Inject
+  public DatabaseMediator(
+      @NotNull HikariDataSource hikariDataSource,
+      @NotNull @Named("readOnly") Optional<HikariDataSource> readOnlyHikariDataSource) {
     this.hikariDataSource = hikariDataSource;
+    this.readOnlyHikariDataSource = readOnlyHikariDataSource.orElse(hikariDataSource);
   }
 
   /**
@@ -79,7 +90,24 @@ public class DatabaseMediator implements AutoCloseable {
    */
   public <T> @NotNull Optional<T> dispatchQuery(
       @NotNull Function<Connection, Optional<T>> function) {
-    try (Connection connection = hikariDataSource.getConnection()) {
+    return dispatchQuery(hikariDataSource, function);
+  }
+
+  /**
+   * Uses a read-only connection for dispatching a query.
+   *
+   * @param function The callback dispatching a query based on a provided connection.
+   * @return The value obtained after executing the query.
+   * @param <T> The type of the value to be retrieved.
+   */
+  public <T> @NotNull Optional<T> dispatchReadOnlyQuery(
+      @NotNull Function<Connection, Optional<T>> function) {
+    return dispatchQuery(readOnlyHikariDataSource, function);
+  }
+
+  private static <T> @NotNull Optional<T> dispatchQuery(
+      @NotNull HikariDataSource dataSource, @NotNull Function<Connection, Optional<T>> function) {
+    try (Connection connection = dataSource.getConnection()) {
       return function.apply(connection);
     } catch (SQLException e) {
       throw new IllegalStateException(
@@ -94,6 +122,10 @@ public class DatabaseMediator implements AutoCloseable {
    */
   @Override
   public void close() {
+    if (readOnlyHikariDataSource != hikariDataSource) {
+      readOnlyHikariDataSource.close();
+    }
+
     hikariDataSource.close();
     log.info("Disconnected from the database '{}'", hikariDataSource.getJdbcUrl());
   }
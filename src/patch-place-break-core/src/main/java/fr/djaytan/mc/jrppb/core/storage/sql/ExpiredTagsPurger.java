@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql;
+
+import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
+import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgeProperties;
+import fr.djaytan.mc.jrppb.core.storage.sql.access.SqlTagRepository;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents the scheduled purge of expired ephemeral tags from the database.
+ *
+ * <p>Expired ephemeral tags don't have any effect anymore but are only overridden when the same
+ * location gets tagged again, so the table would grow without bound otherwise. They are deleted in
+ * bounded batches to avoid holding database locks for too long.
+ */
+@Singleton
+public class ExpiredTagsPurger {
+
+  private static final Logger log = LoggerFactory.getLogger(ExpiredTagsPurger.class);
+
+  private final Clock clock;
+  private final EphemeralTagsPurgeProperties purgeProperties;
+  private final SqlTagRepository sqlTagRepository;
+  private ScheduledExecutorService scheduledExecutorService;
+
+  @Inject
+  public ExpiredTagsPurger(
+      @NotNull Clock clock,
+      @NotNull DataSourceProperties dataSourceProperties,
+      @NotNull SqlTagRepository sqlTagRepository) {
+    this.clock = clock;
+    this.purgeProperties = dataSourceProperties.tagStorage().ephemeralTags().purge();
+    this.sqlTagRepository = sqlTagRepository;
+  }
+
+  /** Schedules the purge, unless it has been disabled. */
+  public void start() {
+    int interval = purgeProperties.interval();
+
+    if (interval == 0) {
+      return;
+    }
+
+    scheduledExecutorService =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "jrppb-expired-tags-purger");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduledExecutorService.scheduleWithFixedDelay(
+        this::purge, interval, interval, TimeUnit.SECONDS);
+  }
+
+  /** Cancels the scheduled purge and waits for the ongoing one to terminate if any. */
+  public void stop() {
+    if (scheduledExecutorService == null) {
+      return;
+    }
+
+    scheduledExecutorService.shutdownNow();
+
+    try {
+      if (!scheduledExecutorService.awaitTermination(5, TimeUnit.SECONDS)) {
+        log.warn("The purge of expired ephemeral tags didn't terminate in time.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  void purge() {
+    LocalDateTime expirationThreshold =
+        LocalDateTime.now(clock).minus(PatchPlaceBreakApi.EPHEMERAL_TAG_DURATION);
+    int batchSize = purgeProperties.batchSize();
+    int purgedTagsCount = 0;
+
+    try {
+      int deletedTagsCount;
+
+      do {
+        deletedTagsCount =
+            sqlTagRepository.deleteExpiredEphemeralTags(expirationThreshold, batchSize);
+        purgedTagsCount += deletedTagsCount;
+      } while (deletedTagsCount >= batchSize && !Thread.currentThread().isInterrupted());
+    } catch (RuntimeException e) {
+      // Must not propagate, otherwise the next purges would be cancelled
+      log.warn("Failed to purge expired ephemeral tags.", e);
+    }
+
+    if (purgedTagsCount > 0) {
+      log.debug("Purged {} expired ephemeral tags.", purgedTagsCount);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql.access;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the codec of the spatial key, which packs the horizontal coordinates of a block
+ * location into a single {@code BIGINT}.
+ *
+ * <p>The chunk coordinates are interleaved bit by bit (Z-order curve, also known as Morton code)
+ * into the 56 upper bits, and the coordinates of the block inside its chunk are stored into the 8
+ * lower bits. Ordering tags by spatial key thus keeps the blocks of a same chunk contiguous, and
+ * neighboring chunks close to each other, so that loading a chunk only requires to scan a single
+ * range of keys: {@link #chunkFirstKey(ChunkLocation)} to {@link #chunkLastKey(ChunkLocation)}.
+ *
+ * <p>The whole {@code int} range is supported for both coordinates, so the encoding is lossless.
+ * The sign bit is flipped in order for the signed ordering of keys to match their unsigned one.
+ */
+public final class SpatialKeyCodec {
+
+  private static final int CHUNK_COORDINATE_BITS = Integer.SIZE - 4;
+  private static final int CHUNK_COORDINATE_SIGN_BIT = 1 << (CHUNK_COORDINATE_BITS - 1);
+  private static final long CHUNK_COORDINATE_MASK = (1L << CHUNK_COORDINATE_BITS) - 1;
+  private static final int LOCAL_BITS = 8;
+  private static final long CHUNK_KEYS_COUNT = 1L << LOCAL_BITS;
+
+  private SpatialKeyCodec() {}
+
+  public static long encode(@NotNull BlockLocation blockLocation) {
+    return encode(blockLocation.x(), blockLocation.z());
+  }
+
+  public static long encode(int x, int z) {
+    long chunkKey = spread(unsign(x >> 4)) << 1 | spread(unsign(z >> 4));
+    long localKey = (x & 15) << 4 | (z & 15);
+    return (chunkKey << LOCAL_BITS | localKey) ^ Long.MIN_VALUE;
+  }
+
+  public static int decodeX(long spatialKey) {
+    long unsignedKey = spatialKey ^ Long.MIN_VALUE;
+    int chunkX = sign(compact(unsignedKey >>> (LOCAL_BITS + 1)));
+    return chunkX << 4 | (int) (unsignedKey >>> 4 & 15);
+  }
+
+  public static int decodeZ(long spatialKey) {
+    long unsignedKey = spatialKey ^ Long.MIN_VALUE;
+    int chunkZ = sign(compact(unsignedKey >>> LOCAL_BITS));
+    return chunkZ << 4 | (int) (unsignedKey & 15);
+  }
+
+  /** Gives the lowest spatial key among the ones of the blocks of the given chunk. */
+  public static long chunkFirstKey(@NotNull ChunkLocation chunkLocation) {
+    return encode(chunkLocation.x() << 4, chunkLocation.z() << 4);
+  }
+
+  /** Gives the highest spatial key among the ones of the blocks of the given chunk. */
+  public static long chunkLastKey(@NotNull ChunkLocation chunkLocation) {
+    return chunkFirstKey(chunkLocation) + CHUNK_KEYS_COUNT - 1;
+  }
+
+  /** Offsets the given chunk coordinate so that its order is preserved once read as unsigned. */
+  private static long unsign(int chunkCoordinate) {
+    return (chunkCoordinate ^ CHUNK_COORDINATE_SIGN_BIT) & CHUNK_COORDINATE_MASK;
+  }
+
+  private static int sign(long unsignedChunkCoordinate) {
+    int chunkCoordinate = (int) unsignedChunkCoordinate ^ CHUNK_COORDINATE_SIGN_BIT;
+    // Sign extension from the highest bit of the chunk coordinate
+    return chunkCoordinate << 4 >> 4;
+  }
+
+  /** Inserts a zero bit between each of the bits of the given value. */
+  private static long spread(long value) {
+    value = (value | value << 16) & 0x0000FFFF0000FFFFL;
+    value = (value | value << 8) & 0x00FF00FF00FF00FFL;
+    value = (value | value << 4) & 0x0F0F0F0F0F0F0F0FL;
+    value = (value | value << 2) & 0x3333333333333333L;
+    return (value | value << 1) & 0x5555555555555555L;
+  }
+
+  /** Reverts {@link #spread(long)}, ignoring the interleaved bits. */
+  private static long compact(long value) {
+    value &= 0x5555555555555555L;
+    value = (value | value >>> 1) & 0x3333333333333333L;
+    value = (value | value >>> 2) & 0x0F0F0F0F0F0F0F0FL;
+    value = (value | value >>> 4) & 0x00FF00FF00FF00FFL;
+    value = (value | value >>> 8) & 0x0000FFFF0000FFFFL;
+    return (value | value >>> 16) & 0x00000000FFFFFFFFL;
+  }
+}
@@ -23,16 +23,20 @@
 package fr.djaytan.mc.jrppb.core.storage.sql.access;
 
 import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Tag;
-import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
-import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
 import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
 import fr.djaytan.mc.jrppb.core.storage.sql.DatabaseMediator;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.HashSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.jetbrains.annotations.NotNull;
@@ -55,10 +59,7 @@ public class SqlTagRepository implements TagRepository {
     databaseMediator.dispatchRequest(
         connection -> {
           try {
-            connection.setAutoCommit(false);
-            tagSqlDao.delete(connection, tag.blockLocation());
-            tagSqlDao.insert(connection, tag);
-            connection.commit();
+            tagSqlDao.upsert(connection, tag);
           } catch (SQLException e) {
             throw new IllegalStateException(
                 String.format("Failed to put the following tag: %s", tag), e);
@@ -67,71 +68,61 @@ public class SqlTagRepository implements TagRepository {
   }
 
   @Override
-  public void updateLocations(@NotNull OldNewBlockLocationPairSet oldNewLocationPairs) {
+  public void applyMutations(@NotNull List<TagMutation> mutations) {
+    if (mutations.isEmpty()) {
+      return;
+    }
+
+    // Only the last mutation of each location matters once they are all applied
+    Map<BlockLocation, TagMutation> lastMutations = new LinkedHashMap<>();
+
+    for (TagMutation mutation : mutations) {
+      lastMutations.put(mutation.blockLocation(), mutation);
+    }
+
+    List<BlockLocation> blockLocationsToDelete = new ArrayList<>();
+    List<Tag> tagsToPut = new ArrayList<>();
+
+    for (TagMutation mutation : lastMutations.values()) {
+      if (mutation instanceof TagMutation.Put put) {
+        tagsToPut.add(put.tag());
+        continue;
+      }
+      blockLocationsToDelete.add(mutation.blockLocation());
+    }
+
     databaseMediator.dispatchRequest(
         connection -> {
           try {
+            // Inserted beforehand, so the other connections don't miss the newly inserted worlds
+            tagSqlDao.insertWorlds(connection, tagsToPut);
             connection.setAutoCommit(false);
-            Set<Tag> newTags = prepareNewTags(connection, oldNewLocationPairs);
-            cleanUpTags(connection, oldNewLocationPairs);
-            putNewTags(connection, newTags);
+            tagSqlDao.deleteAll(connection, blockLocationsToDelete);
+            tagSqlDao.upsertAll(connection, tagsToPut);
             connection.commit();
           } catch (SQLException e) {
+            rollback(connection, e);
             throw new IllegalStateException(
-                String.format(
-                    "Failed to update the tags for the following old-new location pairs: %s",
-                    oldNewLocationPairs),
-                e);
+                String.format("Failed to apply %d tag mutations", mutations.size()), e);
           }
         });
   }
 
-  private @NotNull Set<Tag> prepareNewTags(
-      @NotNull Connection connection, @NotNull OldNewBlockLocationPairSet oldNewLocationPairs)
-      throws SQLException {
-    Set<Tag> newTags = new HashSet<>();
-
-    for (OldNewBlockLocationPair oldNewLocationPair :
-        oldNewLocationPairs.oldNewBlockLocationPairs()) {
-      Optional<Tag> oldTag =
-          tagSqlDao.findByLocation(connection, oldNewLocationPair.oldBlockLocation());
-
-      if (oldTag.isEmpty()) {
-        continue;
-      }
-
-      Tag newTag =
-          new Tag(
-              oldNewLocationPair.newBlockLocation(),
-              oldTag.get().isEphemeral(),
-              oldTag.get().createdAt());
-      newTags.add(newTag);
-    }
-
-    return newTags;
-  }
-
-  private void cleanUpTags(
-      @NotNull Connection connection,
-      @NotNull OldNewBlockLocationPairSet oldNewBlockLocationPairSet)
-      throws SQLException {
-    Set<BlockLocation> tagsToRemove = oldNewBlockLocationPairSet.flattenBlockLocations();
-
-    for (BlockLocation oldTagLocation : tagsToRemove) {
-      tagSqlDao.delete(connection, oldTagLocation);
-    }
-  }
-
-  private void putNewTags(@NotNull Connection connection, @NotNull Set<Tag> newTags)
-      throws SQLException {
-    for (Tag newTag : newTags) {
-      tagSqlDao.insert(connection, newTag);
+  /**
+   * Rolls back the ongoing transaction, so the pooled connection isn't handed over to the next
+   * borrower with a half-applied one. A failure to do so is attached to the original one.
+   */
+  private static void rollback(@NotNull Connection connection, @NotNull SQLException cause) {
+    try {
+      connection.rollback();
+    } catch (SQLException e) {
+      cause.addSuppressed(e);
     }
   }
 
   @Override
   public @NotNull Optional<Tag> findByLocation(@NotNull BlockLocation blockLocation) {
-    return databaseMediator.dispatchQuery(
+    return databaseMediator.dispatchReadOnlyQuery(
         connection -> {
           try {
             return tagSqlDao.findByLocation(connection, blockLocation);
@@ -144,6 +135,71 @@ public class SqlTagRepository implements TagRepository {
         });
   }
 
+  @Override
+  public @NotNull Set<Tag> findByLocations(@NotNull Set<BlockLocation> blockLocations) {
+    if (blockLocations.isEmpty()) {
+      return Set.of();
+    }
+
+    return databaseMediator
+        .dispatchReadOnlyQuery(
+            connection -> {
+              try {
+                return Optional.of(tagSqlDao.findByLocations(connection, blockLocations));
+              } catch (SQLException e) {
+                throw new IllegalStateException(
+                    String.format(
+                        "Failed to fetch the tags with the following locations: %s",
+                        blockLocations),
+                    e);
+              }
+            })
+        .orElseThrow();
+  }
+
+  @Override
+  public @NotNull Set<Tag> findByChunk(@NotNull ChunkLocation chunkLocation) {
+    return databaseMediator
+        .dispatchReadOnlyQuery(
+            connection -> {
+              try {
+                return Optional.of(tagSqlDao.findByChunk(connection, chunkLocation));
+              } catch (SQLException e) {
+                throw new IllegalStateException(
+                    String.format(
+                        "Failed to fetch the tags with the following chunk location: %s",
+                        chunkLocation),
+                    e);
+              }
+            })
+        .orElseThrow();
+  }
+
+  /**
+   * Deletes the ephemeral tags created before the given threshold.
+   *
+   * @param expirationThreshold The creation date-time before which ephemeral tags are expired.
+   * @param limit The maximum number of tags to delete.
+   * @return The number of deleted tags.
+   */
+  public int deleteExpiredEphemeralTags(@NotNull LocalDateTime expirationThreshold, int limit) {
+    return databaseMediator
+        .dispatchQuery(
+            connection -> {
+              try {
+                return Optional.of(
+                    tagSqlDao.deleteExpiredEphemeral(connection, expirationThreshold, limit));
+              } catch (SQLException e) {
+                throw new IllegalStateException(
+                    String.format(
+                        "Failed to delete the ephemeral tags created before %s",
+                        expirationThreshold),
+                    e);
+              }
+            })
+        .orElseThrow();
+  }
+
   @Override
   public void delete(@NotNull BlockLocation blockLocation) {
     databaseMediator.dispatchRequest(
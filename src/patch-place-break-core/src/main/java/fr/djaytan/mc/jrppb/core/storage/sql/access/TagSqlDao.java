@@ -23,77 +23,328 @@
 package fr.djaytan.mc.jrppb.core.storage.sql.access;
 
 import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Tag;
 import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
 import fr.djaytan.mc.jrppb.core.storage.sql.serializer.BooleanIntegerSerializer;
-import fr.djaytan.mc.jrppb.core.storage.sql.serializer.LocalDateTimeStringSerializer;
+import fr.djaytan.mc.jrppb.core.storage.sql.serializer.LocalDateTimeEpochMillisSerializer;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Represents the data access object of the tags.
+ *
+ * <p>Tags reference their world through the small integer id given by the world dictionary table
+ * rather than through its name. The ids are cached in memory since worlds are never removed from
+ * the dictionary, except for the ones read within a transaction which may still be rolled back. The
+ * worlds missing from the dictionary are cached as well until they get inserted, so looking up a
+ * world without any tag doesn't cost a query each time. This relies on the dictionary being only
+ * written through this DAO, as the other in-memory caches do.
+ */
 @Singleton
 public class TagSqlDao {
 
   private static final Logger log = LoggerFactory.getLogger(TagSqlDao.class);
 
+  private static final String LOCATION_CONDITION =
+      "world_id = ? AND location_x = ? AND location_y = ? AND location_z = ?";
+  private static final String LOCATIONS_CONDITION_PREFIX =
+      "(world_id, location_x, location_y, location_z) IN (";
+  private static final String LOCATION_PLACEHOLDERS = "(?, ?, ?, ?)";
+  private static final String TAG_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?)";
+
+  // Keep the number of bind parameters below the lowest limit among the supported DBMS
+  private static final int MAX_LOCATIONS_PER_QUERY = 200;
+  private static final int MAX_TAGS_PER_STATEMENT = 140;
+
   private final BooleanIntegerSerializer booleanIntegerSerializer;
-  private final DataSourceProperties dataSourceProperties;
-  private final LocalDateTimeStringSerializer localDateTimeStringSerializer;
+  private final LocalDateTimeEpochMillisSerializer localDateTimeEpochMillisSerializer;
+  private final Map<String, Integer> worldIds = new ConcurrentHashMap<>();
+  // Guarded by itself, along with the count of inserted worlds
+  private final Set<String> unknownWorldNames = new HashSet<>();
+  private long insertedWorldsCount;
+
+  // The statements only depend on the data source properties, so they are built once
+  private final String findWorldIdSql;
+  private final String insertWorldSql;
+  private final String insertedWorldIdSql;
+  private final String insertSqlPrefix;
+  private final String upsertSqlSuffix;
+  private final String upsertSql;
+  private final String findByLocationSql;
+  private final String findByChunkSql;
+  private final String findByLocationsSqlPrefix;
+  private final String deleteExpiredEphemeralSql;
+  private final String deleteSql;
+  private final String deleteAllSqlPrefix;
 
   @Inject
   public TagSqlDao(
       @NotNull BooleanIntegerSerializer booleanIntegerSerializer,
       @NotNull DataSourceProperties dataSourceProperties,
-      @NotNull LocalDateTimeStringSerializer localDateTimeStringSerializer) {
+      @NotNull LocalDateTimeEpochMillisSerializer localDateTimeEpochMillisSerializer) {
     this.booleanIntegerSerializer = booleanIntegerSerializer;
-    this.dataSourceProperties = dataSourceProperties;
-    this.localDateTimeStringSerializer = localDateTimeStringSerializer;
+    this.localDateTimeEpochMillisSerializer = localDateTimeEpochMillisSerializer;
+
+    String tableName = dataSourceProperties.tableName();
+    String worldTableName = tableName + "_world";
+    this.findWorldIdSql = String.format("SELECT id FROM %s WHERE name = ?", worldTableName);
+    this.insertWorldSql =
+        switch (dataSourceProperties.type()) {
+          // Gives back the id of the world inserted concurrently by another connection if any
+          case MYSQL ->
+              String.format(
+                  "INSERT INTO %s (name) VALUES (?) ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)",
+                  worldTableName);
+          // A single connection writes at a time, so the world can't have been inserted meanwhile
+          case SQLITE -> String.format("INSERT INTO %s (name) VALUES (?)", worldTableName);
+        };
+    this.insertedWorldIdSql =
+        switch (dataSourceProperties.type()) {
+          case MYSQL -> "SELECT LAST_INSERT_ID()";
+          case SQLITE -> "SELECT last_insert_rowid()";
+        };
+    this.insertSqlPrefix =
+        String.format(
+            "INSERT INTO %s (world_id, location_x, location_y, location_z, spatial_key,"
+                + " is_ephemeral, created_at_epoch_millis) VALUES ",
+            tableName);
+    this.upsertSqlSuffix =
+        switch (dataSourceProperties.type()) {
+          case MYSQL ->
+              " ON DUPLICATE KEY UPDATE is_ephemeral = VALUES(is_ephemeral),"
+                  + " created_at_epoch_millis = VALUES(created_at_epoch_millis)";
+          case SQLITE ->
+              " ON CONFLICT (world_id, location_x, location_y, location_z) DO UPDATE SET"
+                  + " is_ephemeral = excluded.is_ephemeral,"
+                  + " created_at_epoch_millis = excluded.created_at_epoch_millis";
+        };
+    this.upsertSql = upsertSql(1);
+    this.findByLocationSql =
+        String.format(
+            "SELECT is_ephemeral, created_at_epoch_millis FROM %s WHERE %s",
+            tableName, LOCATION_CONDITION);
+    this.findByChunkSql =
+        String.format(
+            "SELECT location_x, location_y, location_z, is_ephemeral, created_at_epoch_millis"
+                + " FROM %s WHERE world_id = ? AND spatial_key BETWEEN ? AND ?",
+            tableName);
+    this.findByLocationsSqlPrefix =
+        String.format(
+            "SELECT world_id, location_x, location_y, location_z, is_ephemeral,"
+                + " created_at_epoch_millis FROM %s WHERE %s",
+            tableName, LOCATIONS_CONDITION_PREFIX);
+    this.deleteExpiredEphemeralSql =
+        switch (dataSourceProperties.type()) {
+          case MYSQL ->
+              String.format(
+                  "DELETE FROM %s WHERE is_ephemeral = ? AND created_at_epoch_millis < ? LIMIT ?",
+                  tableName);
+          case SQLITE ->
+              String.format(
+                  "DELETE FROM %1$s WHERE (world_id, location_x, location_y, location_z) IN"
+                      + " (SELECT world_id, location_x, location_y, location_z FROM %1$s"
+                      + " WHERE is_ephemeral = ? AND created_at_epoch_millis < ? LIMIT ?)",
+                  tableName);
+        };
+    this.deleteSql = String.format("DELETE FROM %s WHERE %s", tableName, LOCATION_CONDITION);
+    this.deleteAllSqlPrefix =
+        String.format("DELETE FROM %s WHERE %s", tableName, LOCATIONS_CONDITION_PREFIX);
   }
 
-  public void insert(@NotNull Connection connection, @NotNull Tag tag) throws SQLException {
-    String sql =
-        String.format("INSERT INTO %s VALUES (?, ?, ?, ?, ?, ?)", dataSourceProperties.tableName());
+  private @NotNull String upsertSql(int tagsCount) {
+    return insertSqlPrefix
+        + String.join(", ", Collections.nCopies(tagsCount, TAG_PLACEHOLDERS))
+        + upsertSqlSuffix;
+  }
+
+  private static @NotNull String locationsSql(@NotNull String sqlPrefix, int locationsCount) {
+    return sqlPrefix
+        + String.join(", ", Collections.nCopies(locationsCount, LOCATION_PLACEHOLDERS))
+        + ")";
+  }
 
-    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-      preparedStatement.setString(1, tag.blockLocation().worldName());
-      preparedStatement.setInt(2, tag.blockLocation().x());
-      preparedStatement.setInt(3, tag.blockLocation().y());
-      preparedStatement.setInt(4, tag.blockLocation().z());
-      preparedStatement.setInt(5, booleanIntegerSerializer.serialize(tag.isEphemeral()));
-      preparedStatement.setString(6, localDateTimeStringSerializer.serialize(tag.createdAt()));
+  public void upsert(@NotNull Connection connection, @NotNull Tag tag) throws SQLException {
+    int worldId = getOrCreateWorldId(connection, tag.blockLocation().worldName());
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(upsertSql)) {
+      setTagParameters(preparedStatement, 1, worldId, tag);
       preparedStatement.executeUpdate();
     }
   }
 
+  /**
+   * Inserts in the world dictionary the worlds of the given tags which aren't there yet.
+   *
+   * <p>This is meant to be called before writing the tags within a transaction: once inserted
+   * outside of it, the worlds are visible to the other connections right away, which lets their ids
+   * be cached.
+   */
+  public void insertWorlds(@NotNull Connection connection, @NotNull Collection<Tag> tags)
+      throws SQLException {
+    Set<String> worldNames = new HashSet<>();
+
+    for (Tag tag : tags) {
+      String worldName = tag.blockLocation().worldName();
+
+      if (worldNames.add(worldName)) {
+        getOrCreateWorldId(connection, worldName);
+      }
+    }
+  }
+
+  /**
+   * Upserts the given tags with multi-row statements, so that each round-trip writes up to {@value
+   * #MAX_TAGS_PER_STATEMENT} tags.
+   */
+  public void upsertAll(@NotNull Connection connection, @NotNull Collection<Tag> tags)
+      throws SQLException {
+    Map<String, Integer> tagsWorldIds = new HashMap<>();
+
+    for (Tag tag : tags) {
+      String worldName = tag.blockLocation().worldName();
+
+      if (!tagsWorldIds.containsKey(worldName)) {
+        tagsWorldIds.put(worldName, getOrCreateWorldId(connection, worldName));
+      }
+    }
+
+    List<Tag> remainingTags = new ArrayList<>(tags);
+
+    while (!remainingTags.isEmpty()) {
+      List<Tag> chunk =
+          remainingTags.subList(0, Math.min(MAX_TAGS_PER_STATEMENT, remainingTags.size()));
+
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement(upsertSql(chunk.size()))) {
+        int parameterIndex = 1;
+
+        for (Tag tag : chunk) {
+          int worldId = tagsWorldIds.get(tag.blockLocation().worldName());
+          parameterIndex = setTagParameters(preparedStatement, parameterIndex, worldId, tag);
+        }
+
+        preparedStatement.executeUpdate();
+      }
+
+      chunk.clear();
+    }
+  }
+
+  private int setTagParameters(
+      @NotNull PreparedStatement preparedStatement,
+      int parameterIndex,
+      int worldId,
+      @NotNull Tag tag)
+      throws SQLException {
+    parameterIndex =
+        setLocationParameters(preparedStatement, parameterIndex, worldId, tag.blockLocation());
+    preparedStatement.setLong(parameterIndex++, SpatialKeyCodec.encode(tag.blockLocation()));
+    preparedStatement.setInt(
+        parameterIndex++, booleanIntegerSerializer.serialize(tag.isEphemeral()));
+    preparedStatement.setLong(
+        parameterIndex++, localDateTimeEpochMillisSerializer.serialize(tag.createdAt()));
+    return parameterIndex;
+  }
+
   public @NotNull Optional<Tag> findByLocation(
       @NotNull Connection connection, @NotNull BlockLocation blockLocation) throws SQLException {
-    String sql =
-        String.format(
-            "SELECT * FROM %s WHERE world_name = ? AND location_x = ? AND location_y = ? AND"
-                + " location_z = ?",
-            dataSourceProperties.tableName());
+    OptionalInt worldId = findWorldId(connection, blockLocation.worldName());
 
-    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-      preparedStatement.setString(1, blockLocation.worldName());
-      preparedStatement.setInt(2, blockLocation.x());
-      preparedStatement.setInt(3, blockLocation.y());
-      preparedStatement.setInt(4, blockLocation.z());
+    if (worldId.isEmpty()) {
+      return Optional.empty();
+    }
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(findByLocationSql)) {
+      setLocationParameters(preparedStatement, 1, worldId.getAsInt(), blockLocation);
+
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        return extractTag(resultSet, blockLocation);
+      }
+    }
+  }
+
+  public @NotNull Set<Tag> findByChunk(
+      @NotNull Connection connection, @NotNull ChunkLocation chunkLocation) throws SQLException {
+    OptionalInt worldId = findWorldId(connection, chunkLocation.worldName());
+
+    if (worldId.isEmpty()) {
+      return new HashSet<>();
+    }
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(findByChunkSql)) {
+      preparedStatement.setInt(1, worldId.getAsInt());
+      preparedStatement.setLong(2, SpatialKeyCodec.chunkFirstKey(chunkLocation));
+      preparedStatement.setLong(3, SpatialKeyCodec.chunkLastKey(chunkLocation));
 
       try (ResultSet resultSet = preparedStatement.executeQuery()) {
-        return extractTag(resultSet);
+        Set<Tag> tags = new HashSet<>();
+
+        while (resultSet.next()) {
+          tags.add(readTag(resultSet, readBlockLocation(resultSet, chunkLocation.worldName())));
+        }
+
+        return tags;
       }
     }
   }
 
-  private @NotNull Optional<Tag> extractTag(@NotNull ResultSet resultSet) throws SQLException {
+  public @NotNull Set<Tag> findByLocations(
+      @NotNull Connection connection, @NotNull Collection<BlockLocation> blockLocations)
+      throws SQLException {
+    Map<String, Integer> locationsWorldIds = findWorldIds(connection, blockLocations);
+    Map<Integer, String> worldNames = new HashMap<>();
+    locationsWorldIds.forEach((worldName, worldId) -> worldNames.put(worldId, worldName));
+
+    Set<Tag> tags = new HashSet<>();
+    List<BlockLocation> remainingBlockLocations =
+        retainKnownWorlds(blockLocations, locationsWorldIds);
+
+    while (!remainingBlockLocations.isEmpty()) {
+      List<BlockLocation> chunk =
+          remainingBlockLocations.subList(
+              0, Math.min(MAX_LOCATIONS_PER_QUERY, remainingBlockLocations.size()));
+      String sql = locationsSql(findByLocationsSqlPrefix, chunk.size());
+
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        setLocationsParameters(preparedStatement, chunk, locationsWorldIds);
+
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+          while (resultSet.next()) {
+            String worldName = worldNames.get(resultSet.getInt("world_id"));
+            tags.add(readTag(resultSet, readBlockLocation(resultSet, worldName)));
+          }
+        }
+      }
+
+      chunk.clear();
+    }
+
+    return tags;
+  }
+
+  private @NotNull Optional<Tag> extractTag(
+      @NotNull ResultSet resultSet, @NotNull BlockLocation blockLocation) throws SQLException {
     if (resultSet.getFetchSize() > 1) {
       log.warn(
           "Multiple tags detected for a same location, selecting the first one."
@@ -104,34 +355,248 @@ public class TagSqlDao {
       return Optional.empty();
     }
 
-    String worldName = resultSet.getString("world_name");
+    return Optional.of(readTag(resultSet, blockLocation));
+  }
+
+  private static @NotNull BlockLocation readBlockLocation(
+      @NotNull ResultSet resultSet, @NotNull String worldName) throws SQLException {
     int x = resultSet.getInt("location_x");
     int y = resultSet.getInt("location_y");
     int z = resultSet.getInt("location_z");
-    BlockLocation blockLocation = new BlockLocation(worldName, x, y, z);
+    return new BlockLocation(worldName, x, y, z);
+  }
 
+  private @NotNull Tag readTag(@NotNull ResultSet resultSet, @NotNull BlockLocation blockLocation)
+      throws SQLException {
     boolean isEphemeral = booleanIntegerSerializer.deserialize(resultSet.getInt("is_ephemeral"));
     LocalDateTime initLocalDateTime =
-        localDateTimeStringSerializer.deserialize(resultSet.getString("created_at_timestamp"));
+        localDateTimeEpochMillisSerializer.deserialize(
+            resultSet.getLong("created_at_epoch_millis"));
 
-    Tag tag = new Tag(blockLocation, isEphemeral, initLocalDateTime);
-    return Optional.of(tag);
+    return new Tag(blockLocation, isEphemeral, initLocalDateTime);
+  }
+
+  public int deleteExpiredEphemeral(
+      @NotNull Connection connection, @NotNull LocalDateTime expirationThreshold, int limit)
+      throws SQLException {
+    try (PreparedStatement deleteStmt = connection.prepareStatement(deleteExpiredEphemeralSql)) {
+      deleteStmt.setInt(1, booleanIntegerSerializer.serialize(true));
+      deleteStmt.setLong(2, localDateTimeEpochMillisSerializer.serialize(expirationThreshold));
+      deleteStmt.setInt(3, limit);
+      return deleteStmt.executeUpdate();
+    }
   }
 
   public void delete(@NotNull Connection connection, @NotNull BlockLocation blockLocation)
       throws SQLException {
-    String sqlDelete =
-        String.format(
-            "DELETE FROM %s WHERE world_name = ? AND location_x = ? AND location_y = ? AND"
-                + " location_z = ?",
-            dataSourceProperties.tableName());
-
-    try (PreparedStatement deleteStmt = connection.prepareStatement(sqlDelete)) {
-      deleteStmt.setString(1, blockLocation.worldName());
-      deleteStmt.setInt(2, blockLocation.x());
-      deleteStmt.setInt(3, blockLocation.y());
-      deleteStmt.setInt(4, blockLocation.z());
+    OptionalInt worldId = findWorldId(connection, blockLocation.worldName());
+
+    if (worldId.isEmpty()) {
+      return;
+    }
+
+    try (PreparedStatement deleteStmt = connection.prepareStatement(deleteSql)) {
+      setLocationParameters(deleteStmt, 1, worldId.getAsInt(), blockLocation);
       deleteStmt.executeUpdate();
     }
   }
+
+  /**
+   * Deletes the tags of the given locations with multi-row statements, so that each round-trip
+   * deletes up to {@value #MAX_LOCATIONS_PER_QUERY} tags.
+   */
+  public void deleteAll(
+      @NotNull Connection connection, @NotNull Collection<BlockLocation> blockLocations)
+      throws SQLException {
+    Map<String, Integer> locationsWorldIds = findWorldIds(connection, blockLocations);
+    List<BlockLocation> remainingBlockLocations =
+        retainKnownWorlds(blockLocations, locationsWorldIds);
+
+    while (!remainingBlockLocations.isEmpty()) {
+      List<BlockLocation> chunk =
+          remainingBlockLocations.subList(
+              0, Math.min(MAX_LOCATIONS_PER_QUERY, remainingBlockLocations.size()));
+
+      try (PreparedStatement deleteStmt =
+          connection.prepareStatement(locationsSql(deleteAllSqlPrefix, chunk.size()))) {
+        setLocationsParameters(deleteStmt, chunk, locationsWorldIds);
+        deleteStmt.executeUpdate();
+      }
+
+      chunk.clear();
+    }
+  }
+
+  /** Gives the id of the given world, unless no tag has ever been stored in it. */
+  private @NotNull OptionalInt findWorldId(
+      @NotNull Connection connection, @NotNull String worldName) throws SQLException {
+    Integer cachedWorldId = worldIds.get(worldName);
+
+    if (cachedWorldId != null) {
+      return OptionalInt.of(cachedWorldId);
+    }
+
+    long observedInsertedWorldsCount;
+
+    synchronized (unknownWorldNames) {
+      if (unknownWorldNames.contains(worldName)) {
+        return OptionalInt.empty();
+      }
+
+      observedInsertedWorldsCount = insertedWorldsCount;
+    }
+
+    OptionalInt worldId = selectWorldId(connection, worldName);
+
+    if (worldId.isEmpty()) {
+      cacheUnknownWorld(connection, worldName, observedInsertedWorldsCount);
+    }
+
+    return worldId;
+  }
+
+  private @NotNull OptionalInt selectWorldId(
+      @NotNull Connection connection, @NotNull String worldName) throws SQLException {
+    try (PreparedStatement preparedStatement = connection.prepareStatement(findWorldIdSql)) {
+      preparedStatement.setString(1, worldName);
+
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        if (!resultSet.next()) {
+          return OptionalInt.empty();
+        }
+
+        int worldId = resultSet.getInt(1);
+        cacheWorldId(connection, worldName, worldId);
+        return OptionalInt.of(worldId);
+      }
+    }
+  }
+
+  private @NotNull Map<String, Integer> findWorldIds(
+      @NotNull Connection connection, @NotNull Collection<BlockLocation> blockLocations)
+      throws SQLException {
+    Map<String, Integer> locationsWorldIds = new HashMap<>();
+    Set<String> unknownWorldNames = new HashSet<>();
+
+    for (BlockLocation blockLocation : blockLocations) {
+      String worldName = blockLocation.worldName();
+
+      if (locationsWorldIds.containsKey(worldName) || unknownWorldNames.contains(worldName)) {
+        continue;
+      }
+
+      OptionalInt worldId = findWorldId(connection, worldName);
+
+      if (worldId.isEmpty()) {
+        unknownWorldNames.add(worldName);
+        continue;
+      }
+
+      locationsWorldIds.put(worldName, worldId.getAsInt());
+    }
+
+    return locationsWorldIds;
+  }
+
+  private int getOrCreateWorldId(@NotNull Connection connection, @NotNull String worldName)
+      throws SQLException {
+    Integer cachedWorldId = worldIds.get(worldName);
+
+    if (cachedWorldId != null) {
+      return cachedWorldId;
+    }
+
+    // Not trusting the unknown worlds, since inserting a world already there would fail
+    OptionalInt existingWorldId = selectWorldId(connection, worldName);
+
+    if (existingWorldId.isPresent()) {
+      return existingWorldId.getAsInt();
+    }
+
+    try (PreparedStatement insertStmt = connection.prepareStatement(insertWorldSql)) {
+      insertStmt.setString(1, worldName);
+      insertStmt.executeUpdate();
+    }
+
+    forgetUnknownWorld(worldName);
+
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(insertedWorldIdSql)) {
+      resultSet.next();
+      int worldId = resultSet.getInt(1);
+      cacheWorldId(connection, worldName, worldId);
+      return worldId;
+    }
+  }
+
+  private void cacheWorldId(@NotNull Connection connection, @NotNull String worldName, int worldId)
+      throws SQLException {
+    // The world may have been inserted by the ongoing transaction, which can still be rolled back
+    if (connection.getAutoCommit()) {
+      worldIds.put(worldName, worldId);
+    }
+  }
+
+  private void cacheUnknownWorld(
+      @NotNull Connection connection, @NotNull String worldName, long observedInsertedWorldsCount)
+      throws SQLException {
+    if (!connection.getAutoCommit()) {
+      return;
+    }
+
+    synchronized (unknownWorldNames) {
+      // Otherwise the world may have been inserted since the lookup started
+      if (insertedWorldsCount == observedInsertedWorldsCount) {
+        unknownWorldNames.add(worldName);
+      }
+    }
+  }
+
+  private void forgetUnknownWorld(@NotNull String worldName) {
+    synchronized (unknownWorldNames) {
+      insertedWorldsCount++;
+      unknownWorldNames.remove(worldName);
+    }
+  }
+
+  private static @NotNull List<BlockLocation> retainKnownWorlds(
+      @NotNull Collection<BlockLocation> blockLocations,
+      @NotNull Map<String, Integer> locationsWorldIds) {
+    List<BlockLocation> retainedBlockLocations = new ArrayList<>(blockLocations.size());
+
+    for (BlockLocation blockLocation : blockLocations) {
+      if (locationsWorldIds.containsKey(blockLocation.worldName())) {
+        retainedBlockLocations.add(blockLocation);
+      }
+    }
+
+    return retainedBlockLocations;
+  }
+
+  private static void setLocationsParameters(
+      @NotNull PreparedStatement preparedStatement,
+      @NotNull List<BlockLocation> blockLocations,
+      @NotNull Map<String, Integer> locationsWorldIds)
+      throws SQLException {
+    int parameterIndex = 1;
+
+    for (BlockLocation blockLocation : blockLocations) {
+      int worldId = locationsWorldIds.get(blockLocation.worldName());
+      parameterIndex =
+          setLocationParameters(preparedStatement, parameterIndex, worldId, blockLocation);
+    }
+  }
+
+  private static int setLocationParameters(
+      @NotNull PreparedStatement preparedStatement,
+      int parameterIndex,
+      int worldId,
+      @NotNull BlockLocation blockLocation)
+      throws SQLException {
+    preparedStatement.setInt(parameterIndex++, worldId);
+    preparedStatement.setInt(parameterIndex++, blockLocation.x());
+    preparedStatement.setInt(parameterIndex++, blockLocation.y());
+    preparedStatement.setInt(parameterIndex++, blockLocation.z());
+    return parameterIndex;
+  }
 }
@@ -0,0 +1,182 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql.migration;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.core.storage.sql.access.SpatialKeyCodec;
+import fr.djaytan.mc.jrppb.core.storage.sql.serializer.LocalDateTimeEpochMillisSerializer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the migration copying the tags of the legacy table into the table reshaped by the
+ * previous migration, before dropping the legacy one.
+ *
+ * <p>The world id, the spatial key and the creation epoch millis of each tag are computed while
+ * copying it, so that the whole table is only rewritten once. The spatial key can't be computed
+ * portably in SQL since it requires bitwise interleaving.
+ *
+ * <p>Tags are read in pages following the primary key order and inserted in batches, so that the
+ * memory consumption is bounded whatever the size of the table.
+ */
+public final class TagsBackfillMigration implements JavaMigration {
+
+  private static final int PAGE_SIZE = 1000;
+  private static final MigrationVersion VERSION = MigrationVersion.fromVersion("3.2.1");
+
+  private final LocalDateTimeEpochMillisSerializer localDateTimeEpochMillisSerializer =
+      new LocalDateTimeEpochMillisSerializer();
+  private final String selectWorldsSql;
+  private final String selectFirstPageSql;
+  private final String selectNextPageSql;
+  private final String insertSql;
+  private final String dropLegacyTableSql;
+
+  public TagsBackfillMigration(@NotNull String tableName) {
+    String legacyTableName = tableName + "_legacy";
+    this.selectWorldsSql = String.format("SELECT id, name FROM %s_world", tableName);
+
+    String selectSql =
+        String.format(
+            "SELECT world_name, location_x, location_y, location_z, is_ephemeral,"
+                + " created_at_timestamp FROM %s %%s"
+                + " ORDER BY world_name, location_x, location_y, location_z LIMIT %d",
+            legacyTableName, PAGE_SIZE);
+    this.selectFirstPageSql = String.format(selectSql, "");
+    this.selectNextPageSql =
+        String.format(
+            selectSql, "WHERE (world_name, location_x, location_y, location_z) > (?, ?, ?, ?)");
+    this.insertSql =
+        String.format(
+            "INSERT INTO %s (world_id, location_x, location_y, location_z, is_ephemeral,"
+                + " spatial_key, created_at_epoch_millis) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            tableName);
+    this.dropLegacyTableSql = String.format("DROP TABLE %s", legacyTableName);
+  }
+
+  @Override
+  public @NotNull MigrationVersion getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public @NotNull String getDescription() {
+    return "Backfill tags";
+  }
+
+  @Override
+  public @Nullable Integer getChecksum() {
+    return null;
+  }
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return true;
+  }
+
+  @Override
+  public void migrate(@NotNull Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    Map<String, Integer> worldIds = selectWorldIds(connection);
+
+    try (PreparedStatement selectFirstPageStmt = connection.prepareStatement(selectFirstPageSql);
+        PreparedStatement selectNextPageStmt = connection.prepareStatement(selectNextPageSql);
+        PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
+      PreparedStatement selectStmt = selectFirstPageStmt;
+      int pageRowsCount;
+
+      do {
+        pageRowsCount = 0;
+
+        try (ResultSet resultSet = selectStmt.executeQuery()) {
+          while (resultSet.next()) {
+            var blockLocation =
+                new BlockLocation(
+                    resultSet.getString("world_name"),
+                    resultSet.getInt("location_x"),
+                    resultSet.getInt("location_y"),
+                    resultSet.getInt("location_z"));
+            LocalDateTime createdAt =
+                LocalDateTime.parse(
+                    resultSet.getString("created_at_timestamp"), DateTimeFormatter.ISO_DATE_TIME);
+
+            insertStmt.setInt(1, worldIds.get(blockLocation.worldName()));
+            insertStmt.setInt(2, blockLocation.x());
+            insertStmt.setInt(3, blockLocation.y());
+            insertStmt.setInt(4, blockLocation.z());
+            insertStmt.setInt(5, resultSet.getInt("is_ephemeral"));
+            insertStmt.setLong(6, SpatialKeyCodec.encode(blockLocation));
+            insertStmt.setLong(7, localDateTimeEpochMillisSerializer.serialize(createdAt));
+            insertStmt.addBatch();
+
+            // The last read location is where the next page starts from
+            setLocationParameters(selectNextPageStmt, blockLocation);
+            pageRowsCount++;
+          }
+        }
+
+        insertStmt.executeBatch();
+        selectStmt = selectNextPageStmt;
+      } while (pageRowsCount == PAGE_SIZE);
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(dropLegacyTableSql);
+    }
+  }
+
+  private @NotNull Map<String, Integer> selectWorldIds(@NotNull Connection connection)
+      throws SQLException {
+    Map<String, Integer> worldIds = new HashMap<>();
+
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(selectWorldsSql)) {
+      while (resultSet.next()) {
+        worldIds.put(resultSet.getString("name"), resultSet.getInt("id"));
+      }
+    }
+
+    return worldIds;
+  }
+
+  private static void setLocationParameters(
+      @NotNull PreparedStatement preparedStatement, @NotNull BlockLocation blockLocation)
+      throws SQLException {
+    preparedStatement.setString(1, blockLocation.worldName());
+    preparedStatement.setInt(2, blockLocation.x());
+    preparedStatement.setInt(3, blockLocation.y());
+    preparedStatement.setInt(4, blockLocation.z());
+  }
+}
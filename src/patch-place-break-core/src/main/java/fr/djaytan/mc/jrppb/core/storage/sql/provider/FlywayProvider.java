@@ -23,6 +23,7 @@
 package fr.djaytan.mc.jrppb.core.storage.sql.provider;
 
 import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
+import fr.djaytan.mc.jrppb.core.storage.sql.migration.TagsBackfillMigration;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
@@ -51,14 +52,16 @@ public final class FlywayProvider implements Provider<Flyway> {
   }
 
   public @NotNull Flyway get() {
+    String tableName = dataSourceProperties.tableName();
     Map<String, String> placeholders = new HashMap<>();
-    placeholders.put("patchPlaceBreakTableName", dataSourceProperties.tableName());
+    placeholders.put("patchPlaceBreakTableName", tableName);
 
     return Flyway.configure(classLoader)
         .baselineOnMigrate(true)
         .baselineVersion("3.0.0")
         .dataSource(dataSource)
         .failOnMissingLocations(true)
+        .javaMigrations(new TagsBackfillMigration(tableName))
         .locations(getLocation())
         .loggers("slf4j")
         .placeholders(placeholders)
@@ -25,10 +25,13 @@ package fr.djaytan.mc.jrppb.core.storage.sql.provider;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceType;
+import fr.djaytan.mc.jrppb.core.storage.properties.SqliteProperties;
 import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.JdbcUrl;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
+import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +40,9 @@ import org.slf4j.LoggerFactory;
 public class HikariDataSourceProvider implements Provider<HikariDataSource> {
 
   private static final Logger log = LoggerFactory.getLogger(HikariDataSourceProvider.class);
+  private static final long BYTES_PER_MEBIBYTE = 1024L * 1024L;
+  private static final int KIBIBYTES_PER_MEBIBYTE = 1024;
+  private static final String SQLITE_OPEN_READONLY = "1";
 
   private final DataSourceProperties dataSourceProperties;
   private final JdbcUrl jdbcUrl;
@@ -55,7 +61,66 @@ public class HikariDataSourceProvider implements Provider<HikariDataSource> {
     return hikariDataSource;
   }
 
-  private @NotNull HikariConfig createHikariConfig() {
+  /**
+   * Gets the pool of read-only connections dedicated to lookups, if relevant for the data source.
+   *
+   * <p>SQLite only allows a single writer at once, so the main pool holds a single connection which
+   * writers queue for instead of contending for the file lock. Lookups are served by this separate
+   * pool instead, which lets them run concurrently with writes when the journal mode is WAL.
+   *
+   * @return The read-only connection pool if the data source is SQLite.
+   */
+  public @NotNull Optional<HikariDataSource> getReadOnly() {
+    if (dataSourceProperties.type() != DataSourceType.SQLITE) {
+      return Optional.empty();
+    }
+
+    HikariDataSource hikariDataSource = new HikariDataSource(createReadOnlyHikariConfig());
+    log.info(
+        "Opened a pool of up to {} read-only connections to the database.",
+        hikariDataSource.getMaximumPoolSize());
+    return Optional.of(hikariDataSource);
+  }
+
+  @NotNull
+  HikariConfig createReadOnlyHikariConfig() {
+    HikariConfig hikariConfig = createBaseHikariConfig();
+    hikariConfig.setReadOnly(true);
+    // The driver can only make connections read-only when opening them
+    hikariConfig.addDataSourceProperty("open_mode", SQLITE_OPEN_READONLY);
+    // The journal and synchronous modes only matter to the writer, which already sets them
+    addSqliteReadPragmas(hikariConfig);
+    addDriverProperties(hikariConfig);
+    return hikariConfig;
+  }
+
+  @NotNull
+  HikariConfig createHikariConfig() {
+    HikariConfig hikariConfig = createBaseHikariConfig();
+
+    if (dataSourceProperties.type() == DataSourceType.MYSQL) {
+      // Prepared statements are then cached by the driver for each physical connection
+      hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
+      hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
+      hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+      hikariConfig.addDataSourceProperty("useServerPrepStmts", "true");
+    }
+
+    if (dataSourceProperties.type() == DataSourceType.SQLITE) {
+      // Writers queue for the single connection, lookups being served by the read-only pool
+      hikariConfig.setMaximumPoolSize(1);
+
+      SqliteProperties sqlite = dataSourceProperties.sqlite();
+      hikariConfig.addDataSourceProperty("journal_mode", sqlite.journalMode().name());
+      hikariConfig.addDataSourceProperty("synchronous", sqlite.synchronousMode().name());
+      addSqliteReadPragmas(hikariConfig);
+    }
+
+    addDriverProperties(hikariConfig);
+    return hikariConfig;
+  }
+
+  private @NotNull HikariConfig createBaseHikariConfig() {
     HikariConfig hikariConfig = new HikariConfig();
     hikariConfig.setJdbcUrl(jdbcUrl.get());
     hikariConfig.setConnectionTimeout(dataSourceProperties.connectionPool().connectionTimeout());
@@ -64,4 +129,22 @@ public class HikariDataSourceProvider implements Provider<HikariDataSource> {
     hikariConfig.setPassword(dataSourceProperties.dbmsServer().credentials().password());
     return hikariConfig;
   }
+
+  /** Adds the pragmas which the driver applies on each opened connection, readers included. */
+  private void addSqliteReadPragmas(@NotNull HikariConfig hikariConfig) {
+    SqliteProperties sqlite = dataSourceProperties.sqlite();
+    hikariConfig.addDataSourceProperty(
+        "mmap_size", String.valueOf(sqlite.mmapSize() * BYTES_PER_MEBIBYTE));
+    // A negative value is interpreted as a size in KiB rather than a number of pages
+    hikariConfig.addDataSourceProperty(
+        "cache_size", String.valueOf(-sqlite.cacheSize() * KIBIBYTES_PER_MEBIBYTE));
+    hikariConfig.addDataSourceProperty("busy_timeout", String.valueOf(sqlite.busyTimeout()));
+  }
+
+  private void addDriverProperties(@NotNull HikariConfig hikariConfig) {
+    dataSourceProperties
+        .connectionPool()
+        .driverProperties()
+        .forEach(hikariConfig::addDataSourceProperty);
+  }
 }
@@ -22,23 +22,4 @@
  */
 package fr.djaytan.mc.jrppb.core.storage.sql.serializer;
 
-import jakarta.inject.Singleton;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import org.jetbrains.annotations.NotNull;
-
-@Singleton
-public class LocalDateTimeStringSerializer implements StringSerializer<LocalDateTime> {
-
-  private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-
-  @Override
-  public @NotNull String serialize(@NotNull LocalDateTime localDateTime) {
-    return localDateTime.format(formatter);
-  }
-
-  @Override
-  public @NotNull LocalDateTime deserialize(@NotNull String string) {
-    return LocalDateTime.parse(string, formatter);
-  }
-}
+public interface LongSerializer<T> extends Serializer<T, Long> {}
@@ -30,6 +30,7 @@ module fr.djaytan.mc.jrppb.core {
   requires com.zaxxer.hikari;
   requires flyway.core;
   requires jakarta.inject;
+  requires java.management;
   requires java.sql;
   requires org.apache.commons.lang3;
   requires org.slf4j;
@@ -41,6 +42,8 @@ module fr.djaytan.mc.jrppb.core {
       com.google.guice;
   opens fr.djaytan.mc.jrppb.core.config to
       com.google.guice;
+  opens fr.djaytan.mc.jrppb.core.executor to
+      com.google.guice;
   opens fr.djaytan.mc.jrppb.core.inject to
       com.google.guice;
   opens fr.djaytan.mc.jrppb.core.storage.sql to
@@ -54,6 +57,10 @@ module fr.djaytan.mc.jrppb.core {
   opens fr.djaytan.mc.jrppb.core.storage.sql.serializer to
       com.google.guice;
 
+  // Exposition of metrics through JMX
+  exports fr.djaytan.mc.jrppb.core.executor to
+      java.management;
+
   // Reflection for Flyway
   opens db.migration.mysql;
   opens db.migration.sqlite;
@@ -0,0 +1,5 @@
+-- NEVER MODIFY THIS FILE
+-- Flyway use checksum to detect accidental changes and fail if so
+
+CREATE INDEX ${patchPlaceBreakTableName}_ephemeral_expiration_idx
+  ON ${patchPlaceBreakTableName} (is_ephemeral, created_at_timestamp);
@@ -0,0 +1,33 @@
+-- NEVER MODIFY THIS FILE
+-- Flyway use checksum to detect accidental changes and fail if so
+
+-- The tags are copied into the new table by the next migration, which computes their spatial key
+ALTER TABLE ${patchPlaceBreakTableName}
+  RENAME TO ${patchPlaceBreakTableName}_legacy;
+
+CREATE TABLE ${patchPlaceBreakTableName}_world
+(
+  id   INTEGER      NOT NULL AUTO_INCREMENT,
+  name VARCHAR(128) NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE (name)
+);
+
+INSERT INTO ${patchPlaceBreakTableName}_world (name)
+SELECT DISTINCT world_name
+FROM ${patchPlaceBreakTableName}_legacy
+ORDER BY world_name;
+
+CREATE TABLE ${patchPlaceBreakTableName}
+(
+  world_id                INTEGER NOT NULL,
+  location_x              INTEGER NOT NULL,
+  location_y              INTEGER NOT NULL,
+  location_z              INTEGER NOT NULL,
+  is_ephemeral            INTEGER NOT NULL,
+  spatial_key             BIGINT  NOT NULL,
+  created_at_epoch_millis BIGINT  NOT NULL,
+  PRIMARY KEY (world_id, location_x, location_y, location_z),
+  INDEX ${patchPlaceBreakTableName}_ephemeral_expiration_idx (is_ephemeral, created_at_epoch_millis),
+  INDEX ${patchPlaceBreakTableName}_spatial_idx (world_id, spatial_key, location_y)
+);
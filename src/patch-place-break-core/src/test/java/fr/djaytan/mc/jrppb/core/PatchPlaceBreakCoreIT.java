@@ -35,6 +35,8 @@ import fr.djaytan.mc.jrppb.core.config.properties.DbmsServerConfigProperties;
 import fr.djaytan.mc.jrppb.core.config.properties.DbmsServerCredentialsConfigProperties;
 import fr.djaytan.mc.jrppb.core.config.properties.DbmsServerHostConfigProperties;
 import fr.djaytan.mc.jrppb.core.config.properties.RestrictedBlocksConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.SqliteConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.TagStorageConfigProperties;
 import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceType;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -127,7 +129,9 @@ class PatchPlaceBreakCoreIT {
                   new DbmsServerHostConfigProperties("localhost", dbmsPort, true),
                   new DbmsServerCredentialsConfigProperties(username, password),
                   DATABASE_NAME),
-              NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES);
+              NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES,
+              TagStorageConfigProperties.DEFAULT,
+              SqliteConfigProperties.DEFAULT);
 
       String serializedDataSourceConfigProperties = serialize(dataSourceConfigProperties);
 
@@ -28,29 +28,45 @@ import static org.junit.jupiter.api.Named.named;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
+import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
 import fr.djaytan.mc.jrppb.api.entities.Block;
 import fr.djaytan.mc.jrppb.api.entities.BlockActionType;
 import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Tag;
 import fr.djaytan.mc.jrppb.api.entities.Vector;
+import fr.djaytan.mc.jrppb.core.executor.TagTaskExecutor;
+import fr.djaytan.mc.jrppb.core.storage.api.ChunkTagIndex;
 import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
 import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
 import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -68,21 +84,36 @@ class PatchPlaceBreakImplTest {
 
   private static final Clock CLOCK = Clock.fixed(Instant.now(), ZoneId.systemDefault());
 
+  @Mock private ChunkTagIndex chunkTagIndex;
   @Mock private TagRepository tagRepository;
   @Captor private ArgumentCaptor<Tag> tagCaptor;
   @Captor private ArgumentCaptor<OldNewBlockLocationPairSet> locationPairCaptor;
   @Captor private ArgumentCaptor<BlockLocation> blockLocationCaptor;
+  @Captor private ArgumentCaptor<List<TagMutation>> mutationsCaptor;
   private final RestrictedBlocksProperties restrictedBlocksProperties =
       new RestrictedBlocksProperties(
           RestrictionMode.BLACKLIST, new HashSet<>(Arrays.asList("STONE", "DIRT")));
+  private TagTaskExecutor tagTaskExecutor;
   private PatchPlaceBreakImpl patchPlaceBreakImpl;
 
   @BeforeEach
   void setUp() {
     BlocksFilter blocksFilter = new BlocksFilter(restrictedBlocksProperties);
+    this.tagTaskExecutor = new TagTaskExecutor(DataSourceProperties.DEFAULT);
 
     this.patchPlaceBreakImpl =
-        new PatchPlaceBreakImpl(blocksFilter, CLOCK, restrictedBlocksProperties, tagRepository);
+        new PatchPlaceBreakImpl(
+            blocksFilter,
+            chunkTagIndex,
+            CLOCK,
+            restrictedBlocksProperties,
+            tagRepository,
+            tagTaskExecutor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    tagTaskExecutor.stop();
   }
 
   @Nested
@@ -192,6 +223,97 @@ class PatchPlaceBreakImplTest {
     }
   }
 
+  @Nested
+  class WhenRemovingTags {
+
+    @Test
+    void fromNotRestrictedBlocks_shouldRemoveTagsAtOnce() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      BlockLocation otherBlockLocation = new BlockLocation("world", 100, 0, 0);
+      BlockLocation restrictedBlockLocation = new BlockLocation("world", 1, 0, 0);
+      Set<Block> blocks =
+          Set.of(
+              new Block(blockLocation, "BEACON"),
+              new Block(otherBlockLocation, "BEACON"),
+              new Block(restrictedBlockLocation, "STONE"));
+
+      // When
+      patchPlaceBreakImpl.removeTags(blocks).join();
+
+      // Then
+      verify(tagRepository).applyMutations(mutationsCaptor.capture());
+      assertThat(mutationsCaptor.getValue())
+          .containsExactlyInAnyOrder(
+              new TagMutation.Delete(blockLocation), new TagMutation.Delete(otherBlockLocation));
+    }
+
+    @Test
+    void fromRestrictedBlocksOnly_shouldNotAttemptToRemoveAnyTag() {
+      // Given
+      Block restrictedBlock = new Block(new BlockLocation("world", 0, 0, 0), "STONE");
+
+      // When
+      patchPlaceBreakImpl.removeTags(Set.of(restrictedBlock)).join();
+
+      // Then
+      verifyNoInteractions(tagRepository);
+    }
+  }
+
+  @Nested
+  class WhenPublishingTagPut {
+
+    @Test
+    void withNotRestrictedBlock_shouldPutExpectedEphemeralTag() {
+      // When
+      patchPlaceBreakImpl.publishTagPut("world", 0, 0, 0, "BEACON", true);
+      awaitPublishedEvents();
+
+      // Then
+      verify(tagRepository).put(tagCaptor.capture());
+      Tag tag = tagCaptor.getValue();
+
+      assertAll(
+          () -> assertThat(tag.blockLocation()).isEqualTo(new BlockLocation("world", 0, 0, 0)),
+          () -> assertThat(tag.isEphemeral()).isTrue());
+    }
+
+    @Test
+    void withRestrictedBlock_shouldNotAttemptToPutAnyTag() {
+      // When
+      patchPlaceBreakImpl.publishTagPut("world", 0, 0, 0, "STONE", false);
+      awaitPublishedEvents();
+
+      // Then
+      verifyNoInteractions(tagRepository);
+    }
+  }
+
+  @Nested
+  class WhenPublishingTagRemoval {
+
+    @Test
+    void fromNotRestrictedBlock_shouldRemoveTag() {
+      // When
+      patchPlaceBreakImpl.publishTagRemoval("world", 0, 0, 0, "BEACON");
+      awaitPublishedEvents();
+
+      // Then
+      verify(tagRepository).delete(new BlockLocation("world", 0, 0, 0));
+    }
+
+    @Test
+    void fromRestrictedBlock_shouldNotAttemptToRemoveAnyTag() {
+      // When
+      patchPlaceBreakImpl.publishTagRemoval("world", 0, 0, 0, "STONE");
+      awaitPublishedEvents();
+
+      // Then
+      verifyNoInteractions(tagRepository);
+    }
+  }
+
   @Nested
   class WhenMovingTags {
 
@@ -274,6 +396,84 @@ class PatchPlaceBreakImplTest {
     }
   }
 
+  @Nested
+  class WhenLoadingChunkTags {
+
+    @Test
+    void shouldLoadChunkInIndex() {
+      // Given
+      ChunkLocation chunkLocation = new ChunkLocation("world", 1, -1);
+
+      // When
+      patchPlaceBreakImpl.loadChunkTags(chunkLocation).join();
+
+      // Then
+      verify(chunkTagIndex).load(chunkLocation);
+      verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    void withChunkUnloadedBeforeQueuedLoadIsRun_shouldNotLoadChunkInIndex() {
+      // Given
+      ChunkLocation chunkLocation = new ChunkLocation("world", 1, -1);
+      CountDownLatch blockingTaskLatch = new CountDownLatch(1);
+      tagTaskExecutor.submit(chunkLocation, false, () -> awaitQuietly(blockingTaskLatch));
+      CompletableFuture<Void> loading = patchPlaceBreakImpl.loadChunkTags(chunkLocation);
+
+      // When
+      patchPlaceBreakImpl.unloadChunkTags(chunkLocation);
+      blockingTaskLatch.countDown();
+      loading.join();
+
+      // Then
+      verify(chunkTagIndex, never()).load(chunkLocation);
+    }
+
+    @Test
+    void withChunkUnloadedWhileLoading_shouldUnloadChunkFromIndex() {
+      // Given
+      ChunkLocation chunkLocation = new ChunkLocation("world", 1, -1);
+      willAnswer(
+              invocation -> {
+                patchPlaceBreakImpl.unloadChunkTags(chunkLocation);
+                return null;
+              })
+          .given(chunkTagIndex)
+          .load(chunkLocation);
+
+      // When
+      patchPlaceBreakImpl.loadChunkTags(chunkLocation).join();
+
+      // Then
+      verify(chunkTagIndex, times(2)).unload(chunkLocation);
+    }
+
+    private static void awaitQuietly(@NotNull CountDownLatch latch) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Nested
+  class WhenUnloadingChunkTags {
+
+    @Test
+    void shouldUnloadChunkFromIndex() {
+      // Given
+      ChunkLocation chunkLocation = new ChunkLocation("world", 1, -1);
+
+      // When
+      patchPlaceBreakImpl.unloadChunkTags(chunkLocation);
+
+      // Then
+      verify(chunkTagIndex).unload(chunkLocation);
+      verifyNoInteractions(tagRepository);
+    }
+  }
+
   @Nested
   class WhenCheckingPlaceAndBreakExploit {
 
@@ -331,4 +531,278 @@ class PatchPlaceBreakImplTest {
       assertThat(isExploit).isFalse();
     }
   }
+
+  @Nested
+  class WhenCheckingPlaceAndBreakExploitOfSeveralBlocks {
+
+    @Test
+    void shouldLookUpUnrestrictedBlocksAtOnce() {
+      // Given
+      BlockLocation taggedLocation = new BlockLocation("world", 0, 0, 0);
+      BlockLocation untaggedLocation = new BlockLocation("world", 1, 0, 0);
+      BlockLocation restrictedLocation = new BlockLocation("world", 2, 0, 0);
+      Block taggedBlock = new Block(taggedLocation, "BEACON");
+      Block untaggedBlock = new Block(untaggedLocation, "BEACON");
+      Block restrictedBlock = new Block(restrictedLocation, "STONE");
+      given(tagRepository.findByLocations(Set.of(taggedLocation, untaggedLocation)))
+          .willReturn(Set.of(new Tag(taggedLocation, false, LocalDateTime.now(CLOCK))));
+
+      // When
+      Map<Block, Boolean> isExploit =
+          patchPlaceBreakImpl.isPlaceAndBreakExploit(
+              BlockActionType.BREAK, List.of(taggedBlock, untaggedBlock, restrictedBlock));
+
+      // Then
+      assertThat(isExploit)
+          .containsExactlyInAnyOrderEntriesOf(
+              Map.of(taggedBlock, true, untaggedBlock, false, restrictedBlock, false));
+      verify(tagRepository, never()).findByLocation(any());
+    }
+
+    @Test
+    void withExpiredEphemeralTag_shouldNotBeDetectedAsExploit() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      Block block = new Block(blockLocation, "BEACON");
+      LocalDateTime createdAt =
+          LocalDateTime.now(CLOCK).minus(PatchPlaceBreakApi.EPHEMERAL_TAG_DURATION);
+      given(tagRepository.findByLocations(Set.of(blockLocation)))
+          .willReturn(Set.of(new Tag(blockLocation, true, createdAt)));
+
+      // When
+      Map<Block, Boolean> isExploit =
+          patchPlaceBreakImpl.isPlaceAndBreakExploit(BlockActionType.BREAK, List.of(block));
+
+      // Then
+      assertThat(isExploit).containsExactly(Map.entry(block, false));
+    }
+
+    @Test
+    void withSeveralEphemeralTags_shouldReadClockOnce() {
+      // Given
+      Clock clock = spy(CLOCK);
+      PatchPlaceBreakImpl patchPlaceBreakImplWithSpiedClock =
+          new PatchPlaceBreakImpl(
+              new BlocksFilter(restrictedBlocksProperties),
+              chunkTagIndex,
+              clock,
+              restrictedBlocksProperties,
+              tagRepository,
+              tagTaskExecutor);
+      BlockLocation firstLocation = new BlockLocation("world", 0, 0, 0);
+      BlockLocation secondLocation = new BlockLocation("world", 1, 0, 0);
+      Block firstBlock = new Block(firstLocation, "BEACON");
+      Block secondBlock = new Block(secondLocation, "BEACON");
+      given(tagRepository.findByLocations(Set.of(firstLocation, secondLocation)))
+          .willReturn(
+              Set.of(
+                  new Tag(firstLocation, true, LocalDateTime.now(CLOCK)),
+                  new Tag(secondLocation, true, LocalDateTime.now(CLOCK))));
+
+      // When
+      Map<Block, Boolean> isExploit =
+          patchPlaceBreakImplWithSpiedClock.isPlaceAndBreakExploit(
+              BlockActionType.BREAK, List.of(firstBlock, secondBlock));
+
+      // Then
+      assertThat(isExploit)
+          .containsExactlyInAnyOrderEntriesOf(Map.of(firstBlock, true, secondBlock, true));
+      verify(clock).instant();
+    }
+
+    @Test
+    void withRestrictedBlocksOnly_shouldNotQueryDataSource() {
+      // Given
+      Block restrictedBlock = new Block(new BlockLocation("world", 0, 0, 0), "STONE");
+
+      // When
+      Map<Block, Boolean> isExploit =
+          patchPlaceBreakImpl.isPlaceAndBreakExploit(
+              BlockActionType.BREAK, List.of(restrictedBlock));
+
+      // Then
+      assertThat(isExploit).containsExactly(Map.entry(restrictedBlock, false));
+      verifyNoInteractions(tagRepository);
+    }
+  }
+
+  @Nested
+  class WhenPrefetchingTag {
+
+    @Test
+    void withTagUnknownFromMemory_shouldLookItUp() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      given(tagRepository.isCachingLookups()).willReturn(true);
+      given(tagRepository.findResidentByLocation(blockLocation)).willReturn(Optional.empty());
+
+      // When
+      patchPlaceBreakImpl.prefetchTag(new Block(blockLocation, "BEACON")).join();
+
+      // Then
+      verify(tagRepository).findByLocation(blockLocation);
+    }
+
+    @Test
+    void withTagKnownFromMemory_shouldNotLookItUpAgain() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      given(tagRepository.isCachingLookups()).willReturn(true);
+      given(tagRepository.findResidentByLocation(blockLocation))
+          .willReturn(Optional.of(Optional.empty()));
+
+      // When
+      patchPlaceBreakImpl.prefetchTag(new Block(blockLocation, "BEACON")).join();
+
+      // Then
+      verify(tagRepository, never()).findByLocation(any());
+    }
+
+    @Test
+    void withoutCachingRepository_shouldNotLookTagUp() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      given(tagRepository.isCachingLookups()).willReturn(false);
+
+      // When
+      patchPlaceBreakImpl.prefetchTag(new Block(blockLocation, "BEACON")).join();
+
+      // Then
+      verify(tagRepository, never()).findByLocation(any());
+    }
+
+    @Test
+    void withRestrictedBlock_shouldNotLookTagUp() {
+      // Given
+      Block restrictedBlock = new Block(new BlockLocation("world", 0, 0, 0), "STONE");
+
+      // When
+      patchPlaceBreakImpl.prefetchTag(restrictedBlock).join();
+
+      // Then
+      verifyNoInteractions(tagRepository);
+    }
+  }
+
+  @Nested
+  class WhenCheckingPlaceAndBreakExploitAsynchronously {
+
+    @Test
+    void withPersistentTag_shouldBeDetectedAsExploit() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      Block unrestrictedBlock = new Block(blockLocation, "BEACON");
+      given(tagRepository.findByLocation(blockLocation))
+          .willReturn(Optional.of(new Tag(blockLocation, false, LocalDateTime.now(CLOCK))));
+
+      // When
+      boolean isExploit =
+          patchPlaceBreakImpl
+              .isPlaceAndBreakExploitAsync(BlockActionType.BREAK, unrestrictedBlock)
+              .join();
+
+      // Then
+      assertThat(isExploit).isTrue();
+    }
+
+    @Test
+    void afterPuttingTag_shouldReflectPutTag() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      Block unrestrictedBlock = new Block(blockLocation, "BEACON");
+      Tag tag = new Tag(blockLocation, false, LocalDateTime.now(CLOCK));
+      Set<Tag> putTags = ConcurrentHashMap.newKeySet();
+      willAnswer(invocation -> putTags.add(invocation.getArgument(0)))
+          .given(tagRepository)
+          .put(any());
+      given(tagRepository.findByLocation(blockLocation))
+          .willAnswer(invocation -> putTags.stream().findFirst());
+      patchPlaceBreakImpl.putTag(unrestrictedBlock, false);
+
+      // When
+      boolean isExploit =
+          patchPlaceBreakImpl
+              .isPlaceAndBreakExploitAsync(BlockActionType.BREAK, unrestrictedBlock)
+              .join();
+
+      // Then
+      assertThat(isExploit).isTrue();
+      assertThat(putTags).containsExactly(tag);
+    }
+  }
+
+  @Nested
+  class WhenCheckingPlaceAndBreakExploitFast {
+
+    @Test
+    void withTagKnownFromMemory_shouldBeDetectedAsExploit() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      Block unrestrictedBlock = new Block(blockLocation, "BEACON");
+      given(tagRepository.findResidentByLocation(blockLocation))
+          .willReturn(
+              Optional.of(Optional.of(new Tag(blockLocation, true, LocalDateTime.now(CLOCK)))));
+
+      // When
+      Optional<Boolean> isExploit =
+          patchPlaceBreakImpl.tryIsPlaceAndBreakExploitFast(
+              BlockActionType.BREAK, unrestrictedBlock);
+
+      // Then
+      assertThat(isExploit).contains(true);
+    }
+
+    @Test
+    void withTagKnownAsAbsentFromMemory_shouldNotBeDetectedAsExploit() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      Block unrestrictedBlock = new Block(blockLocation, "BEACON");
+      given(tagRepository.findResidentByLocation(blockLocation))
+          .willReturn(Optional.of(Optional.empty()));
+
+      // When
+      Optional<Boolean> isExploit =
+          patchPlaceBreakImpl.tryIsPlaceAndBreakExploitFast(
+              BlockActionType.BREAK, unrestrictedBlock);
+
+      // Then
+      assertThat(isExploit).contains(false);
+    }
+
+    @Test
+    void withTagUnknownFromMemory_shouldNotQueryDataSource() {
+      // Given
+      BlockLocation blockLocation = new BlockLocation("world", 0, 0, 0);
+      Block unrestrictedBlock = new Block(blockLocation, "BEACON");
+      given(tagRepository.findResidentByLocation(blockLocation)).willReturn(Optional.empty());
+
+      // When
+      Optional<Boolean> isExploit =
+          patchPlaceBreakImpl.tryIsPlaceAndBreakExploitFast(
+              BlockActionType.BREAK, unrestrictedBlock);
+
+      // Then
+      assertThat(isExploit).isEmpty();
+      verify(tagRepository, never()).findByLocation(any());
+    }
+
+    @Test
+    void withRestrictedBlock_shouldNotBeDetectedAsExploitNorPerformDeepCheck() {
+      // Given
+      Block restrictedBlock = new Block(new BlockLocation("world", 0, 0, 0), "STONE");
+
+      // When
+      Optional<Boolean> isExploit =
+          patchPlaceBreakImpl.tryIsPlaceAndBreakExploitFast(BlockActionType.BREAK, restrictedBlock);
+
+      // Then
+      verifyNoInteractions(tagRepository);
+      assertThat(isExploit).contains(false);
+    }
+  }
+
+  /** Published events don't give any completion signal, but are all handled before stopping. */
+  private void awaitPublishedEvents() {
+    tagTaskExecutor.stop();
+  }
 }
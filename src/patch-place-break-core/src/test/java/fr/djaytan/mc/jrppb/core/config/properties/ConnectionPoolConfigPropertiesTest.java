@@ -29,6 +29,7 @@ import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializer.ser
 import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializerAssertions.assertDeserializationFailure;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_CONNECTION_POOL_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_CONNECTION_TIMEOUT;
+import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_DRIVER_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_POOL_SIZE;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.randomInvalidConnectionTimeout;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,9 +46,12 @@ final class ConnectionPoolConfigPropertiesTest {
 
     @Test
     void withNominalValues() {
-      assertThat(new ConnectionPoolConfigProperties(NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE))
+      assertThat(
+              new ConnectionPoolConfigProperties(
+                  NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE, NOMINAL_DRIVER_PROPERTIES))
           .satisfies(v -> assertThat(v.connectionTimeout()).isEqualTo(NOMINAL_CONNECTION_TIMEOUT))
-          .satisfies(v -> assertThat(v.poolSize()).isEqualTo(NOMINAL_POOL_SIZE));
+          .satisfies(v -> assertThat(v.poolSize()).isEqualTo(NOMINAL_POOL_SIZE))
+          .satisfies(v -> assertThat(v.driverProperties()).isEqualTo(NOMINAL_DRIVER_PROPERTIES));
     }
 
     @Test
@@ -69,7 +73,8 @@ final class ConnectionPoolConfigPropertiesTest {
     @Test
     void fromDtoWithInvalidValue_shallFail() {
       var connectionPoolPropertiesDto =
-          new ConnectionPoolConfigProperties(randomInvalidConnectionTimeout(), NOMINAL_POOL_SIZE);
+          new ConnectionPoolConfigProperties(
+              randomInvalidConnectionTimeout(), NOMINAL_POOL_SIZE, NOMINAL_DRIVER_PROPERTIES);
 
       assertThatThrownBy(connectionPoolPropertiesDto::toModel)
           .isInstanceOf(IllegalArgumentException.class)
@@ -100,6 +105,24 @@ final class ConnectionPoolConfigPropertiesTest {
           .isEqualTo(NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES);
     }
 
+    @Test
+    void withMissingDriverProperties_shallFallBackToNone() throws ConfigSerializationException {
+      // Given
+      String serializedConnectionPoolConfigProperties =
+          """
+          connectionTimeout=20000
+          poolSize=20
+          """;
+
+      // When
+      ConnectionPoolConfigProperties connectionPoolConfigProperties =
+          deserialize(
+              serializedConnectionPoolConfigProperties, ConnectionPoolConfigProperties.class);
+
+      // Then
+      assertThat(connectionPoolConfigProperties.toModel().driverProperties()).isEmpty();
+    }
+
     @Nested
     class ShallFailWhenMissingProperty {
 
@@ -23,12 +23,14 @@
 package fr.djaytan.mc.jrppb.core.config.properties;
 
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_CONNECTION_TIMEOUT;
+import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_DRIVER_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_POOL_SIZE;
 
 public final class ConnectionPoolConfigPropertiesTestDataSet {
 
   public static final ConnectionPoolConfigProperties NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES =
-      new ConnectionPoolConfigProperties(NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE);
+      new ConnectionPoolConfigProperties(
+          NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE, NOMINAL_DRIVER_PROPERTIES);
 
   public static final String NOMINAL_SERIALIZED_CONNECTION_POOL_CONFIG_PROPERTIES =
       """
@@ -42,5 +44,11 @@ public final class ConnectionPoolConfigPropertiesTestDataSet {
       # Could be best determined by the executing environment
       # Accepted range values: [1-100]
       poolSize=20
+      # The properties passed as is to the JDBC driver when opening connections
+      # They take precedence over the ones set by default (e.g. cachePrepStmts for MySQL)
+      # Refer to the documentation of the driver for the available properties
+      driverProperties {
+          useCompression="true"
+      }
       """;
 }
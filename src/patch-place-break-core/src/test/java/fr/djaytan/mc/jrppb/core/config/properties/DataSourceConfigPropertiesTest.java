@@ -28,6 +28,8 @@ import static fr.djaytan.mc.jrppb.core.config.properties.DataSourceConfigPropert
 import static fr.djaytan.mc.jrppb.core.config.properties.DataSourceConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_DATA_SOURCE_CONFIG_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.config.properties.DbmsServerConfigPropertiesTestDataSet.NOMINAL_DBMS_SERVER_CONFIG_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.config.properties.DbmsServerConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_DBMS_SERVER_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.SqliteConfigPropertiesTestDataSet.NOMINAL_SQLITE_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.TagStorageConfigPropertiesTestDataSet.NOMINAL_TAG_STORAGE_CONFIG_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializer.deserialize;
 import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializer.serialize;
 import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializerAssertions.assertDeserializationFailure;
@@ -38,6 +40,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializationException;
+import fr.djaytan.mc.jrppb.core.storage.properties.SqliteProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.TagStorageProperties;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -53,7 +57,9 @@ final class DataSourceConfigPropertiesTest {
                   NOMINAL_DATA_SOURCE_TYPE,
                   NOMINAL_DATA_SOURCE_TABLE_NAME,
                   NOMINAL_DBMS_SERVER_CONFIG_PROPERTIES,
-                  NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES))
+                  NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES,
+                  NOMINAL_TAG_STORAGE_CONFIG_PROPERTIES,
+                  NOMINAL_SQLITE_CONFIG_PROPERTIES))
           .satisfies(v -> assertThat(v.type()).isEqualTo(NOMINAL_DATA_SOURCE_TYPE))
           .satisfies(v -> assertThat(v.table()).isEqualTo(NOMINAL_DATA_SOURCE_TABLE_NAME))
           .satisfies(
@@ -61,7 +67,10 @@ final class DataSourceConfigPropertiesTest {
           .satisfies(
               v ->
                   assertThat(v.connectionPool())
-                      .isEqualTo(NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES));
+                      .isEqualTo(NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES))
+          .satisfies(
+              v -> assertThat(v.tagStorage()).isEqualTo(NOMINAL_TAG_STORAGE_CONFIG_PROPERTIES))
+          .satisfies(v -> assertThat(v.sqlite()).isEqualTo(NOMINAL_SQLITE_CONFIG_PROPERTIES));
     }
 
     @Test
@@ -87,7 +96,9 @@ final class DataSourceConfigPropertiesTest {
               NOMINAL_DATA_SOURCE_TYPE,
               " ",
               NOMINAL_DBMS_SERVER_CONFIG_PROPERTIES,
-              NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES);
+              NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES,
+              NOMINAL_TAG_STORAGE_CONFIG_PROPERTIES,
+              NOMINAL_SQLITE_CONFIG_PROPERTIES);
 
       assertThatThrownBy(dataSourcePropertiesDto::toModel)
           .isExactlyInstanceOf(IllegalArgumentException.class)
@@ -118,6 +129,35 @@ final class DataSourceConfigPropertiesTest {
           .isEqualTo(NOMINAL_DATA_SOURCE_CONFIG_PROPERTIES);
     }
 
+    @Test
+    void withMissingOptionalSections_shallFallBackToDefaultValues()
+        throws ConfigSerializationException {
+      // Given
+      String serializedDataSourceConfigProperties =
+          """
+          type=MYSQL
+          table="nominal_table_name"
+          dbmsServer {
+              %s
+          }
+          connectionPool {
+              %s
+          }
+          """
+              .formatted(
+                  NOMINAL_SERIALIZED_DBMS_SERVER_CONFIG_PROPERTIES.indent(4).trim(),
+                  NOMINAL_SERIALIZED_CONNECTION_POOL_CONFIG_PROPERTIES.indent(4).trim());
+
+      // When
+      DataSourceConfigProperties dataSourceConfigProperties =
+          deserialize(serializedDataSourceConfigProperties, DataSourceConfigProperties.class);
+
+      // Then
+      assertThat(dataSourceConfigProperties.toModel())
+          .satisfies(v -> assertThat(v.tagStorage()).isEqualTo(TagStorageProperties.DEFAULT))
+          .satisfies(v -> assertThat(v.sqlite()).isEqualTo(SqliteProperties.DEFAULT));
+    }
+
     @Nested
     class ShallFailWhenMissingProperty {
 
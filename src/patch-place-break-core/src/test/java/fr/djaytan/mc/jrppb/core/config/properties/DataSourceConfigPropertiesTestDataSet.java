@@ -26,6 +26,10 @@ import static fr.djaytan.mc.jrppb.core.config.properties.ConnectionPoolConfigPro
 import static fr.djaytan.mc.jrppb.core.config.properties.ConnectionPoolConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_CONNECTION_POOL_CONFIG_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.config.properties.DbmsServerConfigPropertiesTestDataSet.NOMINAL_DBMS_SERVER_CONFIG_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.config.properties.DbmsServerConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_DBMS_SERVER_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.SqliteConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_SQLITE_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.SqliteConfigPropertiesTestDataSet.NOMINAL_SQLITE_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.TagStorageConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_TAG_STORAGE_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.TagStorageConfigPropertiesTestDataSet.NOMINAL_TAG_STORAGE_CONFIG_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.NOMINAL_DATA_SOURCE_TABLE_NAME;
 import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.NOMINAL_DATA_SOURCE_TYPE;
 
@@ -36,7 +40,9 @@ public final class DataSourceConfigPropertiesTestDataSet {
           NOMINAL_DATA_SOURCE_TYPE,
           NOMINAL_DATA_SOURCE_TABLE_NAME,
           NOMINAL_DBMS_SERVER_CONFIG_PROPERTIES,
-          NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES);
+          NOMINAL_CONNECTION_POOL_CONFIG_PROPERTIES,
+          NOMINAL_TAG_STORAGE_CONFIG_PROPERTIES,
+          NOMINAL_SQLITE_CONFIG_PROPERTIES);
 
   public static final String NOMINAL_SERIALIZED_DATA_SOURCE_CONFIG_PROPERTIES =
       """
@@ -59,8 +65,22 @@ public final class DataSourceConfigPropertiesTestDataSet {
       connectionPool {
           %s
       }
+      # Tag storage properties
+      # This is reserved for advanced usage only
+      # Default values are applied when this section is missing
+      tagStorage {
+          %s
+      }
+      # SQLite tuning properties
+      # Only applicable for SQLite
+      # Default values are applied when this section is missing
+      sqlite {
+          %s
+      }
       """
           .formatted(
               NOMINAL_SERIALIZED_DBMS_SERVER_CONFIG_PROPERTIES.indent(4).trim(),
-              NOMINAL_SERIALIZED_CONNECTION_POOL_CONFIG_PROPERTIES.indent(4).trim());
+              NOMINAL_SERIALIZED_CONNECTION_POOL_CONFIG_PROPERTIES.indent(4).trim(),
+              NOMINAL_SERIALIZED_TAG_STORAGE_CONFIG_PROPERTIES.indent(4).trim(),
+              NOMINAL_SERIALIZED_SQLITE_CONFIG_PROPERTIES.indent(4).trim());
 }
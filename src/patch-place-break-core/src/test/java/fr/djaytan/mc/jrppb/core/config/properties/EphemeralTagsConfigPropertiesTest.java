@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import static fr.djaytan.mc.jrppb.core.config.properties.EphemeralTagsConfigPropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.EphemeralTagsConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_EPHEMERAL_TAGS_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializer.deserialize;
+import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializer.serialize;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_PROPERTIES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializationException;
+import fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgeProperties;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+final class EphemeralTagsConfigPropertiesTest {
+
+  @Nested
+  class WhenInstantiating {
+
+    @Test
+    void fromNominalModel() {
+      assertThat(EphemeralTagsConfigProperties.fromModel(NOMINAL_EPHEMERAL_TAGS_PROPERTIES))
+          .isEqualTo(NOMINAL_EPHEMERAL_TAGS_CONFIG_PROPERTIES);
+    }
+  }
+
+  @Nested
+  class WhenConvertingToModel {
+
+    @Test
+    void nominalCase() {
+      assertThat(NOMINAL_EPHEMERAL_TAGS_CONFIG_PROPERTIES.toModel())
+          .isEqualTo(NOMINAL_EPHEMERAL_TAGS_PROPERTIES);
+    }
+  }
+
+  @Nested
+  class WhenSerializing {
+
+    @Test
+    void nominalCase() throws ConfigSerializationException {
+      assertThat(serialize(NOMINAL_EPHEMERAL_TAGS_CONFIG_PROPERTIES))
+          .endsWith(NOMINAL_SERIALIZED_EPHEMERAL_TAGS_CONFIG_PROPERTIES);
+    }
+  }
+
+  @Nested
+  class WhenDeserializing {
+
+    @Test
+    void nominalCase() throws ConfigSerializationException {
+      assertThat(
+              deserialize(
+                  NOMINAL_SERIALIZED_EPHEMERAL_TAGS_CONFIG_PROPERTIES,
+                  EphemeralTagsConfigProperties.class))
+          .isEqualTo(NOMINAL_EPHEMERAL_TAGS_CONFIG_PROPERTIES);
+    }
+
+    @Test
+    void withMissingPurge_shallFallBackToDefaultValues() throws ConfigSerializationException {
+      assertThat(deserialize("inMemory=true", EphemeralTagsConfigProperties.class).toModel())
+          .isEqualTo(new EphemeralTagsProperties(true, EphemeralTagsPurgeProperties.DEFAULT));
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import static fr.djaytan.mc.jrppb.core.config.properties.EphemeralTagsPurgeConfigPropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_PURGE_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.EphemeralTagsPurgeConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_EPHEMERAL_TAGS_PURGE_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_IN_MEMORY;
+
+public final class EphemeralTagsConfigPropertiesTestDataSet {
+
+  public static final EphemeralTagsConfigProperties NOMINAL_EPHEMERAL_TAGS_CONFIG_PROPERTIES =
+      new EphemeralTagsConfigProperties(
+          NOMINAL_EPHEMERAL_TAGS_IN_MEMORY, NOMINAL_EPHEMERAL_TAGS_PURGE_CONFIG_PROPERTIES);
+
+  public static final String NOMINAL_SERIALIZED_EPHEMERAL_TAGS_CONFIG_PROPERTIES =
+      """
+      # Whether ephemeral tags (put when a block is broken) are kept in memory only
+      # They expire after a few seconds, so storing them in the database is rarely worth it
+      # Ephemeral tags are lost on restart when enabled
+      inMemory=true
+      # Periodic deletion of the expired ephemeral tags stored in the database
+      purge {
+          %s
+      }
+      """
+          .formatted(NOMINAL_SERIALIZED_EPHEMERAL_TAGS_PURGE_CONFIG_PROPERTIES.indent(4).trim());
+}
@@ -0,0 +1,46 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgePropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_PURGE_BATCH_SIZE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgePropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_PURGE_INTERVAL;
+
+public final class EphemeralTagsPurgeConfigPropertiesTestDataSet {
+
+  public static final EphemeralTagsPurgeConfigProperties
+      NOMINAL_EPHEMERAL_TAGS_PURGE_CONFIG_PROPERTIES =
+          new EphemeralTagsPurgeConfigProperties(
+              NOMINAL_EPHEMERAL_TAGS_PURGE_BATCH_SIZE, NOMINAL_EPHEMERAL_TAGS_PURGE_INTERVAL);
+
+  public static final String NOMINAL_SERIALIZED_EPHEMERAL_TAGS_PURGE_CONFIG_PROPERTIES =
+      """
+      # The maximum number of expired ephemeral tags deleted at once
+      # Smaller batches hold database locks for a shorter time
+      # Accepted range values: [1-100000]
+      batchSize=500
+      # The interval between two purges of expired ephemeral tags (in seconds)
+      # The value 0 disables the purge
+      # Accepted range values: [0-86400]
+      interval=600
+      """;
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_BUSY_TIMEOUT;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_CACHE_SIZE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_JOURNAL_MODE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_MMAP_SIZE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_SYNCHRONOUS_MODE;
+
+public final class SqliteConfigPropertiesTestDataSet {
+
+  public static final SqliteConfigProperties NOMINAL_SQLITE_CONFIG_PROPERTIES =
+      new SqliteConfigProperties(
+          NOMINAL_SQLITE_JOURNAL_MODE,
+          NOMINAL_SQLITE_SYNCHRONOUS_MODE,
+          NOMINAL_SQLITE_MMAP_SIZE,
+          NOMINAL_SQLITE_CACHE_SIZE,
+          NOMINAL_SQLITE_BUSY_TIMEOUT);
+
+  public static final String NOMINAL_SERIALIZED_SQLITE_CONFIG_PROPERTIES =
+      """
+      # The journal mode of the database
+      # Available modes: DELETE, TRUNCATE, PERSIST, WAL
+      # WAL lets reads proceed while writing and requires fewer disk syncs
+      journalMode=TRUNCATE
+      # How often the database syncs its content to the disk
+      # Available modes: OFF, NORMAL, FULL, EXTRA
+      # With WAL, NORMAL can't corrupt the database but may lose the last tags on power loss
+      synchronousMode=FULL
+      # The maximum size of the database file mapped into memory (in MiB)
+      # The value 0 disables memory-mapped I/O
+      # Accepted range values: [0-4096]
+      mmapSize=128
+      # The maximum size of the page cache of each pooled connection (in MiB)
+      # Accepted range values: [1-1024]
+      cacheSize=16
+      # The maximum time to wait for a lock held by another connection (in milliseconds)
+      # Accepted range values: [0-600000]
+      busyTimeout=10000
+      """;
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import static fr.djaytan.mc.jrppb.core.config.properties.EphemeralTagsConfigPropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.EphemeralTagsConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_EPHEMERAL_TAGS_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.TagCacheConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_TAG_CACHE_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.TagCacheConfigPropertiesTestDataSet.NOMINAL_TAG_CACHE_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.TaskExecutorConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_TASK_EXECUTOR_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.TaskExecutorConfigPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.WriteBehindConfigPropertiesTestDataSet.NOMINAL_SERIALIZED_WRITE_BEHIND_CONFIG_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.config.properties.WriteBehindConfigPropertiesTestDataSet.NOMINAL_WRITE_BEHIND_CONFIG_PROPERTIES;
+
+public final class TagStorageConfigPropertiesTestDataSet {
+
+  public static final TagStorageConfigProperties NOMINAL_TAG_STORAGE_CONFIG_PROPERTIES =
+      new TagStorageConfigProperties(
+          NOMINAL_TAG_CACHE_CONFIG_PROPERTIES,
+          NOMINAL_EPHEMERAL_TAGS_CONFIG_PROPERTIES,
+          NOMINAL_WRITE_BEHIND_CONFIG_PROPERTIES,
+          NOMINAL_TASK_EXECUTOR_CONFIG_PROPERTIES);
+
+  public static final String NOMINAL_SERIALIZED_TAG_STORAGE_CONFIG_PROPERTIES =
+      """
+      # In-memory cache of tags in front of the database
+      cache {
+          %s
+      }
+      # Handling of ephemeral tags
+      ephemeralTags {
+          %s
+      }
+      # Batching of tag mutations before writing them to the database
+      # Pending mutations are lost if the server crashes before they are written
+      writeBehind {
+          %s
+      }
+      # Background execution of the tag operations triggered by the server (e.g. block placements)
+      # Metrics are exposed through JMX (fr.djaytan.mc.jrppb:type=TagTaskExecutor)
+      taskExecutor {
+          %s
+      }
+      """
+          .formatted(
+              NOMINAL_SERIALIZED_TAG_CACHE_CONFIG_PROPERTIES.indent(4).trim(),
+              NOMINAL_SERIALIZED_EPHEMERAL_TAGS_CONFIG_PROPERTIES.indent(4).trim(),
+              NOMINAL_SERIALIZED_WRITE_BEHIND_CONFIG_PROPERTIES.indent(4).trim(),
+              NOMINAL_SERIALIZED_TASK_EXECUTOR_CONFIG_PROPERTIES.indent(4).trim());
+}
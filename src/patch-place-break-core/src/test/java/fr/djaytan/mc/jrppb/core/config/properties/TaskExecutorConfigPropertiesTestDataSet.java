@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_SATURATION_POLICY;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_THREADS;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS;
+
+public final class TaskExecutorConfigPropertiesTestDataSet {
+
+  public static final TaskExecutorConfigProperties NOMINAL_TASK_EXECUTOR_CONFIG_PROPERTIES =
+      new TaskExecutorConfigProperties(
+          NOMINAL_TASK_EXECUTOR_THREADS,
+          NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY,
+          NOMINAL_TASK_EXECUTOR_SATURATION_POLICY,
+          NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS);
+
+  public static final String NOMINAL_SERIALIZED_TASK_EXECUTOR_CONFIG_PROPERTIES =
+      """
+      # The number of threads running the tag operations
+      # Accepted range values: [1-64]
+      threads=4
+      # The maximum number of tag operations waiting to be run
+      # Accepted range values: [1-1000000]
+      queueCapacity=5000
+      # The behavior to adopt when a tag operation is submitted while the queue is full
+      # Available policies:
+      # * CALLER_RUNS: the operation is run by the server thread submitting it
+      # * DROP_OLDEST_EPHEMERAL: the oldest queued ephemeral tag is dropped (caller runs otherwise)
+      # * BLOCK: the server thread waits until room is made in the queue (not recommended)
+      saturationPolicy="DROP_OLDEST_EPHEMERAL"
+      # Whether the threads running the tag operations are virtual ones (Java 21+ only)
+      # This only switches the kind of the threads: there are still as many of them as configured
+      # and each one still runs its queued operations one after the other
+      # Not recommended with SQLite, whose driver pins the virtual threads while querying
+      # Platform threads are used on older Java versions whatever this value
+      virtualThreads=false
+      """;
+}
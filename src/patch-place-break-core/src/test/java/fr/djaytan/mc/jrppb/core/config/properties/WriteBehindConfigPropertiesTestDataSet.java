@@ -0,0 +1,45 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.config.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.NOMINAL_WRITE_BEHIND_FLUSH_INTERVAL;
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.NOMINAL_WRITE_BEHIND_MAXIMUM_BATCH_SIZE;
+
+public final class WriteBehindConfigPropertiesTestDataSet {
+
+  public static final WriteBehindConfigProperties NOMINAL_WRITE_BEHIND_CONFIG_PROPERTIES =
+      new WriteBehindConfigProperties(
+          NOMINAL_WRITE_BEHIND_FLUSH_INTERVAL, NOMINAL_WRITE_BEHIND_MAXIMUM_BATCH_SIZE);
+
+  public static final String NOMINAL_SERIALIZED_WRITE_BEHIND_CONFIG_PROPERTIES =
+      """
+      # The maximum time a tag mutation is kept pending before being written (in milliseconds)
+      # Accepted range values: [1-60000]
+      flushInterval=250
+      # The number of pending tag mutations triggering a write
+      # All the pending mutations are written within a single transaction
+      # The value 1 writes each mutation immediately
+      # Accepted range values: [1-100000]
+      maximumBatchSize=2000
+      """;
+}
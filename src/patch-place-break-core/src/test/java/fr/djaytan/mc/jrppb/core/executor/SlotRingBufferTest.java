@@ -0,0 +1,194 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+final class SlotRingBufferTest {
+
+  @ParameterizedTest
+  @CsvSource({"1,1", "5,8", "8,8", "10001,16384"})
+  void whenCreating_shallRoundCapacityUpToPowerOfTwo(int minimumCapacity, int expectedCapacity) {
+    // When
+    SlotRingBuffer<Slot> ringBuffer = new SlotRingBuffer<>(minimumCapacity, Slot::new);
+
+    // Then
+    assertThat(ringBuffer.capacity()).isEqualTo(expectedCapacity);
+  }
+
+  @Nested
+  class WhenConsuming {
+
+    private final SlotRingBuffer<Slot> ringBuffer = new SlotRingBuffer<>(4, Slot::new);
+
+    @Test
+    void withoutPublishedSlot_shallFindNothing() {
+      // Given
+      ringBuffer.tryClaim();
+
+      // When
+      Slot slot = ringBuffer.peek();
+
+      // Then
+      assertThat(slot).isNull();
+    }
+
+    @Test
+    void withPublishedSlots_shallFindThemInClaimOrderAcrossLaps() {
+      // Given
+      List<Integer> consumedValues = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 10; i++) {
+        publish(ringBuffer, 0, i);
+        consumedValues.add(ringBuffer.peek().value);
+        ringBuffer.release();
+      }
+
+      // Then
+      assertThat(consumedValues).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+      assertThat(ringBuffer.peek()).isNull();
+    }
+  }
+
+  @Nested
+  class WhenClaiming {
+
+    private final SlotRingBuffer<Slot> ringBuffer = new SlotRingBuffer<>(2, Slot::new);
+
+    @Test
+    void whileFull_shallRefuseClaim() {
+      // Given
+      publish(ringBuffer, 0, 0);
+      publish(ringBuffer, 0, 1);
+
+      // When
+      long position = ringBuffer.tryClaim();
+
+      // Then
+      assertThat(position).isEqualTo(-1);
+    }
+
+    @Test
+    void onceSlotReleased_shallAcceptClaim() {
+      // Given
+      publish(ringBuffer, 0, 0);
+      publish(ringBuffer, 0, 1);
+      ringBuffer.peek();
+      ringBuffer.release();
+
+      // When
+      long position = ringBuffer.tryClaim();
+
+      // Then
+      assertThat(position).isEqualTo(2);
+    }
+
+    @Test
+    @Timeout(10)
+    void fromConcurrentProducers_shallHandOverEachSlotOnceInPerProducerOrder()
+        throws InterruptedException {
+      // Given
+      int producersCount = 4;
+      int valuesCount = 10000;
+      SlotRingBuffer<Slot> sharedRingBuffer = new SlotRingBuffer<>(64, Slot::new);
+      List<Thread> producers = new ArrayList<>();
+
+      for (int producer = 0; producer < producersCount; producer++) {
+        int producerIndex = producer;
+        producers.add(
+            new Thread(
+                () -> {
+                  for (int i = 0; i < valuesCount; i++) {
+                    while (!tryPublish(sharedRingBuffer, producerIndex, i)) {
+                      Thread.yield();
+                    }
+                  }
+                }));
+      }
+
+      // When
+      producers.forEach(Thread::start);
+      int[] lastValues = new int[producersCount];
+      Arrays.fill(lastValues, -1);
+      boolean isOrdered = true;
+
+      for (int consumed = 0; consumed < producersCount * valuesCount; ) {
+        Slot slot = sharedRingBuffer.peek();
+
+        if (slot == null) {
+          Thread.yield();
+          continue;
+        }
+
+        isOrdered &= slot.value == lastValues[slot.producer] + 1;
+        lastValues[slot.producer] = slot.value;
+        sharedRingBuffer.release();
+        consumed++;
+      }
+
+      for (Thread producer : producers) {
+        producer.join();
+      }
+
+      // Then
+      assertThat(isOrdered).isTrue();
+      assertThat(lastValues).containsOnly(valuesCount - 1);
+      assertThat(sharedRingBuffer.peek()).isNull();
+    }
+  }
+
+  private static void publish(@NotNull SlotRingBuffer<Slot> ringBuffer, int producer, int value) {
+    assertThat(tryPublish(ringBuffer, producer, value)).isTrue();
+  }
+
+  private static boolean tryPublish(
+      @NotNull SlotRingBuffer<Slot> ringBuffer, int producer, int value) {
+    long position = ringBuffer.tryClaim();
+
+    if (position < 0) {
+      return false;
+    }
+
+    Slot slot = ringBuffer.slotAt(position);
+    slot.producer = producer;
+    slot.value = value;
+    ringBuffer.publish(position);
+    return true;
+  }
+
+  private static final class Slot {
+    private int producer;
+    private int value;
+  }
+}
@@ -0,0 +1,598 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import fr.djaytan.mc.jrppb.api.entities.Block;
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.core.storage.properties.SaturationPolicy;
+import fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorProperties;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(10)
+final class TagTaskExecutorTest {
+
+  private static final ChunkLocation CHUNK_LOCATION = new ChunkLocation("world", 1, 2);
+  private static final ChunkLocation OTHER_CHUNK_LOCATION = new ChunkLocation("world", 3, 4);
+  private static final BlockLocation BLOCK_LOCATION = new BlockLocation("world", 17, 64, 33);
+
+  private final CountDownLatch startLatch = new CountDownLatch(1);
+  private final CountDownLatch releaseLatch = new CountDownLatch(1);
+  private TagTaskExecutor tagTaskExecutor;
+
+  @AfterEach
+  void tearDown() {
+    releaseLatch.countDown();
+    tagTaskExecutor.stop();
+  }
+
+  @Nested
+  class WhenSubmitting {
+
+    @BeforeEach
+    void setUp() {
+      tagTaskExecutor = new TagTaskExecutor(TaskExecutorProperties.DEFAULT);
+    }
+
+    @Test
+    void shallRunTaskOnDedicatedThread() {
+      // Given
+      AtomicReference<String> threadName = new AtomicReference<>();
+
+      // When
+      tagTaskExecutor
+          .submit(CHUNK_LOCATION, false, () -> threadName.set(Thread.currentThread().getName()))
+          .join();
+
+      // Then
+      assertThat(threadName.get()).startsWith("jrppb-tag-lane-");
+    }
+
+    @Test
+    void withFailingTask_shallCompleteFutureExceptionally() {
+      // When
+      CompletableFuture<Void> future =
+          tagTaskExecutor.submit(
+              CHUNK_LOCATION,
+              false,
+              () -> {
+                throw new IllegalStateException();
+              });
+
+      // Then
+      assertThatThrownBy(future::join)
+          .isExactlyInstanceOf(CompletionException.class)
+          .hasCauseExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void withBestEffortTask_shallRunItOnDedicatedThread() {
+      // Given
+      AtomicReference<String> threadName = new AtomicReference<>();
+
+      // When
+      tagTaskExecutor
+          .trySubmit(CHUNK_LOCATION, () -> threadName.set(Thread.currentThread().getName()))
+          .join();
+
+      // Then
+      assertThat(threadName.get()).startsWith("jrppb-tag-lane-");
+    }
+
+    @Test
+    void withResultComputingTask_shallCompleteFutureWithResult() {
+      // When
+      CompletableFuture<String> future =
+          tagTaskExecutor.submit(CHUNK_LOCATION, () -> Thread.currentThread().getName());
+
+      // Then
+      assertThat(future.join()).startsWith("jrppb-tag-lane-");
+    }
+
+    @Test
+    void shallRecordTaskLatency() {
+      // When
+      tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {}).join();
+      tagTaskExecutor.submit(CHUNK_LOCATION, true, () -> {}).join();
+
+      // Then
+      assertThat(tagTaskExecutor.getCompletedTasksCount()).isEqualTo(2);
+      assertThat(tagTaskExecutor.getMaximumTaskLatency()).isPositive();
+      assertThat(tagTaskExecutor.getAverageTaskLatency())
+          .isPositive()
+          .isLessThanOrEqualTo(tagTaskExecutor.getMaximumTaskLatency());
+    }
+  }
+
+  @Nested
+  class WhenCreating {
+
+    @Test
+    void withVirtualThreads_shallUseThemOnlyOnSupportingRuntimes() {
+      // Given
+      boolean isRuntimeSupportingVirtualThreads = Runtime.version().feature() >= 21;
+      AtomicReference<String> threadName = new AtomicReference<>();
+
+      // When
+      tagTaskExecutor =
+          new TagTaskExecutor(new TaskExecutorProperties(1, 10, SaturationPolicy.BLOCK, true));
+
+      // Then
+      assertThat(tagTaskExecutor.isRunningOnVirtualThreads())
+          .isEqualTo(isRuntimeSupportingVirtualThreads);
+
+      tagTaskExecutor
+          .submit(CHUNK_LOCATION, false, () -> threadName.set(Thread.currentThread().getName()))
+          .join();
+      assertThat(threadName.get()).startsWith("jrppb-tag-lane-");
+    }
+
+    @Test
+    void withVirtualThreads_shallKeepConfiguredThreadsCount() {
+      // Given
+      Set<String> threadNames = ConcurrentHashMap.newKeySet();
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+      // When
+      tagTaskExecutor =
+          new TagTaskExecutor(new TaskExecutorProperties(2, 100, SaturationPolicy.BLOCK, true));
+
+      for (int i = 0; i < 64; i++) {
+        futures.add(
+            tagTaskExecutor.submit(
+                new ChunkLocation("world", i, -i),
+                false,
+                () -> threadNames.add(Thread.currentThread().getName())));
+      }
+
+      // Then
+      futures.forEach(CompletableFuture::join);
+      assertThat(threadNames).isSubsetOf("jrppb-tag-lane-1", "jrppb-tag-lane-2");
+    }
+
+    @Test
+    void withPlatformThreads_shallNotUseVirtualOnes() {
+      // When
+      tagTaskExecutor =
+          new TagTaskExecutor(new TaskExecutorProperties(1, 10, SaturationPolicy.BLOCK, false));
+
+      // Then
+      assertThat(tagTaskExecutor.isRunningOnVirtualThreads()).isFalse();
+    }
+  }
+
+  @Nested
+  class WhenOrdering {
+
+    @BeforeEach
+    void setUp() {
+      tagTaskExecutor =
+          new TagTaskExecutor(new TaskExecutorProperties(8, 10000, SaturationPolicy.BLOCK, false));
+    }
+
+    @Test
+    void withTasksInvolvingSameChunk_shallRunThemInSubmissionOrder() {
+      // Given
+      List<Integer> runTasks = Collections.synchronizedList(new ArrayList<>());
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 1000; i++) {
+        int taskIndex = i;
+        futures.add(tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> runTasks.add(taskIndex)));
+      }
+
+      // Then
+      futures.forEach(CompletableFuture::join);
+      assertThat(runTasks).isSorted().hasSize(1000);
+    }
+
+    @Test
+    void withTaskInvolvingSeveralChunks_shallRunItBetweenPreviousAndNextTasksOfThem() {
+      // Given
+      List<String> runTasks = Collections.synchronizedList(new ArrayList<>());
+      CompletableFuture<Void> firstTask =
+          tagTaskExecutor.submit(
+              CHUNK_LOCATION,
+              false,
+              () -> {
+                awaitRelease();
+                runTasks.add("first");
+              });
+
+      // When
+      CompletableFuture<Void> spanningTask =
+          tagTaskExecutor.submit(
+              Set.of(CHUNK_LOCATION, OTHER_CHUNK_LOCATION), false, () -> runTasks.add("spanning"));
+      CompletableFuture<Void> lastTask =
+          tagTaskExecutor.submit(OTHER_CHUNK_LOCATION, false, () -> runTasks.add("last"));
+
+      // Then
+      assertThat(spanningTask).isNotDone();
+      assertThat(lastTask).isNotDone();
+
+      releaseLatch.countDown();
+      CompletableFuture.allOf(firstTask, spanningTask, lastTask).join();
+      assertThat(runTasks).containsExactly("first", "spanning", "last");
+    }
+  }
+
+  @Nested
+  class WhenPublishing {
+
+    @BeforeEach
+    void setUp() {
+      tagTaskExecutor =
+          new TagTaskExecutor(new TaskExecutorProperties(8, 10000, SaturationPolicy.BLOCK, false));
+    }
+
+    @Test
+    void shallHandleEventOnDedicatedThread() {
+      // Given
+      AtomicReference<String> threadName = new AtomicReference<>();
+      AtomicReference<Block> handledBlock = new AtomicReference<>();
+      TagEventHandler tagEventHandler =
+          (tagEventType, block, isEphemeral) -> {
+            threadName.set(Thread.currentThread().getName());
+            handledBlock.set(block);
+          };
+
+      // When
+      publishPut(tagEventHandler, BLOCK_LOCATION);
+      tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {}).join();
+
+      // Then
+      assertThat(threadName.get()).startsWith("jrppb-tag-lane-");
+      assertThat(handledBlock.get()).isEqualTo(new Block(BLOCK_LOCATION, "STONE"));
+    }
+
+    @Test
+    void withEventsAndTasksInvolvingSameChunk_shallRunThemInPublicationOrder() {
+      // Given
+      List<Integer> runTasks = Collections.synchronizedList(new ArrayList<>());
+      TagEventHandler tagEventHandler =
+          (tagEventType, block, isEphemeral) -> runTasks.add(block.blockLocation().y());
+
+      // When
+      for (int i = 0; i < 1000; i += 2) {
+        int taskIndex = i + 1;
+        publishPut(tagEventHandler, new BlockLocation("world", 17, i, 33));
+        tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> runTasks.add(taskIndex));
+      }
+
+      // Then
+      tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {}).join();
+
+      assertThat(runTasks).hasSize(1000).isSorted();
+    }
+
+    @Test
+    void withFailingHandler_shallKeepRunningNextTasks() {
+      // Given
+      TagEventHandler tagEventHandler =
+          (tagEventType, block, isEphemeral) -> {
+            throw new IllegalStateException();
+          };
+
+      // When
+      publishPut(tagEventHandler, BLOCK_LOCATION);
+
+      // Then
+      CompletableFuture<Void> future = tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {});
+
+      assertThat(future.join()).isNull();
+      assertThat(tagTaskExecutor.getCompletedTasksCount()).isEqualTo(2);
+    }
+
+    @Test
+    void afterStop_shallIgnoreEvent() {
+      // Given
+      List<Block> handledBlocks = Collections.synchronizedList(new ArrayList<>());
+      tagTaskExecutor.stop();
+
+      // When
+      publishPut((tagEventType, block, isEphemeral) -> handledBlocks.add(block), BLOCK_LOCATION);
+
+      // Then
+      assertThat(handledBlocks).isEmpty();
+      assertThat(tagTaskExecutor.getQueueDepth()).isZero();
+    }
+  }
+
+  @Nested
+  class WhenSaturated {
+
+    private CompletableFuture<Void> queuedTask;
+
+    @Test
+    void withCallerRunsPolicy_shallRunTaskInSubmittingThread() {
+      // Given
+      saturate(SaturationPolicy.CALLER_RUNS, false);
+      AtomicReference<Thread> thread = new AtomicReference<>();
+
+      // When
+      CompletableFuture<Void> future =
+          tagTaskExecutor.submit(CHUNK_LOCATION, true, () -> thread.set(Thread.currentThread()));
+
+      // Then
+      assertThat(future).isCompleted();
+      assertThat(thread.get()).isSameAs(Thread.currentThread());
+      assertThat(tagTaskExecutor.getCallerRunTasksCount()).isEqualTo(1);
+    }
+
+    @Test
+    void withBestEffortTask_shallDropItWhateverThePolicy() {
+      // Given
+      saturate(SaturationPolicy.CALLER_RUNS, false);
+      AtomicReference<Thread> thread = new AtomicReference<>();
+
+      // When
+      CompletableFuture<Void> future =
+          tagTaskExecutor.trySubmit(CHUNK_LOCATION, () -> thread.set(Thread.currentThread()));
+
+      // Then
+      assertThatThrownBy(future::join).hasCauseExactlyInstanceOf(RejectedExecutionException.class);
+      assertThat(thread.get()).isNull();
+      assertThat(tagTaskExecutor.getDroppedTasksCount()).isEqualTo(1);
+      assertThat(tagTaskExecutor.getCallerRunTasksCount()).isZero();
+    }
+
+    @Test
+    void withResultTask_shallRejectItWhateverThePolicy() {
+      // Given
+      saturate(SaturationPolicy.CALLER_RUNS, false);
+      AtomicReference<Thread> thread = new AtomicReference<>();
+
+      // When
+      CompletableFuture<Thread> future =
+          tagTaskExecutor.submit(
+              CHUNK_LOCATION,
+              () -> {
+                thread.set(Thread.currentThread());
+                return Thread.currentThread();
+              });
+
+      // Then
+      assertThatThrownBy(future::join).hasCauseExactlyInstanceOf(RejectedExecutionException.class);
+      assertThat(thread.get()).isNull();
+      assertThat(tagTaskExecutor.getCallerRunTasksCount()).isZero();
+    }
+
+    @Test
+    void withDropOldestEphemeralPolicy_shallDropOldestQueuedEphemeralTask() {
+      // Given
+      saturate(SaturationPolicy.DROP_OLDEST_EPHEMERAL, true);
+
+      // When
+      CompletableFuture<Void> future = tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {});
+
+      // Then
+      assertThatThrownBy(queuedTask::join)
+          .hasCauseExactlyInstanceOf(RejectedExecutionException.class);
+      assertThat(tagTaskExecutor.getDroppedTasksCount()).isEqualTo(1);
+      assertThat(tagTaskExecutor.getQueueDepth()).isEqualTo(1);
+
+      releaseLatch.countDown();
+      future.join();
+    }
+
+    @Test
+    void withDropOldestEphemeralPolicy_andNoQueuedEphemeralTask_shallDropSubmittedEphemeralTask() {
+      // Given
+      saturate(SaturationPolicy.DROP_OLDEST_EPHEMERAL, false);
+
+      // When
+      CompletableFuture<Void> future = tagTaskExecutor.submit(CHUNK_LOCATION, true, () -> {});
+
+      // Then
+      assertThatThrownBy(future::join).hasCauseExactlyInstanceOf(RejectedExecutionException.class);
+      assertThat(tagTaskExecutor.getDroppedTasksCount()).isEqualTo(1);
+      assertThat(queuedTask).isNotDone();
+    }
+
+    @Test
+    void withDropOldestEphemeralPolicy_andNoEphemeralTask_shallRunTaskInSubmittingThread() {
+      // Given
+      saturate(SaturationPolicy.DROP_OLDEST_EPHEMERAL, false);
+
+      // When
+      CompletableFuture<Void> future = tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {});
+
+      // Then
+      assertThat(future).isCompleted();
+      assertThat(tagTaskExecutor.getCallerRunTasksCount()).isEqualTo(1);
+      assertThat(tagTaskExecutor.getDroppedTasksCount()).isZero();
+    }
+
+    @Test
+    void withDropOldestEphemeralPolicy_andNoQueuedEphemeralTask_shallDropPublishedEphemeralPut() {
+      // Given
+      saturate(SaturationPolicy.DROP_OLDEST_EPHEMERAL, false);
+      List<Block> handledBlocks = Collections.synchronizedList(new ArrayList<>());
+
+      // When
+      publishPut((tagEventType, block, isEphemeral) -> handledBlocks.add(block), BLOCK_LOCATION);
+
+      // Then
+      assertThat(tagTaskExecutor.getDroppedTasksCount()).isEqualTo(1);
+
+      releaseLatch.countDown();
+      queuedTask.join();
+      tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {}).join();
+      assertThat(handledBlocks).isEmpty();
+    }
+
+    @Test
+    void withBlockPolicy_shallWaitForRoomInQueue() throws InterruptedException {
+      // Given
+      saturate(SaturationPolicy.BLOCK, false);
+      AtomicReference<CompletableFuture<Void>> future = new AtomicReference<>();
+      Thread submittingThread =
+          new Thread(() -> future.set(tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {})));
+
+      // When
+      submittingThread.start();
+
+      // Then
+      while (submittingThread.getState() != Thread.State.WAITING) {
+        Thread.onSpinWait();
+      }
+
+      assertThat(future.get()).isNull();
+
+      releaseLatch.countDown();
+      submittingThread.join();
+      future.get().join();
+      assertThat(tagTaskExecutor.getCallerRunTasksCount()).isZero();
+    }
+
+    /** Occupies the single thread of the executor and fills its queue with a single task. */
+    private void saturate(
+        @NotNull SaturationPolicy saturationPolicy, boolean isQueuedTaskDroppable) {
+      tagTaskExecutor =
+          new TagTaskExecutor(new TaskExecutorProperties(1, 1, saturationPolicy, false));
+      tagTaskExecutor.submit(
+          CHUNK_LOCATION,
+          false,
+          () -> {
+            startLatch.countDown();
+            awaitRelease();
+          });
+      awaitStart();
+      queuedTask = tagTaskExecutor.submit(CHUNK_LOCATION, isQueuedTaskDroppable, () -> {});
+      assertThat(tagTaskExecutor.getQueueDepth()).isEqualTo(1);
+
+      // Queued tasks can only be dropped once dispatched to their lane
+      while (tagTaskExecutor.getIngestedTasksCount() < 2) {
+        Thread.yield();
+      }
+    }
+  }
+
+  @Nested
+  class WhenStarting {
+
+    @BeforeEach
+    void setUp() {
+      tagTaskExecutor = new TagTaskExecutor(TaskExecutorProperties.DEFAULT);
+    }
+
+    @Test
+    void shallExposeMetricsThroughJmx() throws Exception {
+      // Given
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(TagTaskExecutor.OBJECT_NAME);
+
+      // When
+      tagTaskExecutor.start();
+
+      // Then
+      assertThat(mBeanServer.getAttribute(objectName, "QueueCapacity"))
+          .isEqualTo(TaskExecutorProperties.DEFAULT.queueCapacity());
+
+      tagTaskExecutor.stop();
+      assertThat(mBeanServer.isRegistered(objectName)).isFalse();
+    }
+  }
+
+  @Nested
+  class WhenStopping {
+
+    @Test
+    void shallRunAlreadySubmittedTasks() {
+      // Given
+      tagTaskExecutor =
+          new TagTaskExecutor(new TaskExecutorProperties(1, 10, SaturationPolicy.BLOCK, false));
+      CompletableFuture<Void> future = tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {});
+
+      // When
+      tagTaskExecutor.stop();
+
+      // Then
+      assertThat(future).isCompleted();
+    }
+
+    @Test
+    void shallRejectNewTasks() {
+      // Given
+      tagTaskExecutor = new TagTaskExecutor(TaskExecutorProperties.DEFAULT);
+      tagTaskExecutor.stop();
+
+      // When
+      CompletableFuture<Void> future = tagTaskExecutor.submit(CHUNK_LOCATION, false, () -> {});
+
+      // Then
+      assertThatThrownBy(future::join).hasCauseExactlyInstanceOf(RejectedExecutionException.class);
+    }
+  }
+
+  private void publishPut(
+      @NotNull TagEventHandler tagEventHandler, @NotNull BlockLocation blockLocation) {
+    tagTaskExecutor.publish(
+        tagEventHandler,
+        TagEventType.PUT,
+        blockLocation.worldName(),
+        blockLocation.x(),
+        blockLocation.y(),
+        blockLocation.z(),
+        "STONE",
+        true);
+  }
+
+  private void awaitStart() {
+    try {
+      startLatch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void awaitRelease() {
+    try {
+      releaseLatch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,315 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
+import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class CachedTagRepositoryTest {
+
+  private static final BlockLocation BLOCK_LOCATION = new BlockLocation("world", 1, 2, 3);
+  private static final BlockLocation OTHER_BLOCK_LOCATION = new BlockLocation("world", 4, 5, 6);
+  private static final Tag TAG = new Tag(BLOCK_LOCATION, false, LocalDateTime.now());
+
+  @Mock private TagRepository delegate;
+  private CachedTagRepository cachedTagRepository;
+
+  @BeforeEach
+  void setUp() {
+    cachedTagRepository = new CachedTagRepository(delegate, 100);
+  }
+
+  @Nested
+  class WhenFindingByLocation {
+
+    @Test
+    void withExistingTag_shallQueryDelegateOnlyOnce() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.of(TAG));
+
+      // When
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+      Optional<Tag> tag = cachedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(TAG);
+      verify(delegate).findByLocation(BLOCK_LOCATION);
+    }
+
+    @Test
+    void withMissingTag_shallCacheNegativeEntry() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+
+      // When
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+      Optional<Tag> tag = cachedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).isEmpty();
+      verify(delegate).findByLocation(BLOCK_LOCATION);
+    }
+
+    @Test
+    void whenMaximumSizeIsExceeded_shallEvictLeastRecentlyUsedEntry() {
+      // Given
+      cachedTagRepository = new CachedTagRepository(delegate, 1);
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.of(TAG));
+      given(delegate.findByLocation(OTHER_BLOCK_LOCATION)).willReturn(Optional.empty());
+
+      // When
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+      cachedTagRepository.findByLocation(OTHER_BLOCK_LOCATION);
+      Optional<Tag> tag = cachedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(TAG);
+      verify(delegate, times(2)).findByLocation(BLOCK_LOCATION);
+    }
+  }
+
+  @Nested
+  class WhenFindingByLocations {
+
+    @Test
+    void withPartiallyCachedEntries_shallOnlyQueryDelegateForMisses() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.of(TAG));
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+      given(delegate.findByLocations(Set.of(OTHER_BLOCK_LOCATION))).willReturn(Set.of());
+
+      // When
+      Set<Tag> tags =
+          cachedTagRepository.findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION));
+
+      // Then
+      assertThat(tags).containsExactly(TAG);
+      verify(delegate).findByLocations(Set.of(OTHER_BLOCK_LOCATION));
+    }
+
+    @Test
+    void withMissingTags_shallCacheNegativeEntries() {
+      // Given
+      given(delegate.findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION)))
+          .willReturn(Set.of(TAG));
+
+      // When
+      cachedTagRepository.findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION));
+      Set<Tag> tags =
+          cachedTagRepository.findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION));
+
+      // Then
+      assertThat(tags).containsExactly(TAG);
+      assertThat(cachedTagRepository.findByLocation(OTHER_BLOCK_LOCATION)).isEmpty();
+      verify(delegate).findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION));
+      verifyNoMoreInteractions(delegate);
+    }
+  }
+
+  @Nested
+  class WhenFindingResidentByLocation {
+
+    @Test
+    void withCachedEntry_shallBeAnsweredFromCache() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.of(TAG));
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // When
+      Optional<Optional<Tag>> tag = cachedTagRepository.findResidentByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(Optional.of(TAG));
+      verify(delegate, never()).findResidentByLocation(BLOCK_LOCATION);
+    }
+
+    @Test
+    void withoutCachedEntry_shallNotQueryDelegate() {
+      // Given
+      given(delegate.findResidentByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+
+      // When
+      Optional<Optional<Tag>> tag = cachedTagRepository.findResidentByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).isEmpty();
+      verify(delegate, never()).findByLocation(BLOCK_LOCATION);
+    }
+
+    @Test
+    void withAnyDelegate_shallCacheLookups() {
+      // When
+      boolean isCachingLookups = cachedTagRepository.isCachingLookups();
+
+      // Then
+      assertThat(isCachingLookups).isTrue();
+    }
+  }
+
+  @Nested
+  class WhenMutating {
+
+    @Test
+    void withPut_shallWriteThroughAndServeLookupFromCache() {
+      // When
+      cachedTagRepository.put(TAG);
+      Optional<Tag> tag = cachedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(TAG);
+      verify(delegate).put(TAG);
+      verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void withDelete_shallWriteThroughAndCacheNegativeEntry() {
+      // Given
+      cachedTagRepository.put(TAG);
+
+      // When
+      cachedTagRepository.delete(BLOCK_LOCATION);
+      Optional<Tag> tag = cachedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).isEmpty();
+      verify(delegate).delete(BLOCK_LOCATION);
+      verify(delegate).put(TAG);
+      verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void withUpdateLocationsOfCachedTag_shallMoveCachedEntry() {
+      // Given
+      cachedTagRepository.put(TAG);
+      var oldNewLocationPairs =
+          new OldNewBlockLocationPairSet(
+              Set.of(new OldNewBlockLocationPair(BLOCK_LOCATION, OTHER_BLOCK_LOCATION)));
+
+      // When
+      cachedTagRepository.updateLocations(oldNewLocationPairs);
+
+      // Then
+      assertThat(cachedTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+      assertThat(cachedTagRepository.findByLocation(OTHER_BLOCK_LOCATION))
+          .contains(new Tag(OTHER_BLOCK_LOCATION, TAG.isEphemeral(), TAG.createdAt()));
+      verify(delegate).put(TAG);
+      verify(delegate).applyMutations(any());
+      verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void withUpdateLocationsOfUncachedTag_shallLookItUpAndCacheMovedEntry() {
+      // Given
+      given(delegate.findByLocations(Set.of(BLOCK_LOCATION))).willReturn(Set.of(TAG));
+      var oldNewLocationPairs =
+          new OldNewBlockLocationPairSet(
+              Set.of(new OldNewBlockLocationPair(BLOCK_LOCATION, OTHER_BLOCK_LOCATION)));
+
+      // When
+      cachedTagRepository.updateLocations(oldNewLocationPairs);
+
+      // Then
+      assertThat(cachedTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+      assertThat(cachedTagRepository.findByLocation(OTHER_BLOCK_LOCATION))
+          .contains(new Tag(OTHER_BLOCK_LOCATION, TAG.isEphemeral(), TAG.createdAt()));
+      verify(delegate, never()).findByLocation(any());
+    }
+
+    @Test
+    void withApplyMutations_shallWriteThroughAndCacheResultingState() {
+      // Given
+      List<TagMutation> mutations =
+          List.of(
+              new TagMutation.Put(TAG),
+              new TagMutation.Delete(OTHER_BLOCK_LOCATION),
+              new TagMutation.Delete(BLOCK_LOCATION));
+
+      // When
+      cachedTagRepository.applyMutations(mutations);
+
+      // Then
+      assertThat(cachedTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+      assertThat(cachedTagRepository.findByLocation(OTHER_BLOCK_LOCATION)).isEmpty();
+      verify(delegate).applyMutations(mutations);
+      verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void withFailingApplyMutations_shallInvalidateEntries() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+      List<TagMutation> mutations = List.of(new TagMutation.Put(TAG));
+      willThrow(IllegalStateException.class).given(delegate).applyMutations(mutations);
+
+      // When
+      assertThatThrownBy(() -> cachedTagRepository.applyMutations(mutations))
+          .isExactlyInstanceOf(IllegalStateException.class);
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      verify(delegate, times(2)).findByLocation(BLOCK_LOCATION);
+    }
+
+    @Test
+    void withFailingPut_shallInvalidateEntry() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+      willThrow(IllegalStateException.class).given(delegate).put(TAG);
+
+      // When
+      assertThatThrownBy(() -> cachedTagRepository.put(TAG))
+          .isExactlyInstanceOf(IllegalStateException.class);
+      cachedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      verify(delegate, times(2)).findByLocation(BLOCK_LOCATION);
+    }
+  }
+}
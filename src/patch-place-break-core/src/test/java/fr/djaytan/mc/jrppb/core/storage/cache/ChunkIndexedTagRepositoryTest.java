@@ -0,0 +1,256 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
+import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class ChunkIndexedTagRepositoryTest {
+
+  private static final BlockLocation BLOCK_LOCATION = new BlockLocation("world", 17, 64, -3);
+  private static final BlockLocation OTHER_BLOCK_LOCATION = new BlockLocation("world", 18, 64, -3);
+  private static final ChunkLocation CHUNK_LOCATION = ChunkLocation.from(BLOCK_LOCATION);
+  private static final Tag TAG = new Tag(BLOCK_LOCATION, false, LocalDateTime.now());
+
+  @Mock private TagRepository delegate;
+  private ChunkIndexedTagRepository chunkIndexedTagRepository;
+
+  @BeforeEach
+  void setUp() {
+    chunkIndexedTagRepository = new ChunkIndexedTagRepository(delegate);
+  }
+
+  @Nested
+  class WhenFindingByLocation {
+
+    @Test
+    void inIndexedChunk_shallBeAnsweredFromMemory() {
+      // Given
+      given(delegate.findByChunk(CHUNK_LOCATION)).willReturn(Set.of(TAG));
+      chunkIndexedTagRepository.load(CHUNK_LOCATION);
+
+      // When
+      Optional<Tag> tag = chunkIndexedTagRepository.findByLocation(BLOCK_LOCATION);
+      Optional<Tag> otherTag = chunkIndexedTagRepository.findByLocation(OTHER_BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(TAG);
+      assertThat(otherTag).isEmpty();
+      verify(delegate, never()).findByLocation(BLOCK_LOCATION);
+      verify(delegate, never()).findByLocation(OTHER_BLOCK_LOCATION);
+    }
+
+    @Test
+    void inUnloadedChunk_shallBeForwardedToDelegate() {
+      // Given
+      given(delegate.findByChunk(CHUNK_LOCATION)).willReturn(Set.of());
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.of(TAG));
+      chunkIndexedTagRepository.load(CHUNK_LOCATION);
+      chunkIndexedTagRepository.unload(CHUNK_LOCATION);
+
+      // When
+      Optional<Tag> tag = chunkIndexedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(TAG);
+      verify(delegate).findByLocation(BLOCK_LOCATION);
+    }
+
+    @Test
+    void afterFailedLoad_shallBeForwardedToDelegate() {
+      // Given
+      given(delegate.findByChunk(CHUNK_LOCATION)).willThrow(IllegalStateException.class);
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.of(TAG));
+      assertThatThrownBy(() -> chunkIndexedTagRepository.load(CHUNK_LOCATION))
+          .isExactlyInstanceOf(IllegalStateException.class);
+
+      // When
+      Optional<Tag> tag = chunkIndexedTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(TAG);
+    }
+  }
+
+  @Nested
+  class WhenFindingByLocations {
+
+    @Test
+    void inIndexedChunk_shallBeAnsweredFromMemory() {
+      // Given
+      given(delegate.findByChunk(CHUNK_LOCATION)).willReturn(Set.of(TAG));
+      chunkIndexedTagRepository.load(CHUNK_LOCATION);
+
+      // When
+      Set<Tag> tags =
+          chunkIndexedTagRepository.findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION));
+
+      // Then
+      assertThat(tags).containsExactly(TAG);
+      verify(delegate, never()).findByLocations(any());
+    }
+
+    @Test
+    void inUnloadedChunk_shallBeForwardedToDelegateAtOnce() {
+      // Given
+      Set<BlockLocation> blockLocations = Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION);
+      given(delegate.findByLocations(blockLocations)).willReturn(Set.of(TAG));
+
+      // When
+      Set<Tag> tags = chunkIndexedTagRepository.findByLocations(blockLocations);
+
+      // Then
+      assertThat(tags).containsExactly(TAG);
+      verify(delegate).findByLocations(blockLocations);
+    }
+  }
+
+  @Nested
+  class WhenFindingResidentByLocation {
+
+    @Test
+    void inIndexedChunk_shallBeAnsweredFromMemory() {
+      // Given
+      given(delegate.findByChunk(CHUNK_LOCATION)).willReturn(Set.of(TAG));
+      chunkIndexedTagRepository.load(CHUNK_LOCATION);
+
+      // When
+      Optional<Optional<Tag>> tag =
+          chunkIndexedTagRepository.findResidentByLocation(BLOCK_LOCATION);
+      Optional<Optional<Tag>> otherTag =
+          chunkIndexedTagRepository.findResidentByLocation(OTHER_BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(Optional.of(TAG));
+      assertThat(otherTag).contains(Optional.empty());
+      verify(delegate, never()).findResidentByLocation(any());
+    }
+
+    @Test
+    void inUnloadedChunk_shallNotQueryDelegate() {
+      // Given
+      given(delegate.findResidentByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+
+      // When
+      Optional<Optional<Tag>> tag =
+          chunkIndexedTagRepository.findResidentByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).isEmpty();
+      verify(delegate, never()).findByLocation(BLOCK_LOCATION);
+    }
+  }
+
+  @Nested
+  class WhenMutatingInIndexedChunk {
+
+    @BeforeEach
+    void setUp() {
+      given(delegate.findByChunk(CHUNK_LOCATION)).willReturn(Set.of());
+      chunkIndexedTagRepository.load(CHUNK_LOCATION);
+    }
+
+    @Test
+    void withPut_shallWriteThroughAndIndexTag() {
+      // When
+      chunkIndexedTagRepository.put(TAG);
+
+      // Then
+      verify(delegate).put(TAG);
+      assertThat(chunkIndexedTagRepository.findByLocation(BLOCK_LOCATION)).contains(TAG);
+    }
+
+    @Test
+    void withDelete_shallWriteThroughAndRemoveIndexedTag() {
+      // Given
+      chunkIndexedTagRepository.put(TAG);
+
+      // When
+      chunkIndexedTagRepository.delete(BLOCK_LOCATION);
+
+      // Then
+      verify(delegate).delete(BLOCK_LOCATION);
+      assertThat(chunkIndexedTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+    }
+
+    @Test
+    void withApplyMutations_shallWriteThroughAndIndexResultingTags() {
+      // Given
+      Tag otherTag = new Tag(OTHER_BLOCK_LOCATION, true, TAG.createdAt());
+      List<TagMutation> mutations =
+          List.of(
+              new TagMutation.Put(TAG),
+              new TagMutation.Put(otherTag),
+              new TagMutation.Delete(BLOCK_LOCATION));
+
+      // When
+      chunkIndexedTagRepository.applyMutations(mutations);
+
+      // Then
+      verify(delegate).applyMutations(mutations);
+      assertThat(chunkIndexedTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+      assertThat(chunkIndexedTagRepository.findByLocation(OTHER_BLOCK_LOCATION)).contains(otherTag);
+    }
+
+    @Test
+    void withUpdateLocations_shallMoveIndexedTag() {
+      // Given
+      chunkIndexedTagRepository.put(TAG);
+      var oldNewLocationPairs =
+          new OldNewBlockLocationPairSet(
+              Set.of(new OldNewBlockLocationPair(BLOCK_LOCATION, OTHER_BLOCK_LOCATION)));
+
+      // When
+      chunkIndexedTagRepository.updateLocations(oldNewLocationPairs);
+
+      // Then
+      verify(delegate).applyMutations(any());
+      assertThat(chunkIndexedTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+      assertThat(chunkIndexedTagRepository.findByLocation(OTHER_BLOCK_LOCATION))
+          .contains(new Tag(OTHER_BLOCK_LOCATION, TAG.isEphemeral(), TAG.createdAt()));
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
+import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class EphemeralTagRepositoryTest {
+
+  private static final Clock CLOCK = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+  private static final BlockLocation BLOCK_LOCATION = new BlockLocation("world", 1, 2, 3);
+  private static final BlockLocation OTHER_BLOCK_LOCATION = new BlockLocation("world", 4, 5, 6);
+  private static final Tag EPHEMERAL_TAG = new Tag(BLOCK_LOCATION, true, LocalDateTime.now());
+  private static final Tag PERSISTENT_TAG = new Tag(BLOCK_LOCATION, false, LocalDateTime.now());
+
+  @Mock private TagRepository delegate;
+  private EphemeralTagRepository ephemeralTagRepository;
+
+  @BeforeEach
+  void setUp() {
+    ephemeralTagRepository = new EphemeralTagRepository(delegate, CLOCK, Duration.ofSeconds(3));
+  }
+
+  @Nested
+  class WhenPutting {
+
+    @Test
+    void withEphemeralTag_shallKeepItInMemoryOnly() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+
+      // When
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+
+      // Then
+      assertThat(ephemeralTagRepository.findByLocation(BLOCK_LOCATION)).contains(EPHEMERAL_TAG);
+      verify(delegate, never()).put(any());
+      verify(delegate, never()).delete(any());
+    }
+
+    @Test
+    void withEphemeralTagOverridingStoredOne_shallDeleteStoredOne() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.of(PERSISTENT_TAG));
+
+      // When
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+
+      // Then
+      verify(delegate).delete(BLOCK_LOCATION);
+      assertThat(ephemeralTagRepository.findByLocation(BLOCK_LOCATION)).contains(EPHEMERAL_TAG);
+    }
+
+    @Test
+    void withPersistentTagOverridingEphemeralOne_shallStoreItAndForgetEphemeralOne() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+
+      // When
+      ephemeralTagRepository.put(PERSISTENT_TAG);
+
+      // Then
+      verify(delegate).put(PERSISTENT_TAG);
+      assertThat(ephemeralTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+    }
+  }
+
+  @Nested
+  class WhenMutating {
+
+    @Test
+    void withDelete_shallForgetEphemeralTagAndDeleteStoredOne() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+
+      // When
+      ephemeralTagRepository.delete(BLOCK_LOCATION);
+
+      // Then
+      verify(delegate).delete(BLOCK_LOCATION);
+      assertThat(ephemeralTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+    }
+
+    @Test
+    void withApplyMutations_shallKeepEphemeralTagsInMemoryAndForwardTheOthers() {
+      // Given
+      Tag otherPersistentTag = new Tag(OTHER_BLOCK_LOCATION, false, LocalDateTime.now());
+
+      // When
+      ephemeralTagRepository.applyMutations(
+          List.of(new TagMutation.Put(EPHEMERAL_TAG), new TagMutation.Put(otherPersistentTag)));
+
+      // Then
+      verify(delegate)
+          .applyMutations(
+              List.of(
+                  new TagMutation.Delete(BLOCK_LOCATION), new TagMutation.Put(otherPersistentTag)));
+      assertThat(ephemeralTagRepository.findByLocation(BLOCK_LOCATION)).contains(EPHEMERAL_TAG);
+    }
+
+    @Test
+    void withUpdateLocations_shallMoveEphemeralTagAndForwardToDelegate() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+      var oldNewLocationPairs =
+          new OldNewBlockLocationPairSet(
+              Set.of(new OldNewBlockLocationPair(BLOCK_LOCATION, OTHER_BLOCK_LOCATION)));
+
+      // When
+      ephemeralTagRepository.updateLocations(oldNewLocationPairs);
+
+      // Then
+      verify(delegate).updateLocations(oldNewLocationPairs);
+      assertThat(ephemeralTagRepository.findByLocation(OTHER_BLOCK_LOCATION))
+          .contains(
+              new Tag(
+                  OTHER_BLOCK_LOCATION, EPHEMERAL_TAG.isEphemeral(), EPHEMERAL_TAG.createdAt()));
+    }
+  }
+
+  @Nested
+  class WhenFindingByChunk {
+
+    @Test
+    void shallMergeEphemeralAndStoredTags() {
+      // Given
+      Tag storedTag = new Tag(OTHER_BLOCK_LOCATION, false, LocalDateTime.now());
+      ChunkLocation chunkLocation = ChunkLocation.from(BLOCK_LOCATION);
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      given(delegate.findByChunk(chunkLocation)).willReturn(Set.of(storedTag));
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+
+      // When
+      Set<Tag> tags = ephemeralTagRepository.findByChunk(chunkLocation);
+
+      // Then
+      assertThat(tags).containsExactlyInAnyOrder(EPHEMERAL_TAG, storedTag);
+    }
+  }
+
+  @Nested
+  class WhenFindingByLocations {
+
+    @Test
+    void shallOnlyForwardLocationsWithoutEphemeralTagToDelegate() {
+      // Given
+      Tag storedTag = new Tag(OTHER_BLOCK_LOCATION, false, LocalDateTime.now());
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      given(delegate.findByLocations(Set.of(OTHER_BLOCK_LOCATION))).willReturn(Set.of(storedTag));
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+
+      // When
+      Set<Tag> tags =
+          ephemeralTagRepository.findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION));
+
+      // Then
+      assertThat(tags).containsExactlyInAnyOrder(EPHEMERAL_TAG, storedTag);
+    }
+
+    @Test
+    void withOnlyEphemeralTags_shallNotQueryDelegate() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+
+      // When
+      Set<Tag> tags = ephemeralTagRepository.findByLocations(Set.of(BLOCK_LOCATION));
+
+      // Then
+      assertThat(tags).containsExactly(EPHEMERAL_TAG);
+      verify(delegate, never()).findByLocations(any());
+    }
+  }
+
+  @Nested
+  class WhenFindingResidentByLocation {
+
+    @Test
+    void withEphemeralTag_shallBeAnsweredFromMemory() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+      ephemeralTagRepository.put(EPHEMERAL_TAG);
+
+      // When
+      Optional<Optional<Tag>> tag = ephemeralTagRepository.findResidentByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(Optional.of(EPHEMERAL_TAG));
+      verify(delegate, never()).findResidentByLocation(BLOCK_LOCATION);
+    }
+
+    @Test
+    void withoutEphemeralTag_shallBeForwardedToDelegate() {
+      // Given
+      given(delegate.findResidentByLocation(BLOCK_LOCATION))
+          .willReturn(Optional.of(Optional.of(PERSISTENT_TAG)));
+
+      // When
+      Optional<Optional<Tag>> tag = ephemeralTagRepository.findResidentByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(Optional.of(PERSISTENT_TAG));
+    }
+  }
+}
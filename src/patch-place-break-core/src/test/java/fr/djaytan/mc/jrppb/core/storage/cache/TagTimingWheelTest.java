@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+final class TagTimingWheelTest {
+
+  private static final Duration LIFETIME = Duration.ofSeconds(3);
+  private static final Duration TICK_DURATION = Duration.ofMillis(100);
+  private static final BlockLocation BLOCK_LOCATION = new BlockLocation("world", 1, 2, 3);
+  private static final BlockLocation OTHER_BLOCK_LOCATION = new BlockLocation("world", 4, 5, 6);
+  private static final Tag TAG = new Tag(BLOCK_LOCATION, true, LocalDateTime.now());
+
+  private final SteppingClock clock = new SteppingClock();
+  private TagTimingWheel tagTimingWheel;
+
+  @BeforeEach
+  void setUp() {
+    tagTimingWheel = new TagTimingWheel(clock, LIFETIME, TICK_DURATION, 64);
+  }
+
+  @Nested
+  class WhenInstantiating {
+
+    @Test
+    void withWheelTooSmallForLifetime_shallFail() {
+      assertThatThrownBy(() -> new TagTimingWheel(clock, LIFETIME, TICK_DURATION, 16))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The wheel must span more ticks than the tag lifetime");
+    }
+  }
+
+  @Nested
+  class WhenFinding {
+
+    @Test
+    void beforeLifetimeHasElapsed_shallReturnTag() {
+      // Given
+      tagTimingWheel.put(TAG);
+
+      // When
+      clock.add(LIFETIME);
+
+      // Then
+      assertThat(tagTimingWheel.find(BLOCK_LOCATION)).contains(TAG);
+    }
+
+    @Test
+    void afterLifetimeHasElapsed_shallReturnNothing() {
+      // Given
+      tagTimingWheel.put(TAG);
+
+      // When
+      clock.add(LIFETIME.plus(TICK_DURATION.multipliedBy(2)));
+
+      // Then
+      assertThat(tagTimingWheel.find(BLOCK_LOCATION)).isEmpty();
+      assertThat(tagTimingWheel.size()).isZero();
+    }
+
+    @Test
+    void afterWholeWheelHasElapsed_shallReturnNothing() {
+      // Given
+      tagTimingWheel.put(TAG);
+
+      // When
+      clock.add(Duration.ofHours(1));
+
+      // Then
+      assertThat(tagTimingWheel.find(BLOCK_LOCATION)).isEmpty();
+    }
+
+    @Test
+    void afterTagHasBeenPutAgain_shallExpireFromLastPut() {
+      // Given
+      tagTimingWheel.put(TAG);
+      clock.add(Duration.ofSeconds(2));
+      tagTimingWheel.put(TAG);
+
+      // When
+      clock.add(Duration.ofSeconds(2));
+
+      // Then
+      assertThat(tagTimingWheel.find(BLOCK_LOCATION)).contains(TAG);
+    }
+
+    @Test
+    void byChunk_shallReturnTagsOfTheChunkOnly() {
+      // Given
+      Tag otherTag = new Tag(new BlockLocation("world", 100, 2, 3), true, LocalDateTime.now());
+      tagTimingWheel.put(TAG);
+      tagTimingWheel.put(otherTag);
+
+      // When
+      Set<Tag> tags = tagTimingWheel.findByChunk(ChunkLocation.from(BLOCK_LOCATION));
+
+      // Then
+      assertThat(tags).containsExactly(TAG);
+    }
+  }
+
+  @Nested
+  class WhenUpdatingLocations {
+
+    @Test
+    void shallMoveTagAndKeepExpiration() {
+      // Given
+      tagTimingWheel.put(TAG);
+      clock.add(Duration.ofSeconds(2));
+
+      // When
+      tagTimingWheel.updateLocations(
+          new OldNewBlockLocationPairSet(
+              Set.of(new OldNewBlockLocationPair(BLOCK_LOCATION, OTHER_BLOCK_LOCATION))));
+
+      // Then
+      assertThat(tagTimingWheel.find(BLOCK_LOCATION)).isEmpty();
+      assertThat(tagTimingWheel.find(OTHER_BLOCK_LOCATION))
+          .contains(new Tag(OTHER_BLOCK_LOCATION, TAG.isEphemeral(), TAG.createdAt()));
+
+      clock.add(Duration.ofSeconds(2));
+      assertThat(tagTimingWheel.find(OTHER_BLOCK_LOCATION)).isEmpty();
+    }
+  }
+
+  /** A clock which only moves forward when explicitly asked to. */
+  private static final class SteppingClock extends Clock {
+
+    private Instant instant = Instant.EPOCH;
+
+    private void add(@NotNull Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -0,0 +1,490 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.api.entities.Tag;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
+import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
+import fr.djaytan.mc.jrppb.core.storage.api.TagRepository;
+import fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindProperties;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class WriteBehindTagRepositoryTest {
+
+  private static final BlockLocation BLOCK_LOCATION = new BlockLocation("world", 1, 2, 3);
+  private static final BlockLocation OTHER_BLOCK_LOCATION = new BlockLocation("world", 4, 5, 6);
+  private static final BlockLocation ANOTHER_BLOCK_LOCATION = new BlockLocation("world", 7, 8, 9);
+  private static final Tag TAG = new Tag(BLOCK_LOCATION, false, LocalDateTime.now());
+  private static final Tag OTHER_TAG = new Tag(OTHER_BLOCK_LOCATION, true, LocalDateTime.now());
+  private static final int MAXIMUM_BATCH_SIZE = 3;
+
+  @Mock private TagRepository delegate;
+  private final AtomicLong nanoTime = new AtomicLong();
+  private WriteBehindTagRepository writeBehindTagRepository;
+
+  @BeforeEach
+  void setUp() {
+    writeBehindTagRepository =
+        new WriteBehindTagRepository(
+            delegate, new WriteBehindProperties(60000, MAXIMUM_BATCH_SIZE), nanoTime::get);
+  }
+
+  @AfterEach
+  void tearDown() {
+    writeBehindTagRepository.stop();
+  }
+
+  @Nested
+  class WhenMutating {
+
+    @Test
+    void belowMaximumBatchSize_shallKeepMutationsPending() {
+      // When
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.delete(OTHER_BLOCK_LOCATION);
+
+      // Then
+      assertThat(writeBehindTagRepository.pendingMutationsCount()).isEqualTo(2);
+      verify(delegate, never()).applyMutations(any());
+    }
+
+    @Test
+    void reachingMaximumBatchSize_shallFlushAllMutationsAtOnce() {
+      // When
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.put(OTHER_TAG);
+      writeBehindTagRepository.delete(ANOTHER_BLOCK_LOCATION);
+
+      // Then
+      assertThat(writeBehindTagRepository.pendingMutationsCount()).isZero();
+      verify(delegate)
+          .applyMutations(
+              List.of(
+                  new TagMutation.Put(TAG),
+                  new TagMutation.Put(OTHER_TAG),
+                  new TagMutation.Delete(ANOTHER_BLOCK_LOCATION)));
+    }
+
+    @Test
+    void withFailingFlush_shallPropagateFailureAndKeepMutationsPending() {
+      // Given
+      writeBehindTagRepository.put(TAG);
+      willThrow(IllegalStateException.class).given(delegate).applyMutations(any());
+
+      // When
+      assertThatThrownBy(writeBehindTagRepository::flush)
+          .isExactlyInstanceOf(IllegalStateException.class);
+
+      // Then
+      assertThat(writeBehindTagRepository.pendingMutationsCount()).isEqualTo(1);
+      assertThat(writeBehindTagRepository.findByLocation(BLOCK_LOCATION)).contains(TAG);
+    }
+
+    @Test
+    void withFailingFlush_shallRetryMutationsOnNextFlush() {
+      // Given
+      writeBehindTagRepository.put(TAG);
+      willThrow(IllegalStateException.class).willDoNothing().given(delegate).applyMutations(any());
+      assertThatThrownBy(writeBehindTagRepository::flush)
+          .isExactlyInstanceOf(IllegalStateException.class);
+
+      // When
+      writeBehindTagRepository.put(OTHER_TAG);
+      writeBehindTagRepository.flush();
+
+      // Then
+      assertThat(writeBehindTagRepository.pendingMutationsCount()).isZero();
+      verify(delegate)
+          .applyMutations(List.of(new TagMutation.Put(TAG), new TagMutation.Put(OTHER_TAG)));
+    }
+
+    @Test
+    void withFailingFlush_shallNotRequeueMutationsSupersededMeanwhile() {
+      // Given
+      Tag newerTag = new Tag(BLOCK_LOCATION, true, TAG.createdAt().plusSeconds(1));
+      writeBehindTagRepository.put(TAG);
+      willAnswer(
+              invocation -> {
+                writeBehindTagRepository.put(newerTag);
+                throw new IllegalStateException();
+              })
+          .given(delegate)
+          .applyMutations(List.of(new TagMutation.Put(TAG)));
+
+      // When
+      assertThatThrownBy(writeBehindTagRepository::flush)
+          .isExactlyInstanceOf(IllegalStateException.class);
+
+      // Then
+      assertThat(writeBehindTagRepository.pendingMutationsCount()).isEqualTo(1);
+      assertThat(writeBehindTagRepository.findByLocation(BLOCK_LOCATION)).contains(newerTag);
+    }
+  }
+
+  @Nested
+  class WhenFlushFails {
+
+    @Test
+    void withinBackoff_shallNotRetryFlush() {
+      // Given
+      writeBehindTagRepository.put(TAG);
+      willThrow(IllegalStateException.class).given(delegate).applyMutations(any());
+      writeBehindTagRepository.flushQuietly();
+
+      // When
+      writeBehindTagRepository.flushQuietly();
+
+      // Then
+      verify(delegate, times(1)).applyMutations(any());
+    }
+
+    @Test
+    void afterBackoff_shallRetryFlush() {
+      // Given
+      writeBehindTagRepository.put(TAG);
+      willThrow(IllegalStateException.class).willDoNothing().given(delegate).applyMutations(any());
+      writeBehindTagRepository.flushQuietly();
+      nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+
+      // When
+      writeBehindTagRepository.flushQuietly();
+
+      // Then
+      verify(delegate, times(2)).applyMutations(List.of(new TagMutation.Put(TAG)));
+      assertThat(writeBehindTagRepository.pendingMutationsCount()).isZero();
+    }
+
+    @Test
+    void repeatedly_shallDropBatchAfterMaximumAttempts() {
+      // Given
+      writeBehindTagRepository.put(TAG);
+      willThrow(IllegalStateException.class).given(delegate).applyMutations(any());
+
+      // When
+      for (int i = 0; i < WriteBehindTagRepository.MAXIMUM_FLUSH_ATTEMPTS; i++) {
+        writeBehindTagRepository.flushQuietly();
+        nanoTime.addAndGet(Duration.ofMinutes(1).toNanos());
+      }
+
+      // Then
+      verify(delegate, times(WriteBehindTagRepository.MAXIMUM_FLUSH_ATTEMPTS))
+          .applyMutations(any());
+      assertThat(writeBehindTagRepository.pendingMutationsCount()).isZero();
+    }
+
+    @Test
+    void withBatchFullDuringBackoff_shallBoundPendingMutations() {
+      // Given
+      willThrow(IllegalStateException.class).given(delegate).applyMutations(any());
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.put(OTHER_TAG);
+      assertThatThrownBy(() -> writeBehindTagRepository.delete(ANOTHER_BLOCK_LOCATION))
+          .isExactlyInstanceOf(IllegalStateException.class);
+      int pendingCapacity = MAXIMUM_BATCH_SIZE * WriteBehindTagRepository.PENDING_BATCHES_CAPACITY;
+
+      // When
+      for (int i = 0; i < pendingCapacity; i++) {
+        writeBehindTagRepository.put(
+            new Tag(new BlockLocation("world", i, 0, 0), false, LocalDateTime.now()));
+      }
+
+      // Then
+      verify(delegate, times(1)).applyMutations(any());
+      assertThat(writeBehindTagRepository.pendingMutationsCount()).isEqualTo(pendingCapacity);
+      assertThat(writeBehindTagRepository.droppedMutationsCount()).isEqualTo(MAXIMUM_BATCH_SIZE);
+    }
+
+    @Test
+    void whenStarted_shallNotMakeCallerWriteFullBatch() {
+      // Given
+      AtomicReference<String> threadName = new AtomicReference<>();
+      willAnswer(
+              invocation -> {
+                threadName.set(Thread.currentThread().getName());
+                return null;
+              })
+          .given(delegate)
+          .applyMutations(any());
+      writeBehindTagRepository.start();
+
+      // When
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.put(OTHER_TAG);
+      writeBehindTagRepository.delete(ANOTHER_BLOCK_LOCATION);
+
+      // Then
+      verify(delegate, timeout(5000)).applyMutations(any());
+      assertThat(threadName.get()).isEqualTo("jrppb-tag-write-behind");
+    }
+  }
+
+  @Nested
+  class WhenCompacting {
+
+    @Test
+    void withSuccessivePuts_shallOnlyWriteLastOne() {
+      // Given
+      Tag newerTag = new Tag(BLOCK_LOCATION, true, TAG.createdAt().plusSeconds(1));
+
+      // When
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.put(newerTag);
+      writeBehindTagRepository.flush();
+
+      // Then
+      verify(delegate).applyMutations(List.of(new TagMutation.Put(newerTag)));
+    }
+
+    @Test
+    void withPutThenDeleteOfUntaggedLocation_shallCancelOut() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+
+      // When
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.delete(BLOCK_LOCATION);
+      writeBehindTagRepository.flush();
+
+      // Then
+      assertThat(writeBehindTagRepository.findByLocation(BLOCK_LOCATION)).isEmpty();
+      verify(delegate, never()).applyMutations(any());
+    }
+
+    @Test
+    void withPutThenDeleteOfTaggedLocation_shallOnlyWriteDeletion() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION))
+          .willReturn(Optional.of(new Tag(BLOCK_LOCATION, true, TAG.createdAt())));
+
+      // When
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.delete(BLOCK_LOCATION);
+      writeBehindTagRepository.flush();
+
+      // Then
+      verify(delegate).applyMutations(List.of(new TagMutation.Delete(BLOCK_LOCATION)));
+    }
+
+    @Test
+    void withPutThenUpdateLocations_shallOnlyWriteMovedTag() {
+      // Given
+      var oldNewLocationPairs =
+          new OldNewBlockLocationPairSet(
+              Set.of(new OldNewBlockLocationPair(BLOCK_LOCATION, OTHER_BLOCK_LOCATION)));
+
+      // When
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.updateLocations(oldNewLocationPairs);
+      writeBehindTagRepository.flush();
+
+      // Then
+      verify(delegate)
+          .applyMutations(
+              List.of(
+                  new TagMutation.Delete(BLOCK_LOCATION),
+                  new TagMutation.Put(
+                      new Tag(OTHER_BLOCK_LOCATION, TAG.isEphemeral(), TAG.createdAt()))));
+      verify(delegate, never()).updateLocations(any());
+    }
+
+    @Test
+    void withUpdateLocationsOfWrittenTags_shallLookThemUpAtOnce() {
+      // Given
+      BlockLocation yetAnotherBlockLocation = new BlockLocation("world", 9, 9, 9);
+      given(delegate.findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION)))
+          .willReturn(Set.of(TAG));
+      var oldNewLocationPairs =
+          new OldNewBlockLocationPairSet(
+              Set.of(
+                  new OldNewBlockLocationPair(BLOCK_LOCATION, ANOTHER_BLOCK_LOCATION),
+                  new OldNewBlockLocationPair(OTHER_BLOCK_LOCATION, yetAnotherBlockLocation)));
+
+      // When
+      writeBehindTagRepository.updateLocations(oldNewLocationPairs);
+
+      // Then
+      verify(delegate).findByLocations(Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION));
+      verify(delegate, never()).findByLocation(any());
+      verify(delegate)
+          .applyMutations(
+              argThat(
+                  mutations ->
+                      mutations.size() == 4
+                          && mutations.contains(
+                              new TagMutation.Put(
+                                  new Tag(
+                                      ANOTHER_BLOCK_LOCATION, TAG.isEphemeral(), TAG.createdAt())))
+                          && mutations.contains(new TagMutation.Delete(yetAnotherBlockLocation))));
+    }
+  }
+
+  @Nested
+  class WhenFinding {
+
+    @Test
+    void byLocationWithPendingMutation_shallBeAnsweredFromPendingMutation() {
+      // Given
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.delete(OTHER_BLOCK_LOCATION);
+
+      // When
+      Optional<Tag> tag = writeBehindTagRepository.findByLocation(BLOCK_LOCATION);
+      Optional<Tag> otherTag = writeBehindTagRepository.findByLocation(OTHER_BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(TAG);
+      assertThat(otherTag).isEmpty();
+      verify(delegate, never()).findByLocation(any());
+    }
+
+    @Test
+    void byLocationWithoutPendingMutation_shallBeForwardedToDelegate() {
+      // Given
+      given(delegate.findByLocation(BLOCK_LOCATION)).willReturn(Optional.of(TAG));
+
+      // When
+      Optional<Tag> tag = writeBehindTagRepository.findByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(TAG);
+    }
+
+    @Test
+    void byLocationsWithPendingMutations_shallOnlyForwardRemainingLocationsToDelegate() {
+      // Given
+      Tag anotherTag = new Tag(ANOTHER_BLOCK_LOCATION, false, LocalDateTime.now());
+      given(delegate.findByLocations(Set.of(ANOTHER_BLOCK_LOCATION)))
+          .willReturn(Set.of(anotherTag));
+      writeBehindTagRepository.put(TAG);
+      writeBehindTagRepository.delete(OTHER_BLOCK_LOCATION);
+
+      // When
+      Set<Tag> tags =
+          writeBehindTagRepository.findByLocations(
+              Set.of(BLOCK_LOCATION, OTHER_BLOCK_LOCATION, ANOTHER_BLOCK_LOCATION));
+
+      // Then
+      assertThat(tags).containsExactlyInAnyOrder(TAG, anotherTag);
+    }
+
+    @Test
+    void residentByLocationWithPendingMutation_shallBeAnsweredFromPendingMutation() {
+      // Given
+      writeBehindTagRepository.delete(BLOCK_LOCATION);
+
+      // When
+      Optional<Optional<Tag>> tag = writeBehindTagRepository.findResidentByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).contains(Optional.empty());
+      verify(delegate, never()).findResidentByLocation(any());
+    }
+
+    @Test
+    void residentByLocationWithoutPendingMutation_shallBeForwardedToDelegate() {
+      // Given
+      given(delegate.findResidentByLocation(BLOCK_LOCATION)).willReturn(Optional.empty());
+
+      // When
+      Optional<Optional<Tag>> tag = writeBehindTagRepository.findResidentByLocation(BLOCK_LOCATION);
+
+      // Then
+      assertThat(tag).isEmpty();
+      verify(delegate, never()).findByLocation(any());
+    }
+
+    @Test
+    void lookupsCaching_shallBeForwardedToDelegate() {
+      // Given
+      given(delegate.isCachingLookups()).willReturn(false);
+
+      // When
+      boolean isCachingLookups = writeBehindTagRepository.isCachingLookups();
+
+      // Then
+      assertThat(isCachingLookups).isFalse();
+      verify(delegate).isCachingLookups();
+    }
+
+    @Test
+    void byChunk_shallOverlayPendingMutationsOnStoredTags() {
+      // Given
+      ChunkLocation chunkLocation = ChunkLocation.from(BLOCK_LOCATION);
+      given(delegate.findByChunk(chunkLocation)).willReturn(Set.of(TAG));
+      writeBehindTagRepository.delete(BLOCK_LOCATION);
+      writeBehindTagRepository.put(OTHER_TAG);
+
+      // When
+      Set<Tag> tags = writeBehindTagRepository.findByChunk(chunkLocation);
+
+      // Then
+      assertThat(tags).containsExactly(OTHER_TAG);
+    }
+  }
+
+  @Nested
+  class WhenStopping {
+
+    @Test
+    void shallFlushPendingMutations() {
+      // Given
+      writeBehindTagRepository.start();
+      writeBehindTagRepository.put(TAG);
+
+      // When
+      writeBehindTagRepository.stop();
+
+      // Then
+      verify(delegate).applyMutations(List.of(new TagMutation.Put(TAG)));
+    }
+  }
+}
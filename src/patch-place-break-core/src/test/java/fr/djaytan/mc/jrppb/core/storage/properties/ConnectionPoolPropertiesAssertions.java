@@ -23,28 +23,42 @@
 package fr.djaytan.mc.jrppb.core.storage.properties;
 
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_CONNECTION_TIMEOUT;
+import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_DRIVER_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_POOL_SIZE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
 public final class ConnectionPoolPropertiesAssertions {
 
-  public static void assertSuccessfulInstantiation(int connectionPool, int poolSize) {
-    assertThat(new ConnectionPoolProperties(connectionPool, poolSize))
+  public static void assertSuccessfulInstantiation(
+      int connectionPool, int poolSize, @NotNull Map<String, String> driverProperties) {
+    assertThat(new ConnectionPoolProperties(connectionPool, poolSize, driverProperties))
         .satisfies(v -> assertThat(v.connectionTimeout()).isEqualTo(connectionPool))
-        .satisfies(v -> assertThat(v.poolSize()).isEqualTo(poolSize));
+        .satisfies(v -> assertThat(v.poolSize()).isEqualTo(poolSize))
+        .satisfies(v -> assertThat(v.driverProperties()).isEqualTo(driverProperties));
   }
 
   public static void assertSuccessfulInstantiationWithConnectionPool(int connectionPool) {
-    assertSuccessfulInstantiation(connectionPool, NOMINAL_POOL_SIZE);
+    assertSuccessfulInstantiation(connectionPool, NOMINAL_POOL_SIZE, NOMINAL_DRIVER_PROPERTIES);
   }
 
   public static void assertSuccessfulInstantiationWithPoolSize(int poolSize) {
-    assertSuccessfulInstantiation(NOMINAL_CONNECTION_TIMEOUT, poolSize);
+    assertSuccessfulInstantiation(NOMINAL_CONNECTION_TIMEOUT, poolSize, NOMINAL_DRIVER_PROPERTIES);
+  }
+
+  public static void assertSuccessfulInstantiationWithDriverProperties(
+      @NotNull Map<String, String> driverProperties) {
+    assertSuccessfulInstantiation(NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE, driverProperties);
   }
 
   public static void assertInstantiationFailureWithInvalidConnectionTimeout(int connectionTimeout) {
-    assertThatThrownBy(() -> new ConnectionPoolProperties(connectionTimeout, NOMINAL_POOL_SIZE))
+    assertThatThrownBy(
+            () ->
+                new ConnectionPoolProperties(
+                    connectionTimeout, NOMINAL_POOL_SIZE, NOMINAL_DRIVER_PROPERTIES))
         .isExactlyInstanceOf(IllegalArgumentException.class)
         .hasMessage("The connection timeout must be between 1 and 600000")
         .hasNoCause();
@@ -52,9 +66,22 @@ public final class ConnectionPoolPropertiesAssertions {
 
   public static void assertInstantiationFailureWithInvalidPoolSize(int invalidPoolSize) {
     assertThatThrownBy(
-            () -> new ConnectionPoolProperties(NOMINAL_CONNECTION_TIMEOUT, invalidPoolSize))
+            () ->
+                new ConnectionPoolProperties(
+                    NOMINAL_CONNECTION_TIMEOUT, invalidPoolSize, NOMINAL_DRIVER_PROPERTIES))
         .isExactlyInstanceOf(IllegalArgumentException.class)
         .hasMessage("The pool size must be between 1 and 100")
         .hasNoCause();
   }
+
+  public static void assertInstantiationFailureWithInvalidDriverProperties(
+      @NotNull Map<String, String> invalidDriverProperties) {
+    assertThatThrownBy(
+            () ->
+                new ConnectionPoolProperties(
+                    NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE, invalidDriverProperties))
+        .isExactlyInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The driver property names must not be blank")
+        .hasNoCause();
+  }
 }
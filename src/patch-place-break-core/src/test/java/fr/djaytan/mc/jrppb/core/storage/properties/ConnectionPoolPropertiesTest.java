@@ -23,17 +23,22 @@
 package fr.djaytan.mc.jrppb.core.storage.properties;
 
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesAssertions.assertInstantiationFailureWithInvalidConnectionTimeout;
+import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesAssertions.assertInstantiationFailureWithInvalidDriverProperties;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesAssertions.assertInstantiationFailureWithInvalidPoolSize;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesAssertions.assertSuccessfulInstantiation;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesAssertions.assertSuccessfulInstantiationWithConnectionPool;
+import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesAssertions.assertSuccessfulInstantiationWithDriverProperties;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesAssertions.assertSuccessfulInstantiationWithPoolSize;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_CONNECTION_TIMEOUT;
+import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_DRIVER_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_POOL_SIZE;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.randomConnectionTimeout;
+import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.randomDriverProperties;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.randomInvalidConnectionTimeout;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.randomInvalidPoolSize;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.randomPoolSize;
 
+import java.util.Map;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
@@ -48,7 +53,8 @@ final class ConnectionPoolPropertiesTest {
 
       @Test
       void withNominalValues() {
-        assertSuccessfulInstantiation(NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE);
+        assertSuccessfulInstantiation(
+            NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE, NOMINAL_DRIVER_PROPERTIES);
       }
 
       @Test
@@ -71,9 +77,15 @@ final class ConnectionPoolPropertiesTest {
         assertSuccessfulInstantiationWithPoolSize(1);
       }
 
+      @Test
+      void withoutDriverProperties() {
+        assertSuccessfulInstantiationWithDriverProperties(Map.of());
+      }
+
       @RepeatedTest(100)
       void withRandomlyGeneratedValidValues() {
-        assertSuccessfulInstantiation(randomConnectionTimeout(), randomPoolSize());
+        assertSuccessfulInstantiation(
+            randomConnectionTimeout(), randomPoolSize(), randomDriverProperties());
       }
     }
 
@@ -127,6 +139,20 @@ final class ConnectionPoolPropertiesTest {
           assertInstantiationFailureWithInvalidPoolSize(randomInvalidPoolSize());
         }
       }
+
+      @Nested
+      class WithInvalidDriverProperties {
+
+        @Test
+        void emptyName() {
+          assertInstantiationFailureWithInvalidDriverProperties(Map.of("", "true"));
+        }
+
+        @Test
+        void blankName() {
+          assertInstantiationFailureWithInvalidDriverProperties(Map.of(" ", "true"));
+        }
+      }
     }
   }
 }
@@ -22,6 +22,7 @@
  */
 package fr.djaytan.mc.jrppb.core.storage.properties;
 
+import java.util.Map;
 import org.instancio.Instancio;
 import org.jetbrains.annotations.NotNull;
 
@@ -29,12 +30,16 @@ public final class ConnectionPoolPropertiesTestDataSet {
 
   public static final int NOMINAL_CONNECTION_TIMEOUT = 60000;
   public static final int NOMINAL_POOL_SIZE = 20;
+  public static final Map<String, String> NOMINAL_DRIVER_PROPERTIES =
+      Map.of("useCompression", "true");
 
   public static final ConnectionPoolProperties NOMINAL_CONNECTION_POOL_PROPERTIES =
-      new ConnectionPoolProperties(NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE);
+      new ConnectionPoolProperties(
+          NOMINAL_CONNECTION_TIMEOUT, NOMINAL_POOL_SIZE, NOMINAL_DRIVER_PROPERTIES);
 
   public static @NotNull ConnectionPoolProperties randomConnectionPoolProperties() {
-    return new ConnectionPoolProperties(randomConnectionTimeout(), randomPoolSize());
+    return new ConnectionPoolProperties(
+        randomConnectionTimeout(), randomPoolSize(), randomDriverProperties());
   }
 
   public static int randomConnectionTimeout() {
@@ -53,6 +58,10 @@ public final class ConnectionPoolPropertiesTestDataSet {
     return Instancio.gen().ints().range(1, 100).get();
   }
 
+  public static @NotNull Map<String, String> randomDriverProperties() {
+    return Instancio.ofMap(String.class, String.class).create();
+  }
+
   public static int randomInvalidPoolSize() {
     return Instancio.gen().ints().range(Integer.MIN_VALUE, 0).range(101, Integer.MAX_VALUE).get();
   }
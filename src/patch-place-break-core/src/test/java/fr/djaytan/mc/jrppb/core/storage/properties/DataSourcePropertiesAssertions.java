@@ -25,6 +25,8 @@ package fr.djaytan.mc.jrppb.core.storage.properties;
 import static fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolPropertiesTestDataSet.NOMINAL_CONNECTION_POOL_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.NOMINAL_DATA_SOURCE_TYPE;
 import static fr.djaytan.mc.jrppb.core.storage.properties.DbmsServerPropertiesTestDataSet.NOMINAL_DBMS_SERVER_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TagStoragePropertiesTestDataSet.NOMINAL_TAG_STORAGE_PROPERTIES;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -36,12 +38,18 @@ public final class DataSourcePropertiesAssertions {
       @NotNull DataSourceType type,
       @NotNull String tableName,
       @NotNull DbmsServerProperties dbmsServer,
-      @NotNull ConnectionPoolProperties connectionPool) {
-    assertThat(new DataSourceProperties(type, tableName, dbmsServer, connectionPool))
+      @NotNull ConnectionPoolProperties connectionPool,
+      @NotNull TagStorageProperties tagStorage,
+      @NotNull SqliteProperties sqlite) {
+    assertThat(
+            new DataSourceProperties(
+                type, tableName, dbmsServer, connectionPool, tagStorage, sqlite))
         .satisfies(v -> assertThat(v.type()).isEqualTo(type))
         .satisfies(v -> assertThat(v.tableName()).isEqualTo(tableName))
         .satisfies(v -> assertThat(v.dbmsServer()).isEqualTo(dbmsServer))
-        .satisfies(v -> assertThat(v.connectionPool()).isEqualTo(connectionPool));
+        .satisfies(v -> assertThat(v.connectionPool()).isEqualTo(connectionPool))
+        .satisfies(v -> assertThat(v.tagStorage()).isEqualTo(tagStorage))
+        .satisfies(v -> assertThat(v.sqlite()).isEqualTo(sqlite));
   }
 
   public static void assertInstantiationFailureWithBlankTableName(@NotNull String tableName) {
@@ -51,7 +59,9 @@ public final class DataSourcePropertiesAssertions {
                     NOMINAL_DATA_SOURCE_TYPE,
                     tableName,
                     NOMINAL_DBMS_SERVER_PROPERTIES,
-                    NOMINAL_CONNECTION_POOL_PROPERTIES))
+                    NOMINAL_CONNECTION_POOL_PROPERTIES,
+                    NOMINAL_TAG_STORAGE_PROPERTIES,
+                    NOMINAL_SQLITE_PROPERTIES))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("The data source table name must not be blank")
         .hasNoCause();
@@ -32,6 +32,10 @@ import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTe
 import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.randomDataSourceType;
 import static fr.djaytan.mc.jrppb.core.storage.properties.DbmsServerPropertiesTestDataSet.NOMINAL_DBMS_SERVER_PROPERTIES;
 import static fr.djaytan.mc.jrppb.core.storage.properties.DbmsServerPropertiesTestDataSet.randomDbmsServerProperties;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.randomSqliteProperties;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TagStoragePropertiesTestDataSet.NOMINAL_TAG_STORAGE_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TagStoragePropertiesTestDataSet.randomTagStorageProperties;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.RepeatedTest;
@@ -48,7 +52,9 @@ final class DataSourcePropertiesTest {
           NOMINAL_DATA_SOURCE_TYPE,
           NOMINAL_DATA_SOURCE_TABLE_NAME,
           NOMINAL_DBMS_SERVER_PROPERTIES,
-          NOMINAL_CONNECTION_POOL_PROPERTIES);
+          NOMINAL_CONNECTION_POOL_PROPERTIES,
+          NOMINAL_TAG_STORAGE_PROPERTIES,
+          NOMINAL_SQLITE_PROPERTIES);
     }
 
     @RepeatedTest(100)
@@ -57,7 +63,9 @@ final class DataSourcePropertiesTest {
           randomDataSourceType(),
           randomDataSourceTableName(),
           randomDbmsServerProperties(),
-          randomConnectionPoolProperties());
+          randomConnectionPoolProperties(),
+          randomTagStorageProperties(),
+          randomSqliteProperties());
     }
 
     @Test
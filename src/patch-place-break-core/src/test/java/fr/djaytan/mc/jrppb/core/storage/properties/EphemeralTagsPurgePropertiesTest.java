@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgePropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_PURGE_BATCH_SIZE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgePropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_PURGE_INTERVAL;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgePropertiesTestDataSet.randomEphemeralTagsPurgeBatchSize;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgePropertiesTestDataSet.randomEphemeralTagsPurgeInterval;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgePropertiesTestDataSet.randomInvalidEphemeralTagsPurgeBatchSize;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgePropertiesTestDataSet.randomInvalidEphemeralTagsPurgeInterval;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class EphemeralTagsPurgePropertiesTest {
+
+  @Nested
+  class WhenInstantiating {
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_EPHEMERAL_TAGS_PURGE_BATCH_SIZE, 1, 100000})
+    void withValidBatchSize_shallSucceed(int batchSize) {
+      assertSuccessfulInstantiation(batchSize, NOMINAL_EPHEMERAL_TAGS_PURGE_INTERVAL);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_EPHEMERAL_TAGS_PURGE_INTERVAL, 0, 86400})
+    void withValidInterval_shallSucceed(int interval) {
+      assertSuccessfulInstantiation(NOMINAL_EPHEMERAL_TAGS_PURGE_BATCH_SIZE, interval);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedValidValues_shallSucceed() {
+      assertSuccessfulInstantiation(
+          randomEphemeralTagsPurgeBatchSize(), randomEphemeralTagsPurgeInterval());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 100001})
+    void withInvalidBatchSize_shallFail(int batchSize) {
+      assertInstantiationFailureWithInvalidBatchSize(batchSize);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidBatchSize_shallFail() {
+      assertInstantiationFailureWithInvalidBatchSize(randomInvalidEphemeralTagsPurgeBatchSize());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 86401})
+    void withInvalidInterval_shallFail(int interval) {
+      assertInstantiationFailureWithInvalidInterval(interval);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidInterval_shallFail() {
+      assertInstantiationFailureWithInvalidInterval(randomInvalidEphemeralTagsPurgeInterval());
+    }
+
+    private void assertSuccessfulInstantiation(int batchSize, int interval) {
+      assertThat(new EphemeralTagsPurgeProperties(batchSize, interval))
+          .satisfies(
+              v ->
+                  assertAll(
+                      () -> assertThat(v.batchSize()).isEqualTo(batchSize),
+                      () -> assertThat(v.interval()).isEqualTo(interval)));
+    }
+
+    private void assertInstantiationFailureWithInvalidBatchSize(int batchSize) {
+      assertThatThrownBy(
+              () ->
+                  new EphemeralTagsPurgeProperties(
+                      batchSize, NOMINAL_EPHEMERAL_TAGS_PURGE_INTERVAL))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The purge batch size must be between 1 and 100000")
+          .hasNoCause();
+    }
+
+    private void assertInstantiationFailureWithInvalidInterval(int interval) {
+      assertThatThrownBy(
+              () ->
+                  new EphemeralTagsPurgeProperties(
+                      NOMINAL_EPHEMERAL_TAGS_PURGE_BATCH_SIZE, interval))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The purge interval must be between 0 and 86400")
+          .hasNoCause();
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_BUSY_TIMEOUT;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_CACHE_SIZE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_JOURNAL_MODE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_MMAP_SIZE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.NOMINAL_SQLITE_SYNCHRONOUS_MODE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.randomInvalidSqliteBusyTimeout;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.randomInvalidSqliteCacheSize;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.randomInvalidSqliteMmapSize;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.randomSqliteBusyTimeout;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.randomSqliteCacheSize;
+import static fr.djaytan.mc.jrppb.core.storage.properties.SqlitePropertiesTestDataSet.randomSqliteMmapSize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class SqlitePropertiesTest {
+
+  @Nested
+  class WhenInstantiating {
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_SQLITE_MMAP_SIZE, 0, 4096})
+    void withValidMmapSize_shallSucceed(int mmapSize) {
+      assertSuccessfulInstantiation(
+          mmapSize, NOMINAL_SQLITE_CACHE_SIZE, NOMINAL_SQLITE_BUSY_TIMEOUT);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_SQLITE_CACHE_SIZE, 1, 1024})
+    void withValidCacheSize_shallSucceed(int cacheSize) {
+      assertSuccessfulInstantiation(
+          NOMINAL_SQLITE_MMAP_SIZE, cacheSize, NOMINAL_SQLITE_BUSY_TIMEOUT);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_SQLITE_BUSY_TIMEOUT, 0, 600000})
+    void withValidBusyTimeout_shallSucceed(int busyTimeout) {
+      assertSuccessfulInstantiation(
+          NOMINAL_SQLITE_MMAP_SIZE, NOMINAL_SQLITE_CACHE_SIZE, busyTimeout);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedValidValues_shallSucceed() {
+      assertSuccessfulInstantiation(
+          randomSqliteMmapSize(), randomSqliteCacheSize(), randomSqliteBusyTimeout());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 4097})
+    void withInvalidMmapSize_shallFail(int mmapSize) {
+      assertInstantiationFailure(
+          mmapSize,
+          NOMINAL_SQLITE_CACHE_SIZE,
+          NOMINAL_SQLITE_BUSY_TIMEOUT,
+          "The mmap size must be between 0 and 4096");
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidMmapSize_shallFail() {
+      assertInstantiationFailure(
+          randomInvalidSqliteMmapSize(),
+          NOMINAL_SQLITE_CACHE_SIZE,
+          NOMINAL_SQLITE_BUSY_TIMEOUT,
+          "The mmap size must be between 0 and 4096");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1025})
+    void withInvalidCacheSize_shallFail(int cacheSize) {
+      assertInstantiationFailure(
+          NOMINAL_SQLITE_MMAP_SIZE,
+          cacheSize,
+          NOMINAL_SQLITE_BUSY_TIMEOUT,
+          "The cache size must be between 1 and 1024");
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidCacheSize_shallFail() {
+      assertInstantiationFailure(
+          NOMINAL_SQLITE_MMAP_SIZE,
+          randomInvalidSqliteCacheSize(),
+          NOMINAL_SQLITE_BUSY_TIMEOUT,
+          "The cache size must be between 1 and 1024");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 600001})
+    void withInvalidBusyTimeout_shallFail(int busyTimeout) {
+      assertInstantiationFailure(
+          NOMINAL_SQLITE_MMAP_SIZE,
+          NOMINAL_SQLITE_CACHE_SIZE,
+          busyTimeout,
+          "The busy timeout must be between 0 and 600000");
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidBusyTimeout_shallFail() {
+      assertInstantiationFailure(
+          NOMINAL_SQLITE_MMAP_SIZE,
+          NOMINAL_SQLITE_CACHE_SIZE,
+          randomInvalidSqliteBusyTimeout(),
+          "The busy timeout must be between 0 and 600000");
+    }
+
+    private void assertSuccessfulInstantiation(int mmapSize, int cacheSize, int busyTimeout) {
+      assertThat(
+              new SqliteProperties(
+                  NOMINAL_SQLITE_JOURNAL_MODE,
+                  NOMINAL_SQLITE_SYNCHRONOUS_MODE,
+                  mmapSize,
+                  cacheSize,
+                  busyTimeout))
+          .satisfies(
+              v ->
+                  assertAll(
+                      () -> assertThat(v.journalMode()).isEqualTo(NOMINAL_SQLITE_JOURNAL_MODE),
+                      () ->
+                          assertThat(v.synchronousMode())
+                              .isEqualTo(NOMINAL_SQLITE_SYNCHRONOUS_MODE),
+                      () -> assertThat(v.mmapSize()).isEqualTo(mmapSize),
+                      () -> assertThat(v.cacheSize()).isEqualTo(cacheSize),
+                      () -> assertThat(v.busyTimeout()).isEqualTo(busyTimeout)));
+    }
+
+    private void assertInstantiationFailure(
+        int mmapSize, int cacheSize, int busyTimeout, String expectedMessage) {
+      assertThatThrownBy(
+              () ->
+                  new SqliteProperties(
+                      NOMINAL_SQLITE_JOURNAL_MODE,
+                      NOMINAL_SQLITE_SYNCHRONOUS_MODE,
+                      mmapSize,
+                      cacheSize,
+                      busyTimeout))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage(expectedMessage)
+          .hasNoCause();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.instancio.Instancio;
+import org.jetbrains.annotations.NotNull;
+
+public final class SqlitePropertiesTestDataSet {
+
+  public static final SqliteJournalMode NOMINAL_SQLITE_JOURNAL_MODE = SqliteJournalMode.TRUNCATE;
+  public static final SqliteSynchronousMode NOMINAL_SQLITE_SYNCHRONOUS_MODE =
+      SqliteSynchronousMode.FULL;
+  public static final int NOMINAL_SQLITE_MMAP_SIZE = 128;
+  public static final int NOMINAL_SQLITE_CACHE_SIZE = 16;
+  public static final int NOMINAL_SQLITE_BUSY_TIMEOUT = 10000;
+
+  public static final SqliteProperties NOMINAL_SQLITE_PROPERTIES =
+      new SqliteProperties(
+          NOMINAL_SQLITE_JOURNAL_MODE,
+          NOMINAL_SQLITE_SYNCHRONOUS_MODE,
+          NOMINAL_SQLITE_MMAP_SIZE,
+          NOMINAL_SQLITE_CACHE_SIZE,
+          NOMINAL_SQLITE_BUSY_TIMEOUT);
+
+  public static @NotNull SqliteProperties randomSqliteProperties() {
+    return new SqliteProperties(
+        Instancio.create(SqliteJournalMode.class),
+        Instancio.create(SqliteSynchronousMode.class),
+        randomSqliteMmapSize(),
+        randomSqliteCacheSize(),
+        randomSqliteBusyTimeout());
+  }
+
+  public static int randomSqliteMmapSize() {
+    return Instancio.gen().ints().range(0, 4096).get();
+  }
+
+  public static int randomSqliteCacheSize() {
+    return Instancio.gen().ints().range(1, 1024).get();
+  }
+
+  public static int randomSqliteBusyTimeout() {
+    return Instancio.gen().ints().range(0, 600000).get();
+  }
+
+  public static int randomInvalidSqliteMmapSize() {
+    return Instancio.gen().ints().range(Integer.MIN_VALUE, -1).range(4097, Integer.MAX_VALUE).get();
+  }
+
+  public static int randomInvalidSqliteCacheSize() {
+    return Instancio.gen().ints().range(Integer.MIN_VALUE, 0).range(1025, Integer.MAX_VALUE).get();
+  }
+
+  public static int randomInvalidSqliteBusyTimeout() {
+    return Instancio.gen()
+        .ints()
+        .range(Integer.MIN_VALUE, -1)
+        .range(600001, Integer.MAX_VALUE)
+        .get();
+  }
+}
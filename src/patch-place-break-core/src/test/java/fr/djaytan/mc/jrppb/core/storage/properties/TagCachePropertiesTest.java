@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.TagCachePropertiesTestDataSet.NOMINAL_TAG_CACHE_MAXIMUM_SIZE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TagCachePropertiesTestDataSet.randomInvalidTagCacheMaximumSize;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TagCachePropertiesTestDataSet.randomTagCacheMaximumSize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class TagCachePropertiesTest {
+
+  @Nested
+  class WhenInstantiating {
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_TAG_CACHE_MAXIMUM_SIZE, 0, 10000000})
+    void withValidMaximumSize_shallSucceed(int maximumSize) {
+      assertThat(new TagCacheProperties(maximumSize))
+          .satisfies(v -> assertThat(v.maximumSize()).isEqualTo(maximumSize));
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedValidMaximumSize_shallSucceed() {
+      int maximumSize = randomTagCacheMaximumSize();
+
+      assertThat(new TagCacheProperties(maximumSize))
+          .satisfies(v -> assertThat(v.maximumSize()).isEqualTo(maximumSize));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 10000001})
+    void withInvalidMaximumSize_shallFail(int maximumSize) {
+      assertInstantiationFailureWithInvalidMaximumSize(maximumSize);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidMaximumSize_shallFail() {
+      assertInstantiationFailureWithInvalidMaximumSize(randomInvalidTagCacheMaximumSize());
+    }
+
+    private void assertInstantiationFailureWithInvalidMaximumSize(int maximumSize) {
+      assertThatThrownBy(() -> new TagCacheProperties(maximumSize))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The tag cache maximum size must be between 0 and 10000000")
+          .hasNoCause();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.instancio.Instancio;
+import org.jetbrains.annotations.NotNull;
+
+public final class TagCachePropertiesTestDataSet {
+
+  public static final int NOMINAL_TAG_CACHE_MAXIMUM_SIZE = 50000;
+
+  public static final TagCacheProperties NOMINAL_TAG_CACHE_PROPERTIES =
+      new TagCacheProperties(NOMINAL_TAG_CACHE_MAXIMUM_SIZE);
+
+  public static @NotNull TagCacheProperties randomTagCacheProperties() {
+    return new TagCacheProperties(randomTagCacheMaximumSize());
+  }
+
+  public static int randomTagCacheMaximumSize() {
+    return Instancio.gen().ints().range(0, 10000000).get();
+  }
+
+  public static int randomInvalidTagCacheMaximumSize() {
+    return Instancio.gen()
+        .ints()
+        .range(Integer.MIN_VALUE, -1)
+        .range(10000001, Integer.MAX_VALUE)
+        .get();
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPropertiesTestDataSet.NOMINAL_EPHEMERAL_TAGS_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPropertiesTestDataSet.randomEphemeralTagsProperties;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TagCachePropertiesTestDataSet.NOMINAL_TAG_CACHE_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TagCachePropertiesTestDataSet.randomTagCacheProperties;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.randomTaskExecutorProperties;
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.NOMINAL_WRITE_BEHIND_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.randomWriteBehindProperties;
+
+import org.jetbrains.annotations.NotNull;
+
+public final class TagStoragePropertiesTestDataSet {
+
+  public static final TagStorageProperties NOMINAL_TAG_STORAGE_PROPERTIES =
+      new TagStorageProperties(
+          NOMINAL_TAG_CACHE_PROPERTIES,
+          NOMINAL_EPHEMERAL_TAGS_PROPERTIES,
+          NOMINAL_WRITE_BEHIND_PROPERTIES,
+          NOMINAL_TASK_EXECUTOR_PROPERTIES);
+
+  public static @NotNull TagStorageProperties randomTagStorageProperties() {
+    return new TagStorageProperties(
+        randomTagCacheProperties(),
+        randomEphemeralTagsProperties(),
+        randomWriteBehindProperties(),
+        randomTaskExecutorProperties());
+  }
+}
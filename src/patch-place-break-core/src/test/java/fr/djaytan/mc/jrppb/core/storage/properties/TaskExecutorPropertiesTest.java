@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_SATURATION_POLICY;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_THREADS;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.randomInvalidTaskExecutorQueueCapacity;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.randomInvalidTaskExecutorThreads;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.randomTaskExecutorQueueCapacity;
+import static fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorPropertiesTestDataSet.randomTaskExecutorThreads;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class TaskExecutorPropertiesTest {
+
+  @Nested
+  class WhenInstantiating {
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_TASK_EXECUTOR_THREADS, 1, 64})
+    void withValidThreads_shallSucceed(int threads) {
+      assertSuccessfulInstantiation(
+          threads, NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY, NOMINAL_TASK_EXECUTOR_SATURATION_POLICY);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY, 1, 1000000})
+    void withValidQueueCapacity_shallSucceed(int queueCapacity) {
+      assertSuccessfulInstantiation(
+          NOMINAL_TASK_EXECUTOR_THREADS, queueCapacity, NOMINAL_TASK_EXECUTOR_SATURATION_POLICY);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SaturationPolicy.class)
+    void withAnySaturationPolicy_shallSucceed(SaturationPolicy saturationPolicy) {
+      assertSuccessfulInstantiation(
+          NOMINAL_TASK_EXECUTOR_THREADS, NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY, saturationPolicy);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedValidValues_shallSucceed() {
+      assertSuccessfulInstantiation(
+          randomTaskExecutorThreads(),
+          randomTaskExecutorQueueCapacity(),
+          NOMINAL_TASK_EXECUTOR_SATURATION_POLICY);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 65})
+    void withInvalidThreads_shallFail(int threads) {
+      assertInstantiationFailureWithInvalidThreads(threads);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidThreads_shallFail() {
+      assertInstantiationFailureWithInvalidThreads(randomInvalidTaskExecutorThreads());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1000001})
+    void withInvalidQueueCapacity_shallFail(int queueCapacity) {
+      assertInstantiationFailureWithInvalidQueueCapacity(queueCapacity);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidQueueCapacity_shallFail() {
+      assertInstantiationFailureWithInvalidQueueCapacity(randomInvalidTaskExecutorQueueCapacity());
+    }
+
+    private void assertSuccessfulInstantiation(
+        int threads, int queueCapacity, SaturationPolicy saturationPolicy) {
+      assertThat(
+              new TaskExecutorProperties(
+                  threads, queueCapacity, saturationPolicy, NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS))
+          .satisfies(
+              v ->
+                  assertAll(
+                      () -> assertThat(v.threads()).isEqualTo(threads),
+                      () -> assertThat(v.queueCapacity()).isEqualTo(queueCapacity),
+                      () -> assertThat(v.saturationPolicy()).isEqualTo(saturationPolicy),
+                      () ->
+                          assertThat(v.virtualThreads())
+                              .isEqualTo(NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS)));
+    }
+
+    private void assertInstantiationFailureWithInvalidThreads(int threads) {
+      assertThatThrownBy(
+              () ->
+                  new TaskExecutorProperties(
+                      threads,
+                      NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY,
+                      NOMINAL_TASK_EXECUTOR_SATURATION_POLICY,
+                      NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The number of threads must be between 1 and 64")
+          .hasNoCause();
+    }
+
+    private void assertInstantiationFailureWithInvalidQueueCapacity(int queueCapacity) {
+      assertThatThrownBy(
+              () ->
+                  new TaskExecutorProperties(
+                      NOMINAL_TASK_EXECUTOR_THREADS,
+                      queueCapacity,
+                      NOMINAL_TASK_EXECUTOR_SATURATION_POLICY,
+                      NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The queue capacity must be between 1 and 1000000")
+          .hasNoCause();
+    }
+  }
+}
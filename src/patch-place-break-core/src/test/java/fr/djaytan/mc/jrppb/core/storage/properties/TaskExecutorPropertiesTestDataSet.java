@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.instancio.Instancio;
+import org.jetbrains.annotations.NotNull;
+
+public final class TaskExecutorPropertiesTestDataSet {
+
+  public static final int NOMINAL_TASK_EXECUTOR_THREADS = 4;
+  public static final int NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY = 5000;
+  public static final SaturationPolicy NOMINAL_TASK_EXECUTOR_SATURATION_POLICY =
+      SaturationPolicy.DROP_OLDEST_EPHEMERAL;
+  public static final boolean NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS = false;
+
+  public static final TaskExecutorProperties NOMINAL_TASK_EXECUTOR_PROPERTIES =
+      new TaskExecutorProperties(
+          NOMINAL_TASK_EXECUTOR_THREADS,
+          NOMINAL_TASK_EXECUTOR_QUEUE_CAPACITY,
+          NOMINAL_TASK_EXECUTOR_SATURATION_POLICY,
+          NOMINAL_TASK_EXECUTOR_VIRTUAL_THREADS);
+
+  public static @NotNull TaskExecutorProperties randomTaskExecutorProperties() {
+    return new TaskExecutorProperties(
+        randomTaskExecutorThreads(),
+        randomTaskExecutorQueueCapacity(),
+        Instancio.create(SaturationPolicy.class),
+        Instancio.create(boolean.class));
+  }
+
+  public static int randomTaskExecutorThreads() {
+    return Instancio.gen().ints().range(1, 64).get();
+  }
+
+  public static int randomTaskExecutorQueueCapacity() {
+    return Instancio.gen().ints().range(1, 1000000).get();
+  }
+
+  public static int randomInvalidTaskExecutorThreads() {
+    return Instancio.gen().ints().range(Integer.MIN_VALUE, 0).range(65, Integer.MAX_VALUE).get();
+  }
+
+  public static int randomInvalidTaskExecutorQueueCapacity() {
+    return Instancio.gen()
+        .ints()
+        .range(Integer.MIN_VALUE, 0)
+        .range(1000001, Integer.MAX_VALUE)
+        .get();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.NOMINAL_WRITE_BEHIND_FLUSH_INTERVAL;
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.NOMINAL_WRITE_BEHIND_MAXIMUM_BATCH_SIZE;
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.randomInvalidWriteBehindFlushInterval;
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.randomInvalidWriteBehindMaximumBatchSize;
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.randomWriteBehindFlushInterval;
+import static fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindPropertiesTestDataSet.randomWriteBehindMaximumBatchSize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class WriteBehindPropertiesTest {
+
+  @Nested
+  class WhenInstantiating {
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_WRITE_BEHIND_FLUSH_INTERVAL, 1, 60000})
+    void withValidFlushInterval_shallSucceed(int flushInterval) {
+      assertSuccessfulInstantiation(flushInterval, NOMINAL_WRITE_BEHIND_MAXIMUM_BATCH_SIZE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {NOMINAL_WRITE_BEHIND_MAXIMUM_BATCH_SIZE, 1, 100000})
+    void withValidMaximumBatchSize_shallSucceed(int maximumBatchSize) {
+      assertSuccessfulInstantiation(NOMINAL_WRITE_BEHIND_FLUSH_INTERVAL, maximumBatchSize);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedValidValues_shallSucceed() {
+      assertSuccessfulInstantiation(
+          randomWriteBehindFlushInterval(), randomWriteBehindMaximumBatchSize());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 60001})
+    void withInvalidFlushInterval_shallFail(int flushInterval) {
+      assertInstantiationFailureWithInvalidFlushInterval(flushInterval);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidFlushInterval_shallFail() {
+      assertInstantiationFailureWithInvalidFlushInterval(randomInvalidWriteBehindFlushInterval());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 100001})
+    void withInvalidMaximumBatchSize_shallFail(int maximumBatchSize) {
+      assertInstantiationFailureWithInvalidMaximumBatchSize(maximumBatchSize);
+    }
+
+    @RepeatedTest(100)
+    void withRandomlyGeneratedInvalidMaximumBatchSize_shallFail() {
+      assertInstantiationFailureWithInvalidMaximumBatchSize(
+          randomInvalidWriteBehindMaximumBatchSize());
+    }
+
+    private void assertSuccessfulInstantiation(int flushInterval, int maximumBatchSize) {
+      assertThat(new WriteBehindProperties(flushInterval, maximumBatchSize))
+          .satisfies(
+              v ->
+                  assertAll(
+                      () -> assertThat(v.flushInterval()).isEqualTo(flushInterval),
+                      () -> assertThat(v.maximumBatchSize()).isEqualTo(maximumBatchSize)));
+    }
+
+    private void assertInstantiationFailureWithInvalidFlushInterval(int flushInterval) {
+      assertThatThrownBy(
+              () ->
+                  new WriteBehindProperties(flushInterval, NOMINAL_WRITE_BEHIND_MAXIMUM_BATCH_SIZE))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The flush interval must be between 1 and 60000")
+          .hasNoCause();
+    }
+
+    private void assertInstantiationFailureWithInvalidMaximumBatchSize(int maximumBatchSize) {
+      assertThatThrownBy(
+              () ->
+                  new WriteBehindProperties(NOMINAL_WRITE_BEHIND_FLUSH_INTERVAL, maximumBatchSize))
+          .isExactlyInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The maximum batch size must be between 1 and 100000")
+          .hasNoCause();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.properties;
+
+import org.instancio.Instancio;
+import org.jetbrains.annotations.NotNull;
+
+public final class WriteBehindPropertiesTestDataSet {
+
+  public static final int NOMINAL_WRITE_BEHIND_FLUSH_INTERVAL = 250;
+  public static final int NOMINAL_WRITE_BEHIND_MAXIMUM_BATCH_SIZE = 2000;
+
+  public static final WriteBehindProperties NOMINAL_WRITE_BEHIND_PROPERTIES =
+      new WriteBehindProperties(
+          NOMINAL_WRITE_BEHIND_FLUSH_INTERVAL, NOMINAL_WRITE_BEHIND_MAXIMUM_BATCH_SIZE);
+
+  public static @NotNull WriteBehindProperties randomWriteBehindProperties() {
+    return new WriteBehindProperties(
+        randomWriteBehindFlushInterval(), randomWriteBehindMaximumBatchSize());
+  }
+
+  public static int randomWriteBehindFlushInterval() {
+    return Instancio.gen().ints().range(1, 60000).get();
+  }
+
+  public static int randomWriteBehindMaximumBatchSize() {
+    return Instancio.gen().ints().range(1, 100000).get();
+  }
+
+  public static int randomInvalidWriteBehindFlushInterval() {
+    return Instancio.gen().ints().range(Integer.MIN_VALUE, 0).range(60001, Integer.MAX_VALUE).get();
+  }
+
+  public static int randomInvalidWriteBehindMaximumBatchSize() {
+    return Instancio.gen()
+        .ints()
+        .range(Integer.MIN_VALUE, 0)
+        .range(100001, Integer.MAX_VALUE)
+        .get();
+  }
+}
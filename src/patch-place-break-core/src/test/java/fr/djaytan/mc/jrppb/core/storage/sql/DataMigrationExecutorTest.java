@@ -0,0 +1,243 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import fr.djaytan.mc.jrppb.core.storage.sql.access.SpatialKeyCodec;
+import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.SqliteJdbcUrl;
+import fr.djaytan.mc.jrppb.core.storage.sql.provider.FlywayProvider;
+import fr.djaytan.mc.jrppb.core.storage.sql.provider.HikariDataSourceProvider;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.flywaydb.core.Flyway;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataMigrationExecutorTest {
+
+  private static final String TABLE_NAME = NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES.tableName();
+
+  @TempDir private Path dataFolder;
+  @AutoClose private HikariDataSource hikariDataSource;
+  private Flyway flyway;
+
+  @BeforeEach
+  void setUp() {
+    hikariDataSource =
+        new HikariDataSourceProvider(
+                NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES,
+                new SqliteJdbcUrl(dataFolder.resolve("sqlite-data.db")))
+            .get();
+    flyway =
+        new FlywayProvider(
+                DataMigrationExecutor.class.getClassLoader(),
+                hikariDataSource,
+                NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES)
+            .get();
+  }
+
+  @Test
+  void whenMigratingExistingTags_shouldBackfillSpatialKeys() throws SQLException {
+    // Given
+    migrateUpTo("3.1.0");
+    insertTags();
+
+    // When
+    new DataMigrationExecutor(flyway).migrate();
+
+    // Then
+    assertThat(querySpatialKey(17, -1)).isEqualTo(SpatialKeyCodec.encode(17, -1));
+    assertThat(querySpatialKey(-17, 32)).isEqualTo(SpatialKeyCodec.encode(-17, 32));
+  }
+
+  @Test
+  void whenMigratingExistingTags_shouldReferenceWorldDictionary() throws SQLException {
+    // Given
+    migrateUpTo("3.1.0");
+    insertTags();
+
+    // When
+    new DataMigrationExecutor(flyway).migrate();
+
+    // Then
+    assertThat(queryWorldNames()).containsExactly("world", "world", "world_nether");
+  }
+
+  @Test
+  void whenMigratingExistingTags_shouldTruncateCreationDateTimesToEpochMillis()
+      throws SQLException {
+    // Given
+    migrateUpTo("3.1.0");
+    insertTags();
+
+    // When
+    new DataMigrationExecutor(flyway).migrate();
+
+    // Then
+    // Rounding would give 1704067200124 for the sub-millisecond fraction of the last tag
+    assertThat(queryCreationEpochMillis()).containsExactly(1704067200000L, 1704067200123L);
+  }
+
+  @Test
+  void whenMigratingExistingTags_shouldClusterThemOnLocation() throws SQLException {
+    // Given
+    migrateUpTo("3.1.0");
+    insertTags();
+
+    // When
+    new DataMigrationExecutor(flyway).migrate();
+
+    // Then
+    assertThat(queryTableDefinition()).endsWith("WITHOUT ROWID");
+    assertThat(queryWorldNames()).hasSize(3);
+  }
+
+  @Test
+  void whenMigratingExistingTags_shouldDropLegacyTable() throws SQLException {
+    // Given
+    migrateUpTo("3.1.0");
+    insertTags();
+
+    // When
+    new DataMigrationExecutor(flyway).migrate();
+
+    // Then
+    assertThat(queryTableNames()).doesNotContain(TABLE_NAME + "_legacy").contains(TABLE_NAME);
+  }
+
+  private void migrateUpTo(@NotNull String targetVersion) {
+    Flyway.configure(DataMigrationExecutor.class.getClassLoader())
+        .configuration(flyway.getConfiguration())
+        .target(targetVersion)
+        .load()
+        .migrate();
+  }
+
+  private void insertTags() throws SQLException {
+    execute(
+        String.format(
+            "INSERT INTO %s VALUES ('world', 17, 64, -1, 0, '2024-01-01T00:00:00'),"
+                + " ('world', -17, 64, 32, 0, '2024-01-01T00:00:00'),"
+                + " ('world_nether', 17, 64, -1, 0, '2024-01-01T00:00:00.123999999')",
+            TABLE_NAME));
+  }
+
+  private void execute(@NotNull String sql) throws SQLException {
+    try (Connection connection = hikariDataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private @NotNull List<String> queryWorldNames() throws SQLException {
+    try (Connection connection = hikariDataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet =
+            statement.executeQuery(
+                String.format(
+                    "SELECT world.name FROM %1$s tag JOIN %1$s_world world"
+                        + " ON world.id = tag.world_id ORDER BY world.name",
+                    TABLE_NAME))) {
+      List<String> worldNames = new ArrayList<>();
+
+      while (resultSet.next()) {
+        worldNames.add(resultSet.getString(1));
+      }
+
+      return worldNames;
+    }
+  }
+
+  private @NotNull Set<Long> queryCreationEpochMillis() throws SQLException {
+    try (Connection connection = hikariDataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet =
+            statement.executeQuery(
+                String.format(
+                    "SELECT DISTINCT created_at_epoch_millis FROM %s"
+                        + " ORDER BY created_at_epoch_millis",
+                    TABLE_NAME))) {
+      Set<Long> creationEpochMillis = new LinkedHashSet<>();
+
+      while (resultSet.next()) {
+        creationEpochMillis.add(resultSet.getLong(1));
+      }
+
+      return creationEpochMillis;
+    }
+  }
+
+  private @NotNull String queryTableDefinition() throws SQLException {
+    try (Connection connection = hikariDataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet =
+            statement.executeQuery(
+                String.format(
+                    "SELECT sql FROM sqlite_master WHERE type = 'table' AND name = '%s'",
+                    TABLE_NAME))) {
+      resultSet.next();
+      return resultSet.getString("sql");
+    }
+  }
+
+  private @NotNull List<String> queryTableNames() throws SQLException {
+    try (Connection connection = hikariDataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet =
+            statement.executeQuery("SELECT name FROM sqlite_master WHERE type = 'table'")) {
+      List<String> tableNames = new ArrayList<>();
+
+      while (resultSet.next()) {
+        tableNames.add(resultSet.getString("name"));
+      }
+
+      return tableNames;
+    }
+  }
+
+  private long querySpatialKey(int x, int z) throws SQLException {
+    try (Connection connection = hikariDataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet =
+            statement.executeQuery(
+                String.format(
+                    "SELECT spatial_key FROM %s WHERE location_x = %d AND location_z = %d LIMIT 1",
+                    TABLE_NAME, x, z))) {
+      resultSet.next();
+      return resultSet.getLong("spatial_key");
+    }
+  }
+}
@@ -32,9 +32,13 @@ import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.SqliteJdbcUrl;
 import fr.djaytan.mc.jrppb.core.storage.sql.provider.HikariDataSourceProvider;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AutoClose;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,7 +60,8 @@ class DatabaseMediatorTest {
         new HikariDataSourceProvider(NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES, jdbcUrl);
     HikariDataSource hikariDataSource = hikariDataSourceProvider.get();
 
-    databaseMediator = new DatabaseMediator(hikariDataSource);
+    databaseMediator =
+        new DatabaseMediator(hikariDataSource, hikariDataSourceProvider.getReadOnly());
   }
 
   @Test
@@ -115,4 +120,65 @@ class DatabaseMediatorTest {
     // Then
     assertThat(exception).isExactlyInstanceOf(IllegalStateException.class).hasMessage("test");
   }
+
+  @Test
+  void whenUsingReadOnlyConnectionForExecutingQuery_shouldProvideReadOnlyConnection() {
+    // Given
+    Function<Connection, Optional<Boolean>> callback =
+        connection -> {
+          try {
+            return Optional.of(connection.isReadOnly());
+          } catch (SQLException e) {
+            throw new IllegalStateException(e);
+          }
+        };
+
+    // When
+    Optional<Boolean> readOnly = databaseMediator.dispatchReadOnlyQuery(callback);
+
+    // Then
+    assertThat(readOnly).contains(true);
+  }
+
+  @Test
+  void whenUsingReadOnlyConnectionDuringWrite_shouldNotWaitForWriteCompletion() {
+    // Given
+    databaseMediator.dispatchRequest(
+        connection -> {
+          try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE test (value INTEGER)");
+          } catch (SQLException e) {
+            throw new IllegalStateException(e);
+          }
+        });
+
+    // When
+    Optional<Integer> count =
+        databaseMediator.dispatchQuery(
+            writeConnection -> {
+              try (Statement statement = writeConnection.createStatement()) {
+                writeConnection.setAutoCommit(false);
+                statement.execute("INSERT INTO test VALUES (1)");
+                Optional<Integer> readCount =
+                    databaseMediator.dispatchReadOnlyQuery(DatabaseMediatorTest::countRows);
+                writeConnection.commit();
+                return readCount;
+              } catch (SQLException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+
+    // Then
+    assertThat(count).contains(0);
+  }
+
+  private static @NotNull Optional<Integer> countRows(@NotNull Connection connection) {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM test")) {
+      resultSet.next();
+      return Optional.of(resultSet.getInt(1));
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
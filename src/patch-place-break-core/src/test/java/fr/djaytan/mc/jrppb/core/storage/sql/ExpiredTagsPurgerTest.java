@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.EphemeralTagsPurgeProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.TagCacheProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.TagStorageProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.TaskExecutorProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.WriteBehindProperties;
+import fr.djaytan.mc.jrppb.core.storage.sql.access.SqlTagRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class ExpiredTagsPurgerTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+  private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+  private static final LocalDateTime EXPIRATION_THRESHOLD =
+      LocalDateTime.ofInstant(NOW.minusSeconds(3), ZoneOffset.UTC);
+  private static final int BATCH_SIZE = 100;
+
+  @Mock private SqlTagRepository sqlTagRepository;
+  private ExpiredTagsPurger expiredTagsPurger;
+
+  @BeforeEach
+  void setUp() {
+    var dataSourceProperties =
+        new DataSourceProperties(
+            DataSourceProperties.DEFAULT.type(),
+            DataSourceProperties.DEFAULT.tableName(),
+            DataSourceProperties.DEFAULT.dbmsServer(),
+            DataSourceProperties.DEFAULT.connectionPool(),
+            new TagStorageProperties(
+                TagCacheProperties.DEFAULT,
+                new EphemeralTagsProperties(
+                    false, new EphemeralTagsPurgeProperties(BATCH_SIZE, 60)),
+                WriteBehindProperties.DEFAULT,
+                TaskExecutorProperties.DEFAULT),
+            DataSourceProperties.DEFAULT.sqlite());
+    expiredTagsPurger = new ExpiredTagsPurger(CLOCK, dataSourceProperties, sqlTagRepository);
+  }
+
+  @Nested
+  class WhenPurging {
+
+    @Test
+    void withFullBatches_shallDeleteUntilLastBatchIsNotFull() {
+      // Given
+      given(sqlTagRepository.deleteExpiredEphemeralTags(EXPIRATION_THRESHOLD, BATCH_SIZE))
+          .willReturn(BATCH_SIZE, BATCH_SIZE, 42);
+
+      // When
+      expiredTagsPurger.purge();
+
+      // Then
+      verify(sqlTagRepository, times(3))
+          .deleteExpiredEphemeralTags(EXPIRATION_THRESHOLD, BATCH_SIZE);
+    }
+
+    @Test
+    void withFailure_shallNotPropagateIt() {
+      // Given
+      given(sqlTagRepository.deleteExpiredEphemeralTags(any(), eq(BATCH_SIZE)))
+          .willThrow(IllegalStateException.class);
+
+      // When & Then
+      assertThatCode(expiredTagsPurger::purge).doesNotThrowAnyException();
+    }
+  }
+}
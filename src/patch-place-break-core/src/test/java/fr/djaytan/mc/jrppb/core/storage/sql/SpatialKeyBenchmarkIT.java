@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import fr.djaytan.mc.jrppb.core.storage.sql.access.SpatialKeyCodec;
+import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.SqliteJdbcUrl;
+import fr.djaytan.mc.jrppb.core.storage.sql.provider.FlywayProvider;
+import fr.djaytan.mc.jrppb.core.storage.sql.provider.HikariDataSourceProvider;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the lookups of the tags of a chunk through coordinate ranges on the former layout with
+ * the ones through the spatial key, on the same SQLite data set migrated from the former layout to
+ * the new one.
+ *
+ * <p>The results depend on the host, so they are logged rather than asserted.
+ */
+class SpatialKeyBenchmarkIT {
+
+  private static final Logger log = LoggerFactory.getLogger(SpatialKeyBenchmarkIT.class);
+
+  private static final String TABLE_NAME = NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES.tableName();
+  private static final int TAGS_COUNT = 200_000;
+  private static final int HALF_AREA_SIZE = 2048;
+  private static final int LOOKUPS_COUNT = 20_000;
+  private static final long SEED = 42;
+
+  @TempDir private Path dataFolder;
+  @AutoClose private HikariDataSource hikariDataSource;
+  private Flyway flyway;
+
+  @BeforeEach
+  void setUp() {
+    hikariDataSource =
+        new HikariDataSourceProvider(
+                NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES,
+                new SqliteJdbcUrl(dataFolder.resolve("sqlite-data.db")))
+            .get();
+    flyway =
+        new FlywayProvider(
+                SpatialKeyBenchmarkIT.class.getClassLoader(),
+                hikariDataSource,
+                NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES)
+            .get();
+  }
+
+  @Test
+  void lookingUpChunks() throws SQLException {
+    // Given
+    migrateUpTo("3.1.0");
+    insertTags();
+
+    // When
+    long coordinateRangesFoundTagsCount =
+        lookUpChunks(
+            "coordinate ranges",
+            String.format(
+                "SELECT location_x, location_y, location_z FROM %s WHERE world_name = ?"
+                    + " AND location_x BETWEEN ? AND ? AND location_z BETWEEN ? AND ?",
+                TABLE_NAME),
+            (preparedStatement, chunkLocation) -> {
+              preparedStatement.setInt(2, chunkLocation.x() << 4);
+              preparedStatement.setInt(3, (chunkLocation.x() << 4) + 15);
+              preparedStatement.setInt(4, chunkLocation.z() << 4);
+              preparedStatement.setInt(5, (chunkLocation.z() << 4) + 15);
+            });
+
+    long migrationStartNanos = System.nanoTime();
+    new DataMigrationExecutor(flyway).migrate();
+    log.info(
+        "{}: {} tags migrated to the new layout in {} ms",
+        getClass().getSimpleName(),
+        TAGS_COUNT,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - migrationStartNanos));
+
+    long spatialKeyFoundTagsCount =
+        lookUpChunks(
+            "spatial key",
+            String.format(
+                "SELECT location_x, location_y, location_z FROM %1$s"
+                    + " WHERE world_id = (SELECT id FROM %1$s_world WHERE name = ?)"
+                    + " AND spatial_key BETWEEN ? AND ?",
+                TABLE_NAME),
+            (preparedStatement, chunkLocation) -> {
+              preparedStatement.setLong(2, SpatialKeyCodec.chunkFirstKey(chunkLocation));
+              preparedStatement.setLong(3, SpatialKeyCodec.chunkLastKey(chunkLocation));
+            });
+
+    // Then
+    assertThat(spatialKeyFoundTagsCount).isPositive().isEqualTo(coordinateRangesFoundTagsCount);
+  }
+
+  private void migrateUpTo(@NotNull String targetVersion) {
+    Flyway.configure(SpatialKeyBenchmarkIT.class.getClassLoader())
+        .configuration(flyway.getConfiguration())
+        .target(targetVersion)
+        .load()
+        .migrate();
+  }
+
+  private void insertTags() throws SQLException {
+    Random random = new Random(SEED);
+    String insertSql =
+        String.format(
+            "INSERT OR IGNORE INTO %s (world_name, location_x, location_y, location_z,"
+                + " is_ephemeral, created_at_timestamp)"
+                + " VALUES ('world', ?, ?, ?, 0, '2024-01-01T00:00:00')",
+            TABLE_NAME);
+
+    try (Connection connection = hikariDataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(insertSql)) {
+      connection.setAutoCommit(false);
+
+      for (int i = 0; i < TAGS_COUNT; i++) {
+        int x = random.nextInt(-HALF_AREA_SIZE, HALF_AREA_SIZE);
+        int z = random.nextInt(-HALF_AREA_SIZE, HALF_AREA_SIZE);
+        preparedStatement.setInt(1, x);
+        preparedStatement.setInt(2, random.nextInt(-64, 320));
+        preparedStatement.setInt(3, z);
+        preparedStatement.addBatch();
+      }
+
+      preparedStatement.executeBatch();
+      connection.commit();
+    }
+  }
+
+  private long lookUpChunks(
+      @NotNull String layout,
+      @NotNull String sql,
+      @NotNull ChunkParametersSetter chunkParametersSetter)
+      throws SQLException {
+    long foundTagsCount = 0;
+
+    try (Connection connection = hikariDataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+      // Warms up the page cache
+      runLookups(preparedStatement, chunkParametersSetter);
+
+      long startNanos = System.nanoTime();
+      foundTagsCount = runLookups(preparedStatement, chunkParametersSetter);
+      long elapsedNanos = System.nanoTime() - startNanos;
+
+      log.info(
+          "{}: {} chunk lookups through the {} in {} ms ({} ops/s, {} tags found)",
+          getClass().getSimpleName(),
+          LOOKUPS_COUNT,
+          layout,
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+          Math.round(LOOKUPS_COUNT * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos),
+          foundTagsCount);
+    }
+
+    return foundTagsCount;
+  }
+
+  private static long runLookups(
+      @NotNull PreparedStatement preparedStatement,
+      @NotNull ChunkParametersSetter chunkParametersSetter)
+      throws SQLException {
+    Random random = new Random(SEED);
+    int halfAreaChunksCount = HALF_AREA_SIZE >> 4;
+    long foundTagsCount = 0;
+
+    for (int i = 0; i < LOOKUPS_COUNT; i++) {
+      var chunkLocation =
+          new ChunkLocation(
+              "world",
+              random.nextInt(-halfAreaChunksCount, halfAreaChunksCount),
+              random.nextInt(-halfAreaChunksCount, halfAreaChunksCount));
+      preparedStatement.setString(1, chunkLocation.worldName());
+      chunkParametersSetter.set(preparedStatement, chunkLocation);
+
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        while (resultSet.next()) {
+          foundTagsCount++;
+        }
+      }
+    }
+
+    return foundTagsCount;
+  }
+
+  @FunctionalInterface
+  private interface ChunkParametersSetter {
+
+    void set(@NotNull PreparedStatement preparedStatement, @NotNull ChunkLocation chunkLocation)
+        throws SQLException;
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql;
+
+import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import fr.djaytan.mc.jrppb.core.storage.sql.access.SpatialKeyCodec;
+import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.SqliteJdbcUrl;
+import fr.djaytan.mc.jrppb.core.storage.sql.provider.FlywayProvider;
+import fr.djaytan.mc.jrppb.core.storage.sql.provider.HikariDataSourceProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares a SQLite rowid table layout (rowid table plus primary key index) with the one of the
+ * migrated schema, where the tags are clustered on their location ({@code WITHOUT ROWID} table).
+ * The rowid layout is rebuilt by the benchmark itself since no migration ever produces it.
+ *
+ * <p>The same data set is inserted in both layouts, then the size of the compacted database file
+ * and the throughput of lookups by location are measured. The results depend on the host, so they
+ * are logged rather than asserted.
+ */
+class SqliteClusteredLayoutBenchmarkIT {
+
+  private static final Logger log = LoggerFactory.getLogger(SqliteClusteredLayoutBenchmarkIT.class);
+
+  private static final String TABLE_NAME = NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES.tableName();
+  private static final int TAGS_COUNT = 2_000_000;
+  private static final int INSERTS_PER_TRANSACTION = 10_000;
+  private static final int HALF_AREA_SIZE = 4096;
+  private static final int LOOKUPS_COUNT = 200_000;
+  private static final long SEED = 42;
+
+  @TempDir private Path dataFolder;
+
+  @ParameterizedTest(name = "{0}")
+  @CsvSource({"rowid, false", "without rowid, true"})
+  void storingTags(@NotNull String layout, boolean isClustered) throws IOException, SQLException {
+    Path databaseFile = dataFolder.resolve("sqlite-data.db");
+
+    try (HikariDataSource hikariDataSource =
+        new HikariDataSourceProvider(
+                NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES, new SqliteJdbcUrl(databaseFile))
+            .get()) {
+      // Given
+      migrate(hikariDataSource);
+
+      if (!isClustered) {
+        recreateAsRowidTable(hikariDataSource);
+      }
+
+      // When
+      long insertNanos = insertTags(hikariDataSource);
+      execute(hikariDataSource, "VACUUM");
+      long fileSize = Files.size(databaseFile);
+      long lookupNanos = lookUpTags(hikariDataSource);
+
+      // Then
+      log.info(
+          "{}: {} layout: {} MiB for {} tags, {} inserts/s, {} lookups/s",
+          getClass().getSimpleName(),
+          layout,
+          fileSize / (1024 * 1024),
+          TAGS_COUNT,
+          operationsPerSecond(TAGS_COUNT, insertNanos),
+          operationsPerSecond(LOOKUPS_COUNT, lookupNanos));
+
+      assertThat(fileSize).isPositive();
+    }
+  }
+
+  private static void migrate(@NotNull HikariDataSource hikariDataSource) {
+    Flyway flyway =
+        new FlywayProvider(
+                SqliteClusteredLayoutBenchmarkIT.class.getClassLoader(),
+                hikariDataSource,
+                NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES)
+            .get();
+    new DataMigrationExecutor(flyway).migrate();
+  }
+
+  private static void recreateAsRowidTable(@NotNull HikariDataSource hikariDataSource)
+      throws SQLException {
+    try (Connection connection = hikariDataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      String createTableSql;
+
+      try (ResultSet resultSet =
+          statement.executeQuery(
+              String.format(
+                  "SELECT sql FROM sqlite_master WHERE type = 'table' AND name = '%s'",
+                  TABLE_NAME))) {
+        resultSet.next();
+        createTableSql = resultSet.getString("sql").replace("WITHOUT ROWID", "");
+      }
+
+      statement.execute(String.format("DROP TABLE %s", TABLE_NAME));
+      statement.execute(createTableSql);
+      statement.execute(
+          String.format(
+              "CREATE INDEX %1$s_ephemeral_expiration_idx"
+                  + " ON %1$s (is_ephemeral, created_at_epoch_millis)",
+              TABLE_NAME));
+      statement.execute(
+          String.format(
+              "CREATE INDEX %1$s_spatial_idx ON %1$s (world_id, spatial_key, location_y)",
+              TABLE_NAME));
+    }
+  }
+
+  private static long insertTags(@NotNull HikariDataSource hikariDataSource) throws SQLException {
+    Random random = new Random(SEED);
+    String insertSql =
+        String.format(
+            "INSERT OR IGNORE INTO %s (world_id, location_x, location_y, location_z, spatial_key,"
+                + " is_ephemeral, created_at_epoch_millis) VALUES (1, ?, ?, ?, ?, 0, ?)",
+            TABLE_NAME);
+
+    try (Connection connection = hikariDataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(insertSql)) {
+      connection.setAutoCommit(false);
+      long startNanos = System.nanoTime();
+
+      for (int i = 1; i <= TAGS_COUNT; i++) {
+        int x = random.nextInt(-HALF_AREA_SIZE, HALF_AREA_SIZE);
+        int z = random.nextInt(-HALF_AREA_SIZE, HALF_AREA_SIZE);
+        preparedStatement.setInt(1, x);
+        preparedStatement.setInt(2, random.nextInt(-64, 320));
+        preparedStatement.setInt(3, z);
+        preparedStatement.setLong(4, SpatialKeyCodec.encode(x, z));
+        preparedStatement.setLong(5, System.currentTimeMillis());
+        preparedStatement.addBatch();
+
+        if (i % INSERTS_PER_TRANSACTION == 0) {
+          preparedStatement.executeBatch();
+          connection.commit();
+        }
+      }
+
+      return System.nanoTime() - startNanos;
+    }
+  }
+
+  private static long lookUpTags(@NotNull HikariDataSource hikariDataSource) throws SQLException {
+    // Replaying the same random sequence gives back the locations of inserted tags
+    Random random = new Random(SEED);
+    String lookupSql =
+        String.format(
+            "SELECT is_ephemeral, created_at_epoch_millis FROM %s WHERE world_id = 1"
+                + " AND location_x = ? AND location_y = ? AND location_z = ?",
+            TABLE_NAME);
+    long foundTagsCount = 0;
+
+    try (Connection connection = hikariDataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(lookupSql)) {
+      long startNanos = System.nanoTime();
+
+      for (int i = 0; i < LOOKUPS_COUNT; i++) {
+        int x = random.nextInt(-HALF_AREA_SIZE, HALF_AREA_SIZE);
+        int z = random.nextInt(-HALF_AREA_SIZE, HALF_AREA_SIZE);
+        preparedStatement.setInt(1, x);
+        preparedStatement.setInt(2, random.nextInt(-64, 320));
+        preparedStatement.setInt(3, z);
+
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+          if (resultSet.next()) {
+            foundTagsCount++;
+          }
+        }
+      }
+
+      long elapsedNanos = System.nanoTime() - startNanos;
+      assertThat(foundTagsCount).isEqualTo(LOOKUPS_COUNT);
+      return elapsedNanos;
+    }
+  }
+
+  private static void execute(@NotNull HikariDataSource hikariDataSource, @NotNull String sql)
+      throws SQLException {
+    try (Connection connection = hikariDataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private static long operationsPerSecond(int operationsCount, long elapsedNanos) {
+    return Math.round(operationsCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+  }
+}
@@ -37,7 +37,7 @@ import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.MysqlJdbcUrl;
 import fr.djaytan.mc.jrppb.core.storage.sql.provider.FlywayProvider;
 import fr.djaytan.mc.jrppb.core.storage.sql.provider.HikariDataSourceProvider;
 import fr.djaytan.mc.jrppb.core.storage.sql.serializer.BooleanIntegerSerializer;
-import fr.djaytan.mc.jrppb.core.storage.sql.serializer.LocalDateTimeStringSerializer;
+import fr.djaytan.mc.jrppb.core.storage.sql.serializer.LocalDateTimeEpochMillisSerializer;
 import javax.sql.DataSource;
 import org.apache.commons.lang3.Validate;
 import org.flywaydb.core.Flyway;
@@ -100,9 +100,9 @@ final class MysqlTagRepositoryFactory implements AutoCloseable {
   private static @NotNull TagSqlDao createTagSqlDao(
       @NotNull DataSourceProperties dataSourceProperties) {
     BooleanIntegerSerializer booleanIntegerSerializer = new BooleanIntegerSerializer();
-    LocalDateTimeStringSerializer localDateTimeStringSerializer =
-        new LocalDateTimeStringSerializer();
+    LocalDateTimeEpochMillisSerializer localDateTimeEpochMillisSerializer =
+        new LocalDateTimeEpochMillisSerializer();
     return new TagSqlDao(
-        booleanIntegerSerializer, dataSourceProperties, localDateTimeStringSerializer);
+        booleanIntegerSerializer, dataSourceProperties, localDateTimeEpochMillisSerializer);
   }
 }
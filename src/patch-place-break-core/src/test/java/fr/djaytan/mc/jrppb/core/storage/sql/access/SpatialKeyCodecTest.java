@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql.access;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SpatialKeyCodecTest {
+
+  @ParameterizedTest
+  @CsvSource({
+    "0, 0",
+    "17, -1",
+    "-17, 32",
+    "2147483647, -2147483648",
+    "-2147483648, 2147483647",
+    "-30000000, 30000000"
+  })
+  void whenEncodingThenDecoding_shallGiveBackCoordinates(int x, int z) {
+    // When
+    long spatialKey = SpatialKeyCodec.encode(x, z);
+
+    // Then
+    assertThat(SpatialKeyCodec.decodeX(spatialKey)).isEqualTo(x);
+    assertThat(SpatialKeyCodec.decodeZ(spatialKey)).isEqualTo(z);
+  }
+
+  @Nested
+  class WhenComputingChunkRange {
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "16, -1", "-17, 32", "2147483647, -2147483648", "-2147483648, 0"})
+    void shallSpanAllBlocksOfChunk(int x, int z) {
+      // Given
+      var blockLocation = new BlockLocation("world", x, 64, z);
+      ChunkLocation chunkLocation = ChunkLocation.from(blockLocation);
+
+      // When
+      long firstKey = SpatialKeyCodec.chunkFirstKey(chunkLocation);
+      long lastKey = SpatialKeyCodec.chunkLastKey(chunkLocation);
+
+      // Then
+      assertThat(SpatialKeyCodec.encode(blockLocation)).isBetween(firstKey, lastKey);
+      assertThat(lastKey - firstKey).isEqualTo(255);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"15, 15, true", "0, 0, true", "16, 0, false", "0, -1, false", "-1, -1, false"})
+    void shallOnlyContainBlocksOfChunk(int x, int z, boolean isInsideChunk) {
+      // Given
+      var chunkLocation = new ChunkLocation("world", 0, 0);
+      long spatialKey = SpatialKeyCodec.encode(x, z);
+
+      // When
+      long firstKey = SpatialKeyCodec.chunkFirstKey(chunkLocation);
+      long lastKey = SpatialKeyCodec.chunkLastKey(chunkLocation);
+
+      // Then
+      assertThat(spatialKey >= firstKey && spatialKey <= lastKey).isEqualTo(isInsideChunk);
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({"-1, 0", "0, -1", "-16, 0", "0, 16", "-2147483648, -2147483648"})
+  void whenComparingKeys_shallIncreaseAlongBothAxes(int x, int z) {
+    // When
+    long spatialKey = SpatialKeyCodec.encode(x, z);
+    long greaterSpatialKey = SpatialKeyCodec.encode(x + 16, z + 16);
+
+    // Then
+    assertThat(spatialKey).isLessThan(greaterSpatialKey);
+  }
+}
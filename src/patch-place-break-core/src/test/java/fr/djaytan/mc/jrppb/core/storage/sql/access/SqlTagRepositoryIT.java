@@ -27,13 +27,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Tag;
 import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPair;
 import fr.djaytan.mc.jrppb.core.storage.api.OldNewBlockLocationPairSet;
+import fr.djaytan.mc.jrppb.core.storage.api.TagMutation;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AutoClose;
 import org.junit.jupiter.api.BeforeAll;
@@ -85,7 +92,7 @@ class SqlTagRepositoryIT {
     @Test
     void whenNoOneAlreadyExist_shouldThenBeRetrievable() {
       // Given
-      Tag tag = new Tag(randomBlockLocation, true, LocalDateTime.now());
+      Tag tag = new Tag(randomBlockLocation, true, now());
 
       // When
       sqlTagRepository.put(tag);
@@ -99,7 +106,7 @@ class SqlTagRepositoryIT {
     @Test
     void whenOneAlreadyExist_shouldOverrideIt() {
       // Given
-      LocalDateTime firstDateTime = LocalDateTime.now();
+      LocalDateTime firstDateTime = now();
       Tag alreadyExistingTag = new Tag(randomBlockLocation, true, firstDateTime);
 
       sqlTagRepository.put(alreadyExistingTag);
@@ -124,7 +131,7 @@ class SqlTagRepositoryIT {
     void whenTagExists_shouldExistInNewLocationButNotInOldOne() {
       // Given
       BlockLocation oldLocation = randomBlockLocation;
-      Tag oldTag = new Tag(oldLocation, true, LocalDateTime.now());
+      Tag oldTag = new Tag(oldLocation, true, now());
 
       BlockLocation newLocation =
           new BlockLocation(
@@ -147,6 +154,41 @@ class SqlTagRepositoryIT {
           () -> assertThat(tagOldLocation).isEmpty(), () -> assertThat(tagNewLocation).isPresent());
     }
 
+    @Test
+    void whenMovingHundredsOfTagsInARow_shouldShiftThemAll() {
+      // Given
+      List<OldNewBlockLocationPair> oldNewLocationPairs = new ArrayList<>();
+
+      for (int i = 0; i < 500; i++) {
+        BlockLocation oldLocation =
+            new BlockLocation(
+                randomBlockLocation.worldName(),
+                randomBlockLocation.x() + i,
+                randomBlockLocation.y(),
+                randomBlockLocation.z());
+        BlockLocation newLocation =
+            new BlockLocation(
+                oldLocation.worldName(), oldLocation.x() + 1, oldLocation.y(), oldLocation.z());
+        sqlTagRepository.put(new Tag(oldLocation, false, now()));
+        oldNewLocationPairs.add(new OldNewBlockLocationPair(oldLocation, newLocation));
+      }
+
+      // When
+      sqlTagRepository.updateLocations(new OldNewBlockLocationPairSet(oldNewLocationPairs));
+
+      // Then
+      assertAll(
+          () -> assertThat(sqlTagRepository.findByLocation(randomBlockLocation)).isEmpty(),
+          () ->
+              assertThat(oldNewLocationPairs)
+                  .allSatisfy(
+                      oldNewLocationPair ->
+                          assertThat(
+                                  sqlTagRepository.findByLocation(
+                                      oldNewLocationPair.newBlockLocation()))
+                              .isPresent()));
+    }
+
     @Test
     void whenTagDoesntExist_shouldNotCreateTagInAnyLocation() {
       // Given
@@ -174,7 +216,7 @@ class SqlTagRepositoryIT {
   @Test
   void whenRemovingTag_shouldNotExistAnymore() {
     // Given
-    Tag alreadyExistingTag = new Tag(randomBlockLocation, true, LocalDateTime.now());
+    Tag alreadyExistingTag = new Tag(randomBlockLocation, true, now());
     sqlTagRepository.put(alreadyExistingTag);
 
     // When
@@ -186,8 +228,116 @@ class SqlTagRepositoryIT {
     assertThat(retrievedTag).isEmpty();
   }
 
+  @Test
+  void whenFindingByChunk_shouldRetrieveTagsOfTheChunkOnly() {
+    // Given
+    ChunkLocation chunkLocation = ChunkLocation.from(randomBlockLocation);
+    Tag insideTag =
+        new Tag(
+            new BlockLocation(
+                "world",
+                chunkLocation.maxBlockX(),
+                randomBlockLocation.y(),
+                chunkLocation.minBlockZ()),
+            false,
+            now());
+    Tag outsideTag =
+        new Tag(
+            new BlockLocation(
+                "world",
+                chunkLocation.minBlockX(),
+                randomBlockLocation.y(),
+                chunkLocation.minBlockZ() - 1),
+            false,
+            now());
+    sqlTagRepository.put(insideTag);
+    sqlTagRepository.put(outsideTag);
+
+    // When
+    Set<Tag> retrievedTags = sqlTagRepository.findByChunk(chunkLocation);
+
+    // Then
+    assertThat(retrievedTags).contains(insideTag).doesNotContain(outsideTag);
+  }
+
+  @Test
+  void whenDeletingExpiredEphemeralTags_shouldOnlyDeleteThem() {
+    // Given
+    LocalDateTime now = now();
+    BlockLocation otherBlockLocation = createRandomBlockLocation();
+    BlockLocation anotherBlockLocation = createRandomBlockLocation();
+    Tag expiredEphemeralTag = new Tag(randomBlockLocation, true, now.minusHours(1));
+    Tag freshEphemeralTag = new Tag(otherBlockLocation, true, now);
+    Tag oldPersistentTag = new Tag(anotherBlockLocation, false, now.minusHours(1));
+    sqlTagRepository.put(expiredEphemeralTag);
+    sqlTagRepository.put(freshEphemeralTag);
+    sqlTagRepository.put(oldPersistentTag);
+
+    // When
+    while (sqlTagRepository.deleteExpiredEphemeralTags(now.minusSeconds(3), 10) >= 10) {
+      // Keep deleting until the last batch isn't full
+    }
+
+    // Then
+    assertAll(
+        () -> assertThat(sqlTagRepository.findByLocation(randomBlockLocation)).isEmpty(),
+        () -> assertThat(sqlTagRepository.findByLocation(otherBlockLocation)).isPresent(),
+        () -> assertThat(sqlTagRepository.findByLocation(anotherBlockLocation)).isPresent());
+  }
+
+  @Test
+  void whenApplyingMutations_shouldKeepLastMutationOfEachLocation() {
+    // Given
+    LocalDateTime now = now();
+    BlockLocation otherBlockLocation = createRandomBlockLocation();
+    BlockLocation anotherBlockLocation = createRandomBlockLocation();
+    Tag existingTag = new Tag(anotherBlockLocation, false, now);
+    Tag overriddenTag = new Tag(randomBlockLocation, true, now);
+    Tag finalTag = new Tag(randomBlockLocation, false, now);
+    sqlTagRepository.put(existingTag);
+
+    // When
+    sqlTagRepository.applyMutations(
+        List.of(
+            new TagMutation.Put(overriddenTag),
+            new TagMutation.Put(new Tag(otherBlockLocation, false, now)),
+            new TagMutation.Delete(anotherBlockLocation),
+            new TagMutation.Put(finalTag),
+            new TagMutation.Delete(otherBlockLocation)));
+
+    // Then
+    assertAll(
+        () -> assertThat(sqlTagRepository.findByLocation(randomBlockLocation)).contains(finalTag),
+        () -> assertThat(sqlTagRepository.findByLocation(otherBlockLocation)).isEmpty(),
+        () -> assertThat(sqlTagRepository.findByLocation(anotherBlockLocation)).isEmpty());
+  }
+
+  @Test
+  void whenPuttingTagInWorldLookedUpBefore_shouldThenBeRetrievable() {
+    // Given
+    BlockLocation blockLocation =
+        new BlockLocation(
+            "world_" + UUID.randomUUID(),
+            randomBlockLocation.x(),
+            randomBlockLocation.y(),
+            randomBlockLocation.z());
+    Tag tag = new Tag(blockLocation, false, now());
+    assertThat(sqlTagRepository.findByLocation(blockLocation)).isEmpty();
+
+    // When
+    sqlTagRepository.applyMutations(List.of(new TagMutation.Put(tag)));
+
+    // Then
+    assertThat(sqlTagRepository.findByLocation(blockLocation)).contains(tag);
+  }
+
   /* Helpers */
 
+  /** Creation date-times are stored with a millisecond precision. */
+  private static @NotNull LocalDateTime now() {
+    return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+  }
+
   private @NotNull BlockLocation createRandomBlockLocation() {
     Random random = new Random();
     int randX = (random.nextBoolean() ? 1 : -1) * random.nextInt();
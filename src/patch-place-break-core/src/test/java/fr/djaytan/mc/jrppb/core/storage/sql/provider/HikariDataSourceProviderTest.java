@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.core.storage.sql.provider;
+
+import static com.google.common.jimfs.Configuration.unix;
+import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.NOMINAL_MYSQL_DATA_SOURCE_PROPERTIES;
+import static fr.djaytan.mc.jrppb.core.storage.properties.DataSourcePropertiesTestDataSet.NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.jimfs.Jimfs;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import fr.djaytan.mc.jrppb.core.storage.properties.ConnectionPoolProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceProperties;
+import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.MysqlJdbcUrl;
+import fr.djaytan.mc.jrppb.core.storage.sql.jdbc.SqliteJdbcUrl;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class HikariDataSourceProviderTest {
+
+  @AutoClose private final FileSystem imfs = Jimfs.newFileSystem(unix());
+
+  @Test
+  void mysqlConfig_shallEnableDriverSideStatementCache() {
+    // Given
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(
+            NOMINAL_MYSQL_DATA_SOURCE_PROPERTIES,
+            new MysqlJdbcUrl(NOMINAL_MYSQL_DATA_SOURCE_PROPERTIES));
+
+    // When
+    HikariConfig hikariConfig = hikariDataSourceProvider.createHikariConfig();
+
+    // Then
+    assertThat(hikariConfig.getDataSourceProperties())
+        .containsEntry("cachePrepStmts", "true")
+        .containsEntry("useServerPrepStmts", "true")
+        .containsKeys("prepStmtCacheSize", "prepStmtCacheSqlLimit");
+  }
+
+  @Test
+  void config_shallPassDriverPropertiesThroughOverDefaultOnes() {
+    // Given
+    DataSourceProperties defaults = NOMINAL_MYSQL_DATA_SOURCE_PROPERTIES;
+    var dataSourceProperties =
+        new DataSourceProperties(
+            defaults.type(),
+            defaults.tableName(),
+            defaults.dbmsServer(),
+            new ConnectionPoolProperties(
+                30000, 10, Map.of("cachePrepStmts", "false", "useCompression", "true")),
+            defaults.tagStorage(),
+            defaults.sqlite());
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(dataSourceProperties, new MysqlJdbcUrl(dataSourceProperties));
+
+    // When
+    HikariConfig hikariConfig = hikariDataSourceProvider.createHikariConfig();
+
+    // Then
+    assertThat(hikariConfig.getDataSourceProperties())
+        .containsEntry("cachePrepStmts", "false")
+        .containsEntry("useCompression", "true");
+  }
+
+  @Test
+  void sqliteConfig_shallNotSetMysqlProperties() {
+    // Given
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(
+            NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES,
+            new SqliteJdbcUrl(imfs.getPath("sqlite-data.db")));
+
+    // When
+    HikariConfig hikariConfig = hikariDataSourceProvider.createHikariConfig();
+
+    // Then
+    assertThat(hikariConfig.getDataSourceProperties()).doesNotContainKey("cachePrepStmts");
+  }
+
+  @Test
+  void sqliteConfig_shallHoldSingleWriterConnection() {
+    // Given
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(
+            NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES,
+            new SqliteJdbcUrl(imfs.getPath("sqlite-data.db")));
+
+    // When
+    HikariConfig hikariConfig = hikariDataSourceProvider.createHikariConfig();
+
+    // Then
+    assertThat(hikariConfig.getMaximumPoolSize()).isEqualTo(1);
+    assertThat(hikariConfig.isReadOnly()).isFalse();
+  }
+
+  @Test
+  void sqliteReadOnlyConfig_shallOpenReadOnlyConnectionsUpToPoolSize() {
+    // Given
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(
+            NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES,
+            new SqliteJdbcUrl(imfs.getPath("sqlite-data.db")));
+
+    // When
+    HikariConfig hikariConfig = hikariDataSourceProvider.createReadOnlyHikariConfig();
+
+    // Then
+    assertThat(hikariConfig.getMaximumPoolSize())
+        .isEqualTo(NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES.connectionPool().poolSize());
+    assertThat(hikariConfig.isReadOnly()).isTrue();
+    assertThat(hikariConfig.getDataSourceProperties()).containsEntry("open_mode", "1");
+  }
+
+  @Test
+  void sqliteReadOnlyConfig_shallOnlySetReadPragmas() {
+    // Given
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(
+            NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES,
+            new SqliteJdbcUrl(imfs.getPath("sqlite-data.db")));
+
+    // When
+    HikariConfig hikariConfig = hikariDataSourceProvider.createReadOnlyHikariConfig();
+
+    // Then
+    assertThat(hikariConfig.getDataSourceProperties())
+        .doesNotContainKeys("journal_mode", "synchronous")
+        .containsEntry("open_mode", "1")
+        .containsEntry("mmap_size", String.valueOf(128L * 1024 * 1024))
+        .containsEntry("cache_size", String.valueOf(-16 * 1024))
+        .containsEntry("busy_timeout", "10000");
+  }
+
+  @Test
+  void mysqlConfig_shallNotProvideReadOnlyPool() {
+    // Given
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(
+            NOMINAL_MYSQL_DATA_SOURCE_PROPERTIES,
+            new MysqlJdbcUrl(NOMINAL_MYSQL_DATA_SOURCE_PROPERTIES));
+
+    // When
+    Optional<HikariDataSource> readOnlyHikariDataSource = hikariDataSourceProvider.getReadOnly();
+
+    // Then
+    assertThat(readOnlyHikariDataSource).isEmpty();
+  }
+
+  @Test
+  void sqliteConfig_shallSetTuningPragmas() {
+    // Given
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(
+            NOMINAL_SQLITE_DATA_SOURCE_PROPERTIES,
+            new SqliteJdbcUrl(imfs.getPath("sqlite-data.db")));
+
+    // When
+    HikariConfig hikariConfig = hikariDataSourceProvider.createHikariConfig();
+
+    // Then
+    assertThat(hikariConfig.getDataSourceProperties())
+        .containsEntry("journal_mode", "TRUNCATE")
+        .containsEntry("synchronous", "FULL")
+        .containsEntry("mmap_size", String.valueOf(128L * 1024 * 1024))
+        .containsEntry("cache_size", String.valueOf(-16 * 1024))
+        .containsEntry("busy_timeout", "10000");
+  }
+
+  @Test
+  void sqliteDataSource_shallApplyTuningPragmasOnPooledConnections(@TempDir Path tempDir)
+      throws SQLException {
+    // Given
+    var hikariDataSourceProvider =
+        new HikariDataSourceProvider(
+            DataSourceProperties.DEFAULT, new SqliteJdbcUrl(tempDir.resolve("sqlite-data.db")));
+
+    // When
+    try (HikariDataSource hikariDataSource = hikariDataSourceProvider.get();
+        Connection connection = hikariDataSource.getConnection()) {
+
+      // Then
+      assertThat(queryPragma(connection, "journal_mode")).isEqualTo("wal");
+      assertThat(queryPragma(connection, "synchronous")).isEqualTo("1");
+      assertThat(queryPragma(connection, "cache_size")).isEqualTo("-8192");
+      assertThat(queryPragma(connection, "busy_timeout")).isEqualTo("5000");
+    }
+  }
+
+  private static @NotNull String queryPragma(@NotNull Connection connection, @NotNull String pragma)
+      throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("PRAGMA " + pragma)) {
+      resultSet.next();
+      return resultSet.getString(1);
+    }
+  }
+}
@@ -27,20 +27,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 
-class LocalDateTimeStringSerializerTest {
+class LocalDateTimeEpochMillisSerializerTest {
 
-  private final LocalDateTimeStringSerializer localDateTimeStringSerializer =
-      new LocalDateTimeStringSerializer();
+  private final LocalDateTimeEpochMillisSerializer localDateTimeEpochMillisSerializer =
+      new LocalDateTimeEpochMillisSerializer();
 
   @Test
   void whenSerializing_fromNominalValue() {
-    assertThat(localDateTimeStringSerializer.serialize(LocalDateTime.of(2012, 6, 16, 12, 34, 56)))
-        .isEqualTo("2012-06-16T12:34:56");
+    assertThat(
+            localDateTimeEpochMillisSerializer.serialize(
+                LocalDateTime.of(2012, 6, 16, 12, 34, 56, 789_000_000)))
+        .isEqualTo(1339850096789L);
+  }
+
+  @Test
+  void whenSerializing_fromDateTimeBeforeEpoch() {
+    assertThat(localDateTimeEpochMillisSerializer.serialize(LocalDateTime.of(1969, 12, 31, 23, 59)))
+        .isEqualTo(-60_000L);
   }
 
   @Test
   void whenDeserializing_fromNominalValue() {
-    assertThat(localDateTimeStringSerializer.deserialize("2011-12-03T10:15:30"))
+    assertThat(localDateTimeEpochMillisSerializer.deserialize(1322907330000L))
         .isEqualTo(LocalDateTime.of(2011, 12, 3, 10, 15, 30));
   }
 }
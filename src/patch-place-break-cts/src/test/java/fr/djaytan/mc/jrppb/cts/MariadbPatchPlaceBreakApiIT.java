@@ -29,10 +29,13 @@ import fr.djaytan.mc.jrppb.core.config.properties.DataSourceConfigProperties;
 import fr.djaytan.mc.jrppb.core.config.properties.DbmsServerConfigProperties;
 import fr.djaytan.mc.jrppb.core.config.properties.DbmsServerCredentialsConfigProperties;
 import fr.djaytan.mc.jrppb.core.config.properties.DbmsServerHostConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.SqliteConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.TagStorageConfigProperties;
 import fr.djaytan.mc.jrppb.core.storage.properties.DataSourceType;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.testcontainers.containers.MariaDBContainer;
@@ -70,7 +73,9 @@ class MariadbPatchPlaceBreakApiIT extends PatchPlaceBreakApiBaseTest {
                 new DbmsServerHostConfigProperties("localhost", dbmsPort, true),
                 new DbmsServerCredentialsConfigProperties(username, password),
                 DATABASE_NAME),
-            new ConnectionPoolConfigProperties(30000, 10));
+            new ConnectionPoolConfigProperties(30000, 10, Map.of()),
+            TagStorageConfigProperties.DEFAULT,
+            SqliteConfigProperties.DEFAULT);
 
     Path dataSourceConf = dataFolder.resolve(CONFIG_DATA_SOURCE_FILE_NAME);
     Files.writeString(dataSourceConf, serialize(dataSourceConfigProperties));
@@ -31,6 +31,7 @@ import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
 import fr.djaytan.mc.jrppb.api.entities.Block;
 import fr.djaytan.mc.jrppb.api.entities.BlockActionType;
 import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.api.entities.ChunkLocation;
 import fr.djaytan.mc.jrppb.api.entities.Vector;
 import fr.djaytan.mc.jrppb.core.PatchPlaceBreakCore;
 import java.io.IOException;
@@ -38,21 +39,32 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.TemporalAmount;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.threeten.extra.MutableClock;
 
 abstract class PatchPlaceBreakApiBaseTest {
 
+  private static final Logger log = LoggerFactory.getLogger(PatchPlaceBreakApiBaseTest.class);
+
   private final BlockLocation randomBlockLocation = generateRandomBlockLocation();
   private final MutableClock mutableClock = MutableClock.epochUTC();
   private PatchPlaceBreakApi patchPlaceBreakApi;
@@ -148,6 +160,49 @@ abstract class PatchPlaceBreakApiBaseTest {
         () -> assertThat(isOnNewBlockAnExploit).isTrue());
   }
 
+  @Test
+  void whenMovingHundredsOfTags_shouldDetectExploitInNewLocationsButNotInOldOnes() {
+    // Given
+    int tagsCount = 500;
+    Set<Block> oldBlocks = new HashSet<>();
+
+    for (int i = 0; i < tagsCount; i++) {
+      Block oldBlock =
+          new Block(
+              new BlockLocation(
+                  "world",
+                  randomBlockLocation.x() + i,
+                  randomBlockLocation.y(),
+                  randomBlockLocation.z()),
+              "STONE");
+      patchPlaceBreakApi.putTag(oldBlock, false).join();
+      oldBlocks.add(oldBlock);
+    }
+
+    // When
+    patchPlaceBreakApi.moveTags(oldBlocks, new Vector(0, 1, 0)).join();
+
+    // Then
+    restart();
+
+    for (Block oldBlock : oldBlocks) {
+      BlockLocation oldBlockLocation = oldBlock.blockLocation();
+      Block newBlock =
+          new Block(
+              new BlockLocation(
+                  "world", oldBlockLocation.x(), oldBlockLocation.y() + 1, oldBlockLocation.z()),
+              "STONE");
+
+      assertAll(
+          () ->
+              assertThat(patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, oldBlock))
+                  .isFalse(),
+          () ->
+              assertThat(patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, newBlock))
+                  .isTrue());
+    }
+  }
+
   @Test
   void whenRemovingTag_shouldNotDetectExploit() {
     // Given
@@ -163,8 +218,402 @@ abstract class PatchPlaceBreakApiBaseTest {
     assertThat(isExploit).isFalse();
   }
 
+  @Test
+  void whenRemovingTagsAtOnce_shouldNotDetectExploitAnymore() {
+    // Given
+    Set<Block> blocks = new HashSet<>();
+
+    for (int i = 0; i < 100; i++) {
+      Block block =
+          new Block(
+              new BlockLocation(
+                  randomBlockLocation.worldName(),
+                  randomBlockLocation.x() + i,
+                  randomBlockLocation.y(),
+                  randomBlockLocation.z()),
+              "STONE");
+      patchPlaceBreakApi.putTag(block, false).join();
+      blocks.add(block);
+    }
+
+    // When
+    patchPlaceBreakApi.removeTags(blocks).join();
+
+    // Then
+    restart();
+    Map<Block, Boolean> isExploit =
+        patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, blocks);
+
+    assertThat(isExploit).hasSize(100).doesNotContainValue(true);
+  }
+
+  @Nested
+  class WhenPublishingEvents {
+
+    private final BlockLocation blockLocation = randomBlockLocation;
+    private final Block block = new Block(blockLocation, "STONE");
+
+    @Test
+    void withTagPut_shouldDetectExploit() {
+      // When
+      patchPlaceBreakApi.publishTagPut(
+          blockLocation.worldName(),
+          blockLocation.x(),
+          blockLocation.y(),
+          blockLocation.z(),
+          block.material(),
+          false);
+
+      // Then
+      awaitPublishedEvents();
+      boolean isExploit = patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).isTrue();
+    }
+
+    @Test
+    void withTagRemovalAfterPut_shouldNotDetectExploit() {
+      // Given
+      patchPlaceBreakApi.putTag(block, false).join();
+
+      // When
+      patchPlaceBreakApi.publishTagRemoval(
+          blockLocation.worldName(),
+          blockLocation.x(),
+          blockLocation.y(),
+          blockLocation.z(),
+          block.material());
+
+      // Then
+      awaitPublishedEvents();
+      boolean isExploit = patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).isFalse();
+    }
+
+    /** Operations involving the same chunk are run in order, including the published events. */
+    private void awaitPublishedEvents() {
+      patchPlaceBreakApi.loadChunkTags(ChunkLocation.from(blockLocation)).join();
+    }
+  }
+
+  @Nested
+  class WhenOverridingTag {
+
+    private final Block block = new Block(randomBlockLocation, "STONE");
+
+    @Test
+    void withPersistentTagOverEphemeralOne_shouldKeepDetectingExploitAfterRestart() {
+      // Given
+      patchPlaceBreakApi.putTag(block, true).join();
+
+      // When
+      patchPlaceBreakApi.putTag(block, false).join();
+
+      // Then
+      restart();
+      mutableClock.add(Duration.ofSeconds(4));
+      boolean isExploit = patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).isTrue();
+    }
+
+    @Test
+    void withEphemeralTagOverPersistentOne_shouldStopDetectingExploitAfterRestart() {
+      // Given
+      patchPlaceBreakApi.putTag(block, false).join();
+
+      // When
+      patchPlaceBreakApi.putTag(block, true).join();
+
+      // Then
+      restart();
+      mutableClock.add(Duration.ofSeconds(4));
+      boolean isExploit = patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).isFalse();
+    }
+  }
+
+  @Nested
+  class WhenCheckingExploitWithoutBlocking {
+
+    @Test
+    void asynchronouslyAfterPuttingTag_shouldDetectExploit() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.putTag(block, false);
+
+      // When
+      boolean isExploit =
+          patchPlaceBreakApi.isPlaceAndBreakExploitAsync(BlockActionType.BREAK, block).join();
+
+      // Then
+      assertThat(isExploit).isTrue();
+    }
+
+    @Test
+    void fastAfterPuttingTag_shouldDetectExploitFromMemory() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.putTag(block, false).join();
+
+      // When
+      Optional<Boolean> isExploit =
+          patchPlaceBreakApi.tryIsPlaceAndBreakExploitFast(BlockActionType.BREAK, block);
+
+      // Then
+      assertThat(isExploit).contains(true);
+    }
+
+    @Test
+    void fastWithTagOnlyStored_shouldNotKnowTheAnswer() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.putTag(block, false).join();
+      restart();
+
+      // When
+      Optional<Boolean> isExploit =
+          patchPlaceBreakApi.tryIsPlaceAndBreakExploitFast(BlockActionType.BREAK, block);
+
+      // Then
+      assertThat(isExploit).isEmpty();
+    }
+
+    @Test
+    void fastWithTagPrefetched_shouldDetectExploitFromMemory() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.putTag(block, false).join();
+      restart();
+
+      // When
+      patchPlaceBreakApi.prefetchTag(block).join();
+
+      // Then
+      Optional<Boolean> isExploit =
+          patchPlaceBreakApi.tryIsPlaceAndBreakExploitFast(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).contains(true);
+    }
+
+    @Test
+    void fastWithChunkTagsLoaded_shouldNotDetectExploitOnUntaggedBlock() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.loadChunkTags(ChunkLocation.from(randomBlockLocation)).join();
+
+      // When
+      Optional<Boolean> isExploit =
+          patchPlaceBreakApi.tryIsPlaceAndBreakExploitFast(BlockActionType.BREAK, block);
+
+      // Then
+      assertThat(isExploit).contains(false);
+    }
+  }
+
+  @Nested
+  class WhenCheckingExploitOfSeveralBlocks {
+
+    @Test
+    void afterPuttingTags_shouldOnlyDetectExploitOnTaggedBlocks() {
+      // Given
+      Block taggedBlock = new Block(randomBlockLocation, "STONE");
+      Block untaggedBlock =
+          new Block(
+              new BlockLocation(
+                  randomBlockLocation.worldName(),
+                  randomBlockLocation.x() + 1,
+                  randomBlockLocation.y(),
+                  randomBlockLocation.z()),
+              "STONE");
+      patchPlaceBreakApi.putTag(taggedBlock, false).join();
+
+      // When
+      Map<Block, Boolean> isExploit =
+          patchPlaceBreakApi.isPlaceAndBreakExploit(
+              BlockActionType.BREAK, List.of(taggedBlock, untaggedBlock));
+
+      // Then
+      assertThat(isExploit)
+          .containsExactlyInAnyOrderEntriesOf(Map.of(taggedBlock, true, untaggedBlock, false));
+    }
+
+    @Test
+    void withTagsOnlyStored_shouldDetectExploit() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.putTag(block, false).join();
+      restart();
+
+      // When
+      Map<Block, Boolean> isExploit =
+          patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, List.of(block));
+
+      // Then
+      assertThat(isExploit).containsExactly(Map.entry(block, true));
+    }
+  }
+
+  @Nested
+  class WhenChunkTagsAreLoaded {
+
+    private final ChunkLocation chunkLocation = ChunkLocation.from(randomBlockLocation);
+
+    @Test
+    void withTagPutBeforeLoading_shouldDetectExploit() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.putTag(block, false).join();
+
+      // When
+      patchPlaceBreakApi.loadChunkTags(chunkLocation).join();
+
+      // Then
+      boolean isExploit = patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).isTrue();
+    }
+
+    @Test
+    void withTagPutAfterLoading_shouldDetectExploit() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.loadChunkTags(chunkLocation).join();
+
+      // When
+      patchPlaceBreakApi.putTag(block, false).join();
+
+      // Then
+      boolean isExploit = patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).isTrue();
+    }
+
+    @Test
+    void withTagRemovedAfterLoading_shouldNotDetectExploit() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.putTag(block, false).join();
+      patchPlaceBreakApi.loadChunkTags(chunkLocation).join();
+
+      // When
+      patchPlaceBreakApi.removeTag(block).join();
+
+      // Then
+      boolean isExploit = patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).isFalse();
+    }
+
+    @Test
+    void withChunkUnloaded_shouldStillDetectExploit() {
+      // Given
+      Block block = new Block(randomBlockLocation, "STONE");
+      patchPlaceBreakApi.loadChunkTags(chunkLocation).join();
+      patchPlaceBreakApi.putTag(block, false).join();
+
+      // When
+      patchPlaceBreakApi.unloadChunkTags(chunkLocation);
+
+      // Then
+      boolean isExploit = patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, block);
+
+      assertThat(isExploit).isTrue();
+    }
+  }
+
+  /**
+   * Writes thousands of tags in bulk, which goes through the multi-row statements. The elapsed
+   * times depend on the host, so they are logged rather than asserted.
+   */
+  @Nested
+  class WhenWritingInBulk {
+
+    private static final int TAGS_COUNT = 5000;
+
+    @Test
+    void withThousandsOfTags_shouldStoreThemAll() {
+      // Given
+      Set<Block> blocks = generateAdjacentBlocks(TAGS_COUNT);
+
+      // When
+      long startNanos = System.nanoTime();
+      CompletableFuture.allOf(
+              blocks.stream()
+                  .map(block -> patchPlaceBreakApi.putTag(block, false))
+                  .toArray(CompletableFuture<?>[]::new))
+          .join();
+      // Stopping flushes the pending writes
+      restart();
+      logThroughput("puts", startNanos);
+
+      // Then
+      Map<Block, Boolean> isExploit =
+          patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, blocks);
+
+      assertThat(isExploit).hasSize(TAGS_COUNT).doesNotContainValue(false);
+    }
+
+    @Test
+    void withThousandsOfTagsRemovedAtOnce_shouldRemoveThemAll() {
+      // Given
+      Set<Block> blocks = generateAdjacentBlocks(TAGS_COUNT);
+      blocks.forEach(block -> patchPlaceBreakApi.putTag(block, false));
+      restart();
+
+      // When
+      long startNanos = System.nanoTime();
+      patchPlaceBreakApi.removeTags(blocks).join();
+      restart();
+      logThroughput("removals", startNanos);
+
+      // Then
+      Map<Block, Boolean> isExploit =
+          patchPlaceBreakApi.isPlaceAndBreakExploit(BlockActionType.BREAK, blocks);
+
+      assertThat(isExploit).hasSize(TAGS_COUNT).doesNotContainValue(true);
+    }
+
+    private @NotNull Set<Block> generateAdjacentBlocks(int blocksCount) {
+      Set<Block> blocks = new HashSet<>();
+
+      for (int i = 0; i < blocksCount; i++) {
+        blocks.add(
+            new Block(
+                new BlockLocation(
+                    randomBlockLocation.worldName(),
+                    randomBlockLocation.x() + i % 100,
+                    randomBlockLocation.y(),
+                    randomBlockLocation.z() + i / 100),
+                "STONE"));
+      }
+
+      return blocks;
+    }
+
+    private void logThroughput(@NotNull String operations, long startNanos) {
+      long elapsedNanos = System.nanoTime() - startNanos;
+      log.info(
+          "{}: {} tag {} stored in {} ms ({} ops/s)",
+          PatchPlaceBreakApiBaseTest.this.getClass().getSimpleName(),
+          TAGS_COUNT,
+          operations,
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+          Math.round(TAGS_COUNT * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos));
+    }
+  }
+
   /* Helpers */
 
+  /** Ensures the following assertions are made against the stored tags rather than memory. */
+  private void restart() {
+    patchPlaceBreakCore.disable();
+    ClassLoader classLoader = PatchPlaceBreakCore.class.getClassLoader();
+    patchPlaceBreakApi = patchPlaceBreakCore.enable(classLoader, mutableClock, dataFolder);
+  }
+
   /**
    * Prevents collisions by generating random block location for each test since for performances
    * purposes the database will not be recycled between tests.
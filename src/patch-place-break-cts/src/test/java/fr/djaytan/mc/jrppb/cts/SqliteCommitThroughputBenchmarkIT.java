@@ -0,0 +1,154 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.cts;
+
+import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializer.serialize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
+import fr.djaytan.mc.jrppb.api.entities.Block;
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.core.PatchPlaceBreakCore;
+import fr.djaytan.mc.jrppb.core.config.properties.DataSourceConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.SqliteConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.TagStorageConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.WriteBehindConfigProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.SqliteJournalMode;
+import fr.djaytan.mc.jrppb.core.storage.properties.SqliteSynchronousMode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the commit throughput of the SQLite data source when tuned with the default pragmas with
+ * the one when using the driver defaults (rollback journal with full syncs).
+ *
+ * <p>Write-behind batching is disabled so that each put is committed on its own. The results depend
+ * on the host and especially on its disks, so they are logged rather than asserted.
+ */
+class SqliteCommitThroughputBenchmarkIT {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(SqliteCommitThroughputBenchmarkIT.class);
+
+  private static final String CONFIG_DATA_SOURCE_FILE_NAME = "dataSource.conf";
+  private static final int WARM_UP_OPERATIONS_COUNT = 500;
+  private static final int MEASURED_OPERATIONS_COUNT = 5000;
+  private static final int BLOCKS_PER_ROW = 1024;
+
+  // Matches the behavior of the driver when no pragma is specified
+  private static final SqliteConfigProperties UNTUNED_SQLITE_CONFIG_PROPERTIES =
+      new SqliteConfigProperties(SqliteJournalMode.DELETE, SqliteSynchronousMode.FULL, 0, 2, 3000);
+
+  private final PatchPlaceBreakCore patchPlaceBreakCore = new PatchPlaceBreakCore();
+  @TempDir private Path dataFolder;
+
+  @AfterEach
+  void tearDown() {
+    patchPlaceBreakCore.disable();
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource
+  void committingTags(@NotNull String profile, @NotNull SqliteConfigProperties sqlite)
+      throws IOException {
+    // Given
+    PatchPlaceBreakApi patchPlaceBreakApi = enable(sqlite);
+    putTags(patchPlaceBreakApi, 0, WARM_UP_OPERATIONS_COUNT);
+
+    // When
+    long startNanos = System.nanoTime();
+    putTags(patchPlaceBreakApi, WARM_UP_OPERATIONS_COUNT, MEASURED_OPERATIONS_COUNT);
+    long elapsedNanos = System.nanoTime() - startNanos;
+
+    // Then
+    double operationsPerSecond =
+        MEASURED_OPERATIONS_COUNT * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    log.info(
+        "{}: {} committed tag puts with the {} profile in {} ms ({} ops/s)",
+        getClass().getSimpleName(),
+        MEASURED_OPERATIONS_COUNT,
+        profile,
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+        Math.round(operationsPerSecond));
+
+    assertThat(operationsPerSecond).isPositive();
+  }
+
+  private static @NotNull Stream<Arguments> committingTags() {
+    return Stream.of(
+        Arguments.of("untuned", UNTUNED_SQLITE_CONFIG_PROPERTIES),
+        Arguments.of("default", SqliteConfigProperties.DEFAULT));
+  }
+
+  private @NotNull PatchPlaceBreakApi enable(@NotNull SqliteConfigProperties sqlite)
+      throws IOException {
+    DataSourceConfigProperties defaults = DataSourceConfigProperties.DEFAULT;
+    TagStorageConfigProperties tagStorageDefaults = TagStorageConfigProperties.DEFAULT;
+    var dataSourceConfigProperties =
+        new DataSourceConfigProperties(
+            defaults.type(),
+            defaults.table(),
+            defaults.dbmsServer(),
+            defaults.connectionPool(),
+            new TagStorageConfigProperties(
+                tagStorageDefaults.cache(),
+                tagStorageDefaults.ephemeralTags(),
+                new WriteBehindConfigProperties(
+                    WriteBehindConfigProperties.DEFAULT.flushInterval(), 1),
+                tagStorageDefaults.taskExecutor()),
+            sqlite);
+
+    Path dataSourceConf = dataFolder.resolve(CONFIG_DATA_SOURCE_FILE_NAME);
+    Files.writeString(dataSourceConf, serialize(dataSourceConfigProperties));
+
+    ClassLoader classLoader = PatchPlaceBreakCore.class.getClassLoader();
+    return patchPlaceBreakCore.enable(classLoader, Clock.systemUTC(), dataFolder);
+  }
+
+  private static void putTags(
+      @NotNull PatchPlaceBreakApi patchPlaceBreakApi, int firstIndex, int operationsCount) {
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[operationsCount];
+
+    for (int i = 0; i < operationsCount; i++) {
+      int index = firstIndex + i;
+      BlockLocation blockLocation =
+          new BlockLocation("world", index % BLOCKS_PER_ROW, 64, index / BLOCKS_PER_ROW);
+      futures[i] = patchPlaceBreakApi.putTag(new Block(blockLocation, "STONE"), false);
+    }
+
+    CompletableFuture.allOf(futures).join();
+  }
+}
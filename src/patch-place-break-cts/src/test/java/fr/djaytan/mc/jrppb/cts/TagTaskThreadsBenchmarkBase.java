@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ * Copyright © 2022 Loïc DUBOIS-TERMOZ (alias Djaytan)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package fr.djaytan.mc.jrppb.cts;
+
+import static fr.djaytan.mc.jrppb.core.config.serialization.ConfigSerializer.serialize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fr.djaytan.mc.jrppb.api.PatchPlaceBreakApi;
+import fr.djaytan.mc.jrppb.api.entities.Block;
+import fr.djaytan.mc.jrppb.api.entities.BlockLocation;
+import fr.djaytan.mc.jrppb.core.PatchPlaceBreakCore;
+import fr.djaytan.mc.jrppb.core.config.properties.DataSourceConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.TagStorageConfigProperties;
+import fr.djaytan.mc.jrppb.core.config.properties.TaskExecutorConfigProperties;
+import fr.djaytan.mc.jrppb.core.storage.properties.SaturationPolicy;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the throughput of the tag operations when run on platform threads with the one when run
+ * on virtual threads.
+ *
+ * <p>Virtual threads are only available on Java 21+ runtimes, both runs being equivalent on older
+ * ones. The results depend on the host, so they are logged rather than asserted.
+ */
+abstract class TagTaskThreadsBenchmarkBase {
+
+  private static final Logger log = LoggerFactory.getLogger(TagTaskThreadsBenchmarkBase.class);
+
+  private static final String CONFIG_DATA_SOURCE_FILE_NAME = "dataSource.conf";
+  private static final int WARM_UP_OPERATIONS_COUNT = 5000;
+  private static final int MEASURED_OPERATIONS_COUNT = 50000;
+  // Spread over many chunks, so all the lanes are involved
+  private static final int BLOCKS_PER_ROW = 1024;
+
+  private final PatchPlaceBreakCore patchPlaceBreakCore = new PatchPlaceBreakCore();
+  @TempDir protected Path dataFolder;
+
+  @AfterEach
+  void tearDown() {
+    patchPlaceBreakCore.disable();
+  }
+
+  @ParameterizedTest(name = "virtualThreads={0}")
+  @ValueSource(booleans = {false, true})
+  void puttingTags(boolean virtualThreads) throws IOException, JMException {
+    // Given
+    PatchPlaceBreakApi patchPlaceBreakApi = enable(virtualThreads);
+    putTags(patchPlaceBreakApi, 0, WARM_UP_OPERATIONS_COUNT);
+
+    // When
+    long startNanos = System.nanoTime();
+    putTags(patchPlaceBreakApi, WARM_UP_OPERATIONS_COUNT, MEASURED_OPERATIONS_COUNT);
+    long elapsedNanos = System.nanoTime() - startNanos;
+
+    // Then
+    double operationsPerSecond =
+        MEASURED_OPERATIONS_COUNT * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    log.info(
+        "{}: {} tag puts with virtualThreads={} (used: {}) in {} ms ({} ops/s)",
+        getClass().getSimpleName(),
+        MEASURED_OPERATIONS_COUNT,
+        virtualThreads,
+        isRunningOnVirtualThreads(),
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+        Math.round(operationsPerSecond));
+
+    assertThat(operationsPerSecond).isPositive();
+  }
+
+  /**
+   * Gets the data source configuration to benchmark.
+   *
+   * @param tagStorageConfigProperties The tag storage configuration to use.
+   * @return The data source configuration to benchmark.
+   */
+  protected abstract @NotNull DataSourceConfigProperties dataSourceConfigProperties(
+      @NotNull TagStorageConfigProperties tagStorageConfigProperties);
+
+  private @NotNull PatchPlaceBreakApi enable(boolean virtualThreads) throws IOException {
+    TagStorageConfigProperties defaults = TagStorageConfigProperties.DEFAULT;
+    TaskExecutorConfigProperties taskExecutorDefaults = TaskExecutorConfigProperties.DEFAULT;
+    var tagStorageConfigProperties =
+        new TagStorageConfigProperties(
+            defaults.cache(),
+            defaults.ephemeralTags(),
+            defaults.writeBehind(),
+            new TaskExecutorConfigProperties(
+                taskExecutorDefaults.threads(),
+                taskExecutorDefaults.queueCapacity(),
+                // Measures the executor itself rather than the submitting thread
+                SaturationPolicy.BLOCK,
+                virtualThreads));
+
+    Path dataSourceConf = dataFolder.resolve(CONFIG_DATA_SOURCE_FILE_NAME);
+    Files.writeString(
+        dataSourceConf, serialize(dataSourceConfigProperties(tagStorageConfigProperties)));
+
+    ClassLoader classLoader = PatchPlaceBreakCore.class.getClassLoader();
+    return patchPlaceBreakCore.enable(classLoader, Clock.systemUTC(), dataFolder);
+  }
+
+  private static boolean isRunningOnVirtualThreads() throws JMException {
+    return (boolean)
+        ManagementFactory.getPlatformMBeanServer()
+            .getAttribute(
+                new ObjectName("fr.djaytan.mc.jrppb:type=TagTaskExecutor"),
+                "RunningOnVirtualThreads");
+  }
+
+  private static void putTags(
+      @NotNull PatchPlaceBreakApi patchPlaceBreakApi, int firstIndex, int operationsCount) {
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[operationsCount];
+
+    for (int i = 0; i < operationsCount; i++) {
+      int index = firstIndex + i;
+      BlockLocation blockLocation =
+          new BlockLocation("world", index % BLOCKS_PER_ROW, 64, index / BLOCKS_PER_ROW);
+      futures[i] = patchPlaceBreakApi.putTag(new Block(blockLocation, "STONE"), false);
+    }
+
+    CompletableFuture.allOf(futures).join();
+  }
+}